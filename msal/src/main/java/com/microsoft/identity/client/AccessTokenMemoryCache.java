@@ -0,0 +1,162 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.common.java.authscheme.BearerAuthenticationSchemeInternal;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory (L1) cache of {@link IAuthenticationResult}s returned to silent requests made against
+ * a single {@link PublicClientApplication}.
+ * <p>
+ * Entries are keyed by {@link TokenRequestKey}, and are only served while the access token is
+ * still valid for at least {@link #EXPIRY_BUFFER_MILLIS}. The whole cache is cleared whenever this application writes to or
+ * removes from the underlying token cache through a path other than a silent request.
+ */
+final class AccessTokenMemoryCache {
+
+    private static final String TAG = AccessTokenMemoryCache.class.getSimpleName();
+
+    /**
+     * Tokens which expire within this window are not served from memory, so that the regular
+     * silent flow can refresh them. Mirrors the expiry buffer applied to the persisted cache.
+     */
+    static final long EXPIRY_BUFFER_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Upper bound on the number of entries held; beyond this, expired entries are purged and,
+     * failing that, the cache is reset.
+     */
+    static final int MAX_ENTRIES = 64;
+
+    private final Map<String, IAuthenticationResult> mResults = new ConcurrentHashMap<>();
+
+    /**
+     * Returns a still-valid cached result for the supplied request, or null if the request is not
+     * eligible for the in-memory cache or no usable entry exists.
+     */
+    @Nullable
+    IAuthenticationResult get(@NonNull final AcquireTokenSilentParameters parameters,
+                              @NonNull final String defaultAuthority) {
+        final String methodTag = TAG + ":get";
+
+        if (parameters.getForceRefresh() || !isCacheable(parameters)) {
+            return null;
+        }
+
+        final String key = TokenRequestKey.get(parameters, defaultAuthority);
+
+        if (null == key) {
+            return null;
+        }
+
+        final IAuthenticationResult result = mResults.get(key);
+
+        if (null == result) {
+            return null;
+        }
+
+        if (!isValid(result)) {
+            mResults.remove(key);
+            return null;
+        }
+
+        Logger.verbose(methodTag, "Returning access token from in-memory cache.");
+
+        return result;
+    }
+
+    /**
+     * Stores the result of a successful silent request.
+     */
+    void put(@NonNull final TokenParameters parameters,
+             @NonNull final IAuthenticationResult result) {
+        if (!isCacheable(parameters) || !isValid(result)) {
+            return;
+        }
+
+        final String key = TokenRequestKey.get(parameters, parameters.getAuthority());
+
+        if (null == key) {
+            return;
+        }
+
+        if (mResults.size() >= MAX_ENTRIES) {
+            purgeExpired();
+
+            if (mResults.size() >= MAX_ENTRIES) {
+                mResults.clear();
+            }
+        }
+
+        mResults.put(key, result);
+    }
+
+    /**
+     * Drops every cached entry. Called whenever the token cache is modified outside of the
+     * silent flow (interactive requests, account removal, token sharing, migration).
+     */
+    void clear() {
+        mResults.clear();
+    }
+
+    int size() {
+        return mResults.size();
+    }
+
+    private void purgeExpired() {
+        final Iterator<IAuthenticationResult> iterator = mResults.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (!isValid(iterator.next())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isValid(@NonNull final IAuthenticationResult result) {
+        return result.getExpiresOn().getTime() - System.currentTimeMillis() > EXPIRY_BUFFER_MILLIS;
+    }
+
+    /**
+     * Requests carrying claims, a caller-supplied correlation id or a non-bearer scheme always go
+     * through the regular flow. Forced refreshes are never served from memory, but their results
+     * are stored.
+     */
+    private static boolean isCacheable(@NonNull final TokenParameters parameters) {
+        return null == parameters.getClaimsRequest()
+                && TextUtils.isEmpty(parameters.getCorrelationId())
+                && TokenRequestKey.getSchemeName(parameters.getAuthenticationScheme())
+                .equalsIgnoreCase(BearerAuthenticationSchemeInternal.SCHEME_BEARER);
+    }
+}
@@ -0,0 +1,313 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.client.configuration.TokenRefreshConfiguration;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.common.java.authscheme.BearerAuthenticationSchemeInternal;
+import com.microsoft.identity.common.java.eststelemetry.PublicApiId;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes access tokens returned by a {@link PublicClientApplication} in the background once a
+ * configurable fraction of their lifetime has elapsed, so that foreground silent requests are
+ * served from cache rather than refreshing inline.
+ * <p>
+ * Refreshes go through the regular silent flow with forceRefresh set. Each refresh is brought
+ * forward by a random jitter, and no more than the configured number of refreshes are in flight
+ * at any time; refreshes over that limit are deferred.
+ * <p>
+ * Only the results of silent requests made by the application are refreshed, and a token is
+ * refreshed at most once ahead of each such request: the results of background refreshes are not
+ * scheduled again, so tokens the application no longer asks for are left to expire.
+ */
+final class AccessTokenRefreshScheduler {
+
+    private static final String TAG = AccessTokenRefreshScheduler.class.getSimpleName();
+
+    /**
+     * Delay applied to a refresh which could not start because too many refreshes are in flight.
+     */
+    static final long DEFERRED_REFRESH_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    /**
+     * Submits background refreshes; {@link PublicClientApplication#acquireTokenSilentAsyncInternal}
+     * outside of tests.
+     */
+    interface RefreshRequester {
+        void acquireTokenSilentAsync(@NonNull AcquireTokenSilentParameters parameters);
+    }
+
+    private final RefreshRequester mRequester;
+    private final double mLifetimeFraction;
+    private final long mMaxJitterMillis;
+    private final Semaphore mRefreshPermits;
+    private final Random mRandom;
+    private final ScheduledExecutorService mExecutor;
+    private final ConcurrentMap<String, ScheduledRefresh> mScheduledRefreshes = new ConcurrentHashMap<>();
+
+    /**
+     * Parameters of the background refreshes in flight, whose results are not scheduled again.
+     */
+    private final Set<TokenParameters> mRefreshRequests =
+            Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<TokenParameters, Boolean>()));
+
+    AccessTokenRefreshScheduler(@NonNull final PublicClientApplication application,
+                                @NonNull final TokenRefreshConfiguration configuration) {
+        this(
+                new RefreshRequester() {
+                    @Override
+                    public void acquireTokenSilentAsync(@NonNull final AcquireTokenSilentParameters parameters) {
+                        application.acquireTokenSilentAsyncInternal(
+                                parameters,
+                                PublicApiId.PCA_ACQUIRE_TOKEN_SILENT_ASYNC_WITH_PARAMETERS
+                        );
+                    }
+                },
+                configuration,
+                BackgroundScheduler.get(),
+                new Random()
+        );
+    }
+
+    AccessTokenRefreshScheduler(@NonNull final RefreshRequester requester,
+                                @NonNull final TokenRefreshConfiguration configuration,
+                                @NonNull final ScheduledExecutorService executor,
+                                @NonNull final Random random) {
+        mRequester = requester;
+        mLifetimeFraction = configuration.getRefreshAheadLifetimeFraction();
+        mMaxJitterMillis = configuration.getRefreshAheadMaxJitterMillis();
+        mRefreshPermits = new Semaphore(configuration.getRefreshAheadMaxConcurrentRefreshes());
+        mExecutor = executor;
+        mRandom = random;
+    }
+
+    /**
+     * Schedules a background refresh of the access token in the supplied result, replacing any
+     * refresh already scheduled for the same account, authority and scopes. Results of interactive
+     * requests and of background refreshes are not scheduled.
+     */
+    void schedule(@NonNull final TokenParameters requestParameters,
+                  @NonNull final IAuthenticationResult result) {
+        final String methodTag = TAG + ":schedule";
+
+        if (!(requestParameters instanceof AcquireTokenSilentParameters)
+                || mRefreshRequests.contains(requestParameters)
+                || null != requestParameters.getClaimsRequest()
+                || !BearerAuthenticationSchemeInternal.SCHEME_BEARER.equalsIgnoreCase(
+                TokenRequestKey.getSchemeName(requestParameters.getAuthenticationScheme()))) {
+            return;
+        }
+
+        final IAccount account = null != requestParameters.getAccount()
+                ? requestParameters.getAccount()
+                : result.getAccount();
+        final String authority = requestParameters.getAuthority();
+        final List<String> scopes = requestParameters.getScopes();
+        final String key = TokenRequestKey.get(
+                account,
+                authority,
+                scopes,
+                requestParameters.getAuthenticationScheme()
+        );
+
+        if (null == key) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        final long expiresOn = result.getExpiresOn().getTime();
+        final long issuedAt = getIssuedAt(result, now);
+
+        if (expiresOn <= now || expiresOn <= issuedAt) {
+            return;
+        }
+
+        final long refreshAt = issuedAt
+                + (long) ((expiresOn - issuedAt) * mLifetimeFraction)
+                - nextJitter();
+
+        final ScheduledRefresh refresh = new ScheduledRefresh(
+                key,
+                account,
+                authority,
+                new ArrayList<>(scopes)
+        );
+
+        final ScheduledRefresh previous = mScheduledRefreshes.put(key, refresh);
+
+        if (null != previous) {
+            previous.cancel();
+        }
+
+        refresh.scheduleAt(refreshAt, now);
+
+        Logger.verbose(
+                methodTag,
+                "Scheduled access token refresh in "
+                        + TimeUnit.MILLISECONDS.toSeconds(Math.max(0, refreshAt - now))
+                        + " seconds."
+        );
+    }
+
+    /**
+     * Cancels every scheduled refresh, e.g. when accounts are removed from the cache.
+     */
+    void cancelAll() {
+        for (final ScheduledRefresh refresh : mScheduledRefreshes.values()) {
+            refresh.cancel();
+        }
+
+        mScheduledRefreshes.clear();
+    }
+
+    int getScheduledRefreshCount() {
+        return mScheduledRefreshes.size();
+    }
+
+    private long nextJitter() {
+        if (mMaxJitterMillis <= 0) {
+            return 0;
+        }
+
+        synchronized (mRandom) {
+            return (long) (mRandom.nextDouble() * mMaxJitterMillis);
+        }
+    }
+
+    private static long getIssuedAt(@NonNull final IAuthenticationResult result, final long now) {
+        if (result instanceof AuthenticationResult) {
+            final Date cachedAt = ((AuthenticationResult) result).getCachedAt();
+
+            if (null != cachedAt) {
+                return cachedAt.getTime();
+            }
+        }
+
+        return now;
+    }
+
+    private final class ScheduledRefresh implements Runnable {
+
+        private final String mKey;
+        private final IAccount mAccount;
+        private final String mAuthority;
+        private final List<String> mScopes;
+        private volatile ScheduledFuture<?> mFuture;
+        private volatile boolean mCancelled;
+
+        ScheduledRefresh(@NonNull final String key,
+                         @NonNull final IAccount account,
+                         @NonNull final String authority,
+                         @NonNull final List<String> scopes) {
+            mKey = key;
+            mAccount = account;
+            mAuthority = authority;
+            mScopes = scopes;
+        }
+
+        void scheduleAt(final long refreshAt, final long now) {
+            if (!mCancelled) {
+                mFuture = mExecutor.schedule(this, Math.max(0, refreshAt - now), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        void cancel() {
+            mCancelled = true;
+
+            final ScheduledFuture<?> future = mFuture;
+
+            if (null != future) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            final String methodTag = TAG + ":run";
+
+            if (mCancelled) {
+                return;
+            }
+
+            if (!mRefreshPermits.tryAcquire()) {
+                Logger.verbose(methodTag, "Too many refreshes in flight, deferring refresh.");
+                final long now = System.currentTimeMillis();
+                scheduleAt(now + DEFERRED_REFRESH_DELAY_MILLIS + nextJitter(), now);
+                return;
+            }
+
+            final AcquireTokenSilentParameters[] parameters = new AcquireTokenSilentParameters[1];
+
+            parameters[0] = new AcquireTokenSilentParameters.Builder()
+                    .forAccount(mAccount)
+                    .fromAuthority(mAuthority)
+                    .withScopes(mScopes)
+                    .forceRefresh(true)
+                    .withCallback(new SilentAuthenticationCallback() {
+                        @Override
+                        public void onSuccess(final IAuthenticationResult authenticationResult) {
+                            // The next refresh is scheduled by the next foreground request.
+                            onRefreshCompleted(parameters[0]);
+                        }
+
+                        @Override
+                        public void onError(final MsalException exception) {
+                            Logger.warn(
+                                    methodTag,
+                                    "Background access token refresh failed: " + exception.getErrorCode()
+                            );
+
+                            // Leave it to the next foreground request to handle the failure.
+                            onRefreshCompleted(parameters[0]);
+                        }
+                    })
+                    .build();
+
+            mRefreshRequests.add(parameters[0]);
+            mRequester.acquireTokenSilentAsync(parameters[0]);
+        }
+
+        private void onRefreshCompleted(@NonNull final AcquireTokenSilentParameters parameters) {
+            mRefreshRequests.remove(parameters);
+            mRefreshPermits.release();
+            mScheduledRefreshes.remove(mKey, ScheduledRefresh.this);
+        }
+    }
+}
@@ -32,6 +32,7 @@ import com.microsoft.identity.common.java.providers.oauth2.IDToken;
 import com.microsoft.identity.common.internal.util.StringUtil;
 import com.microsoft.identity.common.logging.Logger;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import static com.microsoft.identity.common.java.util.SchemaUtil.MISSING_FROM_THE_TOKEN_RESPONSE;
@@ -40,9 +41,17 @@ public class Account implements IAccount {
 
     private static final String TAG = Account.class.getSimpleName();
 
-    private final Map<String, ?> mIdTokenClaims;
-    private final String mRawIdToken;
+    /**
+     * Parsed lazily from {@link #mRawIdToken}, see {@link #getSharedClaims()}.
+     */
+    private volatile Map<String, ?> mIdTokenClaims;
+    private String mRawIdToken;
     private String mClientInfo;
+
+    /**
+     * The unique identifier of the client info, parsed lazily, see {@link #getId()}.
+     */
+    private volatile String mClientInfoUid;
     private String mHomeOid;
     private String mHomeTenantId;
     private String mEnvironment;
@@ -62,6 +71,14 @@ public class Account implements IAccount {
         }
     }
 
+    /**
+     * Sets the raw id token of this account, whose claims are only parsed once requested.
+     */
+    void setRawIdToken(@Nullable final String rawIdToken) {
+        mRawIdToken = rawIdToken;
+        mIdTokenClaims = null;
+    }
+
     void setId(@Nullable final String id) {
         mHomeOid = id;
     }
@@ -72,24 +89,12 @@ public class Account implements IAccount {
         final String methodTag = TAG + ":getId";
         String id;
 
-        ClientInfo clientInfo = null;
-
-        if (null != mClientInfo) { // This property should only exist for home accounts...
-            try {
-                clientInfo = new ClientInfo(mClientInfo);
-            } catch (final MsalClientException e) {
-                Logger.error(
-                        methodTag,
-                        "Failed to parse ClientInfo",
-                        e
-                );
-            }
-        }
+        final String clientInfoUid = getClientInfoUid();
 
-        if (null != clientInfo) {
-            id = clientInfo.getUniqueIdentifier();
-        } else if (null != mIdTokenClaims) {
-            id = (String) mIdTokenClaims.get(MicrosoftIdToken.OBJECT_ID);
+        if (null != clientInfoUid) {
+            id = clientInfoUid;
+        } else if (null != getSharedClaims()) {
+            id = (String) getSharedClaims().get(MicrosoftIdToken.OBJECT_ID);
         } else {
             id = mHomeOid;
         }
@@ -117,6 +122,32 @@ public class Account implements IAccount {
         return id;
     }
 
+    @Nullable
+    private String getClientInfoUid() {
+        final String methodTag = TAG + ":getClientInfoUid";
+
+        if (null == mClientInfo) { // This property should only exist for home accounts...
+            return null;
+        }
+
+        String clientInfoUid = mClientInfoUid;
+
+        if (null == clientInfoUid) {
+            try {
+                clientInfoUid = new ClientInfo(mClientInfo).getUniqueIdentifier();
+                mClientInfoUid = clientInfoUid;
+            } catch (final MsalClientException e) {
+                Logger.error(
+                        methodTag,
+                        "Failed to parse ClientInfo",
+                        e
+                );
+            }
+        }
+
+        return clientInfoUid;
+    }
+
     void setTenantId(@NonNull final String tenantId) {
         mHomeTenantId = tenantId;
     }
@@ -150,20 +181,45 @@ public class Account implements IAccount {
     /**
      * Gets the claims associated to this Account's IdToken. In the case of the Microsoft Identity
      * Platform, this value can be null if the home tenant has not been authorized.
+     * <p>
+     * The IdToken is only parsed on first access. Each call returns a new copy of the claims,
+     * which the caller may modify.
      *
      * @return The claims for this Account's IdToken or null, if no IdToken exists.
      */
     @Nullable
     @Override
     public Map<String, ?> getClaims() {
-        return mIdTokenClaims;
+        final Map<String, ?> claims = getSharedClaims();
+
+        if (null == claims) {
+            return null;
+        }
+
+        return new HashMap<>(claims);
+    }
+
+    /**
+     * @return The unmodifiable claims for this Account's IdToken, shared between accounts built
+     * from the same IdToken, or null if no IdToken exists.
+     */
+    @Nullable
+    Map<String, ?> getSharedClaims() {
+        Map<String, ?> claims = mIdTokenClaims;
+
+        if (null == claims && null != mRawIdToken) {
+            claims = IdTokenClaimsCache.getClaims(mRawIdToken);
+            mIdTokenClaims = claims;
+        }
+
+        return claims;
     }
 
     @NonNull
     @Override
     public String getUsername() {
-        if (null != getClaims()) {
-            return SchemaUtil.getDisplayableId(getClaims());
+        if (null != getSharedClaims()) {
+            return SchemaUtil.getDisplayableId(getSharedClaims());
         }
 
         return MISSING_FROM_THE_TOKEN_RESPONSE;
@@ -174,8 +230,8 @@ public class Account implements IAccount {
     public String getAuthority() {
         // TODO: The below logic only works for the case of AAD. We need to refactor this once we
         //  make a proper fix for B2C
-        if (null != getClaims()) {
-            final String iss = (String) getClaims().get("iss");
+        if (null != getSharedClaims()) {
+            final String iss = (String) getSharedClaims().get("iss");
             if (!StringUtil.isEmpty(iss)) {
                 return iss;
             }
@@ -25,182 +25,198 @@ package com.microsoft.identity.client;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
-import com.microsoft.identity.common.java.exception.ServiceException;
 import com.microsoft.identity.common.java.cache.ICacheRecord;
 import com.microsoft.identity.common.java.dto.AccountRecord;
-import com.microsoft.identity.common.java.providers.oauth2.IDToken;
 import com.microsoft.identity.common.java.providers.oauth2.OAuth2TokenCache;
 import com.microsoft.identity.common.java.util.StringUtil;
 import com.microsoft.identity.common.logging.Logger;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 class AccountAdapter {
 
     private static final String TAG = AccountAdapter.class.getSimpleName();
+    private static final char ACCOUNT_KEY_DELIMITER = '|';
 
     /**
-     * Abstract class representing a filter for ICacheRecords.
+     * For a supplied List of ICacheRecords, create each root IAccount based on the home
+     * account and then add child-nodes based on any authorized tenants.
+     * <p>
+     * Records are grouped by home account id in a single pass, so that the cost is linear in the
+     * number of records.
+     *
+     * @param allCacheRecords
+     * @return
      */
-    private interface CacheRecordFilter {
-
-        List<ICacheRecord> filter(@NonNull final List<ICacheRecord> records);
-    }
+    @NonNull
+    static List<IAccount> adapt(@NonNull final List<ICacheRecord> allCacheRecords) {
+        final List<ICacheRecord> homeCacheRecords = new ArrayList<>();
+        final Set<String> homeAccountIds = new HashSet<>();
 
-    private static class GuestAccountFilter implements CacheRecordFilter {
+        // Guest records, bucketed by the home account id of the account they belong to
+        final Map<String, List<ICacheRecord>> guestCacheRecords = new LinkedHashMap<>();
 
-        @Override
-        public List<ICacheRecord> filter(@NonNull List<ICacheRecord> records) {
-            final List<ICacheRecord> result = new ArrayList<>();
+        for (final ICacheRecord cacheRecord : allCacheRecords) {
+            final String homeAccountId = cacheRecord.getAccount().getHomeAccountId();
 
-            for (final ICacheRecord cacheRecord : records) {
-                final String acctHomeAccountId = cacheRecord.getAccount().getHomeAccountId();
-                final String acctLocalAccountId = cacheRecord.getAccount().getLocalAccountId();
+            if (isHomeAccountRecord(cacheRecord)) {
+                homeCacheRecords.add(cacheRecord);
+                homeAccountIds.add(homeAccountId);
+            } else {
+                List<ICacheRecord> bucket = guestCacheRecords.get(homeAccountId);
 
-                if (!acctHomeAccountId.contains(acctLocalAccountId)) {
-                    result.add(cacheRecord);
+                if (null == bucket) {
+                    bucket = new ArrayList<>();
+                    guestCacheRecords.put(homeAccountId, bucket);
                 }
-            }
 
-            return result;
+                bucket.add(cacheRecord);
+            }
         }
-    }
-
-    /**
-     * A filter for ICacheRecords that filters out home or guest accounts, based on its
-     * constructor initialization.
-     */
-    private static class HomeAccountFilter implements CacheRecordFilter {
 
-        @Override
-        public List<ICacheRecord> filter(@NonNull final List<ICacheRecord> records) {
-            final List<ICacheRecord> result = new ArrayList<>();
+        // Separate the guest records which have no corresponding home account...
+        final Map<String, List<ICacheRecord>> guestCacheRecordsWithNoHomeAccount = new LinkedHashMap<>();
+        final Iterator<Map.Entry<String, List<ICacheRecord>>> iterator = guestCacheRecords.entrySet().iterator();
 
-            for (final ICacheRecord cacheRecord : records) {
-                final String acctHomeAccountId = cacheRecord.getAccount().getHomeAccountId();
-                final String acctLocalAccountId = cacheRecord.getAccount().getLocalAccountId();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, List<ICacheRecord>> entry = iterator.next();
 
-                if (acctHomeAccountId.contains(acctLocalAccountId)) {
-                    result.add(cacheRecord);
-                }
+            if (!homeAccountIds.contains(entry.getKey())) {
+                guestCacheRecordsWithNoHomeAccount.put(entry.getKey(), entry.getValue());
+                iterator.remove();
             }
-
-            return result;
         }
+
+        final List<IAccount> rootAccounts = createRootAccounts(homeCacheRecords);
+        appendChildren(rootAccounts, homeCacheRecords, guestCacheRecords);
+        rootAccounts.addAll(
+                createIAccountsForGuestsNotSignedIntoHomeTenant(guestCacheRecordsWithNoHomeAccount)
+        );
+
+        return rootAccounts;
     }
 
     /**
-     * A filter which finds guest accounts which have no corresponding home tenant account.
+     * For a supplied List of ICacheRecords, create the IAccounts matching the supplied query, one
+     * page at a time.
+     * <p>
+     * Records are grouped by home account id and environment, the records each IAccount is built
+     * from, and the groups are filtered and paged before any IAccount is created, so that only the
+     * accounts of the requested page are built. Groups are ordered by home account id and
+     * environment, which are used as the cursor: a page starts after the cursor regardless of the
+     * accounts added or removed since the previous page was returned.
      */
-    private static final CacheRecordFilter guestAccountsWithNoHomeTenantAccountFilter = new CacheRecordFilter() {
+    @NonNull
+    static AccountQueryResult query(@NonNull final List<ICacheRecord> allCacheRecords,
+                                    @NonNull final AccountQueryParameters parameters) {
+        final TreeMap<String, List<ICacheRecord>> recordsByAccount = new TreeMap<>();
 
-        private boolean hasNoCorrespondingHomeAccount(@NonNull final ICacheRecord guestRecord,
-                                                      @NonNull final List<ICacheRecord> homeRecords) {
-            // Init our sought value
-            final String guestAccountHomeAccountId = guestRecord.getAccount().getHomeAccountId();
+        for (final ICacheRecord cacheRecord : allCacheRecords) {
+            final String accountKey = getAccountKey(cacheRecord.getAccount());
+            List<ICacheRecord> group = recordsByAccount.get(accountKey);
 
-            // Create a List of home_account_ids from the homeRecords...
-            final List<String> homeAccountIds = new ArrayList<String>() {{
-                for (final ICacheRecord cacheRecord : homeRecords) {
-                    add(cacheRecord.getAccount().getHomeAccountId());
-                }
-            }};
+            if (null == group) {
+                group = new ArrayList<>();
+                recordsByAccount.put(accountKey, group);
+            }
 
-            return !homeAccountIds.contains(guestAccountHomeAccountId);
+            group.add(cacheRecord);
         }
 
-        @Override
-        public List<ICacheRecord> filter(@NonNull final List<ICacheRecord> records) {
-            final List<ICacheRecord> result = new ArrayList<>();
-
-            // First, get the home accounts....
-            final List<ICacheRecord> homeRecords =
-                    filterCacheRecords(
-                            records,
-                            new HomeAccountFilter()
-                    );
-
-            // Then, get the guest accounts...
-            final List<ICacheRecord> guestRecords =
-                    filterCacheRecords(
-                            records,
-                            new GuestAccountFilter()
-                    );
+        final Map<String, List<ICacheRecord>> candidates = StringUtil.isNullOrEmpty(parameters.getCursor())
+                ? recordsByAccount
+                : recordsByAccount.tailMap(parameters.getCursor(), false);
+        final int pageSize = parameters.getPageSize() > 0 ? parameters.getPageSize() : Integer.MAX_VALUE;
+        final List<IAccount> accounts = new ArrayList<>();
+        String lastAccountKey = null;
+        String nextCursor = null;
+        int pageCount = 0;
+
+        for (final Map.Entry<String, List<ICacheRecord>> group : candidates.entrySet()) {
+            if (!anyRecordMatches(group.getValue(), parameters)) {
+                continue;
+            }
 
-            // Iterate over the guest accounts and find those which have no associated home account
-            for (final ICacheRecord guestRecord : guestRecords) {
-                if (hasNoCorrespondingHomeAccount(guestRecord, homeRecords)) {
-                    result.add(guestRecord);
-                }
+            if (pageCount == pageSize) {
+                // There is at least one more match: the page ends at the last group added to it
+                nextCursor = lastAccountKey;
+                break;
             }
 
-            return result;
+            accounts.addAll(adapt(group.getValue()));
+            lastAccountKey = group.getKey();
+            pageCount++;
         }
-    };
+
+        return new AccountQueryResult(accounts, nextCursor);
+    }
 
     /**
-     * For a supplied List of ICacheRecords, create each root IAccount based on the home
-     * account and then add child-nodes based on any authorized tenants.
-     *
-     * @param allCacheRecords
-     * @return
+     * The records of one home account in one environment make up a single IAccount.
      */
     @NonNull
-    static List<IAccount> adapt(@NonNull final List<ICacheRecord> allCacheRecords) {
-        // First, get all of the ICacheRecords for home accounts...
-        final List<ICacheRecord> homeCacheRecords = filterCacheRecords(
-                allCacheRecords,
-                new HomeAccountFilter()
-        );
-
-        // Then, get all of the guest accounts...
-        // Note that the guestCacheRecordsWithNoHomeAccount (see below) will be *removed* from this
-        // List.
-        final List<ICacheRecord> guestCacheRecords = filterCacheRecords(
-                allCacheRecords,
-                new GuestAccountFilter()
-        );
-
-        // Get the guest cache records which have no homeAccount
-        final List<ICacheRecord> guestCacheRecordsWithNoHomeAccount = filterCacheRecords(
-                allCacheRecords,
-                guestAccountsWithNoHomeTenantAccountFilter
-        );
+    private static String getAccountKey(@NonNull final AccountRecord accountRecord) {
+        final String environment = accountRecord.getEnvironment();
 
-        // Remove the guest records that have no corresponding home account from the complete list of
-        // guest records...
-        guestCacheRecords.removeAll(guestCacheRecordsWithNoHomeAccount);
+        return accountRecord.getHomeAccountId()
+                + ACCOUNT_KEY_DELIMITER
+                + (null == environment ? "" : environment.toLowerCase(Locale.ROOT));
+    }
 
-        final List<IAccount> rootAccounts = createRootAccounts(homeCacheRecords);
-        appendChildren(rootAccounts, guestCacheRecords);
-        rootAccounts.addAll(
-                createIAccountsForGuestsNotSignedIntoHomeTenant(guestCacheRecordsWithNoHomeAccount)
-        );
+    private static boolean anyRecordMatches(@NonNull final List<ICacheRecord> cacheRecords,
+                                            @NonNull final AccountQueryParameters parameters) {
+        for (final ICacheRecord cacheRecord : cacheRecords) {
+            if (matches(cacheRecord.getAccount(), parameters)) {
+                return true;
+            }
+        }
 
-        return rootAccounts;
+        return false;
     }
 
-    @NonNull
-    private static List<IAccount> createIAccountsForGuestsNotSignedIntoHomeTenant(
-            @NonNull final List<ICacheRecord> guestCacheRecords) {
-        // First, bucket the records by homeAccountId to create affinities
-        final Map<String, List<ICacheRecord>> bucketedRecords = new HashMap<>();
+    private static boolean matches(@NonNull final AccountRecord accountRecord,
+                                   @NonNull final AccountQueryParameters parameters) {
+        return matchesIgnoreCase(parameters.getTenantId(), accountRecord.getRealm())
+                && matchesIgnoreCase(parameters.getEnvironment(), accountRecord.getEnvironment())
+                && matchesIgnoreCase(parameters.getAuthorityType(), accountRecord.getAuthorityType())
+                && matchesUsernamePrefix(parameters.getUsernamePrefix(), accountRecord.getUsername());
+    }
 
-        for (final ICacheRecord cacheRecord : guestCacheRecords) {
-            final String cacheRecordHomeAccountId = cacheRecord.getAccount().getHomeAccountId();
+    private static boolean matchesIgnoreCase(@Nullable final String filter,
+                                             @Nullable final String value) {
+        return StringUtil.isNullOrEmpty(filter) || filter.equalsIgnoreCase(value);
+    }
 
-            // Initialize the multi-map
-            if (null == bucketedRecords.get(cacheRecordHomeAccountId)) {
-                bucketedRecords.put(cacheRecordHomeAccountId, new ArrayList<ICacheRecord>());
-            }
+    private static boolean matchesUsernamePrefix(@Nullable final String prefix,
+                                                 @Nullable final String username) {
+        return StringUtil.isNullOrEmpty(prefix)
+                || (null != username
+                && username.toLowerCase(Locale.ROOT).startsWith(prefix.toLowerCase(Locale.ROOT)));
+    }
 
-            // Add the record to the multi-map
-            bucketedRecords.get(cacheRecordHomeAccountId).add(cacheRecord);
-        }
+    /**
+     * A home account record is one whose local account id is part of its home account id; any
+     * other record is a guest record.
+     */
+    private static boolean isHomeAccountRecord(@NonNull final ICacheRecord cacheRecord) {
+        return cacheRecord
+                .getAccount()
+                .getHomeAccountId()
+                .contains(cacheRecord.getAccount().getLocalAccountId());
+    }
 
+    @NonNull
+    private static List<IAccount> createIAccountsForGuestsNotSignedIntoHomeTenant(
+            @NonNull final Map<String, List<ICacheRecord>> bucketedRecords) {
         // Declare our result holder...
         final List<IAccount> result = new ArrayList<>();
 
@@ -235,8 +251,9 @@ class AccountAdapter {
                         // If client info is present, getId() will return the home tenant OID
                         // instead of the OID from the guest tenant.
                         null,
-                        getIdToken(cacheRecord)
+                        null
                 );
+                profile.setRawIdToken(getRawIdToken(cacheRecord));
 
                 tenantProfileMap.put(tenantId, profile);
             }
@@ -249,30 +266,34 @@ class AccountAdapter {
     }
 
     private static void appendChildren(@NonNull final List<IAccount> rootAccounts,
-                                       @NonNull final List<ICacheRecord> guestCacheRecords) {
-        // Iterate over the roots, adding the children as we go...
-        for (final IAccount account : rootAccounts) {
-            // Iterate over the potential children, adding them if they match
+                                       @NonNull final List<ICacheRecord> homeCacheRecords,
+                                       @NonNull final Map<String, List<ICacheRecord>> guestCacheRecords) {
+        // Iterate over the roots, adding the children of each...
+        for (int i = 0; i < rootAccounts.size(); i++) {
+            // Cast the root account for initialization...
+            final MultiTenantAccount multiTenantAccount = (MultiTenantAccount) rootAccounts.get(i);
             final Map<String, ITenantProfile> tenantProfiles = new HashMap<>();
 
-            for (final ICacheRecord guestRecord : guestCacheRecords) {
-                final String guestRecordHomeAccountId = guestRecord.getAccount().getHomeAccountId();
+            // The roots were created from the home records, in order
+            final List<ICacheRecord> children = guestCacheRecords.get(
+                    homeCacheRecords.get(i).getAccount().getHomeAccountId()
+            );
 
-                if (guestRecordHomeAccountId.contains(account.getId())) {
+            if (null != children) {
+                for (final ICacheRecord guestRecord : children) {
                     final TenantProfile profile = new TenantProfile(
                             // Intentionally do NOT supply the client info here.
                             // If client info is present, getId() will return the home tenant OID
                             // instead of the OID from the guest tenant.
                             null,
-                            getIdToken(guestRecord)
+                            null
                     );
+                    profile.setRawIdToken(getRawIdToken(guestRecord));
                     profile.setEnvironment(guestRecord.getAccount().getEnvironment());
                     tenantProfiles.put(guestRecord.getAccount().getRealm(), profile);
                 }
             }
 
-            // Cast the root account for initialization...
-            final MultiTenantAccount multiTenantAccount = (MultiTenantAccount) account;
             multiTenantAccount.setTenantProfiles(tenantProfiles);
         }
     }
@@ -291,9 +312,12 @@ class AccountAdapter {
                     // the uid value is the "id" of the account.
                     // For B2C, this value will contain the policy name appended to the OID.
                     homeCacheRecord.getAccount().getClientInfo(),
-                    getIdToken(homeCacheRecord)
+                    null
             );
 
+            // The IdToken is only parsed once its claims are requested.
+            ((MultiTenantAccount) rootAccount).setRawIdToken(getRawIdToken(homeCacheRecord));
+
             ((MultiTenantAccount) rootAccount).setHomeAccountId(
                     homeCacheRecord.getAccount().getHomeAccountId()
             );
@@ -321,40 +345,15 @@ class AccountAdapter {
     }
 
     @Nullable
-    private static IDToken getIdToken(@NonNull final ICacheRecord cacheRecord) {
-        final String rawIdToken;
-
+    private static String getRawIdToken(@NonNull final ICacheRecord cacheRecord) {
         if (null != cacheRecord.getIdToken()) {
-            rawIdToken = cacheRecord.getIdToken().getSecret();
+            return cacheRecord.getIdToken().getSecret();
         } else if (null != cacheRecord.getV1IdToken()) {
-            rawIdToken = cacheRecord.getV1IdToken().getSecret();
+            return cacheRecord.getV1IdToken().getSecret();
         } else {
             // We have no id_token for this account
             return null;
         }
-
-        try {
-            return new IDToken(rawIdToken);
-        } catch (ServiceException e) {
-            // This should never happen - the IDToken was verified when it was originally
-            // returned from the service and saved.
-            throw new IllegalStateException("Failed to restore IdToken");
-        }
-    }
-
-    /**
-     * Filters ICacheRecords based on the criteria specified by the {@link CacheRecordFilter}.
-     * Results may be empty, but never null.
-     *
-     * @param allCacheRecords The ICacheRecords to inspect.
-     * @param filter          The CacheRecordFilter to consult.
-     * @return A List of ICacheRecords matching the supplied filter criteria.
-     */
-    @NonNull
-    private static List<ICacheRecord> filterCacheRecords(
-            @NonNull final List<ICacheRecord> allCacheRecords,
-            @NonNull final CacheRecordFilter filter) {
-        return filter.filter(allCacheRecords);
     }
 
     @Nullable
@@ -0,0 +1,399 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.common.java.util.SchemaUtil;
+import com.microsoft.identity.common.java.util.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory index of the accounts in the token cache of a client id, so that accounts can be
+ * looked up by identifier without loading and adapting every cache record. The index is shared by
+ * every {@link PublicClientApplication} of the client id in this process, as is the token cache.
+ * <p>
+ * Accounts are indexed by home account id, by local account id (of the home account and of each
+ * tenant profile) and by case-folded username. The index is loaded in full from the token cache,
+ * after which accounts are updated incrementally as the applications sign them in or remove
+ * them. Whenever the token cache is modified in a way an application cannot attribute to a single
+ * account, the index is invalidated and loaded again on the next lookup.
+ * <p>
+ * Every modification bumps the change version of the index, and the accounts are handed out as an
+ * immutable snapshot which is only rebuilt once the version has changed.
+ */
+final class AccountIndex {
+
+    private static final Map<String, AccountIndex> sIndexes = new HashMap<>();
+
+    private final Map<String, IAccount> mAccounts = new LinkedHashMap<>();
+    private final Map<String, List<IAccount>> mAccountsByHomeAccountId = new HashMap<>();
+    private final Map<String, List<IAccount>> mAccountsByLocalAccountId = new HashMap<>();
+    private final Map<String, List<IAccount>> mAccountsByUsername = new HashMap<>();
+
+    private boolean mLoaded;
+
+    /**
+     * Monotonically increasing change version, bumped on every modification so that accounts
+     * read from the token cache before it are not indexed.
+     */
+    private long mVersion;
+
+    /**
+     * The indexed accounts as handed out, null until requested after a modification.
+     */
+    private List<IAccount> mSnapshot;
+
+    /**
+     * @return The index shared by every {@link PublicClientApplication} of the supplied client id
+     * in this process.
+     */
+    @NonNull
+    static AccountIndex get(@NonNull final String clientId) {
+        synchronized (sIndexes) {
+            AccountIndex index = sIndexes.get(clientId);
+
+            if (null == index) {
+                index = new AccountIndex();
+                sIndexes.put(clientId, index);
+            }
+
+            return index;
+        }
+    }
+
+    /**
+     * Drops the content of every index, for tests which clear the token cache directly.
+     */
+    static void invalidateAll() {
+        synchronized (sIndexes) {
+            for (final AccountIndex index : sIndexes.values()) {
+                index.invalidate();
+            }
+        }
+    }
+
+    /**
+     * @return The change version to supply to {@link #load(List, long)} once the accounts have
+     * been read from the token cache.
+     */
+    synchronized long getVersion() {
+        return mVersion;
+    }
+
+    synchronized boolean isLoaded() {
+        return mLoaded;
+    }
+
+    /**
+     * Replaces the content of the index with the supplied accounts, read from the token cache,
+     * unless the index has been modified since the supplied version was obtained.
+     */
+    synchronized void load(@NonNull final List<IAccount> accounts, final long version) {
+        if (version != mVersion) {
+            return;
+        }
+
+        // Not a change of the token cache, but the accounts are new instances
+        mVersion++;
+        clearEntries();
+
+        for (final IAccount account : accounts) {
+            index(account);
+        }
+
+        mLoaded = true;
+    }
+
+    /**
+     * Adds or replaces the supplied account, which was just written to the token cache.
+     */
+    synchronized void put(@Nullable final IAccount account) {
+        mVersion++;
+        mSnapshot = null;
+
+        if (!mLoaded || null == account) {
+            return;
+        }
+
+        final IAccount previous = mAccounts.get(getKey(account));
+
+        if (null != previous) {
+            unindex(previous);
+        }
+
+        index(account);
+    }
+
+    /**
+     * Removes the supplied account, which was just removed from the token cache.
+     */
+    synchronized void remove(@Nullable final IAccount account) {
+        mVersion++;
+        mSnapshot = null;
+
+        if (!mLoaded || null == account) {
+            return;
+        }
+
+        final IAccount previous = mAccounts.get(getKey(account));
+
+        if (null != previous) {
+            unindex(previous);
+        }
+    }
+
+    /**
+     * Drops the content of the index, which is loaded again on the next lookup.
+     */
+    synchronized void invalidate() {
+        mVersion++;
+        mSnapshot = null;
+        mLoaded = false;
+        clearEntries();
+    }
+
+    /**
+     * Looks up the account matching the supplied identifier, which may be a home account id, a local
+     * account id or a username, in that order of precedence.
+     * <p>
+     * Identifiers which are not indexed verbatim are matched against every indexed account with the
+     * supplied matcher, so that lookups keep matching the same accounts as a scan of the token cache.
+     *
+     * @return The matching account, or null if there is none or the index is not loaded; see
+     * {@link #isLoaded()}.
+     */
+    @Nullable
+    synchronized IAccount find(@NonNull final String identifier,
+                             @NonNull final PublicClientApplication.AccountMatcher fallbackMatcher) {
+        if (!mLoaded) {
+            return null;
+        }
+
+        IAccount account = get(mAccountsByHomeAccountId, identifier);
+
+        if (null == account) {
+            account = get(mAccountsByLocalAccountId, identifier);
+        }
+
+        if (null == account) {
+            account = get(mAccountsByUsername, identifier.toLowerCase(Locale.ROOT));
+        }
+
+        if (null == account) {
+            for (final IAccount candidate : mAccounts.values()) {
+                if (fallbackMatcher.matches(identifier, candidate)) {
+                    account = candidate;
+                    break;
+                }
+            }
+        }
+
+        return account;
+    }
+
+    /**
+     * @return An immutable snapshot of the indexed accounts, shared until the index is modified,
+     * or null if the index is not loaded.
+     */
+    @Nullable
+    synchronized List<IAccount> getAccounts() {
+        if (!mLoaded) {
+            return null;
+        }
+
+        if (null == mSnapshot) {
+            mSnapshot = Collections.unmodifiableList(new ArrayList<>(mAccounts.values()));
+        }
+
+        return mSnapshot;
+    }
+
+    synchronized int size() {
+        return mAccounts.size();
+    }
+
+    private void clearEntries() {
+        mSnapshot = null;
+        mAccounts.clear();
+        mAccountsByHomeAccountId.clear();
+        mAccountsByLocalAccountId.clear();
+        mAccountsByUsername.clear();
+    }
+
+    private void index(@NonNull final IAccount account) {
+        mAccounts.put(getKey(account), account);
+
+        for (final String homeAccountId : getHomeAccountIds(account)) {
+            add(mAccountsByHomeAccountId, homeAccountId, account);
+        }
+
+        for (final String localAccountId : getLocalAccountIds(account)) {
+            add(mAccountsByLocalAccountId, localAccountId, account);
+        }
+
+        for (final String username : getUsernames(account)) {
+            add(mAccountsByUsername, username, account);
+        }
+    }
+
+    private void unindex(@NonNull final IAccount account) {
+        mAccounts.remove(getKey(account));
+
+        for (final String homeAccountId : getHomeAccountIds(account)) {
+            remove(mAccountsByHomeAccountId, homeAccountId, account);
+        }
+
+        for (final String localAccountId : getLocalAccountIds(account)) {
+            remove(mAccountsByLocalAccountId, localAccountId, account);
+        }
+
+        for (final String username : getUsernames(account)) {
+            remove(mAccountsByUsername, username, account);
+        }
+    }
+
+    /**
+     * Several accounts may share a key, e.g. a username; the first one indexed wins, as it would
+     * when scanning the accounts in order.
+     */
+    @Nullable
+    private static IAccount get(@NonNull final Map<String, List<IAccount>> index,
+                                @NonNull final String key) {
+        final List<IAccount> accounts = index.get(key);
+
+        return null == accounts ? null : accounts.get(0);
+    }
+
+    private static void add(@NonNull final Map<String, List<IAccount>> index,
+                            @NonNull final String key,
+                            @NonNull final IAccount account) {
+        List<IAccount> accounts = index.get(key);
+
+        if (null == accounts) {
+            accounts = new ArrayList<>(1);
+            index.put(key, accounts);
+        }
+
+        if (!accounts.contains(account)) {
+            accounts.add(account);
+        }
+    }
+
+    private static void remove(@NonNull final Map<String, List<IAccount>> index,
+                               @NonNull final String key,
+                               @NonNull final IAccount account) {
+        final List<IAccount> accounts = index.get(key);
+
+        if (null != accounts && accounts.remove(account) && accounts.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    /**
+     * Accounts not signed into their home tenant carry no home account id, but their id and
+     * tenant id are derived from it.
+     */
+    @NonNull
+    static String getKey(@NonNull final IAccount account) {
+        final String homeAccountId = TokenRequestKey.getHomeAccountId(account);
+
+        if (!TextUtils.isEmpty(homeAccountId)) {
+            return homeAccountId;
+        }
+
+        return account.getId() + "." + account.getTenantId();
+    }
+
+    @NonNull
+    private static List<String> getHomeAccountIds(@NonNull final IAccount account) {
+        final List<String> result = new ArrayList<>();
+        final String homeAccountId = TokenRequestKey.getHomeAccountId(account);
+
+        if (!TextUtils.isEmpty(homeAccountId)) {
+            result.add(homeAccountId);
+        } else if (!TextUtils.isEmpty(account.getTenantId())) {
+            result.add(getKey(account));
+        }
+
+        return result;
+    }
+
+    @NonNull
+    private static List<String> getLocalAccountIds(@NonNull final IAccount account) {
+        final List<String> result = new ArrayList<>();
+        result.add(account.getId());
+
+        if (account instanceof MultiTenantAccount) {
+            for (final ITenantProfile profile : ((MultiTenantAccount) account).getTenantProfiles().values()) {
+                if (!TextUtils.isEmpty(profile.getId())) {
+                    result.add(profile.getId());
+                }
+            }
+        }
+
+        return result;
+    }
+
+    @NonNull
+    private static List<String> getUsernames(@NonNull final IAccount account) {
+        final List<String> result = new ArrayList<>();
+        addUsername(result, account);
+
+        if (account instanceof MultiTenantAccount) {
+            for (final ITenantProfile profile : ((MultiTenantAccount) account).getTenantProfiles().values()) {
+                addUsername(result, profile);
+            }
+        }
+
+        return result;
+    }
+
+    private static void addUsername(@NonNull final List<String> usernames,
+                                    @NonNull final IClaimable claimable) {
+        // Read the shared claims of our own accounts rather than a copy of them
+        final Map<String, ?> claims = claimable instanceof Account
+                ? ((Account) claimable).getSharedClaims()
+                : claimable.getClaims();
+
+        if (null == claims) {
+            return;
+        }
+
+        final String username = SchemaUtil.getDisplayableId(claims);
+
+        if (!StringUtil.isNullOrEmpty(username)) {
+            usernames.add(username.toLowerCase(Locale.ROOT));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.Nullable;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Encapsulates the parameters for calling
+ * {@link IMultipleAccountPublicClientApplication#queryAccounts(AccountQueryParameters, IMultipleAccountPublicClientApplication.QueryAccountsCallback)}.
+ * <p>
+ * An account matches the query if one of its tenant profiles matches every filter supplied; the
+ * returned account carries all of its tenant profiles. Filters are applied to the records read
+ * from the token cache, before any {@link IAccount} is created.
+ *
+ * <br>
+ * TenantId        -  Optional. Only match tenant profiles in this tenant.
+ *
+ * <br>
+ * Environment     -  Optional. Only match tenant profiles from this environment (e.g. login.microsoftonline.com).
+ *
+ * <br>
+ * AuthorityType   -  Optional. Only match tenant profiles with this authority type (e.g. MSSTS).
+ *
+ * <br>
+ * UsernamePrefix  -  Optional. Only match tenant profiles whose username starts with this prefix, ignoring case.
+ *
+ * <br>
+ * PageSize        -  Optional. Maximum number of accounts returned per page. If not supplied (or 0), every
+ *                    matching account is returned in a single page.
+ *
+ * <br>
+ * Cursor          -  Optional. The {@link AccountQueryResult#getNextCursor()} of the previous page, to
+ *                    return the page following it.
+ */
+@Builder(setterPrefix = "with")
+@Data
+public class AccountQueryParameters {
+    private @Nullable String tenantId;
+    private @Nullable String environment;
+    private @Nullable String authorityType;
+    private @Nullable String usernamePrefix;
+    private int pageSize;
+    private @Nullable String cursor;
+}
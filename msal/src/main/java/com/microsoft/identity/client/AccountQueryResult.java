@@ -0,0 +1,69 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A page of the accounts matching an {@link AccountQueryParameters}, ordered by home account id
+ * and environment.
+ */
+public final class AccountQueryResult {
+
+    private final List<IAccount> mAccounts;
+    private final String mNextCursor;
+
+    AccountQueryResult(@NonNull final List<IAccount> accounts,
+                       @Nullable final String nextCursor) {
+        mAccounts = Collections.unmodifiableList(accounts);
+        mNextCursor = nextCursor;
+    }
+
+    /**
+     * @return The accounts of this page.
+     */
+    @NonNull
+    public List<IAccount> getAccounts() {
+        return mAccounts;
+    }
+
+    /**
+     * @return The cursor to supply to {@link AccountQueryParameters} to get the next page, or null
+     * if this is the last page.
+     */
+    @Nullable
+    public String getNextCursor() {
+        return mNextCursor;
+    }
+
+    /**
+     * @return true if more accounts match the query beyond this page.
+     */
+    public boolean hasMore() {
+        return null != mNextCursor;
+    }
+}
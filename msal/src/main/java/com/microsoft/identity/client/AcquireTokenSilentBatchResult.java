@@ -0,0 +1,106 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.exception.MsalException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-request outcome of a batch of silent token requests. Each index corresponds to the
+ * {@link AcquireTokenSilentParameters} at the same position in the supplied batch, and holds either
+ * an {@link IAuthenticationResult} or the {@link MsalException} the request failed with.
+ */
+public final class AcquireTokenSilentBatchResult {
+
+    private final List<AcquireTokenSilentParameters> mParameters;
+    private final IAuthenticationResult[] mResults;
+    private final MsalException[] mExceptions;
+
+    AcquireTokenSilentBatchResult(@NonNull final List<AcquireTokenSilentParameters> parameters,
+                                  @NonNull final IAuthenticationResult[] results,
+                                  @NonNull final MsalException[] exceptions) {
+        mParameters = Collections.unmodifiableList(parameters);
+        mResults = results;
+        mExceptions = exceptions;
+    }
+
+    /**
+     * @return The number of requests in the batch.
+     */
+    public int size() {
+        return mParameters.size();
+    }
+
+    /**
+     * @param index The position of the request in the batch.
+     * @return The parameters of the request.
+     */
+    @NonNull
+    public AcquireTokenSilentParameters getParameters(final int index) {
+        return mParameters.get(index);
+    }
+
+    /**
+     * @param index The position of the request in the batch.
+     * @return true if the request succeeded.
+     */
+    public boolean isSuccess(final int index) {
+        return null != mResults[index];
+    }
+
+    /**
+     * @param index The position of the request in the batch.
+     * @return The {@link IAuthenticationResult} of the request, or null if it failed.
+     */
+    @Nullable
+    public IAuthenticationResult getResult(final int index) {
+        return mResults[index];
+    }
+
+    /**
+     * @param index The position of the request in the batch.
+     * @return The {@link MsalException} the request failed with, or null if it succeeded.
+     */
+    @Nullable
+    public MsalException getException(final int index) {
+        return mExceptions[index];
+    }
+
+    /**
+     * @return true if every request in the batch succeeded.
+     */
+    public boolean isAllSuccessful() {
+        for (final IAuthenticationResult result : mResults) {
+            if (null == result) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
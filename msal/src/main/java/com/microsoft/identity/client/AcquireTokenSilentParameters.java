@@ -22,14 +22,20 @@
 //  THE SOFTWARE.
 package com.microsoft.identity.client;
 
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
 public class AcquireTokenSilentParameters extends TokenParameters {
     private boolean mForceRefresh;
     private SilentAuthenticationCallback mCallback;
+    private Long mTimeoutMillis;
 
     public AcquireTokenSilentParameters(AcquireTokenSilentParameters.Builder builder) {
         super(builder);
         mForceRefresh = builder.mForceRefresh;
         mCallback = builder.mCallback;
+        mTimeoutMillis = builder.mTimeoutMillis;
     }
 
     void setCallback(SilentAuthenticationCallback callback) {
@@ -71,10 +77,23 @@ public class AcquireTokenSilentParameters extends TokenParameters {
         return mForceRefresh;
     }
 
+    /**
+     * The time the request may take, measured from when it is submitted, after which it is
+     * abandoned and fails with a
+     * {@link com.microsoft.identity.client.exception.MsalDeadlineExceededException}.
+     *
+     * @return The timeout in milliseconds, or null if the request is not bounded.
+     */
+    @Nullable
+    public Long getTimeoutMillis() {
+        return mTimeoutMillis;
+    }
+
     public static class Builder extends TokenParameters.Builder<AcquireTokenSilentParameters.Builder> {
 
         private boolean mForceRefresh;
         private SilentAuthenticationCallback mCallback;
+        private Long mTimeoutMillis;
 
         public AcquireTokenSilentParameters.Builder forceRefresh(boolean forceRefresh) {
             mForceRefresh = forceRefresh;
@@ -87,6 +106,18 @@ public class AcquireTokenSilentParameters extends TokenParameters {
             return this;
         }
 
+        /**
+         * Bounds the time the request may take, measured from when it is submitted. A request
+         * which has not completed by then is abandoned and fails with a
+         * {@link com.microsoft.identity.client.exception.MsalDeadlineExceededException}; a
+         * timeout of zero or less fails the request straight away.
+         */
+        public AcquireTokenSilentParameters.Builder withTimeout(final long timeout,
+                                                                final TimeUnit unit) {
+            mTimeoutMillis = unit.toMillis(timeout);
+            return self();
+        }
+
         @Override
         public AcquireTokenSilentParameters.Builder self() {
             return this;
@@ -0,0 +1,178 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.internal.migration.TokenMigrationCallback;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Process-wide gate in front of the migration of ADAL tokens into the MSAL token cache of an
+ * application (client id and redirect uri), so that the migration runs at most once per process
+ * and account queries made once it has completed pay no migration cost at all.
+ * <p>
+ * The migration is started when the first {@link PublicClientApplication} for the application is
+ * created; account queries made before it has completed are resumed once it does.
+ */
+final class AdalMigrationGate {
+
+    private static final Map<String, AdalMigrationGate> sGates = new HashMap<>();
+
+    private final CountDownLatch mCompletion = new CountDownLatch(1);
+    private final List<TokenMigrationCallback> mPendingCallbacks = new ArrayList<>();
+    private boolean mStarted;
+
+    // Progress of the migration, see AdalMigrationStatistics
+    private boolean mResumed;
+    private long mStartTimeMillis;
+    private long mEndTimeMillis;
+    private long mTotalEntryCount;
+    private long mMigratedEntryCount;
+    private long mMigratedBatchCount;
+    private long mMigratedAccountCount;
+
+    /**
+     * @return The gate shared by every {@link PublicClientApplication} of the supplied application
+     * in this process.
+     */
+    @NonNull
+    static AdalMigrationGate get(@NonNull final String clientId, @NonNull final String redirectUri) {
+        final String key = clientId + "|" + redirectUri;
+
+        synchronized (sGates) {
+            AdalMigrationGate gate = sGates.get(key);
+
+            if (null == gate) {
+                gate = new AdalMigrationGate();
+                sGates.put(key, gate);
+            }
+
+            return gate;
+        }
+    }
+
+    /**
+     * @return True if the caller is the first to start the migration and must run it, calling
+     * {@link #complete()} once done.
+     */
+    synchronized boolean tryStart() {
+        if (mStarted) {
+            return false;
+        }
+
+        mStarted = true;
+        mStartTimeMillis = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Records the number of legacy entries to migrate, once known.
+     */
+    synchronized void onEntriesListed(final long totalEntryCount, final boolean resumed) {
+        mTotalEntryCount = totalEntryCount;
+        mResumed = resumed;
+    }
+
+    /**
+     * Records the migration of a batch of legacy entries.
+     */
+    synchronized void onBatchMigrated(final long entryCount, final long accountCount) {
+        mMigratedEntryCount += entryCount;
+        mMigratedBatchCount++;
+        mMigratedAccountCount += accountCount;
+    }
+
+    @NonNull
+    synchronized AdalMigrationStatistics getStatistics() {
+        final long endTimeMillis = isComplete() ? mEndTimeMillis : System.currentTimeMillis();
+
+        return new AdalMigrationStatistics(
+                isComplete(),
+                mResumed,
+                mTotalEntryCount,
+                mMigratedEntryCount,
+                mMigratedBatchCount,
+                mMigratedAccountCount,
+                mStarted ? endTimeMillis - mStartTimeMillis : 0
+        );
+    }
+
+    /**
+     * Marks the migration as completed (or abandoned) and resumes the queries waiting on it.
+     */
+    void complete() {
+        final List<TokenMigrationCallback> pendingCallbacks;
+
+        synchronized (this) {
+            if (isComplete()) {
+                return;
+            }
+
+            pendingCallbacks = new ArrayList<>(mPendingCallbacks);
+            mPendingCallbacks.clear();
+            mEndTimeMillis = System.currentTimeMillis();
+            mCompletion.countDown();
+        }
+
+        for (final TokenMigrationCallback callback : pendingCallbacks) {
+            callback.onMigrationFinished(0);
+        }
+    }
+
+    boolean isComplete() {
+        return 0 == mCompletion.getCount();
+    }
+
+    /**
+     * Invokes the supplied callback once the migration has completed; inline if it already has,
+     * otherwise on the thread completing it.
+     */
+    void runOnCompletion(@NonNull final TokenMigrationCallback callback) {
+        if (!isComplete()) {
+            synchronized (this) {
+                if (!isComplete()) {
+                    mPendingCallbacks.add(callback);
+                    return;
+                }
+            }
+        }
+
+        callback.onMigrationFinished(0);
+    }
+
+    /**
+     * Blocks until the migration has completed, or the timeout elapses.
+     *
+     * @return True if the migration has completed.
+     */
+    boolean await(final long timeout, @NonNull final TimeUnit unit) throws InterruptedException {
+        return mCompletion.await(timeout, unit);
+    }
+}
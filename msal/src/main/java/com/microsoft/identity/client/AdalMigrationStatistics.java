@@ -0,0 +1,109 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+/**
+ * Point-in-time progress of the migration of ADAL tokens into the MSAL token cache of an
+ * application, which runs once per process when the first {@link PublicClientApplication} for it
+ * is created.
+ * <p>
+ * Legacy token cache entries are decrypted and imported in batches, and the migration resumes
+ * from the last imported batch if a previous process was interrupted.
+ */
+public final class AdalMigrationStatistics {
+
+    private final boolean mComplete;
+    private final boolean mResumed;
+    private final long mTotalEntryCount;
+    private final long mMigratedEntryCount;
+    private final long mMigratedBatchCount;
+    private final long mMigratedAccountCount;
+    private final long mDurationMillis;
+
+    AdalMigrationStatistics(final boolean complete,
+                            final boolean resumed,
+                            final long totalEntryCount,
+                            final long migratedEntryCount,
+                            final long migratedBatchCount,
+                            final long migratedAccountCount,
+                            final long durationMillis) {
+        mComplete = complete;
+        mResumed = resumed;
+        mTotalEntryCount = totalEntryCount;
+        mMigratedEntryCount = migratedEntryCount;
+        mMigratedBatchCount = migratedBatchCount;
+        mMigratedAccountCount = migratedAccountCount;
+        mDurationMillis = durationMillis;
+    }
+
+    /**
+     * @return True once the migration has completed, or was found to be unnecessary.
+     */
+    public boolean isComplete() {
+        return mComplete;
+    }
+
+    /**
+     * @return True if this process resumed a migration interrupted in a previous process.
+     */
+    public boolean isResumed() {
+        return mResumed;
+    }
+
+    /**
+     * @return The number of legacy token cache entries this process has to migrate, excluding
+     * those migrated by an interrupted previous process.
+     */
+    public long getTotalEntryCount() {
+        return mTotalEntryCount;
+    }
+
+    /**
+     * @return The number of legacy token cache entries migrated so far by this process.
+     */
+    public long getMigratedEntryCount() {
+        return mMigratedEntryCount;
+    }
+
+    /**
+     * @return The number of batches of entries migrated so far by this process.
+     */
+    public long getMigratedBatchCount() {
+        return mMigratedBatchCount;
+    }
+
+    /**
+     * @return The number of accounts reported as migrated so far, summed over the batches; an
+     * account whose entries span several batches is counted once per batch.
+     */
+    public long getMigratedAccountCount() {
+        return mMigratedAccountCount;
+    }
+
+    /**
+     * @return The time spent migrating so far, or in total once complete.
+     */
+    public long getDurationMillis() {
+        return mDurationMillis;
+    }
+}
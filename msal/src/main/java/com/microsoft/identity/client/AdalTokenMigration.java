@@ -0,0 +1,292 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.microsoft.identity.common.crypto.AndroidAuthSdkStorageEncryptionManager;
+import com.microsoft.identity.common.internal.cache.SharedPreferencesFileManager;
+import com.microsoft.identity.common.internal.migration.AdalMigrationAdapter;
+import com.microsoft.identity.common.internal.migration.TokenMigrationCallback;
+import com.microsoft.identity.common.internal.migration.TokenMigrationUtility;
+import com.microsoft.identity.common.java.cache.IMultiTypeNameValueStorage;
+import com.microsoft.identity.common.java.cache.IShareSingleSignOnState;
+import com.microsoft.identity.common.java.providers.microsoft.MicrosoftAccount;
+import com.microsoft.identity.common.java.providers.microsoft.MicrosoftRefreshToken;
+import com.microsoft.identity.common.java.providers.oauth2.OAuth2TokenCache;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Migrates the tokens of the legacy ADAL token cache into the MSAL token cache of an application.
+ * <p>
+ * Rather than decrypting the whole legacy cache up front, entries are processed in key order and
+ * in batches of {@link #BATCH_SIZE}, each decrypted in parallel on a small pool and imported on
+ * its own. The key of the last imported entry is recorded as a checkpoint of the client id and
+ * redirect uri once its batch has been imported, so that a migration interrupted by the process
+ * being killed resumes after it instead of starting over.
+ */
+final class AdalTokenMigration {
+
+    private static final String TAG = AdalTokenMigration.class.getSimpleName();
+
+    static final String ADAL_CACHE_NAME = "com.microsoft.aad.adal.cache";
+
+    static final String CHECKPOINT_NAME = "com.microsoft.identity.client.adal_migration_checkpoint";
+
+    static final String CHECKPOINT_IN_PROGRESS = "in_progress";
+
+    static final String CHECKPOINT_LAST_MIGRATED_KEY = "last_migrated_key";
+
+    /**
+     * Number of legacy entries decrypted and imported together.
+     */
+    static final int BATCH_SIZE = 50;
+
+    /**
+     * Upper bound on the number of threads decrypting entries of a batch.
+     */
+    private static final int MAX_DECRYPTION_THREADS = 2;
+
+    /**
+     * Upper bound on the time the import of a single batch may take.
+     */
+    private static final long BATCH_IMPORT_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Context mContext;
+    private final String mClientId;
+    private final String mRedirectUri;
+    private final OAuth2TokenCache mTokenCache;
+    private final AdalMigrationGate mGate;
+    private final String mInProgressCheckpointKey;
+    private final String mLastMigratedCheckpointKey;
+
+    AdalTokenMigration(@NonNull final Context context,
+                       @NonNull final String clientId,
+                       @NonNull final String redirectUri,
+                       @NonNull final OAuth2TokenCache tokenCache,
+                       @NonNull final AdalMigrationGate gate) {
+        mContext = context;
+        mClientId = clientId;
+        mRedirectUri = redirectUri;
+        mTokenCache = tokenCache;
+        mGate = gate;
+        mInProgressCheckpointKey = getCheckpointKey(CHECKPOINT_IN_PROGRESS, clientId, redirectUri);
+        mLastMigratedCheckpointKey = getCheckpointKey(CHECKPOINT_LAST_MIGRATED_KEY, clientId, redirectUri);
+    }
+
+    /**
+     * Applications with different client ids or redirect uris migrate the legacy cache on their
+     * own, so each keeps its own checkpoint.
+     */
+    @NonNull
+    static String getCheckpointKey(@NonNull final String name,
+                                   @NonNull final String clientId,
+                                   @NonNull final String redirectUri) {
+        return name + "|" + clientId + "|" + redirectUri;
+    }
+
+    /**
+     * Runs the migration, unless it has already been completed.
+     *
+     * @return The number of accounts migrated, summed over the batches.
+     */
+    @WorkerThread
+    int run() throws InterruptedException {
+        final String methodTag = TAG + ":run";
+
+        final Map<String, String> redirects = new HashMap<>();
+        redirects.put(
+                mClientId, // Our client id
+                mRedirectUri // Our redirect uri
+        );
+
+        final AdalMigrationAdapter adalMigrationAdapter = new AdalMigrationAdapter(
+                mContext,
+                redirects,
+                false
+        );
+
+        final SharedPreferences checkpoint = mContext.getSharedPreferences(CHECKPOINT_NAME, Context.MODE_PRIVATE);
+        final boolean resumed = checkpoint.getBoolean(mInProgressCheckpointKey, false);
+
+        // The adapter records the migration as done with the first batch, the checkpoint tells
+        // whether the remaining batches were imported.
+        if (!resumed && adalMigrationAdapter.getMigrationStatus()) {
+            return 0;
+        }
+
+        final List<String> keys = getKeysToMigrate(
+                resumed ? checkpoint.getString(mLastMigratedCheckpointKey, null) : null
+        );
+
+        mGate.onEntriesListed(keys.size(), resumed);
+        Logger.info(methodTag, "Migrating " + keys.size() + " ADAL token cache entries, resumed: " + resumed);
+
+        checkpoint.edit().putBoolean(mInProgressCheckpointKey, true).commit();
+
+        // Create the SharedPreferencesFileManager for the legacy accounts/credentials
+        final IMultiTypeNameValueStorage sharedPreferencesFileManager =
+                new SharedPreferencesFileManager(
+                        mContext,
+                        ADAL_CACHE_NAME,
+                        new AndroidAuthSdkStorageEncryptionManager(mContext, null)
+                );
+
+        final ExecutorService decryptionExecutor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(MAX_DECRYPTION_THREADS, Runtime.getRuntime().availableProcessors()))
+        );
+
+        int numberOfAccountsMigrated = 0;
+
+        try {
+            int start = 0;
+
+            // An empty cache still goes through the import, for the adapter to record the
+            // migration as done.
+            do {
+                final List<String> batchKeys = keys.subList(start, Math.min(start + BATCH_SIZE, keys.size()));
+                final Map<String, String> credentials = decrypt(
+                        sharedPreferencesFileManager,
+                        batchKeys,
+                        decryptionExecutor
+                );
+                final int batchAccounts = importBatch(adalMigrationAdapter, credentials);
+
+                numberOfAccountsMigrated += batchAccounts;
+
+                if (!batchKeys.isEmpty()) {
+                    checkpoint.edit()
+                            .putString(mLastMigratedCheckpointKey, batchKeys.get(batchKeys.size() - 1))
+                            .commit();
+                }
+
+                mGate.onBatchMigrated(batchKeys.size(), batchAccounts);
+                start += BATCH_SIZE;
+            } while (start < keys.size());
+        } finally {
+            decryptionExecutor.shutdownNow();
+        }
+
+        checkpoint.edit()
+                .remove(mInProgressCheckpointKey)
+                .remove(mLastMigratedCheckpointKey)
+                .commit();
+
+        return numberOfAccountsMigrated;
+    }
+
+    /**
+     * Lists the keys of the legacy cache without decrypting its values, in order, skipping those
+     * up to the supplied checkpoint.
+     */
+    @NonNull
+    private List<String> getKeysToMigrate(@Nullable final String lastMigratedKey) {
+        final TreeSet<String> keys = new TreeSet<>(
+                mContext.getSharedPreferences(ADAL_CACHE_NAME, Context.MODE_PRIVATE).getAll().keySet()
+        );
+
+        return new ArrayList<>(
+                null == lastMigratedKey ? keys : keys.tailSet(lastMigratedKey, false)
+        );
+    }
+
+    @NonNull
+    private static Map<String, String> decrypt(@NonNull final IMultiTypeNameValueStorage storage,
+                                               @NonNull final List<String> keys,
+                                               @NonNull final ExecutorService executor) throws InterruptedException {
+        final String methodTag = TAG + ":decrypt";
+        final List<Future<String>> values = new ArrayList<>(keys.size());
+
+        for (final String key : keys) {
+            values.add(executor.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return storage.getString(key);
+                }
+            }));
+        }
+
+        final Map<String, String> credentials = new LinkedHashMap<>();
+
+        for (int i = 0; i < keys.size(); i++) {
+            try {
+                final String value = values.get(i).get();
+
+                if (null != value) {
+                    credentials.put(keys.get(i), value);
+                }
+            } catch (final ExecutionException e) {
+                // Skip the entry, as getAll() would have.
+                Logger.error(methodTag, "Failed to decrypt an ADAL token cache entry.", e.getCause());
+            }
+        }
+
+        return credentials;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int importBatch(@NonNull final AdalMigrationAdapter adalMigrationAdapter,
+                            @NonNull final Map<String, String> credentials) throws InterruptedException {
+        final CountDownLatch imported = new CountDownLatch(1);
+        final AtomicInteger numberOfAccountsMigrated = new AtomicInteger();
+
+        new TokenMigrationUtility<MicrosoftAccount, MicrosoftRefreshToken>()._import(
+                adalMigrationAdapter,
+                credentials,
+                (IShareSingleSignOnState<MicrosoftAccount, MicrosoftRefreshToken>) mTokenCache,
+                new TokenMigrationCallback() {
+                    @Override
+                    public void onMigrationFinished(final int count) {
+                        numberOfAccountsMigrated.set(count);
+                        imported.countDown();
+                    }
+                }
+        );
+
+        if (!imported.await(BATCH_IMPORT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Timed out importing a batch of ADAL tokens.");
+        }
+
+        return numberOfAccountsMigrated.get();
+    }
+}
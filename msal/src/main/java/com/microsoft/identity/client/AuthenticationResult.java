@@ -100,6 +100,27 @@ public final class AuthenticationResult implements IAuthenticationResult {
         return expiresOn;
     }
 
+    /**
+     * Gets the time at which the access token was written to the cache, which approximates the
+     * time it was issued.
+     *
+     * @return The cached-at time, or null if it is unknown.
+     */
+    @Nullable
+    Date getCachedAt() {
+        final String cachedAt = mAccessToken.getCachedAt();
+
+        if (TextUtils.isEmpty(cachedAt)) {
+            return null;
+        }
+
+        try {
+            return new Date(TimeUnit.SECONDS.toMillis(Long.parseLong(cachedAt)));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
     @Override
     @Nullable
     public String getTenantId() {
@@ -0,0 +1,93 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+/**
+ * Point-in-time statistics of the thread pool on which {@link PublicClientApplication} prepares
+ * requests before dispatching them.
+ */
+public final class BackgroundExecutorStatistics {
+
+    private final int mQueueDepth;
+    private final int mActiveThreadCount;
+    private final int mPoolSize;
+    private final long mExecutedTaskCount;
+    private final long mTotalWaitMillis;
+    private final long mMaxWaitMillis;
+
+    BackgroundExecutorStatistics(final int queueDepth,
+                                 final int activeThreadCount,
+                                 final int poolSize,
+                                 final long executedTaskCount,
+                                 final long totalWaitMillis,
+                                 final long maxWaitMillis) {
+        mQueueDepth = queueDepth;
+        mActiveThreadCount = activeThreadCount;
+        mPoolSize = poolSize;
+        mExecutedTaskCount = executedTaskCount;
+        mTotalWaitMillis = totalWaitMillis;
+        mMaxWaitMillis = maxWaitMillis;
+    }
+
+    /**
+     * @return The number of tasks waiting for a thread.
+     */
+    public int getQueueDepth() {
+        return mQueueDepth;
+    }
+
+    /**
+     * @return The number of threads currently running a task.
+     */
+    public int getActiveThreadCount() {
+        return mActiveThreadCount;
+    }
+
+    /**
+     * @return The number of threads currently in the pool.
+     */
+    public int getPoolSize() {
+        return mPoolSize;
+    }
+
+    /**
+     * @return The number of tasks which have started running.
+     */
+    public long getExecutedTaskCount() {
+        return mExecutedTaskCount;
+    }
+
+    /**
+     * @return The average time tasks spent queued before starting, in milliseconds.
+     */
+    public long getAverageWaitMillis() {
+        return mExecutedTaskCount == 0 ? 0 : mTotalWaitMillis / mExecutedTaskCount;
+    }
+
+    /**
+     * @return The longest time a task spent queued before starting, in milliseconds.
+     */
+    public long getMaxWaitMillis() {
+        return mMaxWaitMillis;
+    }
+}
@@ -0,0 +1,340 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.accounts.AccountManager;
+import android.accounts.OnAccountsUpdateListener;
+import android.content.Context;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.ISingleAccountPublicClientApplication.CurrentAccountChangeListener;
+import com.microsoft.identity.common.adal.internal.util.JsonExtensions;
+import com.microsoft.identity.common.adal.internal.util.StringExtensions;
+import com.microsoft.identity.common.crypto.AndroidAuthSdkStorageEncryptionManager;
+import com.microsoft.identity.common.internal.cache.SharedPreferencesFileManager;
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+import com.microsoft.identity.common.java.cache.IMultiTypeNameValueStorage;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.microsoft.identity.client.SingleAccountPublicClientApplication.CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY;
+import static com.microsoft.identity.client.SingleAccountPublicClientApplication.SINGLE_ACCOUNT_CREDENTIAL_SHARED_PREFERENCES;
+
+/**
+ * In-memory copy of the current account of {@link SingleAccountPublicClientApplication}, backed by
+ * its encrypted shared preferences, and shared by every instance in this process.
+ * <p>
+ * The persisted account is decrypted and parsed once, on the first read; subsequent reads return
+ * the in-memory copy without taking a lock. Writes are serialized, and only reach the storage when
+ * the account records differ from those already persisted.
+ * <p>
+ * Registered {@link CurrentAccountChangeListener}s are notified of writes which change the current
+ * account. While any listener is registered, the cache also listens to the AccountManager, where
+ * the broker keeps the current account of shared device mode, and has the current account
+ * refreshed whenever the accounts of the device change.
+ */
+final class CurrentAccountCache {
+
+    private static final String TAG = CurrentAccountCache.class.getSimpleName();
+
+    private static CurrentAccountCache sInstance;
+
+    /**
+     * Reads the current account again, e.g. from the broker, and writes it to this cache.
+     */
+    interface Refresher {
+        /**
+         * @param onRefreshed To run once the refresh completed or failed.
+         */
+        void refresh(@NonNull Runnable onRefreshed);
+    }
+
+    private final IMultiTypeNameValueStorage mStorage;
+    private final Context mContext;
+    private final Object mWriteLock = new Object();
+
+    /**
+     * The current account, or null until it has been loaded from storage.
+     */
+    private final AtomicReference<CurrentAccount> mCurrentAccount = new AtomicReference<>();
+
+    private final List<ListenerRegistration> mListeners = new CopyOnWriteArrayList<>();
+    private final Object mListenerLock = new Object();
+    private final AtomicBoolean mRefreshPending = new AtomicBoolean();
+    private OnAccountsUpdateListener mAccountsUpdateListener;
+
+    CurrentAccountCache(@NonNull final IMultiTypeNameValueStorage storage,
+                        @NonNull final Context context) {
+        mStorage = storage;
+        mContext = context;
+    }
+
+    /**
+     * @return The cache shared by every {@link SingleAccountPublicClientApplication} in this
+     * process. Every write to the current account goes through it, so its in-memory copy stays
+     * up to date across applications.
+     */
+    @NonNull
+    static synchronized CurrentAccountCache getInstance(@NonNull final Context context) {
+        if (null == sInstance) {
+            sInstance = new CurrentAccountCache(
+                    new SharedPreferencesFileManager(
+                            context,
+                            SINGLE_ACCOUNT_CREDENTIAL_SHARED_PREFERENCES,
+                            new AndroidAuthSdkStorageEncryptionManager(context, null)
+                    ),
+                    context
+            );
+        }
+
+        return sInstance;
+    }
+
+    /**
+     * Drops the shared cache, for tests which clear its storage directly or run with a new
+     * application context.
+     */
+    static synchronized void reset() {
+        sInstance = null;
+    }
+
+    /**
+     * @return The current account, or null if there is none.
+     */
+    @Nullable
+    MultiTenantAccount get() {
+        final CurrentAccount currentAccount = mCurrentAccount.get();
+
+        return (null == currentAccount ? load() : currentAccount).mAccount;
+    }
+
+    /**
+     * Sets the current account.
+     *
+     * @param cacheRecords list of cache record that belongs to an account, or null if there is no
+     *                     current account.
+     */
+    void put(@Nullable final List<ICacheRecord> cacheRecords) {
+        final String json = null == cacheRecords || cacheRecords.isEmpty()
+                ? null
+                : JsonExtensions.getJsonStringFromICacheRecordList(cacheRecords);
+
+        final CurrentAccount priorAccount;
+        final CurrentAccount newAccount;
+
+        synchronized (mWriteLock) {
+            CurrentAccount currentAccount = mCurrentAccount.get();
+
+            if (null == currentAccount && !mListeners.isEmpty()) {
+                // Needed to tell listeners whether the account changes
+                currentAccount = load();
+            }
+
+            if (null != currentAccount && TextUtils.equals(currentAccount.mJson, json)) {
+                return;
+            }
+
+            if (null == json) {
+                mStorage.clear();
+                newAccount = CurrentAccount.NONE;
+            } else {
+                mStorage.putString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY, json);
+                newAccount = new CurrentAccount(
+                        json,
+                        SingleAccountPublicClientApplication.getAccountFromICacheRecordList(cacheRecords)
+                );
+            }
+
+            mCurrentAccount.set(newAccount);
+            priorAccount = currentAccount;
+        }
+
+        if (null != priorAccount
+                && !SingleAccountPublicClientApplication.isHomeAccountIdMatching(priorAccount.mAccount, newAccount.mAccount)) {
+            notifyAccountChanged(priorAccount.mAccount, newAccount.mAccount);
+        }
+    }
+
+    /**
+     * Registers a listener notified when a write changes the current account.
+     *
+     * @param listener         The listener to notify.
+     * @param callbackExecutor The executor to notify the listener on, or null for the main thread.
+     * @param refresher        Refreshes the current account when the accounts of the device change.
+     */
+    void addListener(@NonNull final CurrentAccountChangeListener listener,
+                     @Nullable final Executor callbackExecutor,
+                     @NonNull final Refresher refresher) {
+        synchronized (mListenerLock) {
+            mListeners.add(new ListenerRegistration(listener, callbackExecutor, refresher));
+
+            if (1 == mListeners.size()) {
+                registerAccountsUpdateListener();
+            }
+        }
+    }
+
+    /**
+     * @return True if the listener was registered.
+     */
+    boolean removeListener(@NonNull final CurrentAccountChangeListener listener) {
+        synchronized (mListenerLock) {
+            for (final ListenerRegistration registration : mListeners) {
+                if (registration.mListener == listener) {
+                    mListeners.remove(registration);
+
+                    if (mListeners.isEmpty()) {
+                        unregisterAccountsUpdateListener();
+                    }
+
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    private void registerAccountsUpdateListener() {
+        final String methodTag = TAG + ":registerAccountsUpdateListener";
+        final OnAccountsUpdateListener accountsUpdateListener = new OnAccountsUpdateListener() {
+            @Override
+            public void onAccountsUpdated(final android.accounts.Account[] accounts) {
+                refresh();
+            }
+        };
+
+        try {
+            AccountManager.get(mContext).addOnAccountsUpdatedListener(accountsUpdateListener, null, false);
+            mAccountsUpdateListener = accountsUpdateListener;
+        } catch (final RuntimeException e) {
+            // Local changes are still notified.
+            Logger.warn(methodTag, "Unable to listen for account changes, changes made by the broker will not be notified.");
+        }
+    }
+
+    private void unregisterAccountsUpdateListener() {
+        if (null != mAccountsUpdateListener) {
+            AccountManager.get(mContext).removeOnAccountsUpdatedListener(mAccountsUpdateListener);
+            mAccountsUpdateListener = null;
+        }
+    }
+
+    /**
+     * Has the current account refreshed once, unless a refresh is already in flight. Listeners
+     * are notified through the write to this cache if it changed.
+     */
+    private void refresh() {
+        if (!mRefreshPending.compareAndSet(false, true)) {
+            return;
+        }
+
+        final Iterator<ListenerRegistration> registrations = mListeners.iterator();
+
+        if (!registrations.hasNext()) {
+            mRefreshPending.set(false);
+            return;
+        }
+
+        // Any registered application can refresh the shared current account
+        registrations.next().mRefresher.refresh(new Runnable() {
+            @Override
+            public void run() {
+                mRefreshPending.set(false);
+            }
+        });
+    }
+
+    private void notifyAccountChanged(@Nullable final IAccount priorAccount,
+                                      @Nullable final IAccount currentAccount) {
+        for (final ListenerRegistration registration : mListeners) {
+            PublicClientApplication.postOnCallbackThread(registration.mCallbackExecutor, new Runnable() {
+                @Override
+                public void run() {
+                    registration.mListener.onAccountChanged(priorAccount, currentAccount);
+                }
+            });
+        }
+    }
+
+    @NonNull
+    private CurrentAccount load() {
+        synchronized (mWriteLock) {
+            CurrentAccount currentAccount = mCurrentAccount.get();
+
+            if (null == currentAccount) {
+                final String json = mStorage.getString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY);
+
+                currentAccount = StringExtensions.isNullOrBlank(json)
+                        ? CurrentAccount.NONE
+                        : new CurrentAccount(
+                        json,
+                        SingleAccountPublicClientApplication.getAccountFromICacheRecordList(
+                                JsonExtensions.getICacheRecordListFromJsonString(json)
+                        )
+                );
+
+                mCurrentAccount.set(currentAccount);
+            }
+
+            return currentAccount;
+        }
+    }
+
+    private static final class ListenerRegistration {
+
+        final CurrentAccountChangeListener mListener;
+        final Executor mCallbackExecutor;
+        final Refresher mRefresher;
+
+        ListenerRegistration(@NonNull final CurrentAccountChangeListener listener,
+                             @Nullable final Executor callbackExecutor,
+                             @NonNull final Refresher refresher) {
+            mListener = listener;
+            mCallbackExecutor = callbackExecutor;
+            mRefresher = refresher;
+        }
+    }
+
+    private static final class CurrentAccount {
+
+        static final CurrentAccount NONE = new CurrentAccount(null, null);
+
+        final String mJson;
+        final MultiTenantAccount mAccount;
+
+        CurrentAccount(@Nullable final String json, @Nullable final MultiTenantAccount account) {
+            mJson = json;
+            mAccount = account;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.exception.MsalDeadlineExceededException;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the time a silent request may take. If the request has not completed once its timeout
+ * elapses, the wrapped callback is failed with a {@link MsalDeadlineExceededException} and the
+ * request is abandoned; whatever outcome arrives afterwards is discarded.
+ */
+final class DeadlineSilentAuthenticationCallback implements CancellableSilentAuthenticationCallback {
+
+    private static final String TAG = DeadlineSilentAuthenticationCallback.class.getSimpleName();
+
+    private final SilentAuthenticationCallback mCallback;
+    private final Executor mCallbackExecutor;
+    private final long mTimeoutMillis;
+    private final AtomicBoolean mCompleted = new AtomicBoolean(false);
+    private volatile ScheduledFuture<?> mDeadline;
+
+    /**
+     * @param callback         The callback to complete.
+     * @param callbackExecutor The executor the callback is invoked on, null for the main thread.
+     * @param timeoutMillis    The time the request may take, measured from {@link #start()}.
+     */
+    DeadlineSilentAuthenticationCallback(@NonNull final SilentAuthenticationCallback callback,
+                                         @Nullable final Executor callbackExecutor,
+                                         final long timeoutMillis) {
+        mCallback = callback;
+        mCallbackExecutor = callbackExecutor;
+        mTimeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Starts the clock on the request.
+     */
+    void start() {
+        if (mTimeoutMillis <= 0) {
+            expire();
+            return;
+        }
+
+        mDeadline = BackgroundScheduler.get().schedule(new Runnable() {
+            @Override
+            public void run() {
+                expire();
+            }
+        }, mTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onSuccess(final IAuthenticationResult authenticationResult) {
+        if (complete()) {
+            mCallback.onSuccess(authenticationResult);
+        }
+    }
+
+    @Override
+    public void onError(final MsalException exception) {
+        if (complete()) {
+            mCallback.onError(exception);
+        }
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return mCompleted.get()
+                || (mCallback instanceof CancellableSilentAuthenticationCallback
+                && ((CancellableSilentAuthenticationCallback) mCallback).isCancelled());
+    }
+
+    private boolean complete() {
+        if (!mCompleted.compareAndSet(false, true)) {
+            return false;
+        }
+
+        final ScheduledFuture<?> deadline = mDeadline;
+
+        if (null != deadline) {
+            deadline.cancel(false);
+        }
+
+        return true;
+    }
+
+    private void expire() {
+        final String methodTag = TAG + ":expire";
+
+        if (!mCompleted.compareAndSet(false, true)) {
+            return;
+        }
+
+        Logger.warn(methodTag, "Silent request did not complete within " + mTimeoutMillis + " ms, abandoning it.");
+
+        final MsalException exception = new MsalDeadlineExceededException(
+                "The request did not complete within " + mTimeoutMillis + " ms."
+        );
+
+        PublicClientApplication.postOnCallbackThread(mCallbackExecutor, new Runnable() {
+            @Override
+            public void run() {
+                mCallback.onError(exception);
+            }
+        });
+    }
+}
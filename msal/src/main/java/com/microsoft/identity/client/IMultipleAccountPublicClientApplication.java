@@ -45,6 +45,9 @@ import java.util.List;
 public interface IMultipleAccountPublicClientApplication extends IPublicClientApplication {
     /**
      * Asynchronously returns a List of {@link IAccount} objects for which this application has RefreshTokens.
+     * <p>
+     * The returned List may be an immutable snapshot shared between calls made while the accounts
+     * are unchanged.
      *
      * @param callback The callback to notify once this action has finished.
      */
@@ -52,10 +55,50 @@ public interface IMultipleAccountPublicClientApplication extends IPublicClientAp
 
     /**
      * Returns a List of {@link IAccount} objects for which this application has RefreshTokens.
+     * <p>
+     * The returned List may be an immutable snapshot shared between calls made while the accounts
+     * are unchanged, in which case it is returned without leaving the calling thread.
      */
     @WorkerThread
     List<IAccount> getAccounts() throws InterruptedException, MsalException;
 
+    /**
+     * Returns a {@link MsalFuture} completed with the List of {@link IAccount} objects for which this application has RefreshTokens.
+     */
+    @NonNull
+    MsalFuture<List<IAccount>> getAccountsFuture();
+
+    /**
+     * Asynchronously returns a page of the {@link IAccount} objects for which this application has
+     * RefreshTokens and which match the supplied query.
+     * <p>
+     * Accounts are filtered before they are created, so querying a subset of the accounts of a
+     * shared device does not pay for building every account and tenant profile.
+     *
+     * @param parameters {@link AccountQueryParameters} with the filters, page size and cursor.
+     * @param callback   The callback to notify once this action has finished.
+     */
+    void queryAccounts(@NonNull final AccountQueryParameters parameters,
+                       @NonNull final QueryAccountsCallback callback);
+
+    /**
+     * Returns a page of the {@link IAccount} objects for which this application has RefreshTokens
+     * and which match the supplied query.
+     *
+     * @param parameters {@link AccountQueryParameters} with the filters, page size and cursor.
+     */
+    @WorkerThread
+    AccountQueryResult queryAccounts(@NonNull final AccountQueryParameters parameters) throws InterruptedException, MsalException;
+
+    /**
+     * Returns a {@link MsalFuture} completed with a page of the {@link IAccount} objects for which
+     * this application has RefreshTokens and which match the supplied query.
+     *
+     * @param parameters {@link AccountQueryParameters} with the filters, page size and cursor.
+     */
+    @NonNull
+    MsalFuture<AccountQueryResult> queryAccountsFuture(@NonNull final AccountQueryParameters parameters);
+
     /**
      * Retrieve the IAccount object matching the identifier.
      * The identifier could be homeAccountIdentifier, localAccountIdentifier or username.
@@ -76,6 +119,15 @@ public interface IMultipleAccountPublicClientApplication extends IPublicClientAp
     @WorkerThread
     IAccount getAccount(@NonNull final String identifier) throws InterruptedException, MsalException;
 
+    /**
+     * Retrieve the IAccount object matching the identifier, returning a {@link MsalFuture} completed with it (or null if there is no match).
+     * The identifier could be homeAccountIdentifier, localAccountIdentifier or username.
+     *
+     * @param identifier String of the identifier
+     */
+    @NonNull
+    MsalFuture<IAccount> getAccountFuture(@NonNull final String identifier);
+
     /**
      * Removes the Account and Credentials (tokens) for the supplied IAccount.
      *
@@ -204,6 +256,22 @@ public interface IMultipleAccountPublicClientApplication extends IPublicClientAp
         void onError(MsalException exception);
     }
 
+    interface QueryAccountsCallback extends TaskCompletedCallbackWithError<AccountQueryResult, MsalException> {
+        /**
+         * Called once succeed and pass the result object.
+         *
+         * @param result the success result.
+         */
+        void onTaskCompleted(AccountQueryResult result);
+
+        /**
+         * Called once exception thrown.
+         *
+         * @param exception
+         */
+        void onError(MsalException exception);
+    }
+
     interface RemoveAccountCallback {
         /**
          * Invoked when account successfully removed
@@ -89,6 +89,39 @@ public interface IPublicClientApplication {
     @WorkerThread
     IAuthenticationResult acquireTokenSilent(@NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters) throws InterruptedException, MsalException;
 
+    /**
+     * Perform acquire token silent call, returning a {@link MsalFuture} completed with the result or error instead of invoking a callback.
+     * See {@link IPublicClientApplication#acquireTokenSilentAsync(AcquireTokenSilentParameters)}.
+     *
+     * @param acquireTokenSilentParameters The request to perform. A callback must not be set on it.
+     * @return A {@link MsalFuture} completed once the request completes. Cancelling it abandons the request.
+     */
+    @NonNull
+    MsalFuture<IAuthenticationResult> acquireTokenSilentFuture(@NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters);
+
+    /**
+     * Perform a batch of acquire token silent calls. Accounts and authorities shared by several requests are resolved once,
+     * requests which can be served from cache complete together, and the remaining ones are sent to the service in parallel.
+     * The result or error of every request is sent back via a single callback once all of them have completed.
+     *
+     * @param acquireTokenSilentParameters The requests to perform. Callbacks must not be set on the individual requests,
+     *                                     and each request must be a distinct instance.
+     * @param callback                     {@link SilentBatchAuthenticationCallback} receiving the per-request results.
+     */
+    void acquireTokenSilentBatchAsync(@NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters,
+                                      @NonNull final SilentBatchAuthenticationCallback callback);
+
+    /**
+     * Perform a batch of acquire token silent calls, blocking until all of them have completed.
+     * See {@link IPublicClientApplication#acquireTokenSilentBatchAsync(List, SilentBatchAuthenticationCallback)}.
+     *
+     * @param acquireTokenSilentParameters The requests to perform. Callbacks must not be set on the individual requests,
+     *                                     and each request must be a distinct instance.
+     * @return {@link AcquireTokenSilentBatchResult} holding the result or error of each request.
+     */
+    @WorkerThread
+    AcquireTokenSilentBatchResult acquireTokenSilentBatch(@NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters) throws InterruptedException, MsalException;
+
     /**
      * Perform the Device Code Flow (DCF) protocol to allow a device without input capability to authenticate and get a new access token.
      * Currently, flow is only supported in local MSAL. No Broker support.
@@ -159,6 +192,19 @@ public interface IPublicClientApplication {
                                    @NonNull final SignedHttpRequestRequestCallback callback
     );
 
+    /**
+     * Signs the provided {@link PoPAuthenticationScheme} parameters into a JWT on behalf of the
+     * provided {@link IAccount}, returning a {@link MsalFuture} completed with the resulting SHR.
+     * See {@link IPublicClientApplication#generateSignedHttpRequest(IAccount, PoPAuthenticationScheme)}.
+     *
+     * @param account       The account for whom signing shall occur.
+     * @param popParameters The input parameters.
+     * @return A {@link MsalFuture} completed with the resulting SHR (or error).
+     */
+    @NonNull
+    MsalFuture<String> generateSignedHttpRequestFuture(@NonNull final IAccount account,
+                                                       @NonNull final PoPAuthenticationScheme popParameters);
+
     /**
      * Callback used to receive the result of {@link #generateSignedHttpRequest(IAccount, PoPAuthenticationScheme)}.
      */
@@ -62,6 +62,35 @@ public interface ISingleAccountPublicClientApplication extends IPublicClientAppl
     @WorkerThread
     ICurrentAccountResult getCurrentAccount() throws InterruptedException, MsalException;
 
+    /**
+     * Gets the current account, returning a {@link MsalFuture} completed with it instead of invoking a callback.
+     * See {@link ISingleAccountPublicClientApplication#getCurrentAccount()}.
+     *
+     * @return A {@link MsalFuture} completed with the CurrentAccountResult.
+     */
+    @NonNull
+    MsalFuture<ICurrentAccountResult> getCurrentAccountFuture();
+
+    /**
+     * Registers a listener notified whenever the current account changes, e.g. on sign in, sign out
+     * or when the broker switches or removes the account in shared device mode, so that the
+     * application does not need to poll {@link #getCurrentAccount()}.
+     * <p>
+     * Changes made through the broker are picked up when the accounts of the device change; the
+     * listener is notified on the callback executor of this application, or the main thread.
+     *
+     * @param listener the listener to notify.
+     */
+    void registerCurrentAccountChangeListener(@NonNull final CurrentAccountChangeListener listener);
+
+    /**
+     * Unregisters a listener registered with
+     * {@link #registerCurrentAccountChangeListener(CurrentAccountChangeListener)}.
+     *
+     * @param listener the listener to stop notifying.
+     */
+    void unregisterCurrentAccountChangeListener(@NonNull final CurrentAccountChangeListener listener);
+
     /**
      * Allows a user to sign in to your application with one of their accounts. This method may only
      * be called once: once a user is signed in, they must first be signed out before another user
@@ -289,6 +318,19 @@ public interface ISingleAccountPublicClientApplication extends IPublicClientAppl
         void onError(@NonNull final MsalException exception);
     }
 
+    /**
+     * Listener for changes of the current account.
+     */
+    interface CurrentAccountChangeListener {
+        /**
+         * Invoked when the signed-in account changes.
+         *
+         * @param priorAccount   the previous signed-in account. This could be null.
+         * @param currentAccount the current signed-in account. This could be null.
+         */
+        void onAccountChanged(@Nullable final IAccount priorAccount, @Nullable final IAccount currentAccount);
+    }
+
     interface SignOutCallback {
         /**
          * Invoked when account successfully signed out
@@ -0,0 +1,138 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.common.java.exception.ServiceException;
+import com.microsoft.identity.common.java.providers.oauth2.IDToken;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide, bounded cache of the claims parsed from raw id tokens, so that the accounts built
+ * from the same cache records by repeated account lookups do not parse identical JWTs again.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the raw id token, so that the cache does not retain the
+ * tokens themselves, and the least recently used entry is evicted beyond {@link #MAX_ENTRIES}.
+ * The cached claims are immutable, since they are shared between accounts.
+ */
+final class IdTokenClaimsCache {
+
+    private static final String TAG = IdTokenClaimsCache.class.getSimpleName();
+
+    /**
+     * Upper bound on the number of parsed claims held.
+     */
+    static final int MAX_ENTRIES = 128;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final Map<String, Map<String, ?>> sClaims =
+            new LinkedHashMap<String, Map<String, ?>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Map<String, ?>> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    private IdTokenClaimsCache() {
+        // Utility class.
+    }
+
+    /**
+     * @return The claims of the supplied raw id token, or null if it cannot be parsed.
+     */
+    @Nullable
+    static Map<String, ?> getClaims(@NonNull final String rawIdToken) {
+        final String key = hash(rawIdToken);
+
+        if (null != key) {
+            synchronized (sClaims) {
+                final Map<String, ?> claims = sClaims.get(key);
+
+                if (null != claims) {
+                    return claims;
+                }
+            }
+        }
+
+        final Map<String, ?> claims = parse(rawIdToken);
+
+        if (null != key && null != claims) {
+            synchronized (sClaims) {
+                sClaims.put(key, claims);
+            }
+        }
+
+        return claims;
+    }
+
+    static void clear() {
+        synchronized (sClaims) {
+            sClaims.clear();
+        }
+    }
+
+    static int size() {
+        synchronized (sClaims) {
+            return sClaims.size();
+        }
+    }
+
+    @Nullable
+    private static Map<String, ?> parse(@NonNull final String rawIdToken) {
+        final String methodTag = TAG + ":parse";
+
+        try {
+            return Collections.unmodifiableMap(new IDToken(rawIdToken).getTokenClaims());
+        } catch (final ServiceException e) {
+            // This should never happen - the IdToken was verified when it was originally
+            // returned from the service and saved.
+            Logger.error(methodTag, "Failed to parse IdToken", e);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static String hash(@NonNull final String rawIdToken) {
+        final String methodTag = TAG + ":hash";
+
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawIdToken.getBytes(UTF_8));
+            return Base64.encodeToString(digest, Base64.NO_WRAP);
+        } catch (final NoSuchAlgorithmException e) {
+            Logger.warn(methodTag, "SHA-256 unavailable, not caching IdToken claims.");
+            return null;
+        }
+    }
+}
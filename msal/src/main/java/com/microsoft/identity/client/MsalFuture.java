@@ -0,0 +1,341 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.exception.MsalClientException;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.client.exception.MsalUserCancelException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The pending outcome of an asynchronous {@link IPublicClientApplication} operation, completed
+ * directly by the operation's callback.
+ * <p>
+ * Prefer {@link #whenComplete(Callback, Executor)}, {@link #thenApply(Continuation)} and
+ * {@link #thenCompose(Continuation)} over the blocking {@link #get()}, which must not be called on
+ * the main thread. Cancelling a future abandons the operation: it is not started if it has not
+ * been yet, its outcome is discarded, and callbacks are notified with a
+ * {@link MsalUserCancelException}.
+ *
+ * @param <T> The type of the result.
+ */
+public final class MsalFuture<T> implements Future<T> {
+
+    /**
+     * Receives the outcome of a {@link MsalFuture}.
+     */
+    public interface Callback<T> {
+        /**
+         * Invoked once the operation succeeded.
+         */
+        void onSuccess(T result);
+
+        /**
+         * Invoked once the operation failed.
+         */
+        void onError(@NonNull MsalException exception);
+    }
+
+    /**
+     * Derives a value from the result of a {@link MsalFuture}.
+     */
+    public interface Continuation<T, R> {
+        /**
+         * @param result The result of the preceding operation.
+         * @return The derived value.
+         * @throws MsalException to fail the derived future.
+         */
+        R apply(T result) throws MsalException;
+    }
+
+    private final CountDownLatch mDone = new CountDownLatch(1);
+
+    // Guarded by mDone.
+    private List<Runnable> mListeners = new ArrayList<>();
+    private T mResult;
+    private MsalException mException;
+    private volatile boolean mCancelled;
+
+    MsalFuture() {
+    }
+
+    /**
+     * Returns a future which already failed with the supplied exception.
+     */
+    @NonNull
+    static <T> MsalFuture<T> failed(@NonNull final MsalException exception) {
+        final MsalFuture<T> future = new MsalFuture<>();
+        future.setException(exception);
+        return future;
+    }
+
+    /**
+     * Completes this future with the supplied result, unless it already completed.
+     *
+     * @return true if this call completed the future.
+     */
+    boolean setResult(@Nullable final T result) {
+        return complete(result, null, false);
+    }
+
+    /**
+     * Completes this future with the supplied exception, unless it already completed.
+     *
+     * @return true if this call completed the future.
+     */
+    boolean setException(@NonNull final MsalException exception) {
+        return complete(null, exception, false);
+    }
+
+    private boolean complete(@Nullable final T result,
+                             @Nullable final MsalException exception,
+                             final boolean cancelled) {
+        final List<Runnable> listeners;
+
+        synchronized (mDone) {
+            if (null == mListeners) {
+                return false;
+            }
+
+            mResult = result;
+            mException = exception;
+            mCancelled = cancelled;
+            listeners = mListeners;
+            mListeners = null;
+            mDone.countDown();
+        }
+
+        for (final Runnable listener : listeners) {
+            listener.run();
+        }
+
+        return true;
+    }
+
+    /**
+     * Registers a callback to be notified of the outcome. If this future already completed, the
+     * callback is notified right away.
+     *
+     * @param callback The callback to notify.
+     * @param executor The executor to notify the callback on, or null to notify it on the thread
+     *                 which completes this future (or the calling thread, if already complete).
+     */
+    public void whenComplete(@NonNull final Callback<? super T> callback,
+                             @Nullable final Executor executor) {
+        final Runnable listener = new Runnable() {
+            @Override
+            public void run() {
+                if (null == mException) {
+                    callback.onSuccess(mResult);
+                } else {
+                    callback.onError(mException);
+                }
+            }
+        };
+
+        final Runnable dispatchedListener = null == executor ? listener : new Runnable() {
+            @Override
+            public void run() {
+                executor.execute(listener);
+            }
+        };
+
+        synchronized (mDone) {
+            if (null != mListeners) {
+                mListeners.add(dispatchedListener);
+                return;
+            }
+        }
+
+        dispatchedListener.run();
+    }
+
+    /**
+     * Returns a future completed with the value derived from this future's result, or with this
+     * future's exception. The continuation runs on the thread which completes this future; a
+     * {@link RuntimeException} it throws completes the derived future with a
+     * {@link MsalClientException}.
+     */
+    @NonNull
+    public <R> MsalFuture<R> thenApply(@NonNull final Continuation<? super T, ? extends R> continuation) {
+        final MsalFuture<R> derived = new MsalFuture<>();
+
+        whenComplete(new Callback<T>() {
+            @Override
+            public void onSuccess(final T result) {
+                final R value;
+
+                try {
+                    value = continuation.apply(result);
+                } catch (final MsalException e) {
+                    derived.setException(e);
+                    return;
+                } catch (final RuntimeException e) {
+                    derived.setException(continuationFailed(e));
+                    return;
+                }
+
+                derived.setResult(value);
+            }
+
+            @Override
+            public void onError(@NonNull final MsalException exception) {
+                derived.setException(exception);
+            }
+        }, null);
+
+        return derived;
+    }
+
+    /**
+     * Returns a future completed with the outcome of the future the continuation starts from this
+     * future's result, or with this future's exception. The continuation runs on the thread which
+     * completes this future; a {@link RuntimeException} it throws, or a null future it returns,
+     * completes the derived future with a {@link MsalClientException}.
+     */
+    @NonNull
+    public <R> MsalFuture<R> thenCompose(@NonNull final Continuation<? super T, MsalFuture<R>> continuation) {
+        final MsalFuture<R> derived = new MsalFuture<>();
+
+        whenComplete(new Callback<T>() {
+            @Override
+            public void onSuccess(final T result) {
+                final MsalFuture<R> next;
+
+                try {
+                    next = continuation.apply(result);
+                } catch (final MsalException e) {
+                    derived.setException(e);
+                    return;
+                } catch (final RuntimeException e) {
+                    derived.setException(continuationFailed(e));
+                    return;
+                }
+
+                if (null == next) {
+                    derived.setException(new MsalClientException(
+                            MsalClientException.UNKNOWN_ERROR,
+                            "The continuation returned a null future."
+                    ));
+                    return;
+                }
+
+                next.whenComplete(new Callback<R>() {
+                    @Override
+                    public void onSuccess(final R nextResult) {
+                        derived.setResult(nextResult);
+                    }
+
+                    @Override
+                    public void onError(@NonNull final MsalException exception) {
+                        derived.setException(exception);
+                    }
+                }, null);
+            }
+
+            @Override
+            public void onError(@NonNull final MsalException exception) {
+                derived.setException(exception);
+            }
+        }, null);
+
+        return derived;
+    }
+
+    @NonNull
+    private static MsalClientException continuationFailed(@NonNull final RuntimeException e) {
+        return new MsalClientException(
+                MsalClientException.UNKNOWN_ERROR,
+                "The continuation failed: " + e.getMessage(),
+                e
+        );
+    }
+
+    /**
+     * Abandons the operation, unless it already completed. The operation is not interrupted, but
+     * its outcome is discarded.
+     *
+     * @param mayInterruptIfRunning Ignored.
+     * @return true if this call cancelled the future.
+     */
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        return complete(null, new MsalUserCancelException(), true);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return mCancelled;
+    }
+
+    @Override
+    public boolean isDone() {
+        return mDone.getCount() == 0;
+    }
+
+    /**
+     * Blocks until the operation completes.
+     *
+     * @throws ExecutionException   with the {@link MsalException} as its cause, if the operation failed.
+     * @throws CancellationException if this future was cancelled.
+     */
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        mDone.await();
+        return getOutcome();
+    }
+
+    @Override
+    public T get(final long timeout, @NonNull final TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        if (!mDone.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+
+        return getOutcome();
+    }
+
+    private T getOutcome() throws ExecutionException {
+        if (mCancelled) {
+            throw new CancellationException();
+        }
+
+        if (null != mException) {
+            throw new ExecutionException(mException);
+        }
+
+        return mResult;
+    }
+}
@@ -0,0 +1,45 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import com.microsoft.identity.common.java.eststelemetry.PublicApiId;
+
+/**
+ * Ids of the public APIs of this library which have no counterpart in {@link PublicApiId} yet,
+ * reported in the same way. They are numbered from 900 to stay clear of the ids allocated there.
+ */
+final class MsalPublicApiId {
+
+    static final String MULTIPLE_ACCOUNT_PCA_QUERY_ACCOUNTS = "900";
+    static final String MULTIPLE_ACCOUNT_PCA_QUERY_ACCOUNTS_WITH_CALLBACK = "901";
+    static final String MULTIPLE_ACCOUNT_PCA_QUERY_ACCOUNTS_FUTURE = "902";
+    static final String PCA_ACQUIRE_TOKEN_SILENT_BATCH = "903";
+    static final String PCA_ACQUIRE_TOKEN_SILENT_BATCH_ASYNC = "904";
+    static final String SINGLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH = "905";
+    static final String SINGLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH_ASYNC = "906";
+    static final String MULTIPLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH = "907";
+    static final String MULTIPLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH_ASYNC = "908";
+
+    private MsalPublicApiId() {
+    }
+}
@@ -35,7 +35,6 @@ import com.microsoft.identity.client.exception.MsalClientException;
 import com.microsoft.identity.client.exception.MsalException;
 import com.microsoft.identity.client.internal.AsyncResult;
 import com.microsoft.identity.client.internal.CommandParametersAdapter;
-import com.microsoft.identity.client.internal.controllers.MSALControllerFactory;
 import com.microsoft.identity.client.internal.controllers.MsalExceptionAdapter;
 import com.microsoft.identity.common.java.exception.BaseException;
 import com.microsoft.identity.common.java.cache.ICacheRecord;
@@ -52,8 +51,10 @@ import com.microsoft.identity.common.java.util.ResultFuture;
 import com.microsoft.identity.common.logging.Logger;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import static com.microsoft.identity.client.exception.MsalClientException.UNKNOWN_ERROR;
 import static com.microsoft.identity.client.internal.MsalUtils.throwOnMainThread;
@@ -101,6 +102,23 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
         acquireTokenSilentAsyncInternal(acquireTokenSilentParameters, PublicApiId.MULTIPLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_ASYNC_WITH_SCOPES_ACCOUNT_AUTHORITY_CALLBACK);
     }
 
+    @Override
+    @NonNull
+    public MsalFuture<IAuthenticationResult> acquireTokenSilentFuture(@NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters) {
+        return acquireTokenSilentFutureInternal(acquireTokenSilentParameters, PublicApiId.MULTIPLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_ASYNC_WITH_PARAMETERS);
+    }
+
+    @Override
+    public void acquireTokenSilentBatchAsync(@NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters,
+                                             @NonNull final SilentBatchAuthenticationCallback callback) {
+        acquireTokenSilentBatchAsyncInternal(acquireTokenSilentParameters, callback, MsalPublicApiId.MULTIPLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH_ASYNC);
+    }
+
+    @Override
+    public AcquireTokenSilentBatchResult acquireTokenSilentBatch(@NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters) throws MsalException, InterruptedException {
+        return acquireTokenSilentBatchInternal(acquireTokenSilentParameters, MsalPublicApiId.MULTIPLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH);
+    }
+
     /**
      * Asynchronously returns a List of {@link IAccount} objects for which this application has RefreshTokens.
      *
@@ -122,6 +140,7 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
         TokenMigrationCallback migrationCallback = new TokenMigrationCallback() {
             @Override
             public void onMigrationFinished(int numberOfAccountsMigrated) {
+                final Executor callbackExecutor = getCallbackExecutor(null);
                 final Handler handler;
 
                 if (null != Looper.myLooper() && Looper.getMainLooper() != Looper.myLooper()) {
@@ -131,26 +150,50 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
                 }
 
                 try {
-                    final CommandParameters params = CommandParametersAdapter.createCommandParameters(mPublicClientConfiguration, mPublicClientConfiguration.getOAuth2TokenCache());
+                    final boolean useAccountIndex = isAccountIndexEligible();
+
+                    if (useAccountIndex) {
+                        final List<IAccount> snapshot = mAccountIndex.getAccounts();
+
+                        if (null != snapshot) {
+                            postOnCallbackThread(callbackExecutor, new Runnable() {
+                                @Override
+                                public void run() {
+                                    callback.onTaskCompleted(snapshot);
+                                }
+                            });
+                            return;
+                        }
+                    }
+
+                    final long accountIndexVersion = mAccountIndex.getVersion();
+                    final CommandParameters params = CommandParametersAdapter.createCommandParameters(mCommandParametersTemplate, mPublicClientConfiguration, mPublicClientConfiguration.getOAuth2TokenCache());
                     final LoadAccountCommand loadAccountCommand = new LoadAccountCommand(
                             params,
-                            MSALControllerFactory.getAllControllers(
-                                    mPublicClientConfiguration.getAppContext(),
-                                    mPublicClientConfiguration.getDefaultAuthority(),
-                                    mPublicClientConfiguration
+                            mControllerProvider.getAllControllers(mPublicClientConfiguration.getDefaultAuthority()),
+                            getLoadAccountsCallback(
+                                    useAccountIndex
+                                            ? getIndexingLoadAccountsCallback(callback, accountIndexVersion)
+                                            : callback,
+                                    callbackExecutor
                             ),
-                            getLoadAccountsCallback(callback),
                             publicApiId
                     );
 
                     CommandDispatcher.submitSilent(loadAccountCommand);
                 } catch (final MsalClientException e) {
-                    handler.post(new Runnable() {
+                    final Runnable errorDelivery = new Runnable() {
                         @Override
                         public void run() {
                             callback.onError(e);
                         }
-                    });
+                    };
+
+                    if (null == callbackExecutor) {
+                        handler.post(errorDelivery);
+                    } else {
+                        callbackExecutor.execute(errorDelivery);
+                    }
                 }
             }
         };
@@ -158,11 +201,53 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
         performMigration(migrationCallback);
     }
 
+    /**
+     * Accounts in the broker may be added or removed by other applications, so the account index
+     * is only used when the token cache is owned by this application.
+     */
+    private boolean isAccountIndexEligible() throws MsalClientException {
+        return !mControllerProvider.isBrokerEligible(mPublicClientConfiguration.getDefaultAuthority());
+    }
+
+    /**
+     * Loads the accounts read from the token cache into the account index before handing them to
+     * the supplied callback.
+     */
+    @NonNull
+    private LoadAccountsCallback getIndexingLoadAccountsCallback(@NonNull final LoadAccountsCallback callback,
+                                                                 final long accountIndexVersion) {
+        return new LoadAccountsCallback() {
+            @Override
+            public void onTaskCompleted(final List<IAccount> result) {
+                mAccountIndex.load(
+                        null == result ? Collections.<IAccount>emptyList() : result,
+                        accountIndexVersion
+                );
+                callback.onTaskCompleted(result);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                callback.onError(exception);
+            }
+        };
+    }
+
     @Override
     public List<IAccount> getAccounts() throws InterruptedException, MsalException {
 
         throwOnMainThread("getAccounts");
 
+        // Served from the current snapshot of the account index without leaving this thread,
+        // once the index has been loaded.
+        if (isAccountIndexEligible()) {
+            final List<IAccount> snapshot = mAccountIndex.getAccounts();
+
+            if (null != snapshot) {
+                return snapshot;
+            }
+        }
+
         final ResultFuture<AsyncResult<List<IAccount>>> future = new ResultFuture<>();
 
         getAccountsInternal(new LoadAccountsCallback() {
@@ -195,6 +280,170 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
         }
     }
 
+    @Override
+    @NonNull
+    public MsalFuture<List<IAccount>> getAccountsFuture() {
+        final MsalFuture<List<IAccount>> future = new MsalFuture<>();
+
+        getAccountsInternal(new LoadAccountsCallback() {
+            @Override
+            public void onTaskCompleted(final List<IAccount> result) {
+                future.setResult(result);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                future.setException(exception);
+            }
+        }, PublicApiId.MULTIPLE_ACCOUNT_PCA_GET_ACCOUNTS_WITH_CALLBACK);
+
+        return future;
+    }
+
+    @Override
+    public void queryAccounts(@NonNull final AccountQueryParameters parameters,
+                              @NonNull final QueryAccountsCallback callback) {
+        queryAccountsInternal(parameters, callback, MsalPublicApiId.MULTIPLE_ACCOUNT_PCA_QUERY_ACCOUNTS_WITH_CALLBACK);
+    }
+
+    /**
+     * Reads the account records from the token cache and builds only the accounts of the requested
+     * page. The account index is bypassed, as it only holds accounts which are already built.
+     */
+    private void queryAccountsInternal(@NonNull final AccountQueryParameters parameters,
+                                       @NonNull final QueryAccountsCallback callback,
+                                       @NonNull final String publicApiId) {
+        final String methodTag = TAG + ":queryAccountsInternal";
+        final Executor callbackExecutor = getCallbackExecutor(null);
+
+        if (parameters.getPageSize() < 0) {
+            final MsalArgumentException exception = new MsalArgumentException(
+                    "queryAccounts",
+                    "pageSize",
+                    "pageSize cannot be negative"
+            );
+            postOnCallbackThread(callbackExecutor, new Runnable() {
+                @Override
+                public void run() {
+                    callback.onError(exception);
+                }
+            });
+            return;
+        }
+
+        final TokenMigrationCallback migrationCallback = new TokenMigrationCallback() {
+            @Override
+            public void onMigrationFinished(int numberOfAccountsMigrated) {
+                try {
+                    final CommandParameters params = CommandParametersAdapter.createCommandParameters(mCommandParametersTemplate, mPublicClientConfiguration, mPublicClientConfiguration.getOAuth2TokenCache());
+                    final LoadAccountCommand loadAccountCommand = new LoadAccountCommand(
+                            params,
+                            mControllerProvider.getAllControllers(mPublicClientConfiguration.getDefaultAuthority()),
+                            new CommandCallback<List<ICacheRecord>, BaseException>() {
+                                @Override
+                                public void onTaskCompleted(final List<ICacheRecord> result) {
+                                    runOnCallbackExecutor(callbackExecutor, new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            callback.onTaskCompleted(AccountAdapter.query(
+                                                    null == result ? Collections.<ICacheRecord>emptyList() : result,
+                                                    parameters
+                                            ));
+                                        }
+                                    });
+                                }
+
+                                @Override
+                                public void onError(final BaseException exception) {
+                                    Logger.error(methodTag, exception.getMessage(), exception);
+                                    runOnCallbackExecutor(callbackExecutor, new Runnable() {
+                                        @Override
+                                        public void run() {
+                                            callback.onError(MsalExceptionAdapter.msalExceptionFromBaseException(exception));
+                                        }
+                                    });
+                                }
+
+                                @Override
+                                public void onCancel() {
+                                    //Do nothing
+                                }
+                            },
+                            publicApiId
+                    );
+
+                    CommandDispatcher.submitSilent(loadAccountCommand);
+                } catch (final MsalClientException e) {
+                    Logger.error(methodTag, e.getMessage(), e);
+                    postOnCallbackThread(callbackExecutor, new Runnable() {
+                        @Override
+                        public void run() {
+                            callback.onError(e);
+                        }
+                    });
+                }
+            }
+        };
+
+        performMigration(migrationCallback);
+    }
+
+    @Override
+    public AccountQueryResult queryAccounts(@NonNull final AccountQueryParameters parameters) throws InterruptedException, MsalException {
+        throwOnMainThread("queryAccounts");
+
+        final ResultFuture<AsyncResult<AccountQueryResult>> future = new ResultFuture<>();
+
+        queryAccountsInternal(parameters, new QueryAccountsCallback() {
+            @Override
+            public void onTaskCompleted(AccountQueryResult result) {
+                future.setResult(new AsyncResult<AccountQueryResult>(result, null));
+            }
+
+            @Override
+            public void onError(MsalException exception) {
+                future.setResult(new AsyncResult<AccountQueryResult>(null, exception));
+            }
+        }, MsalPublicApiId.MULTIPLE_ACCOUNT_PCA_QUERY_ACCOUNTS);
+
+        try {
+            final AsyncResult<AccountQueryResult> result = future.get();
+
+            if (result.getSuccess()) {
+                return result.getResult();
+            } else {
+                throw result.getException();
+            }
+        } catch (final ExecutionException e) {
+            // Shouldn't be thrown.
+            throw new MsalClientException(
+                    UNKNOWN_ERROR,
+                    "Unexpected error while querying accounts.",
+                    e
+            );
+        }
+    }
+
+    @Override
+    @NonNull
+    public MsalFuture<AccountQueryResult> queryAccountsFuture(@NonNull final AccountQueryParameters parameters) {
+        final MsalFuture<AccountQueryResult> future = new MsalFuture<>();
+
+        queryAccountsInternal(parameters, new QueryAccountsCallback() {
+            @Override
+            public void onTaskCompleted(final AccountQueryResult result) {
+                future.setResult(result);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                future.setException(exception);
+            }
+        }, MsalPublicApiId.MULTIPLE_ACCOUNT_PCA_QUERY_ACCOUNTS_FUTURE);
+
+        return future;
+    }
+
     /**
      * Retrieve the IAccount object matching the identifier.
      * The identifier could be homeAccountIdentifier, localAccountIdentifier or username.
@@ -227,6 +476,7 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
             validateNonNullArg(identifier, "identifier");
         } catch (MsalArgumentException e) {
             callback.onError(e);
+            return;
         }
 
         TokenMigrationCallback migrationCallback = new TokenMigrationCallback() {
@@ -235,40 +485,67 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
 
                 Logger.verbose(methodTag, "Get account with the identifier.");
 
+                final String trimmedIdentifier = identifier.trim();
+
+                // Evaluation precedence...
+                //     1. home_account_id
+                //     2. local_account_id
+                //     3. username
+                //     4. Give up.
+                final AccountMatcher accountMatcher = new AccountMatcher(
+                        homeAccountMatcher,
+                        localAccountMatcher,
+                        usernameMatcher
+                );
+
                 try {
-                    final CommandParameters params = CommandParametersAdapter.createCommandParameters(mPublicClientConfiguration, mPublicClientConfiguration.getOAuth2TokenCache());
+                    final boolean useAccountIndex = isAccountIndexEligible();
+
+                    if (useAccountIndex) {
+                        final boolean indexLoaded;
+                        final IAccount indexedAccount;
+
+                        // Hold the index so that it is not invalidated between the two calls
+                        synchronized (mAccountIndex) {
+                            indexLoaded = mAccountIndex.isLoaded();
+                            indexedAccount = indexLoaded
+                                    ? mAccountIndex.find(trimmedIdentifier, accountMatcher)
+                                    : null;
+                        }
+
+                        if (indexLoaded) {
+                            Logger.verbose(methodTag, "Returning account from the account index.");
+                            postOnCallbackThread(null, new Runnable() {
+                                @Override
+                                public void run() {
+                                    callback.onTaskCompleted(indexedAccount);
+                                }
+                            });
+                            return;
+                        }
+                    }
+
+                    final long accountIndexVersion = mAccountIndex.getVersion();
+                    final CommandParameters params = CommandParametersAdapter.createCommandParameters(mCommandParametersTemplate, mPublicClientConfiguration, mPublicClientConfiguration.getOAuth2TokenCache());
                     final LoadAccountCommand loadAccountCommand = new LoadAccountCommand(
                             params,
-                            MSALControllerFactory.getAllControllers(
-                                    mPublicClientConfiguration.getAppContext(),
-                                    mPublicClientConfiguration.getDefaultAuthority(),
-                                    mPublicClientConfiguration
-                            ),
+                            mControllerProvider.getAllControllers(mPublicClientConfiguration.getDefaultAuthority()),
                             new CommandCallback<List<ICacheRecord>, BaseException>() {
                                 @Override
                                 public void onTaskCompleted(final List<ICacheRecord> result) {
-                                    if (null == result || result.size() == 0) {
+                                    // First, transform the result into IAccount + TenantProfile form
+                                    final List<IAccount> accounts = null == result
+                                            ? Collections.<IAccount>emptyList()
+                                            : AccountAdapter.adapt(result);
+
+                                    if (useAccountIndex) {
+                                        mAccountIndex.load(accounts, accountIndexVersion);
+                                    }
+
+                                    if (accounts.isEmpty()) {
                                         Logger.verbose(methodTag, "No account found.");
                                         callback.onTaskCompleted(null);
                                     } else {
-                                        // First, transform the result into IAccount + TenantProfile form
-                                        final List<IAccount>
-                                                accounts = AccountAdapter.adapt(result);
-
-                                        final String trimmedIdentifier = identifier.trim();
-
-                                        // Evaluation precedence...
-                                        //     1. home_account_id
-                                        //     2. local_account_id
-                                        //     3. username
-                                        //     4. Give up.
-
-                                        final AccountMatcher accountMatcher = new AccountMatcher(
-                                                homeAccountMatcher,
-                                                localAccountMatcher,
-                                                usernameMatcher
-                                        );
-
                                         for (final IAccount account : accounts) {
                                             if (accountMatcher.matches(trimmedIdentifier, account)) {
                                                 callback.onTaskCompleted(account);
@@ -305,6 +582,26 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
         performMigration(migrationCallback);
     }
 
+    @Override
+    @NonNull
+    public MsalFuture<IAccount> getAccountFuture(@NonNull final String identifier) {
+        final MsalFuture<IAccount> future = new MsalFuture<>();
+
+        getAccountInternal(identifier, new GetAccountCallback() {
+            @Override
+            public void onTaskCompleted(final IAccount result) {
+                future.setResult(result);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                future.setException(exception);
+            }
+        }, PublicApiId.MULTIPLE_ACCOUNT_PCA_GET_ACCOUNT_WITH_IDENTIFIER_CALLBACK);
+
+        return future;
+    }
+
     @Override
     public IAccount getAccount(@NonNull String identifier) throws InterruptedException, MsalException {
         throwOnMainThread("getAccount");
@@ -374,6 +671,7 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
 
         final RemoveAccountCommandParameters params = CommandParametersAdapter
                 .createRemoveAccountCommandParameters(
+                        mCommandParametersTemplate,
                         mPublicClientConfiguration,
                         mPublicClientConfiguration.getOAuth2TokenCache(),
                         requestAccountRecord
@@ -382,11 +680,7 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
         try {
             final RemoveAccountCommand removeAccountCommand = new RemoveAccountCommand(
                     params,
-                    MSALControllerFactory.getAllControllers(
-                            mPublicClientConfiguration.getAppContext(),
-                            mPublicClientConfiguration.getDefaultAuthority(),
-                            mPublicClientConfiguration
-                    ),
+                    mControllerProvider.getAllControllers(mPublicClientConfiguration.getDefaultAuthority()),
                     new CommandCallback<Boolean, BaseException>() {
                         @Override
                         public void onError(BaseException error) {
@@ -395,6 +689,7 @@ public class MultipleAccountPublicClientApplication extends PublicClientApplicat
 
                         @Override
                         public void onTaskCompleted(Boolean success) {
+                            onAccountsRemoved(multiTenantAccount);
                             callback.onRemoved();
                         }
 
@@ -0,0 +1,223 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.client.configuration.BackgroundExecutorConfiguration;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded thread pool on which {@link PublicClientApplication} prepares requests before
+ * dispatching them. Queued tasks run in {@link Priority} order, then in submission order.
+ * <p>
+ * The pool keeps its core threads alive, and grows up to its maximum size while tasks are queued.
+ * Threads above the core size exit once idle for {@link #KEEP_ALIVE_SECONDS}.
+ */
+final class PrioritizedBackgroundExecutor {
+
+    private static final String TAG = PrioritizedBackgroundExecutor.class.getSimpleName();
+
+    /**
+     * Priority of a task, highest first.
+     */
+    enum Priority {
+        /**
+         * Work a user is waiting on, such as interactive requests and application creation.
+         */
+        INTERACTIVE,
+
+        /**
+         * Silent requests.
+         */
+        SILENT,
+
+        /**
+         * Speculative work nobody is waiting on yet.
+         */
+        PREFETCH
+    }
+
+    static final long KEEP_ALIVE_SECONDS = 30;
+
+    private final AtomicLong mSequence = new AtomicLong();
+    private final AtomicLong mExecutedTaskCount = new AtomicLong();
+    private final AtomicLong mTotalWaitNanos = new AtomicLong();
+    private final AtomicLong mMaxWaitNanos = new AtomicLong();
+    private final PoolExecutor mExecutor;
+    private volatile int mCorePoolSize;
+
+    PrioritizedBackgroundExecutor(final int corePoolSize, final int maxPoolSize) {
+        mCorePoolSize = corePoolSize;
+        mExecutor = new PoolExecutor(corePoolSize, maxPoolSize);
+    }
+
+    /**
+     * Resizes the pool to the supplied configuration. Threads above the new sizes exit once idle.
+     */
+    void configure(@NonNull final BackgroundExecutorConfiguration configuration) {
+        final int corePoolSize = configuration.getCorePoolSize();
+        final int maxPoolSize = configuration.getMaxPoolSize();
+
+        synchronized (mExecutor) {
+            mCorePoolSize = corePoolSize;
+
+            // The maximum may never drop below the current core size, order the updates accordingly.
+            if (maxPoolSize >= mExecutor.getCorePoolSize()) {
+                mExecutor.setMaximumPoolSize(maxPoolSize);
+                mExecutor.setCorePoolSize(corePoolSize);
+            } else {
+                mExecutor.setCorePoolSize(corePoolSize);
+                mExecutor.setMaximumPoolSize(maxPoolSize);
+            }
+        }
+    }
+
+    /**
+     * Queues the supplied task. Exceptions thrown by the task are logged and otherwise ignored.
+     */
+    void execute(@NonNull final Priority priority, @NonNull final Runnable runnable) {
+        mExecutor.execute(new PrioritizedTask(priority, mSequence.getAndIncrement(), runnable));
+        mExecutor.growIfQueued();
+    }
+
+    @NonNull
+    BackgroundExecutorStatistics getStatistics() {
+        return new BackgroundExecutorStatistics(
+                mExecutor.getQueue().size(),
+                mExecutor.getActiveCount(),
+                mExecutor.getPoolSize(),
+                mExecutedTaskCount.get(),
+                TimeUnit.NANOSECONDS.toMillis(mTotalWaitNanos.get()),
+                TimeUnit.NANOSECONDS.toMillis(mMaxWaitNanos.get())
+        );
+    }
+
+    private void recordWait(final long waitNanos) {
+        mExecutedTaskCount.incrementAndGet();
+        mTotalWaitNanos.addAndGet(waitNanos);
+
+        long max = mMaxWaitNanos.get();
+
+        while (waitNanos > max && !mMaxWaitNanos.compareAndSet(max, waitNanos)) {
+            max = mMaxWaitNanos.get();
+        }
+    }
+
+    /**
+     * A {@link ThreadPoolExecutor} over an unbounded priority queue only ever runs its core
+     * threads, so the core size is raised while tasks are queued and restored once the queue
+     * drains.
+     */
+    private final class PoolExecutor extends ThreadPoolExecutor {
+
+        PoolExecutor(final int corePoolSize, final int maxPoolSize) {
+            super(
+                    corePoolSize,
+                    maxPoolSize,
+                    KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<Runnable>(),
+                    new BackgroundThreadFactory()
+            );
+        }
+
+        void growIfQueued() {
+            synchronized (this) {
+                final int poolSize = getCorePoolSize();
+
+                if (!getQueue().isEmpty() && poolSize < getMaximumPoolSize()) {
+                    setCorePoolSize(poolSize + 1);
+                }
+            }
+        }
+
+        @Override
+        protected void afterExecute(final Runnable runnable, final Throwable throwable) {
+            super.afterExecute(runnable, throwable);
+
+            synchronized (this) {
+                if (getQueue().isEmpty() && getCorePoolSize() > mCorePoolSize) {
+                    setCorePoolSize(mCorePoolSize);
+                }
+            }
+        }
+    }
+
+    private final class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+
+        private final Priority mPriority;
+        private final long mSequenceNumber;
+        private final Runnable mRunnable;
+        private final long mQueuedAtNanos = System.nanoTime();
+
+        PrioritizedTask(@NonNull final Priority priority,
+                        final long sequenceNumber,
+                        @NonNull final Runnable runnable) {
+            mPriority = priority;
+            mSequenceNumber = sequenceNumber;
+            mRunnable = runnable;
+        }
+
+        @Override
+        public void run() {
+            final String methodTag = TAG + ":run";
+
+            recordWait(System.nanoTime() - mQueuedAtNanos);
+
+            try {
+                mRunnable.run();
+            } catch (final RuntimeException e) {
+                Logger.error(methodTag, "Background task failed.", e);
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull final PrioritizedTask other) {
+            final int priorityComparison = mPriority.compareTo(other.mPriority);
+
+            if (priorityComparison != 0) {
+                return priorityComparison;
+            }
+
+            return mSequenceNumber < other.mSequenceNumber ? -1 : (mSequenceNumber == other.mSequenceNumber ? 0 : 1);
+        }
+    }
+
+    private static final class BackgroundThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger mThreadCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NonNull final Runnable runnable) {
+            return new Thread(runnable, "msal-background-" + mThreadCount.incrementAndGet());
+        }
+    }
+}
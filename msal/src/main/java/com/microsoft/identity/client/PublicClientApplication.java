@@ -37,7 +37,9 @@ import androidx.fragment.app.Fragment;
 
 import com.microsoft.identity.client.claims.ClaimsRequest;
 import com.microsoft.identity.client.configuration.AccountMode;
+import com.microsoft.identity.client.configuration.BackgroundExecutorConfiguration;
 import com.microsoft.identity.client.configuration.LoggerConfiguration;
+import com.microsoft.identity.client.configuration.TokenRefreshConfiguration;
 import com.microsoft.identity.client.exception.MsalArgumentException;
 import com.microsoft.identity.client.exception.MsalClientException;
 import com.microsoft.identity.client.exception.MsalDeclinedScopeException;
@@ -46,28 +48,23 @@ import com.microsoft.identity.client.exception.MsalUiRequiredException;
 import com.microsoft.identity.client.helper.BrokerHelperActivity;
 import com.microsoft.identity.client.internal.AsyncResult;
 import com.microsoft.identity.client.internal.CommandParametersAdapter;
+import com.microsoft.identity.client.internal.CommandParametersTemplate;
 import com.microsoft.identity.client.internal.controllers.MSALControllerFactory;
+import com.microsoft.identity.client.internal.controllers.MSALControllerProvider;
 import com.microsoft.identity.client.internal.controllers.MsalExceptionAdapter;
 import com.microsoft.identity.common.AndroidPlatformComponents;
 import com.microsoft.identity.common.adal.internal.tokensharing.ITokenShareResultInternal;
 import com.microsoft.identity.common.adal.internal.tokensharing.TokenShareUtility;
-import com.microsoft.identity.common.crypto.AndroidAuthSdkStorageEncryptionManager;
-import com.microsoft.identity.common.internal.cache.SharedPreferencesFileManager;
 import com.microsoft.identity.common.internal.commands.DeviceCodeFlowCommand;
 import com.microsoft.identity.common.internal.commands.DeviceCodeFlowCommandCallback;
 import com.microsoft.identity.common.internal.commands.GenerateShrCommand;
 import com.microsoft.identity.common.internal.commands.GetDeviceModeCommand;
-import com.microsoft.identity.common.internal.controllers.LocalMSALController;
-import com.microsoft.identity.common.internal.migration.AdalMigrationAdapter;
 import com.microsoft.identity.common.internal.migration.TokenMigrationCallback;
-import com.microsoft.identity.common.internal.migration.TokenMigrationUtility;
 import com.microsoft.identity.common.internal.net.cache.HttpCache;
 import com.microsoft.identity.common.java.authorities.Authority;
 import com.microsoft.identity.common.java.authorities.AzureActiveDirectoryAuthority;
 import com.microsoft.identity.common.java.authorities.AzureActiveDirectoryB2CAuthority;
 import com.microsoft.identity.common.java.cache.ICacheRecord;
-import com.microsoft.identity.common.java.cache.IMultiTypeNameValueStorage;
-import com.microsoft.identity.common.java.cache.IShareSingleSignOnState;
 import com.microsoft.identity.common.java.cache.MsalOAuth2TokenCache;
 import com.microsoft.identity.common.java.commands.CommandCallback;
 import com.microsoft.identity.common.java.commands.InteractiveTokenCommand;
@@ -86,8 +83,6 @@ import com.microsoft.identity.common.java.exception.BaseException;
 import com.microsoft.identity.common.java.exception.ClientException;
 import com.microsoft.identity.common.java.exception.ErrorStrings;
 import com.microsoft.identity.common.java.exception.ServiceException;
-import com.microsoft.identity.common.java.providers.microsoft.MicrosoftAccount;
-import com.microsoft.identity.common.java.providers.microsoft.MicrosoftRefreshToken;
 import com.microsoft.identity.common.java.providers.microsoft.azureactivedirectory.AzureActiveDirectory;
 import com.microsoft.identity.common.java.providers.oauth2.OAuth2TokenCache;
 import com.microsoft.identity.common.java.result.GenerateShrResult;
@@ -101,13 +96,15 @@ import com.microsoft.identity.msal.BuildConfig;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 import static com.microsoft.identity.client.PublicClientApplicationConfigurationFactory.initializeConfiguration;
 import static com.microsoft.identity.client.exception.MsalClientException.SAPCA_USE_WITH_MULTI_POLICY_B2C;
@@ -200,7 +197,10 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
     private static final String TAG = PublicClientApplication.class.getSimpleName();
     private static final String INTERNET_PERMISSION = "android.permission.INTERNET";
     private static final String ACCESS_NETWORK_STATE_PERMISSION = "android.permission.ACCESS_NETWORK_STATE";
-    private static final ExecutorService sBackgroundExecutor = Executors.newCachedThreadPool();
+    private static final PrioritizedBackgroundExecutor sBackgroundExecutor = new PrioritizedBackgroundExecutor(
+            BackgroundExecutorConfiguration.DEFAULT_CORE_POOL_SIZE,
+            BackgroundExecutorConfiguration.DEFAULT_MAX_POOL_SIZE
+    );
 
     static class NONNULL_CONSTANTS {
         static final String CONTEXT = "context";
@@ -230,6 +230,67 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
     protected PublicClientApplicationConfiguration mPublicClientConfiguration;
     protected TokenShareUtility mTokenShareUtility;
 
+    /**
+     * In-memory cache of access tokens returned to silent requests made by this application.
+     * Only consulted when enabled in the {@link PublicClientApplicationConfiguration}.
+     */
+    final AccessTokenMemoryCache mAccessTokenMemoryCache = new AccessTokenMemoryCache();
+
+    /**
+     * Index of the accounts in the token cache, used to look accounts up by identifier. Shared with
+     * the other applications created for the same client id.
+     */
+    final AccountIndex mAccountIndex;
+
+    /**
+     * Tracks in-flight silent requests so that identical concurrent requests share one command.
+     */
+    final SilentTokenRequestCoalescer mSilentTokenRequestCoalescer = new SilentTokenRequestCoalescer();
+
+    /**
+     * UI required errors recently returned to silent requests, served to identical requests
+     * without a round trip.
+     */
+    final UiRequiredErrorCache mUiRequiredErrorCache = new UiRequiredErrorCache();
+
+    /**
+     * Hedges silent requests across the local and broker controllers, if enabled in the
+     * {@link PublicClientApplicationConfiguration}.
+     */
+    final SilentRequestHedger mSilentRequestHedger = new SilentRequestHedger();
+
+    /**
+     * Background refresher of access tokens nearing expiry, null unless enabled in the
+     * {@link PublicClientApplicationConfiguration}.
+     */
+    private AccessTokenRefreshScheduler mAccessTokenRefreshScheduler;
+
+    /**
+     * Resolved tenant UUIDs of named tenants, prefetched for the configured authorities.
+     */
+    final TenantUuidCache mTenantUuidCache;
+
+    /**
+     * Fails silent requests fast while the service is throttling identical requests.
+     */
+    final SilentRequestThrottle mSilentRequestThrottle;
+
+    /**
+     * Gate of the one-time migration of ADAL tokens, shared with the other applications created
+     * for the same client id and redirect uri.
+     */
+    final AdalMigrationGate mAdalMigrationGate;
+
+    /**
+     * Controllers handed to the commands dispatched by this application, reused across requests.
+     */
+    final MSALControllerProvider mControllerProvider;
+
+    /**
+     * Request-independent values of the command parameters built by this application.
+     */
+    final CommandParametersTemplate mCommandParametersTemplate;
+
     //region PCA factory methods
 
     /**
@@ -1054,7 +1115,16 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
     protected PublicClientApplication(@NonNull final PublicClientApplicationConfiguration configFile) throws MsalClientException {
         mPublicClientConfiguration = configFile;
+        mControllerProvider = new MSALControllerProvider(configFile.getAppContext(), configFile);
+        mCommandParametersTemplate = new CommandParametersTemplate(configFile);
+        mTenantUuidCache = new TenantUuidCache(configFile.getAppContext());
+        mSilentRequestThrottle = new SilentRequestThrottle(configFile.getClientId());
+        mAdalMigrationGate = AdalMigrationGate.get(configFile.getClientId(), configFile.getRedirectUri());
+        mAccountIndex = AccountIndex.get(configFile.getClientId());
         initializeApplication();
+        startAdalMigration();
+        prefetchTenantUuids();
+        initializeTokenRefreshScheduler(mPublicClientConfiguration.getTokenRefreshConfiguration());
     }
 
     private void initializeApplication() throws MsalClientException {
@@ -1068,6 +1138,10 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
         initializeLoggerSettings(mPublicClientConfiguration.getLoggerConfiguration());
 
+        if (null != mPublicClientConfiguration.getBackgroundExecutorConfiguration()) {
+            sBackgroundExecutor.configure(mPublicClientConfiguration.getBackgroundExecutorConfiguration());
+        }
+
         initializeTokenSharingLibrary();
 
         mPublicClientConfiguration.checkIntentFilterAddedToAppManifestForBrokerFlow();
@@ -1082,6 +1156,25 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         Logger.info(methodTag, "Create new public client application.");
     }
 
+    /**
+     * Resolves the named tenants of the configured authorities in the background, so that silent
+     * requests against them do not block on OpenID provider metadata discovery.
+     */
+    private void prefetchTenantUuids() {
+        final List<Authority> authorities = mPublicClientConfiguration.getAuthorities();
+
+        if (null == authorities || authorities.isEmpty()) {
+            return;
+        }
+
+        sBackgroundExecutor.execute(PrioritizedBackgroundExecutor.Priority.PREFETCH, new Runnable() {
+            @Override
+            public void run() {
+                mTenantUuidCache.prefetch(authorities);
+            }
+        });
+    }
+
     private void initializeLoggerSettings(@Nullable final LoggerConfiguration loggerConfig) {
         if (null != loggerConfig) {
             final com.microsoft.identity.client.Logger.LogLevel configLogLevel = loggerConfig.getLogLevel();
@@ -1099,6 +1192,15 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         }
     }
 
+    private void initializeTokenRefreshScheduler(@Nullable final TokenRefreshConfiguration tokenRefreshConfig) {
+        final String methodTag = TAG + ":initializeTokenRefreshScheduler";
+
+        if (null != tokenRefreshConfig && tokenRefreshConfig.isRefreshAheadEnabled()) {
+            Logger.verbose(methodTag, "Access token refresh-ahead is enabled.");
+            mAccessTokenRefreshScheduler = new AccessTokenRefreshScheduler(this, tokenRefreshConfig);
+        }
+    }
+
     private void initializeTokenSharingLibrary() {
         if (mPublicClientConfiguration.getOAuth2TokenCache() instanceof MsalOAuth2TokenCache) {
             mTokenShareUtility = new TokenShareUtility(
@@ -1155,6 +1257,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
         try {
             mTokenShareUtility.saveOrgIdFamilyRefreshToken(ssoStateSerializerBlob);
+            clearInMemoryTokenCaches();
         } catch (final Exception e) {
             throw new MsalClientException(
                     TOKEN_SHARING_DESERIALIZATION_ERROR,
@@ -1195,6 +1298,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
         try {
             mTokenShareUtility.saveMsaFamilyRefreshToken(refreshToken);
+            clearInMemoryTokenCaches();
         } catch (final Exception e) {
             throw new MsalClientException(
                     TOKEN_SHARING_MSA_PERSISTENCE_ERROR,
@@ -1310,6 +1414,27 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         }
     }
 
+    @Override
+    @NonNull
+    public MsalFuture<String> generateSignedHttpRequestFuture(@NonNull final IAccount account,
+                                                              @NonNull final PoPAuthenticationScheme popParameters) {
+        final MsalFuture<String> future = new MsalFuture<>();
+
+        generateSignedHttpRequest(account, popParameters, new SignedHttpRequestRequestCallback() {
+            @Override
+            public void onTaskCompleted(final String result) {
+                future.setResult(result);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                future.setException(exception);
+            }
+        });
+
+        return future;
+    }
+
     @Override
     public void generateSignedHttpRequest(@NonNull final IAccount account,
                                           @NonNull final PoPAuthenticationScheme popParameters,
@@ -1354,6 +1479,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
                                                         @NonNull final CommandCallback<GenerateShrResult, BaseException> cmdCallback,
                                                         @NonNull final String publicApiId) throws MsalClientException {
         final GenerateShrCommandParameters cmdParams = createGenerateShrCommandParameters(
+                mCommandParametersTemplate,
                 mPublicClientConfiguration,
                 mPublicClientConfiguration.getOAuth2TokenCache(),
                 ((Account) account).getHomeAccountId(),
@@ -1362,11 +1488,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
         return new GenerateShrCommand(
                 cmdParams,
-                MSALControllerFactory.getAllControllers(
-                        mPublicClientConfiguration.getAppContext(),
-                        mPublicClientConfiguration.getDefaultAuthority(),
-                        mPublicClientConfiguration
-                ),
+                mControllerProvider.getAllControllers(mPublicClientConfiguration.getDefaultAuthority()),
                 cmdCallback,
                 publicApiId
         );
@@ -1519,7 +1641,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         // In order to support use of named tenants (such as contoso.onmicrosoft.com), we need
         // to be able to query OpenId Provider Configuration Metadata - for this reason, we will
         // build-up the acquireTokenOperationParams on a background thread.
-        sBackgroundExecutor.submit(new Runnable() {
+        sBackgroundExecutor.execute(PrioritizedBackgroundExecutor.Priority.INTERACTIVE, new Runnable() {
             @Override
             public void run() {
                 final CommandCallback localAuthenticationCallback =
@@ -1539,6 +1661,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
                     final InteractiveTokenCommandParameters params = CommandParametersAdapter.
                             createInteractiveTokenCommandParameters(
+                                    mCommandParametersTemplate,
                                     mPublicClientConfiguration,
                                     mPublicClientConfiguration.getOAuth2TokenCache(),
                                     acquireTokenParameters
@@ -1546,11 +1669,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
                     final InteractiveTokenCommand command = new InteractiveTokenCommand(
                             params,
-                            MSALControllerFactory.getDefaultController(
-                                    mPublicClientConfiguration.getAppContext(),
-                                    params.getAuthority(),
-                                    mPublicClientConfiguration
-                            ),
+                            mControllerProvider.getDefaultController(params.getAuthority()),
                             localAuthenticationCallback,
                             publicApiId
                     );
@@ -1559,14 +1678,8 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
                 } catch (final Exception exception) {
                     // convert exception to BaseException
                     final BaseException baseException = ExceptionAdapter.baseExceptionFromException(exception);
-                    // If there is an Exception, post it to the main thread...
-                    final Handler handler = new Handler(Looper.getMainLooper());
-                    handler.post(new Runnable() {
-                        @Override
-                        public void run() {
-                            localAuthenticationCallback.onError(baseException);
-                        }
-                    });
+                    // If there is an Exception, post it to the callback thread...
+                    postCommandError(localAuthenticationCallback, acquireTokenParameters, baseException);
                 }
             }
         });
@@ -1603,11 +1716,55 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
     void acquireTokenSilentAsyncInternal(
             @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
             @NonNull final String publicApiId) {
-        sBackgroundExecutor.submit(new Runnable() {
+        acquireTokenSilentAsyncInternal(
+                acquireTokenSilentParameters,
+                acquireTokenSilentParameters.getCallback(),
+                publicApiId
+        );
+    }
+
+    /**
+     * Runs the supplied silent request, notifying the supplied callback rather than the one set
+     * on the request, which is left untouched.
+     */
+    private void acquireTokenSilentAsyncInternal(
+            @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
+            @Nullable final SilentAuthenticationCallback requestCallback,
+            @NonNull final String publicApiId) {
+        if (tryAcquireTokenSilentFromMemoryCache(acquireTokenSilentParameters, requestCallback)
+                || tryFailSilentRequestFromMemory(acquireTokenSilentParameters, requestCallback)) {
+            return;
+        }
+
+        final SilentAuthenticationCallback boundedCallback =
+                applyTimeout(acquireTokenSilentParameters, requestCallback);
+
+        final SilentAuthenticationCallback silentAuthenticationCallback =
+                mSilentTokenRequestCoalescer.join(
+                        acquireTokenSilentParameters,
+                        boundedCallback,
+                        getDefaultAuthorityUrl(),
+                        getCallbackExecutor(acquireTokenSilentParameters)
+                );
+
+        if (null != boundedCallback && null == silentAuthenticationCallback) {
+            // An identical request is already in flight, its result will be delivered to this caller.
+            return;
+        }
+
+        sBackgroundExecutor.execute(PrioritizedBackgroundExecutor.Priority.SILENT, new Runnable() {
             @Override
             public void run() {
+                if (isAbandoned(silentAuthenticationCallback)) {
+                    return;
+                }
+
                 final CommandCallback callback = getCommandCallback(
-                        acquireTokenSilentParameters.getCallback(),
+                        getRecordingSilentCallback(
+                                silentAuthenticationCallback,
+                                acquireTokenSilentParameters,
+                                getDefaultAuthorityUrl()
+                        ),
                         acquireTokenSilentParameters
                 );
 
@@ -1623,40 +1780,233 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
                     final SilentTokenCommandParameters params =
                             CommandParametersAdapter.createSilentTokenCommandParameters(
+                                    mCommandParametersTemplate,
                                     mPublicClientConfiguration,
                                     mPublicClientConfiguration.getOAuth2TokenCache(),
                                     acquireTokenSilentParameters
                             );
 
 
-                    final SilentTokenCommand silentTokenCommand = new SilentTokenCommand(
-                            params,
-                            MSALControllerFactory.getAllControllers(
-                                    mPublicClientConfiguration.getAppContext(),
-                                    params.getAuthority(),
-                                    mPublicClientConfiguration
-                            ),
-                            callback,
-                            publicApiId
-                    );
+                    final List<BaseController> controllers =
+                            mControllerProvider.getAllControllers(params.getAuthority());
 
-                    CommandDispatcher.submitSilent(silentTokenCommand);
+                    if (isAbandoned(silentAuthenticationCallback)) {
+                        return;
+                    }
+
+                    submitSilentTokenCommand(params, controllers, callback, publicApiId);
                 } catch (final Exception exception) {
                     // convert exception to BaseException
                     final BaseException baseException = ExceptionAdapter.baseExceptionFromException(exception);
 
-                    // There was an error, shuttle it back to the main thread...
-                    new Handler(Looper.getMainLooper()).post(new Runnable() {
-                        @Override
-                        public void run() {
-                            callback.onError(baseException);
-                        }
-                    });
+                    // There was an error, shuttle it back to the callback thread...
+                    postCommandError(callback, acquireTokenSilentParameters, baseException);
+                }
+            }
+        });
+    }
+
+    /**
+     * Submits a {@link SilentTokenCommand} for the supplied request, hedged across its
+     * controllers if enabled in the {@link PublicClientApplicationConfiguration}.
+     */
+    private void submitSilentTokenCommand(@NonNull final SilentTokenCommandParameters params,
+                                          @NonNull final List<BaseController> controllers,
+                                          @NonNull final CommandCallback callback,
+                                          @NonNull final String publicApiId) {
+        mSilentRequestHedger.submit(
+                params,
+                controllers,
+                callback,
+                publicApiId,
+                mPublicClientConfiguration.getSilentRequestHedgeDelayMillis()
+        );
+    }
+
+    /**
+     * Gets statistics of the hedging of silent requests made against this application, such as
+     * how often the hedge was started and which controller answered first.
+     *
+     * @return A snapshot of the current statistics.
+     */
+    public SilentRequestHedgingStatistics getSilentRequestHedgingStatistics() {
+        return mSilentRequestHedger.getStatistics();
+    }
+
+    /**
+     * Bounds the supplied silent request by its timeout, if one was set, starting from now.
+     *
+     * @return The callback the request must complete: one failing the supplied callback once the
+     * timeout elapses, or the supplied callback itself if there is no timeout.
+     */
+    @Nullable
+    private SilentAuthenticationCallback applyTimeout(
+            @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
+            @Nullable final SilentAuthenticationCallback callback) {
+        final Long timeoutMillis = acquireTokenSilentParameters.getTimeoutMillis();
+
+        if (null == callback || null == timeoutMillis) {
+            return callback;
+        }
+
+        final DeadlineSilentAuthenticationCallback deadlineCallback = new DeadlineSilentAuthenticationCallback(
+                callback,
+                getCallbackExecutor(acquireTokenSilentParameters),
+                timeoutMillis
+        );
+
+        deadlineCallback.start();
+        return deadlineCallback;
+    }
+
+    /**
+     * @return true if every caller waiting on the supplied callback has abandoned the request,
+     * in which case it must not be dispatched.
+     */
+    private boolean isAbandoned(@Nullable final SilentAuthenticationCallback callback) {
+        final String methodTag = TAG + ":isAbandoned";
+
+        if (callback instanceof CancellableSilentAuthenticationCallback
+                && ((CancellableSilentAuthenticationCallback) callback).isCancelled()) {
+            Logger.verbose(methodTag, "Silent request was cancelled or timed out, not dispatching it.");
+            mSilentTokenRequestCoalescer.abandon(callback);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Serves the supplied silent request from the in-memory access token cache, if enabled and a
+     * still-valid result is available. The callback is invoked on the calling thread, unless a
+     * callback executor is configured.
+     *
+     * @return true if the request was completed from memory, false if it must be dispatched.
+     */
+    private boolean tryAcquireTokenSilentFromMemoryCache(
+            @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
+            @Nullable final SilentAuthenticationCallback callback) {
+        if (!isAccessTokenMemoryCacheEnabled() || null == callback) {
+            return false;
+        }
+
+        final IAuthenticationResult cachedResult = mAccessTokenMemoryCache.get(
+                acquireTokenSilentParameters,
+                getDefaultAuthorityUrl()
+        );
+
+        if (null == cachedResult) {
+            return false;
+        }
+
+        final Executor callbackExecutor = getCallbackExecutor(acquireTokenSilentParameters);
+
+        if (null == callbackExecutor) {
+            callback.onSuccess(cachedResult);
+        } else {
+            callbackExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    callback.onSuccess(cachedResult);
                 }
+            });
+        }
+
+        return true;
+    }
+
+    /**
+     * Fails the supplied silent request without a round trip if an identical request recently
+     * failed with a UI required error, or if the service is throttling identical requests. The
+     * callback is invoked on the calling thread, unless a callback executor is configured.
+     *
+     * @return true if the request was failed from memory, false if it must be dispatched.
+     */
+    private boolean tryFailSilentRequestFromMemory(
+            @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
+            @Nullable final SilentAuthenticationCallback callback) {
+        if (null == callback) {
+            return false;
+        }
+
+        final String defaultAuthority = getDefaultAuthorityUrl();
+        MsalException cachedError = mUiRequiredErrorCache.get(acquireTokenSilentParameters, defaultAuthority);
+
+        if (null == cachedError) {
+            cachedError = mSilentRequestThrottle.check(acquireTokenSilentParameters, defaultAuthority);
+        }
+
+        if (null == cachedError) {
+            return false;
+        }
+
+        final MsalException error = cachedError;
+
+        runOnCallbackExecutor(getCallbackExecutor(acquireTokenSilentParameters), new Runnable() {
+            @Override
+            public void run() {
+                callback.onError(error);
             }
         });
+
+        return true;
+    }
+
+    /**
+     * Wraps the callback completed by a dispatched silent request so that its outcome is recorded
+     * in the UI required error cache and the throttle.
+     */
+    @NonNull
+    private SilentAuthenticationCallback getRecordingSilentCallback(
+            @NonNull final SilentAuthenticationCallback callback,
+            @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
+            @NonNull final String defaultAuthority) {
+        return mSilentRequestThrottle.recording(
+                mUiRequiredErrorCache.recording(callback, acquireTokenSilentParameters, defaultAuthority),
+                acquireTokenSilentParameters,
+                defaultAuthority
+        );
+    }
+
+    /**
+     * Drops any in-memory state derived from the token cache once accounts have been removed
+     * from it.
+     *
+     * @param removedAccount The account removed, or null if every account may have been removed.
+     */
+    void onAccountsRemoved(@Nullable final IAccount removedAccount) {
+        mAccessTokenMemoryCache.clear();
+        mUiRequiredErrorCache.clear();
+
+        if (null == removedAccount) {
+            mAccountIndex.invalidate();
+        } else {
+            mAccountIndex.remove(removedAccount);
+        }
+
+        if (null != mAccessTokenRefreshScheduler) {
+            mAccessTokenRefreshScheduler.cancelAll();
+        }
     }
 
+    /**
+     * Drops the in-memory state derived from the token cache, which has been modified outside of
+     * the silent flow.
+     */
+    void clearInMemoryTokenCaches() {
+        mAccessTokenMemoryCache.clear();
+        mUiRequiredErrorCache.clear();
+        mAccountIndex.invalidate();
+    }
+
+    private boolean isAccessTokenMemoryCacheEnabled() {
+        return Boolean.TRUE.equals(mPublicClientConfiguration.isAccessTokenMemoryCacheEnabled());
+    }
+
+    @NonNull
+    private String getDefaultAuthorityUrl() {
+        return mPublicClientConfiguration.getDefaultAuthority().getAuthorityURL().toString();
+    }
 
     private AccountRecord selectAccountRecordForTokenRequest(
             @NonNull final PublicClientApplicationConfiguration pcaConfig,
@@ -1682,7 +2032,9 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         final IAccount rootAccount = tokenParameters.getAccount();
         final MultiTenantAccount multiTenantAccount = (MultiTenantAccount) rootAccount;
         final String requestAuthority = tokenParameters.getAuthority();
-        final Authority authority = Authority.getAuthorityFromAuthorityUrl(requestAuthority);
+        final Authority authority = mCommandParametersTemplate
+                .getAuthorityCache()
+                .getAuthority(requestAuthority);
 
         if (authority instanceof AzureActiveDirectoryB2CAuthority) {
             // use home account - b2c is not compatible with broker, so no need to construct
@@ -1719,11 +2071,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
             final boolean isUuid = isUuid(tenantId);
 
             if (!isUuid && !isHomeTenantAlias(tenantId)) {
-                tenantId = ((AzureActiveDirectoryAuthority) authority)
-                        .getAudience()
-                        .getTenantUuidForAlias(
-                                authority.getAuthorityURL().toString()
-                        );
+                tenantId = mTenantUuidCache.getTenantUuidForAlias(aadAuthority);
             }
             // Set the tenant id obtained for the accountRecord
             accountRecord.setRealm(tenantId);
@@ -1791,6 +2139,53 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         return acquireTokenSilentInternal(acquireTokenSilentParameters, PublicApiId.PCA_ACQUIRE_TOKEN_SILENT_WITH_PARAMETERS);
     }
 
+    @Override
+    @NonNull
+    public MsalFuture<IAuthenticationResult> acquireTokenSilentFuture(
+            @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters) {
+        return acquireTokenSilentFutureInternal(
+                acquireTokenSilentParameters,
+                PublicApiId.PCA_ACQUIRE_TOKEN_SILENT_ASYNC_WITH_PARAMETERS
+        );
+    }
+
+    @NonNull
+    MsalFuture<IAuthenticationResult> acquireTokenSilentFutureInternal(
+            @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
+            @NonNull final String publicApiId) {
+        if (acquireTokenSilentParameters.getCallback() != null) {
+            throw new IllegalArgumentException("Do not provide callback for future-based methods");
+        }
+
+        final MsalException accountError = getSilentRequestAccountError(acquireTokenSilentParameters);
+
+        if (null != accountError) {
+            return MsalFuture.failed(accountError);
+        }
+
+        final MsalFuture<IAuthenticationResult> future = new MsalFuture<>();
+        final SilentAuthenticationCallback callback = new CancellableSilentAuthenticationCallback() {
+            @Override
+            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                future.setResult(authenticationResult);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                future.setException(exception);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return future.isDone();
+            }
+        };
+
+        acquireTokenSilentAsyncInternal(acquireTokenSilentParameters, callback, publicApiId);
+
+        return future;
+    }
+
     IAuthenticationResult acquireTokenSilentInternal(
             @NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters,
             @NonNull final String publicApiId)
@@ -1834,11 +2229,228 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         }
     }
 
+    @Override
+    public void acquireTokenSilentBatchAsync(
+            @NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters,
+            @NonNull final SilentBatchAuthenticationCallback callback) {
+        acquireTokenSilentBatchAsyncInternal(
+                acquireTokenSilentParameters,
+                callback,
+                MsalPublicApiId.PCA_ACQUIRE_TOKEN_SILENT_BATCH_ASYNC
+        );
+    }
+
+    @Override
+    public AcquireTokenSilentBatchResult acquireTokenSilentBatch(
+            @NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters)
+            throws InterruptedException, MsalException {
+        return acquireTokenSilentBatchInternal(
+                acquireTokenSilentParameters,
+                MsalPublicApiId.PCA_ACQUIRE_TOKEN_SILENT_BATCH
+        );
+    }
+
+    AcquireTokenSilentBatchResult acquireTokenSilentBatchInternal(
+            @NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters,
+            @NonNull final String publicApiId)
+            throws InterruptedException, MsalException {
+        final ResultFuture<AcquireTokenSilentBatchResult> future = new ResultFuture<>();
+
+        acquireTokenSilentBatchAsyncInternal(
+                acquireTokenSilentParameters,
+                new SilentBatchAuthenticationCallback() {
+                    @Override
+                    public void onCompleted(@NonNull final AcquireTokenSilentBatchResult result) {
+                        future.setResult(result);
+                    }
+                },
+                publicApiId
+        );
+
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            // Shouldn't be thrown.
+            throw new MsalClientException(
+                    UNKNOWN_ERROR,
+                    "Unexpected error while acquiring tokens.",
+                    e
+            );
+        }
+    }
+
+    void acquireTokenSilentBatchAsyncInternal(
+            @NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters,
+            @NonNull final SilentBatchAuthenticationCallback callback,
+            @NonNull final String publicApiId) {
+        // Each request gets the callback recording its outcome at its own position in the batch.
+        final Set<AcquireTokenSilentParameters> requests =
+                Collections.newSetFromMap(new IdentityHashMap<AcquireTokenSilentParameters, Boolean>());
+
+        for (final AcquireTokenSilentParameters parameters : acquireTokenSilentParameters) {
+            if (parameters.getCallback() != null) {
+                throw new IllegalArgumentException("Do not provide callback for batched requests");
+            }
+
+            if (!requests.add(parameters)) {
+                throw new IllegalArgumentException("Do not provide the same parameters more than once in a batch");
+            }
+        }
+
+        final SilentTokenBatch batch = new SilentTokenBatch(acquireTokenSilentParameters, callback);
+
+        if (batch.isEmpty()) {
+            batch.deliver();
+            return;
+        }
+
+        // Complete every request which can be served without a hop to the background thread
+        // first, so that cache hits are not held up behind the requests which go to the service.
+        final List<AcquireTokenSilentParameters> pendingRequests = new ArrayList<>();
+        final List<SilentAuthenticationCallback> pendingCallbacks = new ArrayList<>();
+
+        for (int i = 0; i < batch.getParameters().size(); i++) {
+            final AcquireTokenSilentParameters parameters = batch.getParameters().get(i);
+            final SilentAuthenticationCallback itemCallback = batch.getCallback(i);
+            final MsalException accountError = getSilentRequestAccountError(parameters);
+
+            if (null != accountError) {
+                itemCallback.onError(accountError);
+            } else if (!tryAcquireTokenSilentFromMemoryCache(parameters, itemCallback)
+                    && !tryFailSilentRequestFromMemory(parameters, itemCallback)) {
+                pendingRequests.add(parameters);
+                pendingCallbacks.add(applyTimeout(parameters, itemCallback));
+            }
+        }
+
+        if (pendingRequests.isEmpty()) {
+            return;
+        }
+
+        sBackgroundExecutor.execute(PrioritizedBackgroundExecutor.Priority.SILENT, new Runnable() {
+            @Override
+            public void run() {
+                dispatchSilentTokenBatch(pendingRequests, pendingCallbacks, publicApiId);
+            }
+        });
+    }
+
+    /**
+     * Submits a {@link SilentTokenCommand} for each of the supplied requests so that they run in
+     * parallel, resolving the account record only once per account and authority.
+     *
+     * @param pendingCallbacks The callback each request at the same index must complete.
+     */
+    private void dispatchSilentTokenBatch(
+            @NonNull final List<AcquireTokenSilentParameters> pendingRequests,
+            @NonNull final List<SilentAuthenticationCallback> pendingCallbacks,
+            @NonNull final String publicApiId) {
+        final String defaultAuthority = getDefaultAuthorityUrl();
+        final Map<String, AccountRecord> accountRecords = new HashMap<>();
+        final Map<String, Exception> accountRecordErrors = new HashMap<>();
+
+        for (int i = 0; i < pendingRequests.size(); i++) {
+            final AcquireTokenSilentParameters acquireTokenSilentParameters = pendingRequests.get(i);
+            final SilentAuthenticationCallback silentAuthenticationCallback =
+                    mSilentTokenRequestCoalescer.join(
+                            acquireTokenSilentParameters,
+                            pendingCallbacks.get(i),
+                            defaultAuthority,
+                            getCallbackExecutor(acquireTokenSilentParameters)
+                    );
+
+            if (null == silentAuthenticationCallback) {
+                // An identical request is already in flight, its result will be delivered to this request.
+                continue;
+            }
+
+            if (isAbandoned(silentAuthenticationCallback)) {
+                continue;
+            }
+
+            final CommandCallback callback = getCommandCallback(
+                    getRecordingSilentCallback(
+                            silentAuthenticationCallback,
+                            acquireTokenSilentParameters,
+                            defaultAuthority
+                    ),
+                    acquireTokenSilentParameters
+            );
+
+            try {
+                validateAcquireTokenSilentParameters(acquireTokenSilentParameters);
+
+                if (TextUtils.isEmpty(acquireTokenSilentParameters.getAuthority())) {
+                    acquireTokenSilentParameters.setAuthority(defaultAuthority);
+                }
+
+                final String accountRecordKey = TokenRequestKey.getHomeAccountId(acquireTokenSilentParameters.getAccount())
+                        + "|"
+                        + TokenRequestKey.normalizeAuthority(acquireTokenSilentParameters.getAuthority());
+
+                if (accountRecordErrors.containsKey(accountRecordKey)) {
+                    throw accountRecordErrors.get(accountRecordKey);
+                }
+
+                if (!accountRecords.containsKey(accountRecordKey)) {
+                    try {
+                        accountRecords.put(
+                                accountRecordKey,
+                                selectAccountRecordForTokenRequest(
+                                        mPublicClientConfiguration,
+                                        acquireTokenSilentParameters
+                                )
+                        );
+                    } catch (final Exception exception) {
+                        accountRecordErrors.put(accountRecordKey, exception);
+                        throw exception;
+                    }
+                }
+
+                acquireTokenSilentParameters.setAccountRecord(accountRecords.get(accountRecordKey));
+
+                final SilentTokenCommandParameters params =
+                        CommandParametersAdapter.createSilentTokenCommandParameters(
+                                mCommandParametersTemplate,
+                                mPublicClientConfiguration,
+                                mPublicClientConfiguration.getOAuth2TokenCache(),
+                                acquireTokenSilentParameters
+                        );
+
+                final List<BaseController> controllers =
+                        mControllerProvider.getAllControllers(params.getAuthority());
+
+                if (isAbandoned(silentAuthenticationCallback)) {
+                    continue;
+                }
+
+                submitSilentTokenCommand(params, controllers, callback, publicApiId);
+            } catch (final Exception exception) {
+                // convert exception to BaseException
+                final BaseException baseException = ExceptionAdapter.baseExceptionFromException(exception);
+
+                // There was an error, shuttle it back to the callback thread...
+                postCommandError(callback, acquireTokenSilentParameters, baseException);
+            }
+        }
+    }
+
+    /**
+     * Checks that the account of a silent request may be used with this application.
+     *
+     * @return The error to fail the request with, or null if the request may proceed.
+     */
+    @Nullable
+    MsalException getSilentRequestAccountError(@NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters) {
+        return null;
+    }
+
     public void acquireTokenWithDeviceCode(@NonNull List<String> scopes, @NonNull final DeviceCodeFlowCallback callback) {
         // Create a DeviceCodeFlowCommandParameters object that takes in the desired scopes and the callback object
         // Use CommandParametersAdapter
         final DeviceCodeFlowCommandParameters commandParameters = CommandParametersAdapter
                 .createDeviceCodeFlowCommandParameters(
+                        mCommandParametersTemplate,
                         mPublicClientConfiguration,
                         mPublicClientConfiguration.getOAuth2TokenCache(),
                         scopes);
@@ -1851,7 +2463,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         // Telemetry with DEVICE_CODE_FLOW_CALLBACK
         final DeviceCodeFlowCommand deviceCodeFlowCommand = new DeviceCodeFlowCommand(
                 commandParameters,
-                new LocalMSALController(),
+                mControllerProvider.getLocalController(),
                 deviceCodeFlowCommandCallback,
                 PublicApiId.DEVICE_CODE_FLOW_WITH_CALLBACK
         );
@@ -1869,6 +2481,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         // Use CommandParametersAdapter
         final DeviceCodeFlowCommandParameters commandParameters = CommandParametersAdapter
                 .createDeviceCodeFlowCommandParameters(
+                        mCommandParametersTemplate,
                         mPublicClientConfiguration,
                         mPublicClientConfiguration.getOAuth2TokenCache(),
                         Arrays.asList(scopes));
@@ -1881,7 +2494,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         // Telemetry with DEVICE_CODE_FLOW_CALLBACK
         final DeviceCodeFlowCommand deviceCodeFlowCommand = new DeviceCodeFlowCommand(
                 commandParameters,
-                new LocalMSALController(),
+                mControllerProvider.getLocalController(),
                 deviceCodeFlowCommandCallback,
                 PublicApiId.DEVICE_CODE_FLOW_WITH_CALLBACK
         );
@@ -1902,21 +2515,37 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
 
     static CommandCallback<List<ICacheRecord>, BaseException> getLoadAccountsCallback(
             final LoadAccountsCallback loadAccountsCallback) {
+        return getLoadAccountsCallback(loadAccountsCallback, null);
+    }
+
+    static CommandCallback<List<ICacheRecord>, BaseException> getLoadAccountsCallback(
+            final LoadAccountsCallback loadAccountsCallback,
+            @Nullable final Executor callbackExecutor) {
         return new CommandCallback<List<ICacheRecord>, BaseException>() {
             @Override
             public void onTaskCompleted(final List<ICacheRecord> result) {
-                if (null == result) {
-                    loadAccountsCallback.onTaskCompleted(null);
-                } else {
-                    loadAccountsCallback.onTaskCompleted(
-                            AccountAdapter.adapt(result)
-                    );
-                }
+                runOnCallbackExecutor(callbackExecutor, new Runnable() {
+                    @Override
+                    public void run() {
+                        if (null == result) {
+                            loadAccountsCallback.onTaskCompleted(null);
+                        } else {
+                            loadAccountsCallback.onTaskCompleted(
+                                    AccountAdapter.adapt(result)
+                            );
+                        }
+                    }
+                });
             }
 
             @Override
             public void onError(final BaseException exception) {
-                loadAccountsCallback.onError(msalExceptionFromBaseException(exception));
+                runOnCallbackExecutor(callbackExecutor, new Runnable() {
+                    @Override
+                    public void run() {
+                        loadAccountsCallback.onError(msalExceptionFromBaseException(exception));
+                    }
+                });
             }
 
             @Override
@@ -1931,28 +2560,44 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
     protected CommandCallback getCommandCallback(
             @NonNull final SilentAuthenticationCallback authenticationCallback,
             @NonNull final TokenParameters tokenParameters) {
+        final Executor callbackExecutor = getCallbackExecutor(tokenParameters);
 
         return new CommandCallback<ILocalAuthenticationResult, BaseException>() {
 
             @Override
-            public void onTaskCompleted(ILocalAuthenticationResult localAuthenticationResult) {
-                postAuthResult(localAuthenticationResult, tokenParameters, authenticationCallback);
+            public void onTaskCompleted(final ILocalAuthenticationResult localAuthenticationResult) {
+                runOnCallbackExecutor(callbackExecutor, new Runnable() {
+                    @Override
+                    public void run() {
+                        postAuthResult(localAuthenticationResult, tokenParameters, authenticationCallback);
+                    }
+                });
             }
 
             @Override
-            public void onError(BaseException exception) {
-                MsalException msalException = msalExceptionFromBaseException(exception);
+            public void onError(final BaseException exception) {
+                final MsalException msalException = msalExceptionFromBaseException(exception);
                 if (authenticationCallback == null) {
                     throw new IllegalStateException(NONNULL_CONSTANTS.CALLBACK + NONNULL_CONSTANTS.NULL_ERROR_SUFFIX);
                 } else {
-                    authenticationCallback.onError(msalException);
+                    runOnCallbackExecutor(callbackExecutor, new Runnable() {
+                        @Override
+                        public void run() {
+                            authenticationCallback.onError(msalException);
+                        }
+                    });
                 }
             }
 
             @Override
             public void onCancel() {
                 if (authenticationCallback instanceof AuthenticationCallback) {
-                    ((AuthenticationCallback) authenticationCallback).onCancel();
+                    runOnCallbackExecutor(callbackExecutor, new Runnable() {
+                        @Override
+                        public void run() {
+                            ((AuthenticationCallback) authenticationCallback).onCancel();
+                        }
+                    });
                 } else {
                     throw new IllegalStateException("Silent requests cannot be cancelled.");
                 }
@@ -1960,6 +2605,65 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         };
     }
 
+    /**
+     * Gets the executor on which the callback of the supplied request is invoked: the request's
+     * own, else the configured one, else null for the main thread.
+     */
+    @Nullable
+    Executor getCallbackExecutor(@Nullable final TokenParameters tokenParameters) {
+        if (null != tokenParameters && null != tokenParameters.getCallbackExecutor()) {
+            return tokenParameters.getCallbackExecutor();
+        }
+
+        return mPublicClientConfiguration.getCallbackExecutor();
+    }
+
+    /**
+     * Runs the supplied callback invocation on the supplied executor, or inline if there is none.
+     * Command callbacks are invoked on the main thread, where inline invocation leaves them.
+     */
+    static void runOnCallbackExecutor(@Nullable final Executor callbackExecutor,
+                                      @NonNull final Runnable runnable) {
+        if (null == callbackExecutor) {
+            runnable.run();
+        } else {
+            callbackExecutor.execute(runnable);
+        }
+    }
+
+    /**
+     * Posts the supplied callback invocation to the supplied executor, or to the main thread if
+     * there is none.
+     */
+    static void postOnCallbackThread(@Nullable final Executor callbackExecutor,
+                                     @NonNull final Runnable runnable) {
+        if (null == callbackExecutor) {
+            new Handler(Looper.getMainLooper()).post(runnable);
+        } else {
+            callbackExecutor.execute(runnable);
+        }
+    }
+
+    /**
+     * Fails a command callback obtained from {@link #getCommandCallback} from a background thread.
+     * Without a callback executor the error is posted to the main thread, as the command
+     * dispatcher would; otherwise the callback hands it to its executor itself.
+     */
+    private void postCommandError(@NonNull final CommandCallback callback,
+                                  @NonNull final TokenParameters tokenParameters,
+                                  @NonNull final BaseException exception) {
+        if (null == getCallbackExecutor(tokenParameters)) {
+            postOnCallbackThread(null, new Runnable() {
+                @Override
+                public void run() {
+                    callback.onError(exception);
+                }
+            });
+        } else {
+            callback.onError(exception);
+        }
+    }
+
     protected DeviceCodeFlowCommandCallback getDeviceCodeFlowCommandCallback(@NonNull final DeviceCodeFlowCallback callback) {
         return new DeviceCodeFlowCommandCallback<LocalAuthenticationResult, BaseException>() {
 
@@ -1976,6 +2680,7 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
                 // Convert tokenResult to an AuthenticationResult object
                 final IAuthenticationResult convertedResult = AuthenticationResultAdapter.adapt(
                         tokenResult);
+                clearInMemoryTokenCaches();
                 callback.onTokenReceived(convertedResult);
             }
 
@@ -2020,6 +2725,25 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
             authenticationCallback.onError(declinedScopeException);
         } else {
             IAuthenticationResult authenticationResult = AuthenticationResultAdapter.adapt(localAuthenticationResult);
+
+            if (requestParameters instanceof AcquireTokenSilentParameters) {
+                if (isAccessTokenMemoryCacheEnabled()) {
+                    mAccessTokenMemoryCache.put(requestParameters, authenticationResult);
+                }
+            } else {
+                // Interactive requests may replace any token held for the account.
+                mAccessTokenMemoryCache.clear();
+                mUiRequiredErrorCache.remove(authenticationResult.getAccount());
+                mSilentRequestThrottle.remove(authenticationResult.getAccount());
+            }
+
+            // The request may have added the account, or a tenant profile of it, to the cache.
+            mAccountIndex.put(authenticationResult.getAccount());
+
+            if (null != mAccessTokenRefreshScheduler) {
+                mAccessTokenRefreshScheduler.schedule(requestParameters, authenticationResult);
+            }
+
             authenticationCallback.onSuccess(authenticationResult);
         }
     }
@@ -2177,45 +2901,86 @@ public class PublicClientApplication implements IPublicClientApplication, IToken
         }
     }
 
+    /**
+     * Invokes the supplied callback once the migration of ADAL tokens has completed, inline if it
+     * already has. Account queries go through here before reading the token cache.
+     */
     void performMigration(@NonNull final TokenMigrationCallback callback) {
-        final Map<String, String> redirects = new HashMap<>();
-        redirects.put(
-                mPublicClientConfiguration.getClientId(), // Our client id
-                mPublicClientConfiguration.getRedirectUri() // Our redirect uri
-        );
+        mAdalMigrationGate.runOnCompletion(callback);
+    }
 
-        final AdalMigrationAdapter adalMigrationAdapter = new AdalMigrationAdapter(
-                mPublicClientConfiguration.getAppContext(),
-                redirects,
-                false
-        );
+    /**
+     * Starts the migration of ADAL tokens in the background, unless it has already been started
+     * in this process for this client id and redirect uri.
+     */
+    private void startAdalMigration() {
+        if (!mAdalMigrationGate.tryStart()) {
+            return;
+        }
 
-        if (adalMigrationAdapter.getMigrationStatus()) {
-            callback.onMigrationFinished(0);
-        } else {
-            // Create the SharedPreferencesFileManager for the legacy accounts/credentials
-            final IMultiTypeNameValueStorage sharedPreferencesFileManager =
-                    new SharedPreferencesFileManager(
-                            mPublicClientConfiguration.getAppContext(),
-                            "com.microsoft.aad.adal.cache",
-                            new AndroidAuthSdkStorageEncryptionManager(
-                                    mPublicClientConfiguration.getAppContext(), null)
-                    );
+        sBackgroundExecutor.execute(PrioritizedBackgroundExecutor.Priority.INTERACTIVE, new Runnable() {
+            @Override
+            public void run() {
+                final String methodTag = TAG + ":startAdalMigration";
 
-            // Load the old TokenCacheItems as key/value JSON
-            final Map<String, String> credentials = sharedPreferencesFileManager.getAll();
+                try {
+                    migrateAdalTokens();
+                } catch (final RuntimeException e) {
+                    // Account queries are not held back, as the gate is completed regardless;
+                    // the next process resumes the migration from its checkpoint.
+                    Logger.error(methodTag, "Failed to migrate ADAL tokens.", e);
+                }
+            }
+        });
+    }
 
-            new TokenMigrationUtility<MicrosoftAccount, MicrosoftRefreshToken>()._import(
-                    adalMigrationAdapter,
-                    credentials,
-                    (IShareSingleSignOnState<MicrosoftAccount, MicrosoftRefreshToken>) mPublicClientConfiguration.getOAuth2TokenCache(),
-                    callback
-            );
+    private void migrateAdalTokens() {
+        final String methodTag = TAG + ":migrateAdalTokens";
+
+        try {
+            final int numberOfAccountsMigrated = new AdalTokenMigration(
+                    mPublicClientConfiguration.getAppContext(),
+                    mPublicClientConfiguration.getClientId(),
+                    mPublicClientConfiguration.getRedirectUri(),
+                    mPublicClientConfiguration.getOAuth2TokenCache(),
+                    mAdalMigrationGate
+            ).run();
+
+            if (numberOfAccountsMigrated > 0) {
+                clearInMemoryTokenCaches();
+            }
+        } catch (final InterruptedException e) {
+            // The checkpoint lets the next process resume the migration.
+            Logger.warn(methodTag, "Interrupted while migrating ADAL tokens.");
+            Thread.currentThread().interrupt();
+        } finally {
+            mAdalMigrationGate.complete();
         }
     }
 
+    /**
+     * Gets statistics of the migration of ADAL tokens into the token cache of this application,
+     * such as the number of legacy entries and batches migrated and whether an interrupted
+     * migration was resumed.
+     *
+     * @return A snapshot of the current statistics.
+     */
+    public AdalMigrationStatistics getAdalMigrationStatistics() {
+        return mAdalMigrationGate.getStatistics();
+    }
+
     private static void runOnBackground(@NonNull final Runnable runnable) {
-        new Thread(runnable).start();
+        sBackgroundExecutor.execute(PrioritizedBackgroundExecutor.Priority.INTERACTIVE, runnable);
+    }
+
+    /**
+     * Gets statistics of the thread pool on which requests are prepared before being dispatched,
+     * such as the number of queued tasks and the time they spent waiting for a thread.
+     *
+     * @return A snapshot of the current statistics.
+     */
+    public static BackgroundExecutorStatistics getBackgroundExecutorStatistics() {
+        return sBackgroundExecutor.getStatistics();
     }
 
     private static boolean isAccountHomeTenant(@Nullable final Map<String, ?> claims,
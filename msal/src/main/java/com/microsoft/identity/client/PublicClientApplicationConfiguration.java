@@ -35,12 +35,15 @@ import android.text.TextUtils;
 import android.util.Base64;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import com.google.gson.annotations.SerializedName;
 import com.microsoft.identity.client.configuration.AccountMode;
+import com.microsoft.identity.client.configuration.BackgroundExecutorConfiguration;
 import com.microsoft.identity.client.configuration.HttpConfiguration;
 import com.microsoft.identity.client.configuration.LoggerConfiguration;
+import com.microsoft.identity.client.configuration.TokenRefreshConfiguration;
 import com.microsoft.identity.client.exception.MsalClientException;
 import com.microsoft.identity.client.internal.MsalUtils;
 import com.microsoft.identity.common.adal.internal.AuthenticationConstants;
@@ -61,13 +64,16 @@ import com.microsoft.identity.common.java.ui.BrowserDescriptor;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.crypto.SecretKey;
 
+import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.ACCESS_TOKEN_MEMORY_CACHE_ENABLED;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.ACCOUNT_MODE;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.AUTHORITIES;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.AUTHORIZATION_IN_CURRENT_TASK;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.AUTHORIZATION_USER_AGENT;
+import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.BACKGROUND_EXECUTOR;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.BROWSER_SAFE_LIST;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.CLIENT_CAPABILITIES;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.CLIENT_ID;
@@ -79,7 +85,9 @@ import static com.microsoft.identity.client.PublicClientApplicationConfiguration
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.POWER_OPT_CHECK_FOR_NETWORK_REQUEST_ENABLED;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.REDIRECT_URI;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.REQUIRED_BROKER_PROTOCOL_VERSION;
+import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.SILENT_REQUEST_HEDGE_DELAY_MILLIS;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.TELEMETRY;
+import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.TOKEN_REFRESH;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.USE_BROKER;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.WEB_VIEW_ZOOM_CONTROLS_ENABLED;
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.SerializedNames.WEB_VIEW_ZOOM_ENABLED;
@@ -111,6 +119,10 @@ public class PublicClientApplicationConfiguration {
         static final String POWER_OPT_CHECK_FOR_NETWORK_REQUEST_ENABLED = "power_opt_check_for_network_req_enabled";
         static final String HANDLE_TASKS_WITH_NULL_TASKAFFINITY = "handle_null_taskaffinity";
         static final String AUTHORIZATION_IN_CURRENT_TASK = "authorization_in_current_task";
+        static final String ACCESS_TOKEN_MEMORY_CACHE_ENABLED = "access_token_memory_cache_enabled";
+        static final String TOKEN_REFRESH = "token_refresh";
+        static final String BACKGROUND_EXECUTOR = "background_executor";
+        static final String SILENT_REQUEST_HEDGE_DELAY_MILLIS = "silent_request_hedge_delay_millis";
     }
 
     @SerializedName(CLIENT_ID)
@@ -174,8 +186,31 @@ public class PublicClientApplicationConfiguration {
     @SerializedName(AUTHORIZATION_IN_CURRENT_TASK)
     private Boolean isAuthorizationInCurrentTask;
 
+    /**
+     * Controls whether unexpired access tokens returned to silent requests are kept in memory and
+     * served directly on the calling thread to subsequent identical silent requests.
+     */
+    @SerializedName(ACCESS_TOKEN_MEMORY_CACHE_ENABLED)
+    private Boolean accessTokenMemoryCacheEnabled;
+
+    @SerializedName(TOKEN_REFRESH)
+    private TokenRefreshConfiguration mTokenRefreshConfiguration;
+
+    @SerializedName(BACKGROUND_EXECUTOR)
+    private BackgroundExecutorConfiguration mBackgroundExecutorConfiguration;
+
+    /**
+     * Controls whether silent requests eligible for more than one controller are hedged: if the
+     * first controller has not answered within this many milliseconds, the next one is started in
+     * parallel. Hedging is disabled when not set.
+     */
+    @SerializedName(SILENT_REQUEST_HEDGE_DELAY_MILLIS)
+    private Long silentRequestHedgeDelayMillis;
+
     transient private OAuth2TokenCache mOAuth2TokenCache;
 
+    transient private Executor mCallbackExecutor;
+
     transient private Context mAppContext;
 
     transient private boolean mIsSharedDevice = false;
@@ -264,6 +299,24 @@ public class PublicClientApplicationConfiguration {
         return mTelemetryConfiguration;
     }
 
+    /**
+     * Gets the currently configured {@link TokenRefreshConfiguration} for the PublicClientApplication.
+     *
+     * @return The TokenRefreshConfiguration to use.
+     */
+    public TokenRefreshConfiguration getTokenRefreshConfiguration() {
+        return mTokenRefreshConfiguration;
+    }
+
+    /**
+     * Gets the currently configured {@link BackgroundExecutorConfiguration} for the PublicClientApplication.
+     *
+     * @return The BackgroundExecutorConfiguration to use.
+     */
+    public BackgroundExecutorConfiguration getBackgroundExecutorConfiguration() {
+        return mBackgroundExecutorConfiguration;
+    }
+
     /**
      * Gets the currently configured redirect uri for the PublicClientApplication.
      *
@@ -387,6 +440,29 @@ public class PublicClientApplicationConfiguration {
         this.powerOptCheckEnabled = powerOptCheckEnabled;
     }
 
+    /**
+     * Gets the {@link Executor} on which request callbacks are invoked when the request itself
+     * does not specify one.
+     *
+     * @return The callback executor, or null if callbacks are invoked on the main thread.
+     */
+    @Nullable
+    public Executor getCallbackExecutor() {
+        return mCallbackExecutor;
+    }
+
+    /**
+     * Sets the {@link Executor} on which request callbacks are invoked when the request itself
+     * does not specify one. Pass null to invoke callbacks on the main thread.
+     * <p>
+     * Results of requests sent to the service or the broker still reach MSAL on the main thread
+     * before being handed to the executor, see
+     * {@link TokenParameters.Builder#withCallbackExecutor(Executor)}.
+     */
+    public void setCallbackExecutor(@Nullable final Executor callbackExecutor) {
+        mCallbackExecutor = callbackExecutor;
+    }
+
     public Boolean isHandleNullTaskAffinityEnabled() {
         return handleNullTaskAffinity;
     }
@@ -395,6 +471,27 @@ public class PublicClientApplicationConfiguration {
         return isAuthorizationInCurrentTask;
     }
 
+    /**
+     * Indicates whether silent requests may be served from the in-memory access token cache.
+     * When enabled, a cache hit invokes the {@link SilentAuthenticationCallback} on the calling
+     * thread without dispatching a command.
+     *
+     * @return The boolean indicator of whether the in-memory access token cache is enabled.
+     */
+    public Boolean isAccessTokenMemoryCacheEnabled() {
+        return accessTokenMemoryCacheEnabled;
+    }
+
+    /**
+     * Gets the delay after which a silent request which the first controller has not answered yet
+     * is also started on the next controller, e.g. the broker.
+     *
+     * @return The hedge delay in milliseconds, or null if silent requests are not hedged.
+     */
+    public Long getSilentRequestHedgeDelayMillis() {
+        return silentRequestHedgeDelayMillis;
+    }
+
     public Authority getDefaultAuthority() {
         if (mAuthorities != null) {
             if (mAuthorities.size() > 1) {
@@ -422,6 +519,42 @@ public class PublicClientApplicationConfiguration {
         }
     }
 
+    private void checkTokenRefreshConfiguration() {
+        if (mTokenRefreshConfiguration != null && mTokenRefreshConfiguration.isRefreshAheadEnabled()) {
+            final double lifetimeFraction = mTokenRefreshConfiguration.getRefreshAheadLifetimeFraction();
+
+            if (lifetimeFraction <= 0 || lifetimeFraction >= 1) {
+                throw new IllegalArgumentException("refresh_ahead_lifetime_fraction must be greater than 0 and less than 1.");
+            }
+
+            if (mTokenRefreshConfiguration.getRefreshAheadMaxJitterMillis() < 0) {
+                throw new IllegalArgumentException("refresh_ahead_max_jitter_millis cannot be negative.");
+            }
+
+            if (mTokenRefreshConfiguration.getRefreshAheadMaxConcurrentRefreshes() < 1) {
+                throw new IllegalArgumentException("refresh_ahead_max_concurrent_refreshes must be at least 1.");
+            }
+        }
+    }
+
+    private void checkBackgroundExecutorConfiguration() {
+        if (mBackgroundExecutorConfiguration != null) {
+            if (mBackgroundExecutorConfiguration.getCorePoolSize() < 1) {
+                throw new IllegalArgumentException("core_pool_size must be at least 1.");
+            }
+
+            if (mBackgroundExecutorConfiguration.getMaxPoolSize() < mBackgroundExecutorConfiguration.getCorePoolSize()) {
+                throw new IllegalArgumentException("max_pool_size cannot be less than core_pool_size.");
+            }
+        }
+    }
+
+    private void checkSilentRequestHedgeDelay() {
+        if (silentRequestHedgeDelayMillis != null && silentRequestHedgeDelayMillis < 0) {
+            throw new IllegalArgumentException("silent_request_hedge_delay_millis cannot be negative.");
+        }
+    }
+
     private void checkDefaultAuthoritySpecified() {
         if (mAuthorities != null && mAuthorities.size() > 1) {
             int defaultCount = 0;
@@ -473,11 +606,15 @@ public class PublicClientApplicationConfiguration {
         this.mClientCapabilities = config.mClientCapabilities == null ? this.mClientCapabilities : config.mClientCapabilities;
         this.mIsSharedDevice = config.mIsSharedDevice == true ? this.mIsSharedDevice : config.mIsSharedDevice;
         this.mLoggerConfiguration = config.mLoggerConfiguration == null ? this.mLoggerConfiguration : config.mLoggerConfiguration;
+        this.mTokenRefreshConfiguration = config.mTokenRefreshConfiguration == null ? this.mTokenRefreshConfiguration : config.mTokenRefreshConfiguration;
+        this.mBackgroundExecutorConfiguration = config.mBackgroundExecutorConfiguration == null ? this.mBackgroundExecutorConfiguration : config.mBackgroundExecutorConfiguration;
         this.webViewZoomControlsEnabled = config.webViewZoomControlsEnabled == null ? this.webViewZoomControlsEnabled : config.webViewZoomControlsEnabled;
         this.webViewZoomEnabled = config.webViewZoomEnabled == null ? this.webViewZoomEnabled : config.webViewZoomEnabled;
         this.powerOptCheckEnabled = config.powerOptCheckEnabled == null ? this.powerOptCheckEnabled : config.powerOptCheckEnabled;
         this.handleNullTaskAffinity = config.handleNullTaskAffinity == null ? this.handleNullTaskAffinity : config.handleNullTaskAffinity;
         this.isAuthorizationInCurrentTask = config.isAuthorizationInCurrentTask == null ? this.isAuthorizationInCurrentTask : config.isAuthorizationInCurrentTask;
+        this.accessTokenMemoryCacheEnabled = config.accessTokenMemoryCacheEnabled == null ? this.accessTokenMemoryCacheEnabled : config.accessTokenMemoryCacheEnabled;
+        this.silentRequestHedgeDelayMillis = config.silentRequestHedgeDelayMillis == null ? this.silentRequestHedgeDelayMillis : config.silentRequestHedgeDelayMillis;
     }
 
     void validateConfiguration() {
@@ -485,6 +622,9 @@ public class PublicClientApplicationConfiguration {
         nullConfigurationCheck(CLIENT_ID, mClientId);
         checkDefaultAuthoritySpecified();
         checkManifestPermissions();
+        checkTokenRefreshConfiguration();
+        checkBackgroundExecutorConfiguration();
+        checkSilentRequestHedgeDelay();
 
         // Only validate the browser safe list configuration
         // when the authorization agent is set either DEFAULT or BROWSER.
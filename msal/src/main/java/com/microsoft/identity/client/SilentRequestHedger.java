@@ -0,0 +1,316 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.java.commands.CommandCallback;
+import com.microsoft.identity.common.java.commands.SilentTokenCommand;
+import com.microsoft.identity.common.java.commands.parameters.SilentTokenCommandParameters;
+import com.microsoft.identity.common.java.constants.OAuth2ErrorCode;
+import com.microsoft.identity.common.java.controllers.BaseController;
+import com.microsoft.identity.common.java.controllers.CommandDispatcher;
+import com.microsoft.identity.common.java.exception.BaseException;
+import com.microsoft.identity.common.java.exception.ClientException;
+import com.microsoft.identity.common.java.exception.ErrorStrings;
+import com.microsoft.identity.common.java.exception.UiRequiredException;
+import com.microsoft.identity.common.java.result.ILocalAuthenticationResult;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Submits silent requests eligible for more than one controller as hedged requests: the first
+ * controller runs on its own and, if it has not answered within the hedge delay, the remaining
+ * controllers are started in parallel. The first success wins; the other outcome is discarded.
+ * <p>
+ * If the first controller fails before the hedge delay elapses with an error on which
+ * {@link SilentTokenCommand} would try the next controller, the remaining controllers are started
+ * right away. The hedge runs with its own copy of the command parameters, under its own
+ * correlation id.
+ */
+final class SilentRequestHedger {
+
+    private static final String TAG = SilentRequestHedger.class.getSimpleName();
+
+    /**
+     * Submits commands for execution; {@link CommandDispatcher#submitSilent} outside of tests.
+     */
+    interface CommandSubmitter {
+        void submit(@NonNull SilentTokenCommand command);
+    }
+
+    private static final CommandSubmitter DISPATCHER = new CommandSubmitter() {
+        @Override
+        public void submit(@NonNull final SilentTokenCommand command) {
+            CommandDispatcher.submitSilent(command);
+        }
+    };
+
+    private final CommandSubmitter mSubmitter;
+    private final AtomicLong mRequestCount = new AtomicLong();
+    private final AtomicLong mHedgedRequestCount = new AtomicLong();
+    private final AtomicLong mFirstControllerWinCount = new AtomicLong();
+    private final AtomicLong mHedgeWinCount = new AtomicLong();
+
+    SilentRequestHedger() {
+        this(DISPATCHER);
+    }
+
+    SilentRequestHedger(@NonNull final CommandSubmitter submitter) {
+        mSubmitter = submitter;
+    }
+
+    /**
+     * Submits a {@link SilentTokenCommand} for the supplied request, hedged if a hedge delay is
+     * set and there is more than one controller.
+     *
+     * @param hedgeDelayMillis The hedge delay, or null if requests are not hedged.
+     */
+    void submit(@NonNull final SilentTokenCommandParameters parameters,
+                @NonNull final List<BaseController> controllers,
+                @NonNull final CommandCallback callback,
+                @NonNull final String publicApiId,
+                final Long hedgeDelayMillis) {
+        if (null == hedgeDelayMillis || controllers.size() < 2) {
+            mSubmitter.submit(new SilentTokenCommand(parameters, controllers, callback, publicApiId));
+            return;
+        }
+
+        mRequestCount.incrementAndGet();
+        new HedgedRequest(parameters, controllers, callback, publicApiId).start(hedgeDelayMillis);
+    }
+
+    @NonNull
+    SilentRequestHedgingStatistics getStatistics() {
+        return new SilentRequestHedgingStatistics(
+                mRequestCount.get(),
+                mHedgedRequestCount.get(),
+                mFirstControllerWinCount.get(),
+                mHedgeWinCount.get()
+        );
+    }
+
+    /**
+     * The rule {@link SilentTokenCommand} applies when trying its controllers in turn: it moves on
+     * to the next controller if the current one has no usable token or account for the request.
+     */
+    static boolean shouldTryNextController(@NonNull final BaseException exception) {
+        if (!(exception instanceof UiRequiredException || exception instanceof ClientException)) {
+            return false;
+        }
+
+        final String errorCode = exception.getErrorCode();
+
+        return OAuth2ErrorCode.INVALID_GRANT.equals(errorCode)
+                || ErrorStrings.NO_TOKENS_FOUND.equals(errorCode)
+                || ErrorStrings.NO_ACCOUNT_FOUND.equals(errorCode);
+    }
+
+    private final class HedgedRequest {
+
+        private final SilentTokenCommandParameters mParameters;
+        private final List<BaseController> mControllers;
+        private final CommandCallback mCallback;
+        private final String mPublicApiId;
+
+        // Guarded by this.
+        private boolean mHedgeStarted;
+        private boolean mCompleted;
+        private BaseException mFirstControllerError;
+        private BaseException mHedgeError;
+        private ScheduledFuture<?> mHedgeTimer;
+
+        HedgedRequest(@NonNull final SilentTokenCommandParameters parameters,
+                      @NonNull final List<BaseController> controllers,
+                      @NonNull final CommandCallback callback,
+                      @NonNull final String publicApiId) {
+            mParameters = parameters;
+            mControllers = controllers;
+            mCallback = callback;
+            mPublicApiId = publicApiId;
+        }
+
+        void start(final long hedgeDelayMillis) {
+            synchronized (this) {
+                mHedgeTimer = BackgroundScheduler.get().schedule(new Runnable() {
+                    @Override
+                    public void run() {
+                        onHedgeDelayElapsed();
+                    }
+                }, hedgeDelayMillis, TimeUnit.MILLISECONDS);
+            }
+
+            mSubmitter.submit(new SilentTokenCommand(
+                    mParameters,
+                    mControllers.subList(0, 1),
+                    new ControllerCallback(false),
+                    mPublicApiId
+            ));
+        }
+
+        private void onHedgeDelayElapsed() {
+            final String methodTag = TAG + ":onHedgeDelayElapsed";
+
+            synchronized (this) {
+                if (mCompleted || mHedgeStarted) {
+                    return;
+                }
+
+                mHedgeStarted = true;
+            }
+
+            mHedgedRequestCount.incrementAndGet();
+            Logger.info(
+                    methodTag,
+                    mControllers.get(0).getClass().getSimpleName()
+                            + " did not answer within the hedge delay, starting "
+                            + mControllers.get(1).getClass().getSimpleName()
+                            + " in parallel."
+            );
+            submitHedge();
+        }
+
+        private void submitHedge() {
+            mSubmitter.submit(new SilentTokenCommand(
+                    mParameters.toBuilder()
+                            .correlationId(UUID.randomUUID().toString())
+                            .build(),
+                    mControllers.subList(1, mControllers.size()),
+                    new ControllerCallback(true),
+                    mPublicApiId
+            ));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onSuccess(final boolean isHedge, final ILocalAuthenticationResult result) {
+            final String methodTag = TAG + ":onSuccess";
+
+            if (!complete()) {
+                return;
+            }
+
+            (isHedge ? mHedgeWinCount : mFirstControllerWinCount).incrementAndGet();
+            Logger.info(
+                    methodTag,
+                    "Hedged silent request won by "
+                            + mControllers.get(isHedge ? 1 : 0).getClass().getSimpleName()
+                            + "."
+            );
+            mCallback.onTaskCompleted(result);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onError(final boolean isHedge, final BaseException exception) {
+            final BaseException error;
+            boolean fallBack = false;
+
+            synchronized (this) {
+                if (mCompleted) {
+                    return;
+                }
+
+                if (isHedge) {
+                    mHedgeError = exception;
+                } else {
+                    mFirstControllerError = exception;
+
+                    if (!mHedgeStarted && shouldTryNextController(exception)) {
+                        // The next controller may still hold a usable token.
+                        mHedgeStarted = true;
+                        fallBack = true;
+                    }
+                }
+
+                if (fallBack
+                        || (mHedgeStarted && (null == mFirstControllerError || null == mHedgeError))) {
+                    // Wait for the other controller.
+                    error = null;
+                } else if (null != mHedgeError
+                        && (null == mFirstControllerError || shouldTryNextController(mFirstControllerError))) {
+                    error = mHedgeError;
+                } else {
+                    error = mFirstControllerError;
+                }
+            }
+
+            if (fallBack) {
+                submitHedge();
+                return;
+            }
+
+            if (null != error && complete()) {
+                mCallback.onError(error);
+            }
+        }
+
+        private void onCancel() {
+            if (complete()) {
+                mCallback.onCancel();
+            }
+        }
+
+        /**
+         * @return true if this call completed the request.
+         */
+        private boolean complete() {
+            synchronized (this) {
+                if (mCompleted) {
+                    return false;
+                }
+
+                mCompleted = true;
+                mHedgeTimer.cancel(false);
+                return true;
+            }
+        }
+
+        private final class ControllerCallback implements CommandCallback<ILocalAuthenticationResult, BaseException> {
+
+            private final boolean mIsHedge;
+
+            ControllerCallback(final boolean isHedge) {
+                mIsHedge = isHedge;
+            }
+
+            @Override
+            public void onTaskCompleted(final ILocalAuthenticationResult result) {
+                onSuccess(mIsHedge, result);
+            }
+
+            @Override
+            public void onError(final BaseException exception) {
+                HedgedRequest.this.onError(mIsHedge, exception);
+            }
+
+            @Override
+            public void onCancel() {
+                HedgedRequest.this.onCancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+/**
+ * Point-in-time statistics of the hedging of silent requests made against a
+ * {@link PublicClientApplication}, see
+ * {@link PublicClientApplicationConfiguration#getSilentRequestHedgeDelayMillis()}.
+ * <p>
+ * The first controller of a request is the local one; the hedge runs the remaining controllers,
+ * i.e. the broker.
+ */
+public final class SilentRequestHedgingStatistics {
+
+    private final long mRequestCount;
+    private final long mHedgedRequestCount;
+    private final long mFirstControllerWinCount;
+    private final long mHedgeWinCount;
+
+    SilentRequestHedgingStatistics(final long requestCount,
+                                   final long hedgedRequestCount,
+                                   final long firstControllerWinCount,
+                                   final long hedgeWinCount) {
+        mRequestCount = requestCount;
+        mHedgedRequestCount = hedgedRequestCount;
+        mFirstControllerWinCount = firstControllerWinCount;
+        mHedgeWinCount = hedgeWinCount;
+    }
+
+    /**
+     * @return The number of silent requests which were eligible for hedging.
+     */
+    public long getRequestCount() {
+        return mRequestCount;
+    }
+
+    /**
+     * @return The number of requests for which the hedge delay elapsed before the first
+     * controller answered, so that the next controller was started in parallel.
+     */
+    public long getHedgedRequestCount() {
+        return mHedgedRequestCount;
+    }
+
+    /**
+     * @return The number of requests which succeeded on the first controller.
+     */
+    public long getFirstControllerWinCount() {
+        return mFirstControllerWinCount;
+    }
+
+    /**
+     * @return The number of requests which succeeded on the hedge, whether it was started after
+     * the hedge delay or because the first controller failed.
+     */
+    public long getHedgeWinCount() {
+        return mHedgeWinCount;
+    }
+}
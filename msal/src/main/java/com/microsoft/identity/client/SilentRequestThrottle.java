@@ -0,0 +1,309 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.client.exception.MsalServiceException;
+import com.microsoft.identity.client.exception.MsalThrottlingException;
+import com.microsoft.identity.common.java.exception.ServiceException;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side throttling of the silent requests made against a single
+ * {@link PublicClientApplication}.
+ * <p>
+ * Once the token endpoint answers a silent request with HTTP 429 or 5xx, identical requests, i.e.
+ * for the same client id, authority, account, scopes, authentication scheme and forceRefresh flag,
+ * fail fast with a {@link MsalThrottlingException} until the Retry-After interval of the response
+ * has elapsed. If the response carries no Retry-After header, an exponential backoff starting at
+ * {@link #DEFAULT_BACKOFF_MILLIS} applies instead. Either is capped at {@link #MAX_BACKOFF_MILLIS}.
+ * Throttled forced refreshes do not hold back requests which may be served from the token cache.
+ * A successful silent or interactive request lifts the throttling.
+ */
+final class SilentRequestThrottle {
+
+    private static final String TAG = SilentRequestThrottle.class.getSimpleName();
+
+    static final long DEFAULT_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    /**
+     * Upper bound on the number of entries held; beyond this, lapsed entries are purged and,
+     * failing that, the throttle is reset.
+     */
+    static final int MAX_ENTRIES = 64;
+
+    private static final String RETRY_AFTER = "Retry-After";
+
+    private static final String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private final String mClientId;
+    private final Map<String, Throttle> mThrottles = new ConcurrentHashMap<>();
+
+    SilentRequestThrottle(@NonNull final String clientId) {
+        mClientId = clientId;
+    }
+
+    /**
+     * Returns the error to fail the supplied request with if it is throttled, or null if it may
+     * be sent.
+     */
+    @Nullable
+    MsalThrottlingException check(@NonNull final AcquireTokenSilentParameters parameters,
+                                  @NonNull final String defaultAuthority) {
+        final String methodTag = TAG + ":check";
+        final String key = getKey(parameters, defaultAuthority);
+
+        if (null == key) {
+            return null;
+        }
+
+        final Throttle throttle = mThrottles.get(key);
+        final long now = System.currentTimeMillis();
+
+        if (null == throttle || throttle.mThrottledUntil <= now) {
+            return null;
+        }
+
+        Logger.verbose(methodTag, "Silent request is throttled for another " + (throttle.mThrottledUntil - now) + " ms.");
+
+        return new MsalThrottlingException(
+                "The service throttled an identical request; retry after "
+                        + (throttle.mThrottledUntil - now) + " ms.",
+                throttle.mHttpStatusCode,
+                throttle.mThrottledUntil - now,
+                throttle.mException
+        );
+    }
+
+    /**
+     * Returns a callback which throttles identical requests once the supplied request is
+     * throttled by the service, and lifts the throttling once it succeeds.
+     */
+    @NonNull
+    SilentAuthenticationCallback recording(@NonNull final SilentAuthenticationCallback callback,
+                                           @NonNull final AcquireTokenSilentParameters parameters,
+                                           @NonNull final String defaultAuthority) {
+        final String key = getKey(parameters, defaultAuthority);
+
+        if (null == key) {
+            return callback;
+        }
+
+        return new SilentAuthenticationCallback() {
+            @Override
+            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                mThrottles.remove(key);
+                callback.onSuccess(authenticationResult);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                if (exception instanceof MsalServiceException
+                        && !(exception instanceof MsalThrottlingException)
+                        && isThrottlingStatusCode(((MsalServiceException) exception).getHttpStatusCode())) {
+                    record(key, (MsalServiceException) exception);
+                }
+
+                callback.onError(exception);
+            }
+        };
+    }
+
+    /**
+     * Lifts the throttling of every request of the supplied account, e.g. once an interactive
+     * request succeeded for it.
+     */
+    void remove(@Nullable final IAccount account) {
+        final String accountPrefix = TokenRequestKey.getAccountPrefix(account);
+
+        if (null == accountPrefix) {
+            return;
+        }
+
+        final String prefix = mClientId + TokenRequestKey.DELIMITER + accountPrefix;
+        final Iterator<String> iterator = mThrottles.keySet().iterator();
+
+        while (iterator.hasNext()) {
+            if (iterator.next().startsWith(prefix)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    int size() {
+        return mThrottles.size();
+    }
+
+    private void record(@NonNull final String key, @NonNull final MsalServiceException exception) {
+        final String methodTag = TAG + ":record";
+        final long now = System.currentTimeMillis();
+        final Throttle previous = mThrottles.get(key);
+        final int consecutiveThrottles = null == previous ? 1 : previous.mConsecutiveThrottles + 1;
+
+        long backoffMillis = getRetryAfterMillis(exception, now);
+
+        if (backoffMillis < 0) {
+            backoffMillis = DEFAULT_BACKOFF_MILLIS << Math.min(consecutiveThrottles - 1, 16);
+        }
+
+        backoffMillis = Math.min(backoffMillis, MAX_BACKOFF_MILLIS);
+
+        if (mThrottles.size() >= MAX_ENTRIES) {
+            purgeLapsed(now);
+
+            if (mThrottles.size() >= MAX_ENTRIES) {
+                mThrottles.clear();
+            }
+        }
+
+        mThrottles.put(key, new Throttle(
+                now + backoffMillis,
+                consecutiveThrottles,
+                exception.getHttpStatusCode(),
+                exception
+        ));
+
+        Logger.warn(
+                methodTag,
+                "Token endpoint returned HTTP " + exception.getHttpStatusCode()
+                        + ", throttling identical silent requests for " + backoffMillis + " ms."
+        );
+    }
+
+    private void purgeLapsed(final long now) {
+        final Iterator<Throttle> iterator = mThrottles.values().iterator();
+
+        while (iterator.hasNext()) {
+            // Keep recently lapsed entries so that the backoff keeps growing.
+            if (iterator.next().mThrottledUntil + MAX_BACKOFF_MILLIS <= now) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static boolean isThrottlingStatusCode(final int httpStatusCode) {
+        return httpStatusCode == HTTP_TOO_MANY_REQUESTS
+                || (httpStatusCode >= 500 && httpStatusCode < 600);
+    }
+
+    /**
+     * @return The Retry-After interval of the response which failed the request in milliseconds,
+     * or -1 if it did not carry a valid one.
+     */
+    private static long getRetryAfterMillis(@NonNull final MsalServiceException exception, final long now) {
+        if (!(exception.getCause() instanceof ServiceException)) {
+            return -1;
+        }
+
+        final Map<String, List<String>> headers = ((ServiceException) exception.getCause()).getHttpResponseHeaders();
+
+        if (null == headers) {
+            return -1;
+        }
+
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (RETRY_AFTER.equalsIgnoreCase(header.getKey())
+                    && null != header.getValue()
+                    && !header.getValue().isEmpty()) {
+                return parseRetryAfter(header.getValue().get(0), now);
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Parses the value of a Retry-After header, either a number of seconds or an HTTP date.
+     *
+     * @return The interval in milliseconds, or -1 if the value is not valid.
+     */
+    static long parseRetryAfter(@Nullable final String value, final long now) {
+        if (TextUtils.isEmpty(value)) {
+            return -1;
+        }
+
+        final String trimmed = value.trim();
+
+        try {
+            final long seconds = Long.parseLong(trimmed);
+            return seconds < 0 ? -1 : TimeUnit.SECONDS.toMillis(seconds);
+        } catch (final NumberFormatException e) {
+            // Not a number of seconds, try an HTTP date.
+        }
+
+        try {
+            final long retryAt = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US).parse(trimmed).getTime();
+            return Math.max(0, retryAt - now);
+        } catch (final ParseException e) {
+            return -1;
+        }
+    }
+
+    @Nullable
+    private String getKey(@NonNull final AcquireTokenSilentParameters parameters,
+                          @NonNull final String defaultAuthority) {
+        final String requestKey = TokenRequestKey.get(parameters, defaultAuthority);
+
+        // A forced refresh always goes to the token endpoint, whereas other requests may still be
+        // served from the token cache while forced refreshes are throttled.
+        return null == requestKey
+                ? null
+                : mClientId + TokenRequestKey.DELIMITER + requestKey + TokenRequestKey.DELIMITER + parameters.getForceRefresh();
+    }
+
+    private static final class Throttle {
+
+        private final long mThrottledUntil;
+        private final int mConsecutiveThrottles;
+        private final int mHttpStatusCode;
+        private final MsalServiceException mException;
+
+        Throttle(final long throttledUntil,
+                 final int consecutiveThrottles,
+                 final int httpStatusCode,
+                 @NonNull final MsalServiceException exception) {
+            mThrottledUntil = throttledUntil;
+            mConsecutiveThrottles = consecutiveThrottles;
+            mHttpStatusCode = httpStatusCode;
+            mException = exception;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.client.exception.MsalException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Collects the outcome of each request in a batch of silent token requests and hands the
+ * aggregated {@link AcquireTokenSilentBatchResult} to the caller once the last one completes.
+ */
+final class SilentTokenBatch {
+
+    private final List<AcquireTokenSilentParameters> mParameters;
+    private final IAuthenticationResult[] mResults;
+    private final MsalException[] mExceptions;
+    private final AtomicInteger mRemaining;
+    private final SilentBatchAuthenticationCallback mCallback;
+
+    SilentTokenBatch(@NonNull final List<AcquireTokenSilentParameters> parameters,
+                     @NonNull final SilentBatchAuthenticationCallback callback) {
+        mParameters = new ArrayList<>(parameters);
+        mResults = new IAuthenticationResult[mParameters.size()];
+        mExceptions = new MsalException[mParameters.size()];
+        mRemaining = new AtomicInteger(mParameters.size());
+        mCallback = callback;
+    }
+
+    /**
+     * @return A callback recording the outcome of the request at the supplied index. The
+     * requests themselves are left untouched, so that callers can reuse them.
+     */
+    @NonNull
+    SilentAuthenticationCallback getCallback(final int index) {
+        return new ItemCallback(index);
+    }
+
+    @NonNull
+    List<AcquireTokenSilentParameters> getParameters() {
+        return mParameters;
+    }
+
+    boolean isEmpty() {
+        return mParameters.isEmpty();
+    }
+
+    void deliver() {
+        mCallback.onCompleted(new AcquireTokenSilentBatchResult(mParameters, mResults, mExceptions));
+    }
+
+    private void onItemCompleted() {
+        if (0 == mRemaining.decrementAndGet()) {
+            deliver();
+        }
+    }
+
+    private final class ItemCallback implements SilentAuthenticationCallback {
+
+        private final int mIndex;
+
+        ItemCallback(final int index) {
+            mIndex = index;
+        }
+
+        @Override
+        public void onSuccess(final IAuthenticationResult authenticationResult) {
+            mResults[mIndex] = authenticationResult;
+            onItemCompleted();
+        }
+
+        @Override
+        public void onError(final MsalException exception) {
+            mExceptions[mIndex] = exception;
+            onItemCompleted();
+        }
+    }
+}
@@ -0,0 +1,235 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.claims.ClaimsRequest;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.common.java.authscheme.BearerAuthenticationSchemeInternal;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Coalesces concurrent, identical silent token requests made against a single
+ * {@link PublicClientApplication} so that only one of them is dispatched.
+ * <p>
+ * Requests are considered identical when their account, authority, scopes, claims and
+ * forceRefresh flag are equal. Requests carrying a caller-supplied correlation id are never
+ * coalesced, since the result handed back to each caller must carry its own correlation id, and
+ * neither are requests with a scheme other than bearer, since e.g. the signed HTTP request of a
+ * PoP result is bound to the URL, method and nonce of its own request.
+ * Each caller is notified on its own callback executor. Once every caller of an in-flight request
+ * has abandoned it, identical requests made afterwards are dispatched anew.
+ */
+final class SilentTokenRequestCoalescer {
+
+    private static final String TAG = SilentTokenRequestCoalescer.class.getSimpleName();
+
+    // Guarded by itself.
+    private final Map<String, FanOutCallback> mInFlightRequests = new HashMap<>();
+
+    /**
+     * Registers the supplied request.
+     *
+     * @param parameters       The silent request parameters.
+     * @param callback         The callback of the request, null if it has none.
+     * @param defaultAuthority The authority to assume if none was set on the request.
+     * @param callbackExecutor The executor the request's callback is invoked on, null for the
+     *                         main thread.
+     * @return The callback the dispatched command must complete, or null if the request was joined
+     * to an identical in-flight request and must not be dispatched.
+     */
+    @Nullable
+    SilentAuthenticationCallback join(@NonNull final AcquireTokenSilentParameters parameters,
+                                      @Nullable final SilentAuthenticationCallback callback,
+                                      @NonNull final String defaultAuthority,
+                                      @Nullable final Executor callbackExecutor) {
+        final String methodTag = TAG + ":join";
+        final String key = getKey(parameters, defaultAuthority);
+
+        if (null == callback || null == key) {
+            return callback;
+        }
+
+        synchronized (mInFlightRequests) {
+            final FanOutCallback inFlight = mInFlightRequests.get(key);
+
+            if (null != inFlight && !inFlight.isCancelled()) {
+                Logger.verbose(methodTag, "Joining identical in-flight silent request.");
+                inFlight.mCallers.add(new Caller(callback, callbackExecutor));
+                return null;
+            }
+
+            final FanOutCallback fanOut = new FanOutCallback(key, callback, callbackExecutor);
+            mInFlightRequests.put(key, fanOut);
+            return fanOut;
+        }
+    }
+
+    /**
+     * Drops the supplied callback, as returned by {@link #join}, from the in-flight requests
+     * without completing it. Called when a request is abandoned before it was dispatched.
+     */
+    void abandon(@NonNull final SilentAuthenticationCallback callback) {
+        if (!(callback instanceof FanOutCallback)) {
+            return;
+        }
+
+        final FanOutCallback fanOut = (FanOutCallback) callback;
+
+        synchronized (mInFlightRequests) {
+            if (mInFlightRequests.get(fanOut.mKey) == fanOut) {
+                mInFlightRequests.remove(fanOut.mKey);
+            }
+        }
+    }
+
+    int getInFlightRequestCount() {
+        synchronized (mInFlightRequests) {
+            return mInFlightRequests.size();
+        }
+    }
+
+    @Nullable
+    private static String getKey(@NonNull final AcquireTokenSilentParameters parameters,
+                                 @NonNull final String defaultAuthority) {
+        final String requestKey = TokenRequestKey.get(parameters, defaultAuthority);
+
+        if (null == requestKey
+                || !TextUtils.isEmpty(parameters.getCorrelationId())
+                || !BearerAuthenticationSchemeInternal.SCHEME_BEARER.equalsIgnoreCase(
+                TokenRequestKey.getSchemeName(parameters.getAuthenticationScheme()))) {
+            return null;
+        }
+
+        final String claims = ClaimsRequest.getJsonStringFromClaimsRequest(parameters.getClaimsRequest());
+
+        return requestKey
+                + TokenRequestKey.DELIMITER
+                + (null == claims ? "" : claims)
+                + TokenRequestKey.DELIMITER
+                + parameters.getForceRefresh();
+    }
+
+    private static final class Caller {
+
+        private final SilentAuthenticationCallback mCallback;
+        private final Executor mCallbackExecutor;
+
+        Caller(@NonNull final SilentAuthenticationCallback callback,
+               @Nullable final Executor callbackExecutor) {
+            mCallback = callback;
+            mCallbackExecutor = callbackExecutor;
+        }
+    }
+
+    /**
+     * Delivers the outcome of the dispatched request to every caller which joined it. The
+     * outcome arrives on the executor of the caller which dispatched the request; callers with
+     * another executor are notified on theirs.
+     */
+    private final class FanOutCallback implements CancellableSilentAuthenticationCallback {
+
+        private final String mKey;
+        private final Executor mCallbackExecutor;
+
+        // Guarded by mInFlightRequests.
+        private final List<Caller> mCallers = new ArrayList<>();
+
+        FanOutCallback(@NonNull final String key,
+                       @NonNull final SilentAuthenticationCallback callback,
+                       @Nullable final Executor callbackExecutor) {
+            mKey = key;
+            mCallbackExecutor = callbackExecutor;
+            mCallers.add(new Caller(callback, callbackExecutor));
+        }
+
+        @Override
+        public void onSuccess(final IAuthenticationResult authenticationResult) {
+            for (final Caller caller : complete()) {
+                deliver(caller, new Runnable() {
+                    @Override
+                    public void run() {
+                        caller.mCallback.onSuccess(authenticationResult);
+                    }
+                });
+            }
+        }
+
+        @Override
+        public void onError(final MsalException exception) {
+            for (final Caller caller : complete()) {
+                deliver(caller, new Runnable() {
+                    @Override
+                    public void run() {
+                        caller.mCallback.onError(exception);
+                    }
+                });
+            }
+        }
+
+        /**
+         * @return true if every caller which joined the request has abandoned it.
+         */
+        @Override
+        public boolean isCancelled() {
+            synchronized (mInFlightRequests) {
+                for (final Caller caller : mCallers) {
+                    if (!(caller.mCallback instanceof CancellableSilentAuthenticationCallback)
+                            || !((CancellableSilentAuthenticationCallback) caller.mCallback).isCancelled()) {
+                        return false;
+                    }
+                }
+
+                return true;
+            }
+        }
+
+        private void deliver(@NonNull final Caller caller, @NonNull final Runnable runnable) {
+            if (caller.mCallbackExecutor == mCallbackExecutor) {
+                runnable.run();
+            } else {
+                PublicClientApplication.postOnCallbackThread(caller.mCallbackExecutor, runnable);
+            }
+        }
+
+        private List<Caller> complete() {
+            synchronized (mInFlightRequests) {
+                if (mInFlightRequests.get(mKey) == this) {
+                    mInFlightRequests.remove(mKey);
+                }
+
+                return new ArrayList<>(mCallers);
+            }
+        }
+    }
+}
@@ -23,7 +23,6 @@
 package com.microsoft.identity.client;
 
 import android.app.Activity;
-import android.content.Context;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -34,14 +33,10 @@ import com.microsoft.identity.client.exception.MsalException;
 import com.microsoft.identity.client.exception.MsalServiceException;
 import com.microsoft.identity.client.internal.AsyncResult;
 import com.microsoft.identity.client.internal.CommandParametersAdapter;
-import com.microsoft.identity.client.internal.controllers.MSALControllerFactory;
 import com.microsoft.identity.client.internal.controllers.MsalExceptionAdapter;
-import com.microsoft.identity.common.adal.internal.util.JsonExtensions;
 import com.microsoft.identity.common.adal.internal.util.StringExtensions;
-import com.microsoft.identity.common.crypto.AndroidAuthSdkStorageEncryptionManager;
 import com.microsoft.identity.common.internal.commands.DeviceCodeFlowCommandCallback;
 import com.microsoft.identity.common.java.cache.ICacheRecord;
-import com.microsoft.identity.common.internal.cache.SharedPreferencesFileManager;
 import com.microsoft.identity.common.java.commands.CommandCallback;
 import com.microsoft.identity.common.internal.commands.GetCurrentAccountCommand;
 import com.microsoft.identity.common.internal.commands.RemoveCurrentAccountCommand;
@@ -100,19 +95,22 @@ public class SingleAccountPublicClientApplication
     public static final String CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY =
             "com.microsoft.identity.client.single_account_credential_cache.current_account";
 
-    private SharedPreferencesFileManager sharedPreferencesFileManager;
+    private final CurrentAccountCache mCurrentAccountCache;
+
+    /**
+     * Refreshes the current account when the AccountManager reports a change, see
+     * {@link #registerCurrentAccountChangeListener(CurrentAccountChangeListener)}.
+     */
+    private final CurrentAccountCache.Refresher mCurrentAccountRefresher = new CurrentAccountCache.Refresher() {
+        @Override
+        public void refresh(@NonNull final Runnable onRefreshed) {
+            refreshCurrentAccount(onRefreshed);
+        }
+    };
 
     protected SingleAccountPublicClientApplication(@NonNull final PublicClientApplicationConfiguration config) throws MsalClientException {
         super(config);
-        initializeSharedPreferenceFileManager(config.getAppContext());
-    }
-
-    private void initializeSharedPreferenceFileManager(@NonNull final Context context) {
-        sharedPreferencesFileManager = new SharedPreferencesFileManager(
-                context,
-                SINGLE_ACCOUNT_CREDENTIAL_SHARED_PREFERENCES,
-                new AndroidAuthSdkStorageEncryptionManager(context, null)
-        );
+        mCurrentAccountCache = CurrentAccountCache.getInstance(config.getAppContext());
     }
 
     @Override
@@ -125,13 +123,10 @@ public class SingleAccountPublicClientApplication
         TokenMigrationCallback migrationCallback = new TokenMigrationCallback() {
             @Override
             public void onMigrationFinished(int numberOfAccountsMigrated) {
-                final CommandParameters params = CommandParametersAdapter.createCommandParameters(mPublicClientConfiguration, mPublicClientConfiguration.getOAuth2TokenCache());
+                final CommandParameters params = CommandParametersAdapter.createCommandParameters(mCommandParametersTemplate, mPublicClientConfiguration, mPublicClientConfiguration.getOAuth2TokenCache());
                 final List<BaseController> controllers;
                 try {
-                    controllers = MSALControllerFactory.getAllControllers(
-                            mPublicClientConfiguration.getAppContext(),
-                            mPublicClientConfiguration.getDefaultAuthority(),
-                            mPublicClientConfiguration);
+                    controllers = mControllerProvider.getAllControllers(mPublicClientConfiguration.getDefaultAuthority());
                 } catch (MsalClientException e) {
                     callback.onError(e);
                     return;
@@ -227,6 +222,76 @@ public class SingleAccountPublicClientApplication
         }
     }
 
+    @Override
+    @NonNull
+    public MsalFuture<ICurrentAccountResult> getCurrentAccountFuture() {
+        final MsalFuture<ICurrentAccountResult> future = new MsalFuture<>();
+
+        getCurrentAccountAsyncInternal(
+                new CurrentAccountCallback() {
+                    @Override
+                    public void onAccountLoaded(@Nullable final IAccount activeAccount) {
+                        future.setResult(new CurrentAccountResult(activeAccount, null, false));
+                    }
+
+                    @Override
+                    public void onAccountChanged(@Nullable final IAccount priorAccount,
+                                                 @Nullable final IAccount currentAccount) {
+                        // Reported before onAccountLoaded, which then leaves the future as is.
+                        future.setResult(new CurrentAccountResult(currentAccount, priorAccount, false));
+                    }
+
+                    @Override
+                    public void onError(@NonNull final MsalException exception) {
+                        future.setException(exception);
+                    }
+                },
+                SINGLE_ACCOUNT_PCA_GET_CURRENT_ACCOUNT_ASYNC
+        );
+
+        return future;
+    }
+
+    @Override
+    public void registerCurrentAccountChangeListener(@NonNull final CurrentAccountChangeListener listener) {
+        mCurrentAccountCache.addListener(listener, getCallbackExecutor(null), mCurrentAccountRefresher);
+    }
+
+    @Override
+    public void unregisterCurrentAccountChangeListener(@NonNull final CurrentAccountChangeListener listener) {
+        mCurrentAccountCache.removeListener(listener);
+    }
+
+    /**
+     * Reads the current account again, e.g. after the broker changed it in the AccountManager;
+     * listeners are notified through the write to the current account cache if it changed.
+     */
+    private void refreshCurrentAccount(@NonNull final Runnable onRefreshed) {
+        final String methodTag = TAG + ":refreshCurrentAccount";
+
+        getCurrentAccountAsyncInternal(
+                new CurrentAccountCallback() {
+                    @Override
+                    public void onAccountLoaded(@Nullable final IAccount activeAccount) {
+                        onRefreshed.run();
+                    }
+
+                    @Override
+                    public void onAccountChanged(@Nullable final IAccount priorAccount,
+                                                 @Nullable final IAccount currentAccount) {
+                        // Listeners are notified when the current account is persisted.
+                    }
+
+                    @Override
+                    public void onError(@NonNull final MsalException exception) {
+                        onRefreshed.run();
+                        Logger.warn(methodTag, "Failed to refresh the current account: " + exception.getErrorCode());
+                    }
+                },
+                SINGLE_ACCOUNT_PCA_GET_CURRENT_ACCOUNT_ASYNC
+        );
+    }
+
     private void checkCurrentAccountNotifyCallback(@NonNull final CurrentAccountCallback callback,
                                                    @Nullable final List<ICacheRecord> newAccountRecords) {
         final MultiTenantAccount localAccount = getPersistedCurrentAccount();
@@ -463,7 +528,7 @@ public class SingleAccountPublicClientApplication
     /**
      * Returns true if the account ID of both account matches (or both accounts are null).
      * */
-    private boolean isHomeAccountIdMatching(@Nullable final IAccount firstAccount, @Nullable final IAccount secondAccount) {
+    static boolean isHomeAccountIdMatching(@Nullable final IAccount firstAccount, @Nullable final IAccount secondAccount) {
         final MultiTenantAccount firstMultiTenantAccount = firstAccount instanceof MultiTenantAccount ? (MultiTenantAccount) firstAccount : null;
         final MultiTenantAccount secondMultiTenantAccount = secondAccount instanceof MultiTenantAccount ? (MultiTenantAccount) secondAccount : null;
 
@@ -494,6 +559,7 @@ public class SingleAccountPublicClientApplication
 
         final RemoveAccountCommandParameters params =
                 CommandParametersAdapter.createRemoveAccountCommandParameters(
+                        mCommandParametersTemplate,
                         mPublicClientConfiguration,
                         mPublicClientConfiguration.getOAuth2TokenCache(),
                         requestAccountRecord
@@ -501,10 +567,7 @@ public class SingleAccountPublicClientApplication
 
         final List<BaseController> controllers;
         try {
-            controllers = MSALControllerFactory.getAllControllers(
-                    mPublicClientConfiguration.getAppContext(),
-                    mPublicClientConfiguration.getDefaultAuthority(),
-                    mPublicClientConfiguration);
+            controllers = mControllerProvider.getAllControllers(mPublicClientConfiguration.getDefaultAuthority());
         } catch (MsalClientException e) {
             callback.onError(e);
             return;
@@ -521,6 +584,7 @@ public class SingleAccountPublicClientApplication
 
                     @Override
                     public void onTaskCompleted(Boolean result) {
+                        onAccountsRemoved(null);
                         persistCurrentAccount(null);
                         callback.onSignOut();
                     }
@@ -577,39 +641,22 @@ public class SingleAccountPublicClientApplication
     }
 
     /**
-     * Get current account that is persisted in shared preference.
+     * Get current account that is persisted in shared preference, from its in-memory copy.
      *
      * @return a persisted MultiTenantAccount. This could be null.
      */
     private MultiTenantAccount getPersistedCurrentAccount() {
-        synchronized(SingleAccountPublicClientApplication.class) {
-            final String currentAccountJsonString = sharedPreferencesFileManager.getString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY);
-
-            if (StringExtensions.isNullOrBlank(currentAccountJsonString)) {
-                return null;
-            }
-
-            final List<ICacheRecord> cacheRecordList = JsonExtensions.getICacheRecordListFromJsonString(currentAccountJsonString);
-            return getAccountFromICacheRecordList(cacheRecordList);
-        }
+        return mCurrentAccountCache.get();
     }
 
     /**
-     * Persists current account to shared preference.
+     * Persists current account to shared preference, unless it is unchanged.
      *
      * @param cacheRecords list of cache record that belongs to an account.
      *                     Please note that this layer will not verify if the list belongs to a single account or not.
      */
     private void persistCurrentAccount(@Nullable final List<ICacheRecord> cacheRecords) {
-        synchronized(SingleAccountPublicClientApplication.class) {
-            if (cacheRecords == null || cacheRecords.size() == 0) {
-                sharedPreferencesFileManager.clear();
-                return;
-            }
-
-            final String currentAccountJsonString = JsonExtensions.getJsonStringFromICacheRecordList(cacheRecords);
-            sharedPreferencesFileManager.putString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY, currentAccountJsonString);
-        }
+        mCurrentAccountCache.put(cacheRecords);
     }
 
     /**
@@ -619,7 +666,7 @@ public class SingleAccountPublicClientApplication
      *                     If the list can be converted to multiple accounts, only the first one will be returned.
      */
     @Nullable
-    private MultiTenantAccount getAccountFromICacheRecordList(@NonNull final List<ICacheRecord> cacheRecords) {
+    static MultiTenantAccount getAccountFromICacheRecordList(@NonNull final List<ICacheRecord> cacheRecords) {
         final String methodTag = TAG + ":getAccountFromICacheRecords";
 
         if (cacheRecords == null || cacheRecords.size() == 0) {
@@ -816,6 +863,50 @@ public class SingleAccountPublicClientApplication
         );
     }
 
+    @Override
+    @NonNull
+    public MsalFuture<IAuthenticationResult> acquireTokenSilentFuture(@NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters) {
+        return acquireTokenSilentFutureInternal(
+                acquireTokenSilentParameters,
+                SINGLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_ASYNC_WITH_PARAMETERS
+        );
+    }
+
+    @Override
+    public void acquireTokenSilentBatchAsync(@NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters,
+                                             @NonNull final SilentBatchAuthenticationCallback callback) {
+        acquireTokenSilentBatchAsyncInternal(
+                acquireTokenSilentParameters,
+                callback,
+                MsalPublicApiId.SINGLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH_ASYNC
+        );
+    }
+
+    @Override
+    public AcquireTokenSilentBatchResult acquireTokenSilentBatch(@NonNull final List<AcquireTokenSilentParameters> acquireTokenSilentParameters) throws InterruptedException, MsalException {
+        return acquireTokenSilentBatchInternal(
+                acquireTokenSilentParameters,
+                MsalPublicApiId.SINGLE_ACCOUNT_PCA_ACQUIRE_TOKEN_SILENT_BATCH
+        );
+    }
+
+    @Override
+    @Nullable
+    MsalException getSilentRequestAccountError(@NonNull final AcquireTokenSilentParameters acquireTokenSilentParameters) {
+        final IAccount persistedAccount = getPersistedCurrentAccount();
+        if (persistedAccount == null) {
+            return new MsalClientException(MsalClientException.NO_CURRENT_ACCOUNT,
+                    MsalClientException.NO_CURRENT_ACCOUNT_ERROR_MESSAGE);
+        }
+
+        if (!isHomeAccountIdMatching(persistedAccount, acquireTokenSilentParameters.getAccount())) {
+            return new MsalClientException(MsalClientException.CURRENT_ACCOUNT_MISMATCH,
+                    MsalClientException.CURRENT_ACCOUNT_MISMATCH_ERROR_MESSAGE);
+        }
+
+        return null;
+    }
+
     @Override
     protected DeviceCodeFlowCommandCallback getDeviceCodeFlowCommandCallback(@NonNull final DeviceCodeFlowCallback callback) {
         return new DeviceCodeFlowCommandCallback<LocalAuthenticationResult, BaseException>() {
@@ -836,6 +927,7 @@ public class SingleAccountPublicClientApplication
 
                 // Persist the account in single account mode
                 persistCurrentAccount(tokenResult.getCacheRecordWithTenantProfileData());
+                clearInMemoryTokenCaches();
                 callback.onTokenReceived(convertedResult);
             }
 
@@ -40,8 +40,8 @@ public class TenantProfile extends Account implements ITenantProfile {
     public String getTenantId() {
         String tenantId = "";
 
-        if (null != getClaims()) {
-            final String tidClaim = (String) getClaims().get(MicrosoftIdToken.TENANT_ID);
+        if (null != getSharedClaims()) {
+            final String tidClaim = (String) getSharedClaims().get(MicrosoftIdToken.TENANT_ID);
 
             if (null != tidClaim) {
                 tenantId = tidClaim;
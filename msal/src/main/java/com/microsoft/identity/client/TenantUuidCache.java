@@ -0,0 +1,206 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.content.Context;
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.common.internal.cache.SharedPreferencesFileManager;
+import com.microsoft.identity.common.java.authorities.Authority;
+import com.microsoft.identity.common.java.authorities.AzureActiveDirectoryAuthority;
+import com.microsoft.identity.common.java.cache.IMultiTypeNameValueStorage;
+import com.microsoft.identity.common.java.exception.ClientException;
+import com.microsoft.identity.common.java.exception.ServiceException;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.microsoft.identity.common.java.authorities.AzureActiveDirectoryAudience.isHomeTenantAlias;
+import static com.microsoft.identity.common.java.util.StringUtil.isUuid;
+
+/**
+ * Disk-backed cache of the tenant UUIDs which named tenants (such as contoso.onmicrosoft.com)
+ * resolve to, so that requests against a named tenant do not have to wait for OpenID provider
+ * metadata discovery. Entries expire after {@link #TTL_MILLIS}.
+ */
+final class TenantUuidCache {
+
+    private static final String TAG = TenantUuidCache.class.getSimpleName();
+
+    /**
+     * Name of the shared preference file holding the resolved tenant UUIDs.
+     */
+    static final String TENANT_UUID_SHARED_PREFERENCES =
+            "com.microsoft.identity.client.tenant_uuid_cache";
+
+    /**
+     * Time after which a resolved tenant UUID is looked up again.
+     */
+    static final long TTL_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private static final char VALUE_DELIMITER = '|';
+
+    private final IMultiTypeNameValueStorage mStorage;
+    private final ConcurrentMap<String, Entry> mEntries = new ConcurrentHashMap<>();
+
+    TenantUuidCache(@NonNull final Context context) {
+        // Tenant ids are not secret, the values are stored unencrypted.
+        mStorage = new SharedPreferencesFileManager(context, TENANT_UUID_SHARED_PREFERENCES, null);
+    }
+
+    /**
+     * Resolves the tenant of the supplied authority to its UUID, from cache if possible.
+     *
+     * @param authority An authority whose tenant is neither a UUID nor a home tenant alias.
+     * @return The tenant UUID.
+     */
+    @NonNull
+    String getTenantUuidForAlias(@NonNull final AzureActiveDirectoryAuthority authority)
+            throws ServiceException, ClientException {
+        final String methodTag = TAG + ":getTenantUuidForAlias";
+        final String authorityUrl = authority.getAuthorityURL().toString();
+        final String cachedTenantUuid = get(authorityUrl);
+
+        if (null != cachedTenantUuid) {
+            Logger.verbose(methodTag, "Tenant UUID served from cache.");
+            return cachedTenantUuid;
+        }
+
+        final String tenantUuid = authority.getAudience().getTenantUuidForAlias(authorityUrl);
+        put(authorityUrl, tenantUuid);
+
+        return tenantUuid;
+    }
+
+    /**
+     * Resolves the named tenant of every supplied AAD authority which is not already cached.
+     * Failures are logged and otherwise ignored; the regular request flow will retry them.
+     */
+    void prefetch(@NonNull final List<Authority> authorities) {
+        final String methodTag = TAG + ":prefetch";
+
+        for (final Authority authority : authorities) {
+            if (!(authority instanceof AzureActiveDirectoryAuthority)) {
+                continue;
+            }
+
+            final AzureActiveDirectoryAuthority aadAuthority = (AzureActiveDirectoryAuthority) authority;
+            final String tenantId = aadAuthority.getAudience().getTenantId();
+
+            if (TextUtils.isEmpty(tenantId) || isUuid(tenantId) || isHomeTenantAlias(tenantId)) {
+                continue;
+            }
+
+            try {
+                getTenantUuidForAlias(aadAuthority);
+            } catch (final ServiceException | ClientException | RuntimeException e) {
+                Logger.warn(methodTag, "Unable to prefetch tenant UUID: " + e.getMessage());
+            }
+        }
+    }
+
+    @Nullable
+    String get(@NonNull final String authorityUrl) {
+        final String key = getKey(authorityUrl);
+        Entry entry = mEntries.get(key);
+
+        if (null == entry) {
+            entry = Entry.parse(mStorage.getString(key));
+
+            if (null == entry) {
+                return null;
+            }
+
+            mEntries.put(key, entry);
+        }
+
+        if (System.currentTimeMillis() - entry.mResolvedAt > TTL_MILLIS) {
+            mEntries.remove(key);
+            mStorage.remove(key);
+            return null;
+        }
+
+        return entry.mTenantUuid;
+    }
+
+    void put(@NonNull final String authorityUrl, @Nullable final String tenantUuid) {
+        if (TextUtils.isEmpty(tenantUuid) || !isUuid(tenantUuid)) {
+            return;
+        }
+
+        final String key = getKey(authorityUrl);
+        final Entry entry = new Entry(tenantUuid, System.currentTimeMillis());
+
+        mEntries.put(key, entry);
+        mStorage.putString(key, entry.serialize());
+    }
+
+    @NonNull
+    private static String getKey(@NonNull final String authorityUrl) {
+        return TokenRequestKey.normalizeAuthority(authorityUrl);
+    }
+
+    private static final class Entry {
+
+        private final String mTenantUuid;
+        private final long mResolvedAt;
+
+        Entry(@NonNull final String tenantUuid, final long resolvedAt) {
+            mTenantUuid = tenantUuid;
+            mResolvedAt = resolvedAt;
+        }
+
+        @NonNull
+        String serialize() {
+            return mTenantUuid + VALUE_DELIMITER + mResolvedAt;
+        }
+
+        @Nullable
+        static Entry parse(@Nullable final String value) {
+            if (TextUtils.isEmpty(value)) {
+                return null;
+            }
+
+            final int delimiter = value.lastIndexOf(VALUE_DELIMITER);
+
+            if (delimiter <= 0) {
+                return null;
+            }
+
+            try {
+                return new Entry(
+                        value.substring(0, delimiter),
+                        Long.parseLong(value.substring(delimiter + 1))
+                );
+            } catch (final NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+}
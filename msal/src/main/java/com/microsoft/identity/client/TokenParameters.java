@@ -35,6 +35,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 /**
  * Base class for AcquireTokenParameters and AcquireTokenSilentParameters
@@ -48,6 +49,7 @@ public abstract class TokenParameters {
     private AccountRecord mAccountRecord;
     private AuthenticationScheme mAuthenticationScheme;
     private String mCorrelationId;
+    private Executor mCallbackExecutor;
 
     protected TokenParameters(@NonNull final TokenParameters.Builder builder) {
         mAccount = builder.mAccount;
@@ -56,6 +58,7 @@ public abstract class TokenParameters {
         mScopes = builder.mScopes;
         mAuthenticationScheme = builder.mAuthenticationScheme;
         mCorrelationId = builder.mCorrelationId;
+        mCallbackExecutor = builder.mCallbackExecutor;
     }
 
     /**
@@ -154,6 +157,18 @@ public abstract class TokenParameters {
         return mCorrelationId;
     }
 
+    /**
+     * Gets the {@link Executor} on which the callback of this request is invoked. If null, the
+     * executor of the {@link PublicClientApplicationConfiguration} is used, and if that is null
+     * too, the callback is invoked on the main thread.
+     *
+     * @return The callback executor, or null.
+     */
+    @Nullable
+    public Executor getCallbackExecutor() {
+        return mCallbackExecutor;
+    }
+
     /**
      * TokenParameters builder
      *
@@ -167,6 +182,7 @@ public abstract class TokenParameters {
         private ClaimsRequest mClaimsRequest;
         private AuthenticationScheme mAuthenticationScheme;
         private String mCorrelationId;
+        private Executor mCallbackExecutor;
 
         public B withAuthenticationScheme(@NonNull final AuthenticationScheme scheme) {
             mAuthenticationScheme = scheme;
@@ -261,6 +277,21 @@ public abstract class TokenParameters {
             return self();
         }
 
+        /**
+         * Sets the {@link Executor} on which the callback of this request is invoked, e.g. to keep
+         * the work of the callback off the main thread.
+         * <p>
+         * This does not keep the request itself off the main thread: results of requests sent to
+         * the service or the broker still reach MSAL on the main thread, and are handed to the
+         * executor from there. Only outcomes MSAL produces itself, such as in-memory cache hits
+         * and validation errors, are handed to the executor directly from the thread which
+         * produced them.
+         */
+        public B withCallbackExecutor(@NonNull final Executor callbackExecutor) {
+            mCallbackExecutor = callbackExecutor;
+            return self();
+        }
+
         public abstract B self();
 
         public abstract TokenParameters build();
@@ -0,0 +1,154 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.text.TextUtils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.common.java.authscheme.BearerAuthenticationSchemeInternal;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Builds the keys under which the in-memory state of silent token requests is held: the cached
+ * results, UI required errors, throttles, in-flight requests and scheduled refreshes.
+ * <p>
+ * A key is made of the home account id, the normalized authority, the normalized scope set and
+ * the authentication scheme of a request, so that equivalent requests map to the same key. Keys
+ * of the same account share the prefix returned by {@link #getAccountPrefix(IAccount)}.
+ * <p>
+ * Only the name of the scheme is part of the key: results which depend on the other parameters of
+ * their scheme, such as the signed HTTP request of a PoP result, must not be shared by key.
+ */
+final class TokenRequestKey {
+
+    static final char DELIMITER = '|';
+
+    private TokenRequestKey() {
+        // Utility class.
+    }
+
+    /**
+     * @return The key of the supplied request, or null if it names no account with a home account
+     * id, no authority or no scopes.
+     */
+    @Nullable
+    static String get(@NonNull final TokenParameters parameters,
+                      @Nullable final String defaultAuthority) {
+        final String authority = TextUtils.isEmpty(parameters.getAuthority())
+                ? defaultAuthority
+                : parameters.getAuthority();
+
+        return get(
+                parameters.getAccount(),
+                authority,
+                parameters.getScopes(),
+                parameters.getAuthenticationScheme()
+        );
+    }
+
+    /**
+     * @return The key of a request with the supplied values, or null if the account has no home
+     * account id or there is no authority or no scopes.
+     */
+    @Nullable
+    static String get(@Nullable final IAccount account,
+                      @Nullable final String authority,
+                      @Nullable final List<String> scopes,
+                      @Nullable final AuthenticationScheme scheme) {
+        final String accountPrefix = getAccountPrefix(account);
+
+        if (null == accountPrefix
+                || TextUtils.isEmpty(authority)
+                || null == scopes
+                || scopes.isEmpty()) {
+            return null;
+        }
+
+        return accountPrefix
+                + normalizeAuthority(authority)
+                + DELIMITER
+                + normalizeScopes(scopes)
+                + DELIMITER
+                + getSchemeName(scheme).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @return The prefix of every key of the supplied account, or null if it has no home account
+     * id.
+     */
+    @Nullable
+    static String getAccountPrefix(@Nullable final IAccount account) {
+        final String homeAccountId = getHomeAccountId(account);
+
+        return TextUtils.isEmpty(homeAccountId)
+                ? null
+                : homeAccountId.toLowerCase(Locale.ROOT) + DELIMITER;
+    }
+
+    @NonNull
+    static String getSchemeName(@Nullable final AuthenticationScheme scheme) {
+        return null == scheme ? BearerAuthenticationSchemeInternal.SCHEME_BEARER : scheme.getName();
+    }
+
+    @Nullable
+    static String getHomeAccountId(@Nullable final IAccount account) {
+        if (account instanceof Account) {
+            return ((Account) account).getHomeAccountId();
+        }
+
+        return null;
+    }
+
+    /**
+     * Lower-cases, de-duplicates and sorts the supplied scopes so that equivalent requests map to
+     * the same key.
+     */
+    @NonNull
+    static String normalizeScopes(@NonNull final List<String> scopes) {
+        final TreeSet<String> normalized = new TreeSet<>();
+
+        for (final String scope : scopes) {
+            if (!TextUtils.isEmpty(scope)) {
+                normalized.add(scope.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+
+        return TextUtils.join(" ", normalized);
+    }
+
+    @NonNull
+    static String normalizeAuthority(@NonNull final String authority) {
+        String normalized = authority.trim().toLowerCase(Locale.ROOT);
+
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        return normalized;
+    }
+}
@@ -0,0 +1,231 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.client.exception.MsalUiRequiredException;
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Short-lived in-memory (negative) cache of the {@link MsalUiRequiredException}s returned to
+ * silent requests made against a single {@link PublicClientApplication}, so that repeated silent
+ * requests for an account whose refresh token has been revoked fail without a round trip.
+ * <p>
+ * Entries are keyed by {@link TokenRequestKey}, and are dropped after {@link #TTL_MILLIS}, once an
+ * interactive request succeeds for the account, or whenever the token cache is modified outside of
+ * the silent flow. Only the errors of the most recently failed requests are kept: the least
+ * recently used entry is evicted beyond {@link #MAX_ENTRIES}. Requests carrying claims are never
+ * served from, nor recorded in, this cache. Forced refreshes, such as the background refreshes
+ * ahead of expiry, always go to the service and their errors are not recorded, since requests
+ * which are not forced may still be served from the token cache.
+ */
+final class UiRequiredErrorCache {
+
+    private static final String TAG = UiRequiredErrorCache.class.getSimpleName();
+
+    /**
+     * How long a UI required error is returned to identical silent requests.
+     */
+    static final long TTL_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    /**
+     * Upper bound on the number of errors held.
+     */
+    static final int MAX_ENTRIES = 32;
+
+    // Guarded by itself.
+    private final Map<String, Entry> mErrors =
+            new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    /**
+     * Bumped on every invalidation, so that errors of requests dispatched before it are not
+     * recorded.
+     */
+    private final AtomicLong mGeneration = new AtomicLong();
+
+    /**
+     * Returns the UI required error recently returned to an identical request, or null if there is
+     * none.
+     */
+    @Nullable
+    MsalUiRequiredException get(@NonNull final AcquireTokenSilentParameters parameters,
+                                @NonNull final String defaultAuthority) {
+        final String methodTag = TAG + ":get";
+
+        if (parameters.getForceRefresh()) {
+            return null;
+        }
+
+        final String key = getKey(parameters, defaultAuthority);
+
+        if (null == key) {
+            return null;
+        }
+
+        final Entry entry;
+
+        synchronized (mErrors) {
+            entry = mErrors.get(key);
+
+            if (null == entry) {
+                return null;
+            }
+
+            if (entry.isExpired()) {
+                mErrors.remove(key);
+                return null;
+            }
+        }
+
+        Logger.verbose(methodTag, "Returning cached UI required error.");
+
+        return entry.mException;
+    }
+
+    /**
+     * Returns a callback which records UI required errors delivered to the supplied callback for
+     * the supplied request, unless it is a forced refresh, and forgets them once the request
+     * succeeds.
+     */
+    @NonNull
+    SilentAuthenticationCallback recording(@NonNull final SilentAuthenticationCallback callback,
+                                           @NonNull final AcquireTokenSilentParameters parameters,
+                                           @NonNull final String defaultAuthority) {
+        final String key = getKey(parameters, defaultAuthority);
+
+        if (null == key) {
+            return callback;
+        }
+
+        final long generation = mGeneration.get();
+
+        return new SilentAuthenticationCallback() {
+            @Override
+            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                synchronized (mErrors) {
+                    mErrors.remove(key);
+                }
+
+                callback.onSuccess(authenticationResult);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                if (exception instanceof MsalUiRequiredException && !parameters.getForceRefresh()) {
+                    put(key, (MsalUiRequiredException) exception, generation);
+                }
+
+                callback.onError(exception);
+            }
+        };
+    }
+
+    /**
+     * Drops every entry of the supplied account, e.g. once an interactive request succeeded for it.
+     */
+    void remove(@Nullable final IAccount account) {
+        final String prefix = TokenRequestKey.getAccountPrefix(account);
+
+        if (null == prefix) {
+            clear();
+            return;
+        }
+
+        synchronized (mErrors) {
+            mGeneration.incrementAndGet();
+
+            final Iterator<String> iterator = mErrors.keySet().iterator();
+
+            while (iterator.hasNext()) {
+                if (iterator.next().startsWith(prefix)) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops every cached entry, e.g. whenever the token cache is modified outside of the silent
+     * flow.
+     */
+    void clear() {
+        synchronized (mErrors) {
+            mGeneration.incrementAndGet();
+            mErrors.clear();
+        }
+    }
+
+    int size() {
+        synchronized (mErrors) {
+            return mErrors.size();
+        }
+    }
+
+    private void put(@NonNull final String key,
+                     @NonNull final MsalUiRequiredException exception,
+                     final long generation) {
+        synchronized (mErrors) {
+            // Errors of requests dispatched before an invalidation may be stale.
+            if (generation == mGeneration.get()) {
+                mErrors.put(key, new Entry(exception, System.currentTimeMillis() + TTL_MILLIS));
+            }
+        }
+    }
+
+    @Nullable
+    private static String getKey(@NonNull final AcquireTokenSilentParameters parameters,
+                                 @NonNull final String defaultAuthority) {
+        return null == parameters.getClaimsRequest()
+                ? TokenRequestKey.get(parameters, defaultAuthority)
+                : null;
+    }
+
+    private static final class Entry {
+
+        private final MsalUiRequiredException mException;
+        private final long mExpiresAt;
+
+        Entry(@NonNull final MsalUiRequiredException exception, final long expiresAt) {
+            mException = exception;
+            mExpiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= mExpiresAt;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.configuration;
+
+import com.google.gson.annotations.SerializedName;
+
+import static com.microsoft.identity.client.configuration.BackgroundExecutorConfiguration.SerializedNames.CORE_POOL_SIZE;
+import static com.microsoft.identity.client.configuration.BackgroundExecutorConfiguration.SerializedNames.MAX_POOL_SIZE;
+
+/**
+ * Configuration of the thread pool on which requests are prepared before being dispatched.
+ */
+public class BackgroundExecutorConfiguration {
+
+    /**
+     * Field names used for serialization by Gson.
+     */
+    public static final class SerializedNames {
+        public static final String CORE_POOL_SIZE = "core_pool_size";
+        public static final String MAX_POOL_SIZE = "max_pool_size";
+    }
+
+    public static final int DEFAULT_CORE_POOL_SIZE = 2;
+    public static final int DEFAULT_MAX_POOL_SIZE = 8;
+
+    @SerializedName(CORE_POOL_SIZE)
+    private Integer mCorePoolSize;
+
+    @SerializedName(MAX_POOL_SIZE)
+    private Integer mMaxPoolSize;
+
+    /**
+     * Gets the number of threads kept alive while idle.
+     *
+     * @return The core pool size.
+     */
+    public int getCorePoolSize() {
+        return mCorePoolSize == null
+                ? DEFAULT_CORE_POOL_SIZE
+                : mCorePoolSize;
+    }
+
+    /**
+     * Gets the maximum number of threads the pool grows to while work is queued.
+     *
+     * @return The maximum pool size.
+     */
+    public int getMaxPoolSize() {
+        return mMaxPoolSize == null
+                ? DEFAULT_MAX_POOL_SIZE
+                : mMaxPoolSize;
+    }
+}
@@ -0,0 +1,106 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.configuration;
+
+import com.google.gson.annotations.SerializedName;
+
+import static com.microsoft.identity.client.configuration.TokenRefreshConfiguration.SerializedNames.REFRESH_AHEAD_ENABLED;
+import static com.microsoft.identity.client.configuration.TokenRefreshConfiguration.SerializedNames.REFRESH_AHEAD_LIFETIME_FRACTION;
+import static com.microsoft.identity.client.configuration.TokenRefreshConfiguration.SerializedNames.REFRESH_AHEAD_MAX_CONCURRENT_REFRESHES;
+import static com.microsoft.identity.client.configuration.TokenRefreshConfiguration.SerializedNames.REFRESH_AHEAD_MAX_JITTER_MILLIS;
+
+/**
+ * Configuration of the background refresh of access tokens ahead of their expiry.
+ */
+public class TokenRefreshConfiguration {
+
+    /**
+     * Field names used for serialization by Gson.
+     */
+    public static final class SerializedNames {
+        public static final String REFRESH_AHEAD_ENABLED = "refresh_ahead_enabled";
+        public static final String REFRESH_AHEAD_LIFETIME_FRACTION = "refresh_ahead_lifetime_fraction";
+        public static final String REFRESH_AHEAD_MAX_JITTER_MILLIS = "refresh_ahead_max_jitter_millis";
+        public static final String REFRESH_AHEAD_MAX_CONCURRENT_REFRESHES = "refresh_ahead_max_concurrent_refreshes";
+    }
+
+    public static final double DEFAULT_REFRESH_AHEAD_LIFETIME_FRACTION = 0.75;
+    public static final long DEFAULT_REFRESH_AHEAD_MAX_JITTER_MILLIS = 60000;
+    public static final int DEFAULT_REFRESH_AHEAD_MAX_CONCURRENT_REFRESHES = 2;
+
+    @SerializedName(REFRESH_AHEAD_ENABLED)
+    private boolean mRefreshAheadEnabled;
+
+    @SerializedName(REFRESH_AHEAD_LIFETIME_FRACTION)
+    private Double mRefreshAheadLifetimeFraction;
+
+    @SerializedName(REFRESH_AHEAD_MAX_JITTER_MILLIS)
+    private Long mRefreshAheadMaxJitterMillis;
+
+    @SerializedName(REFRESH_AHEAD_MAX_CONCURRENT_REFRESHES)
+    private Integer mRefreshAheadMaxConcurrentRefreshes;
+
+    /**
+     * Gets the refresh-ahead enabled state.
+     *
+     * @return True if access tokens should be refreshed in the background before they expire.
+     */
+    public boolean isRefreshAheadEnabled() {
+        return mRefreshAheadEnabled;
+    }
+
+    /**
+     * Gets the fraction of an access token's lifetime after which it is refreshed in the
+     * background.
+     *
+     * @return A value between 0 and 1 (exclusive).
+     */
+    public double getRefreshAheadLifetimeFraction() {
+        return mRefreshAheadLifetimeFraction == null
+                ? DEFAULT_REFRESH_AHEAD_LIFETIME_FRACTION
+                : mRefreshAheadLifetimeFraction;
+    }
+
+    /**
+     * Gets the upper bound of the random delay subtracted from each scheduled refresh, used to
+     * spread refreshes of tokens acquired at the same time.
+     *
+     * @return The maximum jitter, in milliseconds.
+     */
+    public long getRefreshAheadMaxJitterMillis() {
+        return mRefreshAheadMaxJitterMillis == null
+                ? DEFAULT_REFRESH_AHEAD_MAX_JITTER_MILLIS
+                : mRefreshAheadMaxJitterMillis;
+    }
+
+    /**
+     * Gets the maximum number of background refreshes allowed to be in flight at once.
+     *
+     * @return The maximum number of concurrent refreshes.
+     */
+    public int getRefreshAheadMaxConcurrentRefreshes() {
+        return mRefreshAheadMaxConcurrentRefreshes == null
+                ? DEFAULT_REFRESH_AHEAD_MAX_CONCURRENT_REFRESHES
+                : mRefreshAheadMaxConcurrentRefreshes;
+    }
+}
@@ -0,0 +1,55 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.exception;
+
+/**
+ * This exception indicates that a silent request was not sent because the service recently
+ * throttled (HTTP 429) or failed (HTTP 5xx) an identical request, and the time it asked clients
+ * to wait, through the Retry-After header or MSAL's own backoff, has not elapsed yet.
+ * <p>
+ * {@link #getHttpStatusCode()} returns the status code of the response which caused the throttling.
+ */
+public final class MsalThrottlingException extends MsalServiceException {
+
+    /**
+     * The request was throttled on the client.
+     */
+    public static final String THROTTLED = "throttled";
+
+    private final long mRetryAfterMillis;
+
+    public MsalThrottlingException(final String errorMessage,
+                                   final int httpStatusCode,
+                                   final long retryAfterMillis,
+                                   final Throwable throwable) {
+        super(THROTTLED, errorMessage, httpStatusCode, throwable);
+        mRetryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * @return The time, in milliseconds, after which the request may be retried.
+     */
+    public long getRetryAfterMillis() {
+        return mRetryAfterMillis;
+    }
+}
@@ -0,0 +1,109 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.internal;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.java.authorities.Authority;
+import com.microsoft.identity.common.java.authorities.AzureActiveDirectoryAudience;
+import com.microsoft.identity.common.java.authorities.AzureActiveDirectoryAuthority;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of the authorities parsed from the authority URLs passed to a single
+ * {@link com.microsoft.identity.client.PublicClientApplication}, so that each request does not
+ * parse its authority URL again.
+ * <p>
+ * The cached authorities are never handed out. Every lookup returns a new copy built from the
+ * cached audience, which callers are free to mutate (e.g. to set multiple clouds support).
+ * Only plain {@link AzureActiveDirectoryAuthority} instances are cached; other authority types
+ * are parsed on every lookup.
+ */
+public final class AuthorityCache {
+
+    /**
+     * Maximum number of distinct authority URLs held.
+     */
+    static final int MAX_ENTRIES = 16;
+
+    private final Map<String, AzureActiveDirectoryAuthority> mAuthorities =
+            new LinkedHashMap<String, AzureActiveDirectoryAuthority>(MAX_ENTRIES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, AzureActiveDirectoryAuthority> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            };
+
+    /**
+     * Returns a new {@link Authority} for the supplied authority URL.
+     *
+     * @param authorityUrl The authority URL.
+     * @return An authority owned by the caller.
+     */
+    @NonNull
+    public Authority getAuthority(@NonNull final String authorityUrl) {
+        AzureActiveDirectoryAuthority cached;
+
+        synchronized (mAuthorities) {
+            cached = mAuthorities.get(authorityUrl);
+        }
+
+        if (null != cached) {
+            return copy(cached);
+        }
+
+        final Authority authority = Authority.getAuthorityFromAuthorityUrl(authorityUrl);
+
+        // Subclasses may carry state the copy would drop, leave them alone.
+        if (null == authority || authority.getClass() != AzureActiveDirectoryAuthority.class) {
+            return authority;
+        }
+
+        synchronized (mAuthorities) {
+            mAuthorities.put(authorityUrl, (AzureActiveDirectoryAuthority) authority);
+        }
+
+        // The parsed instance is kept, the caller gets a copy.
+        return copy((AzureActiveDirectoryAuthority) authority);
+    }
+
+    int size() {
+        synchronized (mAuthorities) {
+            return mAuthorities.size();
+        }
+    }
+
+    @NonNull
+    private static AzureActiveDirectoryAuthority copy(@NonNull final AzureActiveDirectoryAuthority authority) {
+        final AzureActiveDirectoryAudience audience = authority.getAudience();
+
+        return new AzureActiveDirectoryAuthority(
+                AzureActiveDirectoryAudience.getAzureActiveDirectoryAudience(
+                        audience.getCloudUrl(),
+                        audience.getTenantId()
+                )
+        );
+    }
+}
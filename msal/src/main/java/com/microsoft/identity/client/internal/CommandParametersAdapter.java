@@ -1,9 +1,5 @@
 package com.microsoft.identity.client.internal;
 
-import android.content.Context;
-import android.content.pm.PackageInfo;
-import android.content.pm.PackageManager;
-
 import androidx.annotation.NonNull;
 
 import com.microsoft.identity.client.AcquireTokenParameters;
@@ -12,7 +8,6 @@ import com.microsoft.identity.client.IAccount;
 import com.microsoft.identity.client.ITenantProfile;
 import com.microsoft.identity.client.MultiTenantAccount;
 import com.microsoft.identity.client.PoPAuthenticationScheme;
-import com.microsoft.identity.client.PublicClientApplication;
 import com.microsoft.identity.client.PublicClientApplicationConfiguration;
 import com.microsoft.identity.client.claims.ClaimsRequest;
 import com.microsoft.identity.client.claims.RequestedClaimAdditionalInformation;
@@ -54,19 +49,30 @@ public class CommandParametersAdapter {
     public static CommandParameters createCommandParameters(
             @NonNull final PublicClientApplicationConfiguration configuration,
             @NonNull final OAuth2TokenCache tokenCache) {
+        return createCommandParameters(
+                new CommandParametersTemplate(configuration),
+                configuration,
+                tokenCache
+        );
+    }
+
+    public static CommandParameters createCommandParameters(
+            @NonNull final CommandParametersTemplate template,
+            @NonNull final PublicClientApplicationConfiguration configuration,
+            @NonNull final OAuth2TokenCache tokenCache) {
 
         final CommandParameters commandParameters = CommandParameters.builder()
-                .platformComponents(AndroidPlatformComponents.createFromContext(configuration.getAppContext()))
-                .applicationName(configuration.getAppContext().getPackageName())
-                .applicationVersion(getPackageVersion(configuration.getAppContext()))
-                .clientId(configuration.getClientId())
+                .platformComponents(template.getPlatformComponents())
+                .applicationName(template.getApplicationName())
+                .applicationVersion(template.getApplicationVersion())
+                .clientId(template.getClientId())
                 .isSharedDevice(configuration.getIsSharedDevice())
                 .oAuth2TokenCache(tokenCache)
-                .redirectUri(configuration.getRedirectUri())
-                .requiredBrokerProtocolVersion(configuration.getRequiredBrokerProtocolVersion())
+                .redirectUri(template.getRedirectUri())
+                .requiredBrokerProtocolVersion(template.getRequiredBrokerProtocolVersion())
                 .sdkType(SdkType.MSAL)
-                .sdkVersion(PublicClientApplication.getSdkVersion())
-                .powerOptCheckEnabled(configuration.isPowerOptCheckForEnabled())
+                .sdkVersion(template.getSdkVersion())
+                .powerOptCheckEnabled(template.isPowerOptCheckEnabled())
                 .build();
 
         return commandParameters;
@@ -76,21 +82,34 @@ public class CommandParametersAdapter {
             @NonNull final PublicClientApplicationConfiguration configuration,
             @NonNull final OAuth2TokenCache tokenCache,
             @NonNull final AccountRecord account) {
+        return createRemoveAccountCommandParameters(
+                new CommandParametersTemplate(configuration),
+                configuration,
+                tokenCache,
+                account
+        );
+    }
+
+    public static RemoveAccountCommandParameters createRemoveAccountCommandParameters(
+            @NonNull final CommandParametersTemplate template,
+            @NonNull final PublicClientApplicationConfiguration configuration,
+            @NonNull final OAuth2TokenCache tokenCache,
+            @NonNull final AccountRecord account) {
 
         final RemoveAccountCommandParameters commandParameters = RemoveAccountCommandParameters.builder()
-                .platformComponents(AndroidPlatformComponents.createFromContext(configuration.getAppContext()))
-                .applicationName(configuration.getAppContext().getPackageName())
-                .applicationVersion(getPackageVersion(configuration.getAppContext()))
-                .clientId(configuration.getClientId())
+                .platformComponents(template.getPlatformComponents())
+                .applicationName(template.getApplicationName())
+                .applicationVersion(template.getApplicationVersion())
+                .clientId(template.getClientId())
                 .isSharedDevice(configuration.getIsSharedDevice())
                 .oAuth2TokenCache(tokenCache)
-                .redirectUri(configuration.getRedirectUri())
-                .requiredBrokerProtocolVersion(configuration.getRequiredBrokerProtocolVersion())
+                .redirectUri(template.getRedirectUri())
+                .requiredBrokerProtocolVersion(template.getRequiredBrokerProtocolVersion())
                 .sdkType(SdkType.MSAL)
-                .sdkVersion(PublicClientApplication.getSdkVersion())
+                .sdkVersion(template.getSdkVersion())
                 .account(account)
                 .browserSafeList(configuration.getBrowserSafeList())
-                .powerOptCheckEnabled(configuration.isPowerOptCheckForEnabled())
+                .powerOptCheckEnabled(template.isPowerOptCheckEnabled())
                 .build();
 
         return commandParameters;
@@ -100,13 +119,26 @@ public class CommandParametersAdapter {
             @NonNull final PublicClientApplicationConfiguration configuration,
             @NonNull final OAuth2TokenCache tokenCache,
             @NonNull final AcquireTokenParameters parameters) throws ClientException {
+        return createInteractiveTokenCommandParameters(
+                new CommandParametersTemplate(configuration),
+                configuration,
+                tokenCache,
+                parameters
+        );
+    }
+
+    public static InteractiveTokenCommandParameters createInteractiveTokenCommandParameters(
+            @NonNull final CommandParametersTemplate template,
+            @NonNull final PublicClientApplicationConfiguration configuration,
+            @NonNull final OAuth2TokenCache tokenCache,
+            @NonNull final AcquireTokenParameters parameters) throws ClientException {
 
         final AbstractAuthenticationScheme authenticationScheme = AuthenticationSchemeFactory.createScheme(
                 AndroidPlatformComponents.createFromContext(parameters.getActivity()),
                 parameters.getAuthenticationScheme()
         );
 
-        final Authority authority = getAuthority(configuration, parameters);
+        final Authority authority = getAuthority(template.getAuthorityCache(), configuration, parameters);
 
         final String claimsRequestJson = ClaimsRequest.getJsonStringFromClaimsRequest(
                 getClaimsRequest(
@@ -121,15 +153,15 @@ public class CommandParametersAdapter {
                 .platformComponents(AndroidPlatformComponents.createFromActivity(
                         parameters.getActivity(),
                         parameters.getFragment()))
-                .applicationName(configuration.getAppContext().getPackageName())
-                .applicationVersion(getPackageVersion(configuration.getAppContext()))
-                .clientId(configuration.getClientId())
+                .applicationName(template.getApplicationName())
+                .applicationVersion(template.getApplicationVersion())
+                .clientId(template.getClientId())
                 .isSharedDevice(configuration.getIsSharedDevice())
                 .oAuth2TokenCache(tokenCache)
-                .redirectUri(configuration.getRedirectUri())
-                .requiredBrokerProtocolVersion(configuration.getRequiredBrokerProtocolVersion())
+                .redirectUri(template.getRedirectUri())
+                .requiredBrokerProtocolVersion(template.getRequiredBrokerProtocolVersion())
                 .sdkType(SdkType.MSAL)
-                .sdkVersion(PublicClientApplication.getSdkVersion())
+                .sdkVersion(template.getSdkVersion())
                 .browserSafeList(configuration.getBrowserSafeList())
                 .authority(authority)
                 .claimsRequestJson(claimsRequestJson)
@@ -146,7 +178,7 @@ public class CommandParametersAdapter {
                 .isWebViewZoomControlsEnabled(configuration.isWebViewZoomControlsEnabled())
                 .isWebViewZoomEnabled(configuration.isWebViewZoomEnabled())
                 .handleNullTaskAffinity(configuration.isHandleNullTaskAffinityEnabled())
-                .powerOptCheckEnabled(configuration.isPowerOptCheckForEnabled())
+                .powerOptCheckEnabled(template.isPowerOptCheckEnabled())
                 .correlationId(parameters.getCorrelationId())
                 .build();
 
@@ -157,7 +189,20 @@ public class CommandParametersAdapter {
             @NonNull final PublicClientApplicationConfiguration configuration,
             @NonNull final OAuth2TokenCache tokenCache,
             @NonNull final AcquireTokenSilentParameters parameters) throws ClientException {
-        final Authority authority = getAuthority(configuration, parameters);
+        return createSilentTokenCommandParameters(
+                new CommandParametersTemplate(configuration),
+                configuration,
+                tokenCache,
+                parameters
+        );
+    }
+
+    public static SilentTokenCommandParameters createSilentTokenCommandParameters(
+            @NonNull final CommandParametersTemplate template,
+            @NonNull final PublicClientApplicationConfiguration configuration,
+            @NonNull final OAuth2TokenCache tokenCache,
+            @NonNull final AcquireTokenSilentParameters parameters) throws ClientException {
+        final Authority authority = getAuthority(template.getAuthorityCache(), configuration, parameters);
 
         final ClaimsRequest claimsRequest = parameters.getClaimsRequest();
 
@@ -173,29 +218,29 @@ public class CommandParametersAdapter {
         final boolean forceRefresh = claimsRequest != null || parameters.getForceRefresh();
 
         final AbstractAuthenticationScheme authenticationScheme = AuthenticationSchemeFactory.createScheme(
-                AndroidPlatformComponents.createFromContext(configuration.getAppContext()),
+                template.getPlatformComponents(),
                 parameters.getAuthenticationScheme()
         );
 
         final SilentTokenCommandParameters commandParameters = SilentTokenCommandParameters
                 .builder()
-                .platformComponents(AndroidPlatformComponents.createFromContext(configuration.getAppContext()))
-                .applicationName(configuration.getAppContext().getPackageName())
-                .applicationVersion(getPackageVersion(configuration.getAppContext()))
-                .clientId(configuration.getClientId())
+                .platformComponents(template.getPlatformComponents())
+                .applicationName(template.getApplicationName())
+                .applicationVersion(template.getApplicationVersion())
+                .clientId(template.getClientId())
                 .isSharedDevice(configuration.getIsSharedDevice())
                 .oAuth2TokenCache(tokenCache)
-                .redirectUri(configuration.getRedirectUri())
-                .requiredBrokerProtocolVersion(configuration.getRequiredBrokerProtocolVersion())
+                .redirectUri(template.getRedirectUri())
+                .requiredBrokerProtocolVersion(template.getRequiredBrokerProtocolVersion())
                 .sdkType(SdkType.MSAL)
-                .sdkVersion(PublicClientApplication.getSdkVersion())
+                .sdkVersion(template.getSdkVersion())
                 .authority(authority)
                 .claimsRequestJson(claimsRequestJson)
                 .forceRefresh(forceRefresh)
                 .account(parameters.getAccountRecord())
                 .authenticationScheme(authenticationScheme)
                 .scopes(new HashSet<>(parameters.getScopes()))
-                .powerOptCheckEnabled(configuration.isPowerOptCheckForEnabled())
+                .powerOptCheckEnabled(template.isPowerOptCheckEnabled())
                 .correlationId(parameters.getCorrelationId())
                 .build();
 
@@ -206,6 +251,19 @@ public class CommandParametersAdapter {
             @NonNull final PublicClientApplicationConfiguration configuration,
             @NonNull final OAuth2TokenCache tokenCache,
             @NonNull List<String> scopes) {
+        return createDeviceCodeFlowCommandParameters(
+                new CommandParametersTemplate(configuration),
+                configuration,
+                tokenCache,
+                scopes
+        );
+    }
+
+    public static DeviceCodeFlowCommandParameters createDeviceCodeFlowCommandParameters(
+            @NonNull final CommandParametersTemplate template,
+            @NonNull final PublicClientApplicationConfiguration configuration,
+            @NonNull final OAuth2TokenCache tokenCache,
+            @NonNull List<String> scopes) {
 
         // TODO: Consider implementing support for PoP
 
@@ -214,17 +272,17 @@ public class CommandParametersAdapter {
         final AbstractAuthenticationScheme authenticationScheme = new BearerAuthenticationSchemeInternal();
 
         final DeviceCodeFlowCommandParameters commandParameters = DeviceCodeFlowCommandParameters.builder()
-                .platformComponents(AndroidPlatformComponents.createFromContext(configuration.getAppContext()))
-                .applicationName(configuration.getAppContext().getPackageName())
-                .applicationVersion(getPackageVersion(configuration.getAppContext()))
-                .clientId(configuration.getClientId())
+                .platformComponents(template.getPlatformComponents())
+                .applicationName(template.getApplicationName())
+                .applicationVersion(template.getApplicationVersion())
+                .clientId(template.getClientId())
                 .isSharedDevice(configuration.getIsSharedDevice())
-                .redirectUri(configuration.getRedirectUri())
+                .redirectUri(template.getRedirectUri())
                 .oAuth2TokenCache(tokenCache)
-                .requiredBrokerProtocolVersion(configuration.getRequiredBrokerProtocolVersion())
+                .requiredBrokerProtocolVersion(template.getRequiredBrokerProtocolVersion())
                 .sdkType(SdkType.MSAL)
-                .sdkVersion(PublicClientApplication.getSdkVersion())
-                .powerOptCheckEnabled(configuration.isPowerOptCheckForEnabled())
+                .sdkVersion(template.getSdkVersion())
+                .powerOptCheckEnabled(template.isPowerOptCheckEnabled())
                 .authenticationScheme(authenticationScheme)
                 .scopes(new HashSet<>(scopes))
                 .authority(authority)
@@ -233,18 +291,8 @@ public class CommandParametersAdapter {
         return commandParameters;
     }
 
-    private static String getPackageVersion(@NonNull final Context context) {
-        final String packageName = context.getPackageName();
-        try {
-            final PackageInfo packageInfo = context.getPackageManager().getPackageInfo(packageName, 0);
-            return packageInfo.versionName;
-        } catch (PackageManager.NameNotFoundException e) {
-            e.printStackTrace();
-        }
-        return null;
-    }
-
     private static Authority getRequestAuthority(
+            @NonNull final AuthorityCache authorityCache,
             @NonNull final PublicClientApplicationConfiguration publicClientApplicationConfiguration) {
 
         String requestAuthority = null;
@@ -261,7 +309,7 @@ public class CommandParametersAdapter {
         if (requestAuthority == null) {
             authority = publicClientApplicationConfiguration.getDefaultAuthority();
         } else {
-            authority = Authority.getAuthorityFromAuthorityUrl(requestAuthority);
+            authority = authorityCache.getAuthority(requestAuthority);
         }
 
         return authority;
@@ -311,18 +359,19 @@ public class CommandParametersAdapter {
     }
 
     private static Authority getAuthority(
+            @NonNull final AuthorityCache authorityCache,
             final PublicClientApplicationConfiguration configuration,
             @NonNull final AcquireTokenParameters parameters) {
         Authority authority;
 
         if (StringUtil.isEmpty(parameters.getAuthority())) {
             if (parameters.getAccount() != null) {
-                authority = getRequestAuthority(configuration);
+                authority = getRequestAuthority(authorityCache, configuration);
             } else {
                 authority = configuration.getDefaultAuthority();
             }
         } else {
-            authority = Authority.getAuthorityFromAuthorityUrl(
+            authority = authorityCache.getAuthority(
                     parameters.getAuthority()
             );
         }
@@ -340,10 +389,11 @@ public class CommandParametersAdapter {
     }
 
     private static Authority getAuthority(
+            @NonNull final AuthorityCache authorityCache,
             @NonNull final PublicClientApplicationConfiguration configuration,
             @NonNull final AcquireTokenSilentParameters parameters) {
         final String requestAuthority = parameters.getAuthority();
-        final Authority authority = Authority.getAuthorityFromAuthorityUrl(requestAuthority);
+        final Authority authority = authorityCache.getAuthority(requestAuthority);
 
         if (authority instanceof AzureActiveDirectoryAuthority) {
             AzureActiveDirectoryAuthority aadAuthority =
@@ -427,19 +477,43 @@ public class CommandParametersAdapter {
             @NonNull final OAuth2TokenCache oAuth2TokenCache,
             @NonNull final String homeAccountId,
             @NonNull final PoPAuthenticationScheme popParameters) {
-        final Context context = clientConfig.getAppContext();
+        return createGenerateShrCommandParameters(
+                new CommandParametersTemplate(clientConfig),
+                clientConfig,
+                oAuth2TokenCache,
+                homeAccountId,
+                popParameters
+        );
+    }
+
+    /**
+     * Constructs the {@link GenerateShrCommandParameters} for the supplied args.
+     *
+     * @param template         The precomputed values shared by all requests of our current app.
+     * @param clientConfig     The configuration of our current app.
+     * @param oAuth2TokenCache Our local token cache.
+     * @param homeAccountId    The home_account_id of the user for whom we're signing.
+     * @param popParameters    The pop params to embed in the resulting SHR.
+     * @return The fully-formed command params.
+     */
+    public static GenerateShrCommandParameters createGenerateShrCommandParameters(
+            @NonNull final CommandParametersTemplate template,
+            @NonNull final PublicClientApplicationConfiguration clientConfig,
+            @NonNull final OAuth2TokenCache oAuth2TokenCache,
+            @NonNull final String homeAccountId,
+            @NonNull final PoPAuthenticationScheme popParameters) {
         return GenerateShrCommandParameters.builder()
-                .platformComponents(AndroidPlatformComponents.createFromContext(context))
-                .applicationName(context.getPackageName())
-                .applicationVersion(getPackageVersion(context))
-                .clientId(clientConfig.getClientId())
+                .platformComponents(template.getPlatformComponents())
+                .applicationName(template.getApplicationName())
+                .applicationVersion(template.getApplicationVersion())
+                .clientId(template.getClientId())
                 .isSharedDevice(clientConfig.getIsSharedDevice())
-                .redirectUri(clientConfig.getRedirectUri())
+                .redirectUri(template.getRedirectUri())
                 .oAuth2TokenCache(oAuth2TokenCache)
-                .requiredBrokerProtocolVersion(clientConfig.getRequiredBrokerProtocolVersion())
+                .requiredBrokerProtocolVersion(template.getRequiredBrokerProtocolVersion())
                 .sdkType(SdkType.MSAL)
-                .sdkVersion(PublicClientApplication.getSdkVersion())
-                .powerOptCheckEnabled(clientConfig.isPowerOptCheckForEnabled())
+                .sdkVersion(template.getSdkVersion())
+                .powerOptCheckEnabled(template.isPowerOptCheckEnabled())
                 .homeAccountId(homeAccountId)
                 .popParameters(popParameters)
                 .build();
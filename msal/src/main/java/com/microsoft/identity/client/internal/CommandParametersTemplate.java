@@ -0,0 +1,124 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.internal;
+
+import android.content.Context;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.PublicClientApplication;
+import com.microsoft.identity.client.PublicClientApplicationConfiguration;
+import com.microsoft.identity.common.AndroidPlatformComponents;
+import com.microsoft.identity.common.java.interfaces.IPlatformComponents;
+import com.microsoft.identity.common.logging.Logger;
+
+/**
+ * The request-independent values shared by every {@link com.microsoft.identity.common.java.commands.parameters.CommandParameters}
+ * built for a single {@link PublicClientApplication}, computed once so that building the parameters
+ * of each request does not repeat the platform component setup and the package manager lookup.
+ */
+public final class CommandParametersTemplate {
+
+    private static final String TAG = CommandParametersTemplate.class.getSimpleName();
+
+    private final IPlatformComponents mPlatformComponents;
+    private final String mApplicationName;
+    private final String mApplicationVersion;
+    private final String mClientId;
+    private final String mRedirectUri;
+    private final String mRequiredBrokerProtocolVersion;
+    private final String mSdkVersion;
+    private final Boolean mPowerOptCheckEnabled;
+    private final AuthorityCache mAuthorityCache = new AuthorityCache();
+
+    public CommandParametersTemplate(@NonNull final PublicClientApplicationConfiguration configuration) {
+        final Context context = configuration.getAppContext();
+
+        mPlatformComponents = AndroidPlatformComponents.createFromContext(context);
+        mApplicationName = context.getPackageName();
+        mApplicationVersion = getPackageVersion(context);
+        mClientId = configuration.getClientId();
+        mRedirectUri = configuration.getRedirectUri();
+        mRequiredBrokerProtocolVersion = configuration.getRequiredBrokerProtocolVersion();
+        mSdkVersion = PublicClientApplication.getSdkVersion();
+        mPowerOptCheckEnabled = configuration.isPowerOptCheckForEnabled();
+    }
+
+    @NonNull
+    public IPlatformComponents getPlatformComponents() {
+        return mPlatformComponents;
+    }
+
+    public String getApplicationName() {
+        return mApplicationName;
+    }
+
+    @Nullable
+    public String getApplicationVersion() {
+        return mApplicationVersion;
+    }
+
+    public String getClientId() {
+        return mClientId;
+    }
+
+    public String getRedirectUri() {
+        return mRedirectUri;
+    }
+
+    public String getRequiredBrokerProtocolVersion() {
+        return mRequiredBrokerProtocolVersion;
+    }
+
+    public String getSdkVersion() {
+        return mSdkVersion;
+    }
+
+    public Boolean isPowerOptCheckEnabled() {
+        return mPowerOptCheckEnabled;
+    }
+
+    /**
+     * Gets the cache of authorities parsed from the authority URLs of this application's requests.
+     */
+    @NonNull
+    public AuthorityCache getAuthorityCache() {
+        return mAuthorityCache;
+    }
+
+    @Nullable
+    private static String getPackageVersion(@NonNull final Context context) {
+        final String methodTag = TAG + ":getPackageVersion";
+        final String packageName = context.getPackageName();
+        try {
+            final PackageInfo packageInfo = context.getPackageManager().getPackageInfo(packageName, 0);
+            return packageInfo.versionName;
+        } catch (PackageManager.NameNotFoundException e) {
+            Logger.error(methodTag, "Unable to read the version of package " + packageName, e);
+        }
+        return null;
+    }
+}
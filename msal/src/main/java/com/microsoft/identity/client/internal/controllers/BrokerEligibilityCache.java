@@ -0,0 +1,211 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.internal.controllers;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.common.logging.Logger;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide cache of broker eligibility decisions made by {@link MSALControllerFactory}.
+ * <p>
+ * Computing eligibility queries the AccountManager for authenticators, verifies the signature of
+ * each candidate package and queries the PowerManager, all of which are binder calls. Decisions are
+ * therefore cached, and the cache is invalidated when an authenticator package is removed or
+ * replaced, or when a package is installed while no broker is present.
+ */
+final class BrokerEligibilityCache {
+
+    private static final String TAG = BrokerEligibilityCache.class.getName();
+
+    private final ConcurrentMap<String, Entry> mEntries = new ConcurrentHashMap<>();
+    private final Set<String> mAuthenticatorPackages =
+            Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+    private final AtomicLong mGeneration = new AtomicLong();
+    private final AtomicLong mAvoidedIpcCount = new AtomicLong();
+    private final AtomicBoolean mReceiverRegistered = new AtomicBoolean();
+    private volatile boolean mBrokerInstalled;
+
+    /**
+     * Returns the cached eligibility for the supplied key, or null if it must be computed.
+     */
+    @Nullable
+    Boolean get(@NonNull final String key) {
+        final Entry entry = mEntries.get(key);
+
+        if (null == entry) {
+            return null;
+        }
+
+        mAvoidedIpcCount.addAndGet(entry.mIpcCount);
+        return entry.mEligible;
+    }
+
+    /**
+     * @return A token to hand back to {@link #put(String, boolean, int, long)}, used to discard
+     * decisions computed while the cache was being invalidated.
+     */
+    long getGeneration() {
+        return mGeneration.get();
+    }
+
+    /**
+     * Caches an eligibility decision.
+     *
+     * @param key        The key the decision was computed for.
+     * @param eligible   The decision.
+     * @param ipcCount   The number of binder calls it took to compute the decision.
+     * @param generation The value of {@link #getGeneration()} before the decision was computed.
+     */
+    void put(@NonNull final String key,
+             final boolean eligible,
+             final int ipcCount,
+             final long generation) {
+        if (generation == mGeneration.get()) {
+            mEntries.put(key, new Entry(eligible, ipcCount));
+        }
+    }
+
+    /**
+     * Records the outcome of a scan of the installed authenticators.
+     *
+     * @param brokerInstalled       Whether a trusted broker was found.
+     * @param authenticatorPackages The packages hosting a broker authenticator, trusted or not.
+     */
+    void onBrokerScanned(final boolean brokerInstalled,
+                         @NonNull final Collection<String> authenticatorPackages) {
+        mBrokerInstalled = brokerInstalled;
+        mAuthenticatorPackages.addAll(authenticatorPackages);
+    }
+
+    /**
+     * Registers for package change broadcasts, once per process.
+     *
+     * @return true if the receiver is registered, in which case decisions may be cached.
+     */
+    boolean registerPackageChangeReceiver(@NonNull final Context context) {
+        final String methodTag = TAG + ":registerPackageChangeReceiver";
+
+        if (mReceiverRegistered.get()) {
+            return true;
+        }
+
+        synchronized (mReceiverRegistered) {
+            if (mReceiverRegistered.get()) {
+                return true;
+            }
+
+            final IntentFilter filter = new IntentFilter();
+            filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+            filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+            filter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+            filter.addDataScheme("package");
+
+            try {
+                context.getApplicationContext().registerReceiver(new BroadcastReceiver() {
+                    @Override
+                    public void onReceive(final Context context, final Intent intent) {
+                        final Uri data = intent.getData();
+
+                        onPackageChanged(
+                                intent.getAction(),
+                                null == data ? null : data.getSchemeSpecificPart(),
+                                intent.getBooleanExtra(Intent.EXTRA_REPLACING, false)
+                        );
+                    }
+                }, filter);
+            } catch (final RuntimeException e) {
+                // Without the receiver, cached decisions could go stale.
+                Logger.warn(methodTag, "Unable to register for package changes, broker eligibility will not be cached.");
+                return false;
+            }
+
+            mReceiverRegistered.set(true);
+            return true;
+        }
+    }
+
+    void onPackageChanged(@Nullable final String action,
+                          @Nullable final String packageName,
+                          final boolean replacing) {
+        final String methodTag = TAG + ":onPackageChanged";
+
+        if (Intent.ACTION_PACKAGE_ADDED.equals(action)) {
+            // The AccountManager keeps the first registered authenticator for an account type
+            // active, so a new install can only change the outcome if no broker was present.
+            if (!replacing && !mBrokerInstalled) {
+                Logger.verbose(methodTag, "Package added while no broker is installed.");
+                invalidate();
+            }
+        } else if (Intent.ACTION_PACKAGE_REMOVED.equals(action)
+                || Intent.ACTION_PACKAGE_REPLACED.equals(action)) {
+            if (null != packageName && mAuthenticatorPackages.contains(packageName)) {
+                Logger.verbose(methodTag, "Authenticator package removed or replaced.");
+                invalidate();
+            }
+        }
+    }
+
+    /**
+     * Drops every cached decision.
+     */
+    void invalidate() {
+        mGeneration.incrementAndGet();
+        mEntries.clear();
+        mAuthenticatorPackages.clear();
+        mBrokerInstalled = false;
+    }
+
+    /**
+     * @return The number of binder calls avoided by serving decisions from this cache.
+     */
+    long getAvoidedIpcCount() {
+        return mAvoidedIpcCount.get();
+    }
+
+    private static final class Entry {
+
+        private final boolean mEligible;
+        private final int mIpcCount;
+
+        Entry(final boolean eligible, final int ipcCount) {
+            mEligible = eligible;
+            mIpcCount = ipcCount;
+        }
+    }
+}
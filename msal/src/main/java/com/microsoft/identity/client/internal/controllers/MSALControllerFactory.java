@@ -56,6 +56,8 @@ import static com.microsoft.identity.common.java.AuthenticationConstants.Broker.
 public class MSALControllerFactory {
     private static final String TAG = MSALControllerFactory.class.getName();
 
+    private static final BrokerEligibilityCache sBrokerEligibilityCache = new BrokerEligibilityCache();
+
     /**
      * Returns the appropriate MSAL Controller depending on Authority, App and Device state
      * <p>
@@ -143,18 +145,71 @@ public class MSALControllerFactory {
             return false;
         }
 
+        final String cacheKey = getBrokerEligibilityCacheKey(azureActiveDirectoryAuthority);
+        final Boolean cachedEligibility = sBrokerEligibilityCache.get(cacheKey);
+
+        if (null != cachedEligibility) {
+            Logger.verbose(methodTag, "Eligible to call broker? [" + cachedEligibility + "] (cached).");
+            return cachedEligibility;
+        }
+
+        final long generation = sBrokerEligibilityCache.getGeneration();
+        final BrokerScanResult brokerScan = scanForBroker(applicationContext);
+        int ipcCount = brokerScan.mIpcCount;
+        boolean eligible = false;
+
         // Check if broker installed
-        if (!brokerInstalled(applicationContext)) {
+        if (!brokerScan.mInstalled) {
             Logger.verbose(methodTag, logBrokerEligibleFalse +
                     "Broker application is not installed.");
-            return false;
+        } else {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+                ipcCount++;
+            }
+
+            if (powerOptimizationEnabled(applicationContext)) {
+                Logger.verbose(methodTag, "Is the power optimization enabled? [true]");
+            }
+
+            eligible = true;
         }
 
-        if (powerOptimizationEnabled(applicationContext)) {
-            Logger.verbose(methodTag, "Is the power optimization enabled? [true]");
+        if (sBrokerEligibilityCache.registerPackageChangeReceiver(applicationContext)) {
+            sBrokerEligibilityCache.onBrokerScanned(brokerScan.mInstalled, brokerScan.mAuthenticatorPackages);
+            sBrokerEligibilityCache.put(cacheKey, eligible, ipcCount, generation);
         }
 
-        return true;
+        return eligible;
+    }
+
+    /**
+     * Returns the number of binder calls (AccountManager, PackageManager and PowerManager queries)
+     * avoided by serving broker eligibility decisions from cache.
+     */
+    public static long getAvoidedBrokerIpcCount() {
+        return sBrokerEligibilityCache.getAvoidedIpcCount();
+    }
+
+    /**
+     * Drops every cached broker eligibility decision.
+     */
+    public static void clearBrokerEligibilityCache() {
+        sBrokerEligibilityCache.invalidate();
+    }
+
+    /**
+     * Changes whenever cached broker eligibility decisions are invalidated.
+     */
+    static long getBrokerEligibilityGeneration() {
+        return sBrokerEligibilityCache.getGeneration();
+    }
+
+    private static String getBrokerEligibilityCacheKey(@NonNull final AzureActiveDirectoryAuthority authority) {
+        // Only the authority and audience types affect eligibility; whether debug brokers are
+        // trusted affects the signature check.
+        return authority.getClass().getName()
+                + "|" + authority.getAudience().getClass().getName()
+                + "|" + BrokerValidator.getShouldTrustDebugBrokers();
     }
 
     @TargetApi(Build.VERSION_CODES.M)
@@ -186,18 +241,43 @@ public class MSALControllerFactory {
      * @return
      */
     protected static boolean brokerInstalled(@NonNull final Context applicationContext) {
+        return scanForBroker(applicationContext).mInstalled;
+    }
+
+    private static BrokerScanResult scanForBroker(@NonNull final Context applicationContext) {
         BrokerValidator brokerValidator = new BrokerValidator(applicationContext);
         AccountManager accountManager = AccountManager.get(applicationContext);
+        final List<String> authenticatorPackages = new ArrayList<>();
+        int ipcCount = 1;
 
         //Verify the signature
         AuthenticatorDescription[] authenticators = accountManager.getAuthenticatorTypes();
         for (AuthenticatorDescription authenticator : authenticators) {
-            if (BROKER_ACCOUNT_TYPE.equals(authenticator.type)
-                    && brokerValidator.verifySignature(authenticator.packageName)) {
-                return true;
+            if (BROKER_ACCOUNT_TYPE.equals(authenticator.type)) {
+                authenticatorPackages.add(authenticator.packageName);
+                ipcCount++;
+
+                if (brokerValidator.verifySignature(authenticator.packageName)) {
+                    return new BrokerScanResult(true, authenticatorPackages, ipcCount);
+                }
             }
         }
 
-        return false;
+        return new BrokerScanResult(false, authenticatorPackages, ipcCount);
+    }
+
+    private static final class BrokerScanResult {
+
+        private final boolean mInstalled;
+        private final List<String> mAuthenticatorPackages;
+        private final int mIpcCount;
+
+        BrokerScanResult(final boolean installed,
+                         @NonNull final List<String> authenticatorPackages,
+                         final int ipcCount) {
+            mInstalled = installed;
+            mAuthenticatorPackages = authenticatorPackages;
+            mIpcCount = ipcCount;
+        }
     }
 }
@@ -0,0 +1,140 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.internal.controllers;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.client.PublicClientApplicationConfiguration;
+import com.microsoft.identity.client.exception.MsalClientException;
+import com.microsoft.identity.common.internal.controllers.BrokerMsalController;
+import com.microsoft.identity.common.internal.controllers.LocalMSALController;
+import com.microsoft.identity.common.java.authorities.Authority;
+import com.microsoft.identity.common.java.controllers.BaseController;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-application holder of the controllers handed to commands, so that they are not allocated
+ * for every request. Controller selection follows {@link MSALControllerFactory}.
+ * <p>
+ * The returned lists are immutable and shared between requests. The broker controller is rebuilt
+ * only after the broker eligibility cache has been invalidated by a package change, since the
+ * active broker may have changed.
+ */
+public final class MSALControllerProvider {
+
+    private final Context mApplicationContext;
+    private final PublicClientApplicationConfiguration mApplicationConfiguration;
+    private final LocalMSALController mLocalController = new LocalMSALController();
+    private final List<BaseController> mLocalControllers =
+            Collections.<BaseController>singletonList(mLocalController);
+    private volatile BrokerControllers mBrokerControllers;
+
+    public MSALControllerProvider(@NonNull final Context applicationContext,
+                                  @NonNull final PublicClientApplicationConfiguration applicationConfiguration) {
+        mApplicationContext = applicationContext;
+        mApplicationConfiguration = applicationConfiguration;
+    }
+
+    /**
+     * See {@link MSALControllerFactory#getDefaultController(Context, Authority, PublicClientApplicationConfiguration)}.
+     */
+    @NonNull
+    public BaseController getDefaultController(@NonNull final Authority authority) throws MsalClientException {
+        if (MSALControllerFactory.brokerEligible(mApplicationContext, authority, mApplicationConfiguration)) {
+            return getBrokerControllers().mBrokerController;
+        } else {
+            return mLocalController;
+        }
+    }
+
+    /**
+     * See {@link MSALControllerFactory#getAllControllers(Context, Authority, PublicClientApplicationConfiguration)}.
+     */
+    @NonNull
+    public List<BaseController> getAllControllers(@NonNull final Authority authority) throws MsalClientException {
+        if (MSALControllerFactory.brokerEligible(mApplicationContext, authority, mApplicationConfiguration)) {
+            return getBrokerControllers().mControllers;
+        } else {
+            return mLocalControllers;
+        }
+    }
+
+    /**
+     * See {@link MSALControllerFactory#brokerEligible(Context, Authority, PublicClientApplicationConfiguration)}.
+     */
+    public boolean isBrokerEligible(@NonNull final Authority authority) throws MsalClientException {
+        return MSALControllerFactory.brokerEligible(mApplicationContext, authority, mApplicationConfiguration);
+    }
+
+    /**
+     * @return The controller used for requests which never go through the broker.
+     */
+    @NonNull
+    public LocalMSALController getLocalController() {
+        return mLocalController;
+    }
+
+    @NonNull
+    private BrokerControllers getBrokerControllers() {
+        final long generation = MSALControllerFactory.getBrokerEligibilityGeneration();
+        BrokerControllers brokerControllers = mBrokerControllers;
+
+        if (null == brokerControllers || brokerControllers.mGeneration != generation) {
+            synchronized (this) {
+                brokerControllers = mBrokerControllers;
+
+                if (null == brokerControllers || brokerControllers.mGeneration != generation) {
+                    brokerControllers = new BrokerControllers(
+                            generation,
+                            new BrokerMsalController(mApplicationContext)
+                    );
+                    mBrokerControllers = brokerControllers;
+                }
+            }
+        }
+
+        return brokerControllers;
+    }
+
+    private final class BrokerControllers {
+
+        private final long mGeneration;
+        private final BrokerMsalController mBrokerController;
+        private final List<BaseController> mControllers;
+
+        BrokerControllers(final long generation,
+                          @NonNull final BrokerMsalController brokerController) {
+            mGeneration = generation;
+            mBrokerController = brokerController;
+            // The local controller goes first, see MSALControllerFactory#getAllControllers.
+            mControllers = Collections.unmodifiableList(
+                    Arrays.<BaseController>asList(mLocalController, brokerController)
+            );
+        }
+    }
+}
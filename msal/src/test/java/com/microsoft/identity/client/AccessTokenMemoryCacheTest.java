@@ -0,0 +1,172 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class AccessTokenMemoryCacheTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
+
+    private AccessTokenMemoryCache mCache;
+    private MultiTenantAccount mAccount;
+
+    @Before
+    public void setup() {
+        mCache = new AccessTokenMemoryCache();
+        mAccount = new MultiTenantAccount(null, null);
+        mAccount.setId(UUID.randomUUID().toString());
+        mAccount.setTenantId(UUID.randomUUID().toString());
+    }
+
+    @Test
+    public void testReturnsCachedResultForEquivalentRequest() {
+        final IAuthenticationResult result = createResult(TimeUnit.HOURS.toMillis(1));
+        mCache.put(createParameters(AUTHORITY, Arrays.asList("User.Read", "Mail.Read")), result);
+
+        Assert.assertSame(
+                result,
+                mCache.get(createParameters(AUTHORITY + "/", Arrays.asList("mail.read", "user.read")), AUTHORITY)
+        );
+    }
+
+    @Test
+    public void testFallsBackToDefaultAuthority() {
+        final IAuthenticationResult result = createResult(TimeUnit.HOURS.toMillis(1));
+        mCache.put(createParameters(AUTHORITY, Arrays.asList("User.Read")), result);
+
+        Assert.assertSame(result, mCache.get(createParameters(null, Arrays.asList("User.Read")), AUTHORITY));
+    }
+
+    @Test
+    public void testDoesNotReturnResultForDifferentScopes() {
+        mCache.put(createParameters(AUTHORITY, Arrays.asList("User.Read")), createResult(TimeUnit.HOURS.toMillis(1)));
+
+        Assert.assertNull(mCache.get(createParameters(AUTHORITY, Arrays.asList("Mail.Read")), AUTHORITY));
+    }
+
+    @Test
+    public void testDoesNotCacheResultsCloseToExpiry() {
+        mCache.put(
+                createParameters(AUTHORITY, Arrays.asList("User.Read")),
+                createResult(AccessTokenMemoryCache.EXPIRY_BUFFER_MILLIS / 2)
+        );
+
+        Assert.assertEquals(0, mCache.size());
+    }
+
+    @Test
+    public void testBypassesCacheOnForceRefresh() {
+        mCache.put(createParameters(AUTHORITY, Arrays.asList("User.Read")), createResult(TimeUnit.HOURS.toMillis(1)));
+
+        final AcquireTokenSilentParameters parameters = createParameters(AUTHORITY, Arrays.asList("User.Read"));
+        parameters.setForceRefresh(true);
+
+        Assert.assertNull(mCache.get(parameters, AUTHORITY));
+    }
+
+    @Test
+    public void testClearRemovesAllEntries() {
+        mCache.put(createParameters(AUTHORITY, Arrays.asList("User.Read")), createResult(TimeUnit.HOURS.toMillis(1)));
+        mCache.clear();
+
+        Assert.assertNull(mCache.get(createParameters(AUTHORITY, Arrays.asList("User.Read")), AUTHORITY));
+    }
+
+    private AcquireTokenSilentParameters createParameters(@Nullable final String authority,
+                                                          @NonNull final List<String> scopes) {
+        return new AcquireTokenSilentParameters.Builder()
+                .forAccount(mAccount)
+                .fromAuthority(authority)
+                .withScopes(scopes)
+                .build();
+    }
+
+    private IAuthenticationResult createResult(final long expiresInMillis) {
+        final Date expiresOn = new Date(System.currentTimeMillis() + expiresInMillis);
+
+        return new IAuthenticationResult() {
+            @NonNull
+            @Override
+            public String getAccessToken() {
+                return "access_token";
+            }
+
+            @NonNull
+            @Override
+            public String getAuthorizationHeader() {
+                return "Bearer access_token";
+            }
+
+            @NonNull
+            @Override
+            public String getAuthenticationScheme() {
+                return "Bearer";
+            }
+
+            @NonNull
+            @Override
+            public Date getExpiresOn() {
+                return expiresOn;
+            }
+
+            @Nullable
+            @Override
+            public String getTenantId() {
+                return mAccount.getTenantId();
+            }
+
+            @NonNull
+            @Override
+            public IAccount getAccount() {
+                return mAccount;
+            }
+
+            @NonNull
+            @Override
+            public String[] getScope() {
+                return new String[]{"User.Read"};
+            }
+
+            @Nullable
+            @Override
+            public UUID getCorrelationId() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,247 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.google.gson.Gson;
+import com.microsoft.identity.client.configuration.TokenRefreshConfiguration;
+import com.microsoft.identity.client.exception.MsalClientException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class AccessTokenRefreshSchedulerTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
+    private static final long LIFETIME_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final long MAX_JITTER_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long CLOCK_TOLERANCE_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final List<AcquireTokenSilentParameters> mRequests =
+            Collections.synchronizedList(new ArrayList<AcquireTokenSilentParameters>());
+
+    private ScheduledExecutorService mExecutor;
+    private ScheduledFuture<?> mFuture;
+    private AccessTokenRefreshScheduler mScheduler;
+
+    @Before
+    public void setup() {
+        mExecutor = Mockito.mock(ScheduledExecutorService.class);
+        mFuture = Mockito.mock(ScheduledFuture.class);
+        Mockito.doReturn(mFuture).when(mExecutor).schedule(
+                Mockito.any(Runnable.class),
+                Mockito.anyLong(),
+                Mockito.any(TimeUnit.class)
+        );
+
+        mScheduler = new AccessTokenRefreshScheduler(
+                new AccessTokenRefreshScheduler.RefreshRequester() {
+                    @Override
+                    public void acquireTokenSilentAsync(@NonNull final AcquireTokenSilentParameters parameters) {
+                        mRequests.add(parameters);
+                    }
+                },
+                new Gson().fromJson(
+                        "{\"refresh_ahead_enabled\": true, "
+                                + "\"refresh_ahead_lifetime_fraction\": 0.75, "
+                                + "\"refresh_ahead_max_jitter_millis\": " + MAX_JITTER_MILLIS + ", "
+                                + "\"refresh_ahead_max_concurrent_refreshes\": 1}",
+                        TokenRefreshConfiguration.class
+                ),
+                mExecutor,
+                new Random(42)
+        );
+    }
+
+    @Test
+    public void testRefreshIsScheduledWithinJitterOfLifetimeFraction() {
+        final long before = System.currentTimeMillis();
+        mScheduler.schedule(silentParameters("scope1"), result());
+
+        final long delay = captureDelays(1).get(0);
+        final long refreshAt = (long) (LIFETIME_MILLIS * 0.75);
+
+        Assert.assertTrue(delay <= refreshAt);
+        Assert.assertTrue(delay >= refreshAt - MAX_JITTER_MILLIS - CLOCK_TOLERANCE_MILLIS - (System.currentTimeMillis() - before));
+        Assert.assertEquals(1, mScheduler.getScheduledRefreshCount());
+    }
+
+    @Test
+    public void testRefreshRequestsTheSameTokenWithForceRefresh() {
+        mScheduler.schedule(silentParameters("scope1"), result());
+        captureRunnables(1).get(0).run();
+
+        Assert.assertEquals(1, mRequests.size());
+
+        final AcquireTokenSilentParameters request = mRequests.get(0);
+        Assert.assertTrue(request.getForceRefresh());
+        Assert.assertEquals(AUTHORITY, request.getAuthority());
+        Assert.assertEquals(Collections.singletonList("scope1"), request.getScopes());
+    }
+
+    @Test
+    public void testRefreshesOverTheConcurrencyCapAreDeferred() {
+        mScheduler.schedule(silentParameters("scope1"), result());
+        mScheduler.schedule(silentParameters("scope2"), result());
+
+        final List<Runnable> runnables = captureRunnables(2);
+        runnables.get(0).run();
+        runnables.get(1).run();
+
+        // Only one refresh may be in flight; the second one is rescheduled.
+        Assert.assertEquals(1, mRequests.size());
+
+        final List<Long> delays = captureDelays(3);
+        Assert.assertTrue(delays.get(2) >= AccessTokenRefreshScheduler.DEFERRED_REFRESH_DELAY_MILLIS);
+        Assert.assertTrue(delays.get(2) <= AccessTokenRefreshScheduler.DEFERRED_REFRESH_DELAY_MILLIS + MAX_JITTER_MILLIS);
+
+        // Completing the first refresh frees the permit for the deferred one.
+        mRequests.get(0).getCallback().onError(new MsalClientException("test"));
+        captureRunnables(3).get(2).run();
+
+        Assert.assertEquals(2, mRequests.size());
+    }
+
+    @Test
+    public void testCompletedRefreshIsNotScheduledAgain() {
+        mScheduler.schedule(silentParameters("scope1"), result());
+        captureRunnables(1).get(0).run();
+
+        // The application posts the refreshed result before notifying the refresh callback.
+        final AcquireTokenSilentParameters request = mRequests.get(0);
+        mScheduler.schedule(request, result());
+        request.getCallback().onSuccess(result());
+
+        Mockito.verify(mExecutor, Mockito.times(1)).schedule(
+                Mockito.any(Runnable.class),
+                Mockito.anyLong(),
+                Mockito.any(TimeUnit.class)
+        );
+        Assert.assertEquals(0, mScheduler.getScheduledRefreshCount());
+    }
+
+    @Test
+    public void testInteractiveResultsAreNotScheduled() {
+        mScheduler.schedule(
+                new AcquireTokenParameters.Builder()
+                        .fromAuthority(AUTHORITY)
+                        .withScopes(Collections.singletonList("scope1"))
+                        .build(),
+                result()
+        );
+
+        Mockito.verify(mExecutor, Mockito.never()).schedule(
+                Mockito.any(Runnable.class),
+                Mockito.anyLong(),
+                Mockito.any(TimeUnit.class)
+        );
+        Assert.assertEquals(0, mScheduler.getScheduledRefreshCount());
+    }
+
+    @Test
+    public void testRescheduleReplacesThePreviousRefresh() {
+        mScheduler.schedule(silentParameters("scope1"), result());
+        mScheduler.schedule(silentParameters("SCOPE1"), result());
+
+        Mockito.verify(mFuture).cancel(false);
+        Assert.assertEquals(1, mScheduler.getScheduledRefreshCount());
+    }
+
+    @Test
+    public void testCancelAll() {
+        mScheduler.schedule(silentParameters("scope1"), result());
+        mScheduler.schedule(silentParameters("scope2"), result());
+        final List<Runnable> runnables = captureRunnables(2);
+
+        mScheduler.cancelAll();
+
+        Mockito.verify(mFuture, Mockito.times(2)).cancel(false);
+        Assert.assertEquals(0, mScheduler.getScheduledRefreshCount());
+
+        // A refresh already handed to the executor does nothing once cancelled.
+        runnables.get(0).run();
+        Assert.assertTrue(mRequests.isEmpty());
+    }
+
+    private List<Long> captureDelays(final int count) {
+        final ArrayList<Long> delays = new ArrayList<>();
+        final ArgumentCaptor<Long> captor = ArgumentCaptor.forClass(Long.class);
+        Mockito.verify(mExecutor, Mockito.times(count)).schedule(
+                Mockito.any(Runnable.class),
+                captor.capture(),
+                Mockito.eq(TimeUnit.MILLISECONDS)
+        );
+        delays.addAll(captor.getAllValues());
+        return delays;
+    }
+
+    private List<Runnable> captureRunnables(final int count) {
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(mExecutor, Mockito.times(count)).schedule(
+                captor.capture(),
+                Mockito.anyLong(),
+                Mockito.any(TimeUnit.class)
+        );
+        return captor.getAllValues();
+    }
+
+    private static AcquireTokenSilentParameters silentParameters(@NonNull final String... scopes) {
+        return new AcquireTokenSilentParameters.Builder()
+                .forAccount(account())
+                .fromAuthority(AUTHORITY)
+                .withScopes(Arrays.asList(scopes))
+                .withCallback(Mockito.mock(SilentAuthenticationCallback.class))
+                .build();
+    }
+
+    private static IAuthenticationResult result() {
+        final IAuthenticationResult result = Mockito.mock(IAuthenticationResult.class);
+        Mockito.when(result.getExpiresOn()).thenReturn(new Date(System.currentTimeMillis() + LIFETIME_MILLIS));
+        Mockito.when(result.getAccount()).thenReturn(account());
+        return result;
+    }
+
+    private static Account account() {
+        final Account account = new Account(null, null);
+        account.setId("uid");
+        account.setTenantId("utid");
+        return account;
+    }
+}
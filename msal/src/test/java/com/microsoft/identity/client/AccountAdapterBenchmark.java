@@ -0,0 +1,276 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+import com.microsoft.identity.common.java.exception.ServiceException;
+import com.microsoft.identity.common.java.providers.oauth2.IDToken;
+import com.microsoft.identity.common.java.util.StringUtil;
+
+import org.junit.Assert;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static com.microsoft.identity.client.CacheRecordTestHelper.createCacheRecord;
+
+/**
+ * Benchmark of {@link AccountAdapter#adapt}, comparing the single pass grouping by home account id
+ * against the previous implementation, which filtered the records several times and matched every
+ * guest record against every home account.
+ * <p>
+ * Timings are printed rather than asserted, since they depend on the machine running the
+ * benchmark; only the equivalence of the produced accounts is asserted. It is kept out of the
+ * unit-test run; remove the {@link Ignore} to run it.
+ */
+@Ignore("Benchmark, run manually")
+@RunWith(RobolectricTestRunner.class)
+public class AccountAdapterBenchmark {
+
+    private static final int RECORD_COUNT = 10000;
+
+    /**
+     * Each home account is signed into this many guest tenants.
+     */
+    private static final int GUESTS_PER_HOME_ACCOUNT = 2;
+
+    /**
+     * Each account which is not signed into its home tenant is signed into this many guest tenants.
+     */
+    private static final int GUESTS_PER_ROOTLESS_ACCOUNT = 4;
+
+    @Test
+    public void benchmarkAdapt() {
+        // Warm up both implementations on a smaller cache
+        final List<ICacheRecord> warmupRecords = createCacheRecords(1000);
+        AccountAdapter.adapt(warmupRecords);
+        LegacyAccountAdapter.adapt(warmupRecords);
+
+        final List<ICacheRecord> cacheRecords = createCacheRecords(RECORD_COUNT);
+
+        long start = System.nanoTime();
+        final List<IAccount> legacyAccounts = LegacyAccountAdapter.adapt(cacheRecords);
+        final long legacyNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        final List<IAccount> accounts = AccountAdapter.adapt(cacheRecords);
+        final long nanos = System.nanoTime() - start;
+
+        Assert.assertEquals(legacyAccounts.size(), accounts.size());
+        Assert.assertEquals(describe(legacyAccounts), describe(accounts));
+
+        System.out.println("adapt " + cacheRecords.size() + " records, legacy:      " + legacyNanos / 1000000 + " ms");
+        System.out.println("adapt " + cacheRecords.size() + " records, single pass: " + nanos / 1000000 + " ms");
+    }
+
+    /**
+     * Creates (about) the requested number of records, with a third of them belonging to accounts
+     * signed into their home tenant and the rest to accounts which are not.
+     */
+    private static List<ICacheRecord> createCacheRecords(final int count) {
+        final List<ICacheRecord> cacheRecords = new ArrayList<>(count);
+        final int homeAccountCount = count / 3 / (GUESTS_PER_HOME_ACCOUNT + 1);
+
+        for (int i = 0; i < homeAccountCount; i++) {
+            final String uid = UUID.randomUUID().toString();
+            final String utid = UUID.randomUUID().toString();
+            cacheRecords.add(createCacheRecord(uid, utid, uid, utid));
+
+            for (int j = 0; j < GUESTS_PER_HOME_ACCOUNT; j++) {
+                cacheRecords.add(createCacheRecord(
+                        uid,
+                        utid,
+                        UUID.randomUUID().toString(),
+                        "guest-tenant-" + j
+                ));
+            }
+        }
+
+        while (cacheRecords.size() < count) {
+            final String uid = UUID.randomUUID().toString();
+            final String utid = UUID.randomUUID().toString();
+
+            for (int j = 0; j < GUESTS_PER_ROOTLESS_ACCOUNT; j++) {
+                cacheRecords.add(createCacheRecord(
+                        uid,
+                        utid,
+                        UUID.randomUUID().toString(),
+                        "guest-tenant-" + j
+                ));
+            }
+        }
+
+        return cacheRecords;
+    }
+
+    /**
+     * @return For each account, keyed by its id and home tenant id, the tenants it has profiles for.
+     */
+    private static Map<String, Set<String>> describe(@NonNull final List<IAccount> accounts) {
+        final Map<String, Set<String>> result = new HashMap<>();
+
+        for (final IAccount account : accounts) {
+            final MultiTenantAccount multiTenantAccount = (MultiTenantAccount) account;
+            result.put(
+                    multiTenantAccount.getId() + "." + multiTenantAccount.getTenantId(),
+                    new TreeSet<>(multiTenantAccount.getTenantProfiles().keySet())
+            );
+        }
+
+        return result;
+    }
+
+    /**
+     * The implementation of {@link AccountAdapter#adapt} prior to grouping records by home account
+     * id, kept as the baseline of the benchmark.
+     */
+    private static final class LegacyAccountAdapter {
+
+        static List<IAccount> adapt(@NonNull final List<ICacheRecord> allCacheRecords) {
+            final List<ICacheRecord> homeCacheRecords = filterHomeRecords(allCacheRecords);
+            final List<ICacheRecord> guestCacheRecords = filterGuestRecords(allCacheRecords);
+            final List<ICacheRecord> guestCacheRecordsWithNoHomeAccount = new ArrayList<>();
+
+            final List<ICacheRecord> homeRecords = filterHomeRecords(allCacheRecords);
+
+            for (final ICacheRecord guestRecord : filterGuestRecords(allCacheRecords)) {
+                final List<String> homeAccountIds = new ArrayList<>();
+
+                for (final ICacheRecord homeRecord : homeRecords) {
+                    homeAccountIds.add(homeRecord.getAccount().getHomeAccountId());
+                }
+
+                if (!homeAccountIds.contains(guestRecord.getAccount().getHomeAccountId())) {
+                    guestCacheRecordsWithNoHomeAccount.add(guestRecord);
+                }
+            }
+
+            guestCacheRecords.removeAll(guestCacheRecordsWithNoHomeAccount);
+
+            final List<IAccount> rootAccounts = new ArrayList<>();
+
+            for (final ICacheRecord homeCacheRecord : homeCacheRecords) {
+                final MultiTenantAccount rootAccount = new MultiTenantAccount(
+                        homeCacheRecord.getAccount().getClientInfo(),
+                        getIdToken(homeCacheRecord)
+                );
+                rootAccount.setHomeAccountId(homeCacheRecord.getAccount().getHomeAccountId());
+                rootAccount.setTenantId(
+                        StringUtil.getTenantInfo(homeCacheRecord.getAccount().getHomeAccountId()).getValue()
+                );
+                rootAccount.setEnvironment(homeCacheRecord.getAccount().getEnvironment());
+                rootAccounts.add(rootAccount);
+            }
+
+            for (final IAccount account : rootAccounts) {
+                final Map<String, ITenantProfile> tenantProfiles = new HashMap<>();
+
+                for (final ICacheRecord guestRecord : guestCacheRecords) {
+                    if (guestRecord.getAccount().getHomeAccountId().contains(account.getId())) {
+                        final TenantProfile profile = new TenantProfile(null, getIdToken(guestRecord));
+                        profile.setEnvironment(guestRecord.getAccount().getEnvironment());
+                        tenantProfiles.put(guestRecord.getAccount().getRealm(), profile);
+                    }
+                }
+
+                ((MultiTenantAccount) account).setTenantProfiles(tenantProfiles);
+            }
+
+            final Map<String, List<ICacheRecord>> bucketedRecords = new HashMap<>();
+
+            for (final ICacheRecord cacheRecord : guestCacheRecordsWithNoHomeAccount) {
+                final String homeAccountId = cacheRecord.getAccount().getHomeAccountId();
+
+                if (null == bucketedRecords.get(homeAccountId)) {
+                    bucketedRecords.put(homeAccountId, new ArrayList<ICacheRecord>());
+                }
+
+                bucketedRecords.get(homeAccountId).add(cacheRecord);
+            }
+
+            for (final Map.Entry<String, List<ICacheRecord>> entry : bucketedRecords.entrySet()) {
+                final MultiTenantAccount emptyRoot = new MultiTenantAccount(null, null);
+                emptyRoot.setId(StringUtil.getTenantInfo(entry.getKey()).getKey());
+                emptyRoot.setTenantId(StringUtil.getTenantInfo(entry.getKey()).getValue());
+                emptyRoot.setEnvironment(entry.getValue().get(0).getAccount().getEnvironment());
+
+                final Map<String, ITenantProfile> tenantProfileMap = new HashMap<>();
+
+                for (final ICacheRecord cacheRecord : entry.getValue()) {
+                    tenantProfileMap.put(
+                            cacheRecord.getAccount().getRealm(),
+                            new TenantProfile(null, getIdToken(cacheRecord))
+                    );
+                }
+
+                emptyRoot.setTenantProfiles(tenantProfileMap);
+                rootAccounts.add(emptyRoot);
+            }
+
+            return rootAccounts;
+        }
+
+        private static List<ICacheRecord> filterHomeRecords(@NonNull final List<ICacheRecord> records) {
+            final List<ICacheRecord> result = new ArrayList<>();
+
+            for (final ICacheRecord cacheRecord : records) {
+                if (cacheRecord.getAccount().getHomeAccountId().contains(cacheRecord.getAccount().getLocalAccountId())) {
+                    result.add(cacheRecord);
+                }
+            }
+
+            return result;
+        }
+
+        private static List<ICacheRecord> filterGuestRecords(@NonNull final List<ICacheRecord> records) {
+            final List<ICacheRecord> result = new ArrayList<>();
+
+            for (final ICacheRecord cacheRecord : records) {
+                if (!cacheRecord.getAccount().getHomeAccountId().contains(cacheRecord.getAccount().getLocalAccountId())) {
+                    result.add(cacheRecord);
+                }
+            }
+
+            return result;
+        }
+
+        private static IDToken getIdToken(@NonNull final ICacheRecord cacheRecord) {
+            try {
+                return new IDToken(cacheRecord.getIdToken().getSecret());
+            } catch (final ServiceException e) {
+                throw new IllegalStateException("Failed to restore IdToken", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,156 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static com.microsoft.identity.client.CacheRecordTestHelper.createCacheRecord;
+
+@RunWith(RobolectricTestRunner.class)
+public class AccountAdapterTest {
+
+    /**
+     * Each home account is signed into this many guest tenants.
+     */
+    private static final int GUESTS_PER_HOME_ACCOUNT = 2;
+
+    /**
+     * Each account which is not signed into its home tenant is signed into this many guest tenants.
+     */
+    private static final int GUESTS_PER_ROOTLESS_ACCOUNT = 4;
+
+    @Test
+    public void testAdaptBuildsOneAccountPerHomeAccountIdWithAllOfItsProfiles() {
+        final Map<String, Set<String>> expected = new HashMap<>();
+        final List<ICacheRecord> cacheRecords = createCacheRecords(3, 3, expected);
+
+        // The records of an account are not necessarily adjacent in the cache
+        Collections.shuffle(cacheRecords);
+
+        final List<IAccount> accounts = AccountAdapter.adapt(cacheRecords);
+
+        Assert.assertEquals(6, accounts.size());
+        Assert.assertEquals(expected, describe(accounts));
+    }
+
+    @Test
+    public void testGuestRecordsAreGroupedUnderTheirHomeAccount() {
+        final List<ICacheRecord> cacheRecords = new ArrayList<>();
+        final String homeUid = UUID.randomUUID().toString();
+        final String rootlessUid = UUID.randomUUID().toString();
+
+        cacheRecords.add(createCacheRecord(homeUid, "home-tenant", homeUid, "home-tenant"));
+        cacheRecords.add(createCacheRecord(homeUid, "home-tenant", "guest-oid-1", "guest-tenant-1"));
+        cacheRecords.add(createCacheRecord(rootlessUid, "other-tenant", "guest-oid-2", "guest-tenant-1"));
+        cacheRecords.add(createCacheRecord(homeUid, "home-tenant", "guest-oid-3", "guest-tenant-2"));
+        cacheRecords.add(createCacheRecord(rootlessUid, "other-tenant", "guest-oid-4", "guest-tenant-2"));
+
+        final List<IAccount> accounts = AccountAdapter.adapt(cacheRecords);
+
+        Assert.assertEquals(2, accounts.size());
+
+        final MultiTenantAccount homeAccount = (MultiTenantAccount) accounts.get(0);
+        Assert.assertEquals(homeUid, homeAccount.getId());
+        Assert.assertEquals("home-tenant", homeAccount.getTenantId());
+        Assert.assertEquals(
+                new TreeSet<>(Arrays.asList("guest-tenant-1", "guest-tenant-2")),
+                new TreeSet<>(homeAccount.getTenantProfiles().keySet())
+        );
+
+        final MultiTenantAccount rootlessAccount = (MultiTenantAccount) accounts.get(1);
+        Assert.assertEquals(rootlessUid, rootlessAccount.getId());
+        Assert.assertEquals("other-tenant", rootlessAccount.getTenantId());
+        Assert.assertEquals(2, rootlessAccount.getTenantProfiles().size());
+    }
+
+    /**
+     * Creates the records of the requested numbers of accounts signed into their home tenant and
+     * of accounts which are not, recording for each account the tenants it has profiles for.
+     */
+    private static List<ICacheRecord> createCacheRecords(final int homeAccountCount,
+                                                         final int rootlessAccountCount,
+                                                         @NonNull final Map<String, Set<String>> expected) {
+        final List<ICacheRecord> cacheRecords = new ArrayList<>();
+
+        for (int i = 0; i < homeAccountCount + rootlessAccountCount; i++) {
+            final boolean isHomeAccount = i < homeAccountCount;
+            final String uid = UUID.randomUUID().toString();
+            final String utid = UUID.randomUUID().toString();
+            final Set<String> tenants = new TreeSet<>();
+
+            if (isHomeAccount) {
+                cacheRecords.add(createCacheRecord(uid, utid, uid, utid));
+            }
+
+            final int guestCount = isHomeAccount ? GUESTS_PER_HOME_ACCOUNT : GUESTS_PER_ROOTLESS_ACCOUNT;
+
+            for (int j = 0; j < guestCount; j++) {
+                cacheRecords.add(createCacheRecord(
+                        uid,
+                        utid,
+                        UUID.randomUUID().toString(),
+                        "guest-tenant-" + j
+                ));
+                tenants.add("guest-tenant-" + j);
+            }
+
+            expected.put(uid + "." + utid, tenants);
+        }
+
+        return cacheRecords;
+    }
+
+    /**
+     * @return For each account, keyed by its id and home tenant id, the tenants it has profiles for.
+     */
+    private static Map<String, Set<String>> describe(@NonNull final List<IAccount> accounts) {
+        final Map<String, Set<String>> result = new HashMap<>();
+
+        for (final IAccount account : accounts) {
+            final MultiTenantAccount multiTenantAccount = (MultiTenantAccount) account;
+            result.put(
+                    multiTenantAccount.getId() + "." + multiTenantAccount.getTenantId(),
+                    new TreeSet<>(multiTenantAccount.getTenantProfiles().keySet())
+            );
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,212 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static com.microsoft.identity.client.CacheRecordTestHelper.createCacheRecord;
+import static com.microsoft.identity.internal.testutils.mocks.MockTokenCreator.MOCK_PREFERRED_USERNAME_VALUE;
+
+@RunWith(RobolectricTestRunner.class)
+public class AccountIndexTest {
+
+    private static final String HOME_UID = "home-uid";
+    private static final String HOME_UTID = "home-utid";
+    private static final String OTHER_UID = "other-uid";
+    private static final String OTHER_UTID = "other-utid";
+
+    private AccountIndex mAccountIndex;
+    private PublicClientApplication.AccountMatcher mFallbackMatcher;
+    private List<IAccount> mAccounts;
+
+    @Before
+    public void setup() {
+        mAccountIndex = new AccountIndex();
+        mFallbackMatcher = Mockito.mock(PublicClientApplication.AccountMatcher.class);
+
+        final List<ICacheRecord> cacheRecords = new ArrayList<>();
+        cacheRecords.add(createCacheRecord(HOME_UID, HOME_UTID, HOME_UID, HOME_UTID));
+        cacheRecords.add(createCacheRecord(HOME_UID, HOME_UTID, "guest-oid", "guest-tenant"));
+        cacheRecords.add(createCacheRecord(OTHER_UID, OTHER_UTID, "other-guest-oid", "guest-tenant"));
+        mAccounts = AccountAdapter.adapt(cacheRecords);
+    }
+
+    @Test
+    public void testLookupIsNullUntilLoaded() {
+        Assert.assertFalse(mAccountIndex.isLoaded());
+        Assert.assertNull(mAccountIndex.find(HOME_UID + "." + HOME_UTID, mFallbackMatcher));
+
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+
+        Assert.assertTrue(mAccountIndex.isLoaded());
+        Assert.assertEquals(2, mAccountIndex.size());
+    }
+
+    @Test
+    public void testFindByHomeAccountId() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+
+        Assert.assertSame(mAccounts.get(0), find(HOME_UID + "." + HOME_UTID));
+        Assert.assertSame(mAccounts.get(1), find(OTHER_UID + "." + OTHER_UTID));
+    }
+
+    @Test
+    public void testFindByLocalAccountIdOfHomeAccountAndTenantProfiles() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+
+        Assert.assertSame(mAccounts.get(0), find(HOME_UID));
+        Assert.assertSame(mAccounts.get(1), find(OTHER_UID));
+
+        // Every mock id token carries the same object id, the first account wins
+        Assert.assertSame(mAccounts.get(0), find(getTenantProfileId()));
+    }
+
+    @Test
+    public void testFindByUsernameIgnoresCase() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+
+        // Every mock id token carries the same username, the first account wins
+        Assert.assertSame(mAccounts.get(0), find(MOCK_PREFERRED_USERNAME_VALUE.toUpperCase(Locale.ROOT)));
+    }
+
+    @Test
+    public void testUnindexedIdentifierFallsBackToMatcher() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+
+        Assert.assertNull(find("unknown"));
+
+        Mockito.doReturn(true).when(mFallbackMatcher).matches("unknown", mAccounts.get(1));
+        Assert.assertSame(mAccounts.get(1), find("unknown"));
+    }
+
+    @Test
+    public void testLoadIsDiscardedIfIndexModifiedMeanwhile() {
+        final long version = mAccountIndex.getVersion();
+        mAccountIndex.put(mAccounts.get(0));
+        mAccountIndex.load(mAccounts, version);
+
+        Assert.assertFalse(mAccountIndex.isLoaded());
+        Assert.assertNull(mAccountIndex.find(HOME_UID, mFallbackMatcher));
+    }
+
+    @Test
+    public void testRemoveDropsEveryEntryOfAccount() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+        mAccountIndex.remove(mAccounts.get(0));
+
+        Assert.assertEquals(1, mAccountIndex.size());
+        Assert.assertNull(find(HOME_UID + "." + HOME_UTID));
+        Assert.assertNull(find(HOME_UID));
+
+        // Keys shared with the removed account now resolve to the remaining account
+        Assert.assertSame(mAccounts.get(1), find(getTenantProfileId()));
+        Assert.assertSame(mAccounts.get(1), find(MOCK_PREFERRED_USERNAME_VALUE));
+    }
+
+    @Test
+    public void testPutReplacesAccount() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+
+        final IAccount signedInAgain = AccountAdapter.adapt(Collections.singletonList(
+                createCacheRecord(HOME_UID, HOME_UTID, HOME_UID, HOME_UTID)
+        )).get(0);
+        mAccountIndex.put(signedInAgain);
+
+        Assert.assertEquals(2, mAccountIndex.size());
+        Assert.assertSame(signedInAgain, find(HOME_UID + "." + HOME_UTID));
+        Assert.assertSame(signedInAgain, find(HOME_UID));
+
+        // The guest profile is gone with the replaced account
+        Assert.assertSame(mAccounts.get(1), find(getTenantProfileId()));
+    }
+
+    @Test
+    public void testSnapshotIsSharedUntilModified() {
+        Assert.assertNull(mAccountIndex.getAccounts());
+
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+        final long version = mAccountIndex.getVersion();
+        final List<IAccount> snapshot = mAccountIndex.getAccounts();
+
+        Assert.assertEquals(mAccounts, snapshot);
+        Assert.assertSame(snapshot, mAccountIndex.getAccounts());
+        Assert.assertEquals(version, mAccountIndex.getVersion());
+
+        mAccountIndex.remove(mAccounts.get(1));
+
+        Assert.assertTrue(mAccountIndex.getVersion() > version);
+        Assert.assertEquals(Collections.singletonList(mAccounts.get(0)), mAccountIndex.getAccounts());
+        Assert.assertEquals(2, snapshot.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSnapshotIsImmutable() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+        mAccountIndex.getAccounts().clear();
+    }
+
+    @Test
+    public void testInvalidateUnloadsIndex() {
+        mAccountIndex.load(mAccounts, mAccountIndex.getVersion());
+        mAccountIndex.invalidate();
+
+        Assert.assertFalse(mAccountIndex.isLoaded());
+        Assert.assertEquals(0, mAccountIndex.size());
+    }
+
+    @Test
+    public void testIndexIsSharedPerClientId() {
+        final AccountIndex index = AccountIndex.get("client-id");
+
+        Assert.assertSame(index, AccountIndex.get("client-id"));
+        Assert.assertNotSame(index, AccountIndex.get("other-client-id"));
+
+        index.load(mAccounts, index.getVersion());
+        AccountIndex.invalidateAll();
+
+        Assert.assertFalse(index.isLoaded());
+    }
+
+    private String getTenantProfileId() {
+        return ((MultiTenantAccount) mAccounts.get(0)).getTenantProfiles().get("guest-tenant").getId();
+    }
+
+    private IAccount find(@NonNull final String identifier) {
+        Assert.assertTrue(mAccountIndex.isLoaded());
+        return mAccountIndex.find(identifier, mFallbackMatcher);
+    }
+}
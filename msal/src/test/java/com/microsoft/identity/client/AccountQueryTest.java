@@ -0,0 +1,212 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.microsoft.identity.client.CacheRecordTestHelper.createCacheRecord;
+
+@RunWith(RobolectricTestRunner.class)
+public class AccountQueryTest {
+
+    private static final String ENVIRONMENT = "login.microsoftonline.com";
+    private static final String OTHER_ENVIRONMENT = "login.microsoftonline.us";
+
+    @Test
+    public void testQueryWithoutFiltersReturnsEveryAccount() {
+        final List<ICacheRecord> cacheRecords = createCacheRecords();
+
+        final AccountQueryResult result = AccountAdapter.query(
+                cacheRecords,
+                AccountQueryParameters.builder().build()
+        );
+
+        Assert.assertEquals(AccountAdapter.adapt(cacheRecords).size(), result.getAccounts().size());
+        Assert.assertFalse(result.hasMore());
+        Assert.assertNull(result.getNextCursor());
+    }
+
+    @Test
+    public void testQueryFiltersByTenantId() {
+        final AccountQueryResult result = AccountAdapter.query(
+                createCacheRecords(),
+                AccountQueryParameters.builder().withTenantId("GUEST-TENANT").build()
+        );
+
+        // Both accounts with a profile in the guest tenant match, with all of their profiles
+        Assert.assertEquals(2, result.getAccounts().size());
+        Assert.assertEquals("uid-1", result.getAccounts().get(0).getId());
+        Assert.assertEquals(1, ((MultiTenantAccount) result.getAccounts().get(0)).getTenantProfiles().size());
+        Assert.assertEquals("uid-3", result.getAccounts().get(1).getId());
+    }
+
+    @Test
+    public void testQueryFiltersByEnvironmentAndAuthorityType() {
+        AccountQueryResult result = AccountAdapter.query(
+                createCacheRecords(),
+                AccountQueryParameters.builder().withEnvironment(OTHER_ENVIRONMENT).build()
+        );
+
+        Assert.assertEquals(1, result.getAccounts().size());
+        Assert.assertEquals("uid-2", result.getAccounts().get(0).getId());
+
+        result = AccountAdapter.query(
+                createCacheRecords(),
+                AccountQueryParameters.builder()
+                        .withEnvironment(ENVIRONMENT)
+                        .withAuthorityType("AAD")
+                        .build()
+        );
+
+        Assert.assertEquals(1, result.getAccounts().size());
+        Assert.assertEquals("uid-4", result.getAccounts().get(0).getId());
+    }
+
+    @Test
+    public void testQueryFiltersByUsernamePrefix() {
+        final AccountQueryResult result = AccountAdapter.query(
+                createCacheRecords(),
+                AccountQueryParameters.builder().withUsernamePrefix("ALICE").build()
+        );
+
+        Assert.assertEquals(1, result.getAccounts().size());
+        Assert.assertEquals("uid-1", result.getAccounts().get(0).getId());
+    }
+
+    @Test
+    public void testQueryPagesThroughMatchingAccounts() {
+        final List<ICacheRecord> cacheRecords = createCacheRecords();
+        final List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            final AccountQueryResult result = AccountAdapter.query(
+                    cacheRecords,
+                    AccountQueryParameters.builder().withPageSize(3).withCursor(cursor).build()
+            );
+
+            Assert.assertTrue(result.getAccounts().size() <= 3);
+
+            for (final IAccount account : result.getAccounts()) {
+                ids.add(account.getId());
+            }
+
+            cursor = result.getNextCursor();
+            pages++;
+        } while (null != cursor);
+
+        Assert.assertEquals(2, pages);
+        Assert.assertEquals(5, ids.size());
+        Assert.assertEquals("uid-1", ids.get(0));
+        Assert.assertEquals("uid-5", ids.get(4));
+    }
+
+    @Test
+    public void testQueryPageEndingOnLastMatchHasNoCursor() {
+        final AccountQueryResult result = AccountAdapter.query(
+                createCacheRecords(),
+                AccountQueryParameters.builder().withTenantId("guest-tenant").withPageSize(2).build()
+        );
+
+        Assert.assertEquals(2, result.getAccounts().size());
+        Assert.assertFalse(result.hasMore());
+    }
+
+    @Test
+    public void testQueryPagesHomeAccountInTwoEnvironmentsAsSeparateAccounts() {
+        final List<ICacheRecord> cacheRecords = createCacheRecords();
+        cacheRecords.add(createCacheRecord("uid-6", "utid", "uid-6", "utid", ENVIRONMENT, "MSSTS", "frank@contoso.com"));
+        cacheRecords.add(createCacheRecord("uid-6", "utid", "uid-6", "utid", OTHER_ENVIRONMENT, "MSSTS", "frank@contoso.com"));
+
+        // Only the account in the requested environment is returned
+        AccountQueryResult result = AccountAdapter.query(
+                cacheRecords,
+                AccountQueryParameters.builder().withEnvironment(OTHER_ENVIRONMENT).build()
+        );
+
+        Assert.assertEquals(2, result.getAccounts().size());
+        Assert.assertEquals("uid-2", result.getAccounts().get(0).getId());
+        Assert.assertEquals("uid-6", result.getAccounts().get(1).getId());
+
+        for (final IAccount account : result.getAccounts()) {
+            Assert.assertEquals(OTHER_ENVIRONMENT, ((Account) account).getEnvironment());
+        }
+
+        // Each environment of the home account takes its own slot in a page
+        final List<String> environments = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            result = AccountAdapter.query(
+                    cacheRecords,
+                    AccountQueryParameters.builder().withPageSize(1).withCursor(cursor).build()
+            );
+
+            Assert.assertEquals(1, result.getAccounts().size());
+
+            final Account account = (Account) result.getAccounts().get(0);
+
+            if ("uid-6".equals(account.getId())) {
+                environments.add(account.getEnvironment());
+            }
+
+            cursor = result.getNextCursor();
+            pages++;
+        } while (null != cursor);
+
+        Assert.assertEquals(AccountAdapter.adapt(cacheRecords).size(), pages);
+        Assert.assertEquals(2, environments.size());
+        Assert.assertTrue(environments.contains(ENVIRONMENT));
+        Assert.assertTrue(environments.contains(OTHER_ENVIRONMENT));
+    }
+
+    /**
+     * Five accounts, uid-1 to uid-5, in their home tenants; uid-1 is also signed into a guest
+     * tenant, and uid-3 is only signed into the guest tenant.
+     */
+    @NonNull
+    private static List<ICacheRecord> createCacheRecords() {
+        final List<ICacheRecord> cacheRecords = new ArrayList<>();
+
+        cacheRecords.add(createCacheRecord("uid-5", "utid", "uid-5", "utid", ENVIRONMENT, "MSSTS", "eve@contoso.com"));
+        cacheRecords.add(createCacheRecord("uid-1", "utid", "uid-1", "utid", ENVIRONMENT, "MSSTS", "alice@contoso.com"));
+        cacheRecords.add(createCacheRecord("uid-1", "utid", "guest-oid-1", "guest-tenant", ENVIRONMENT, "MSSTS", "alice@contoso.com"));
+        cacheRecords.add(createCacheRecord("uid-2", "utid", "uid-2", "utid", OTHER_ENVIRONMENT, "MSSTS", "bob@contoso.com"));
+        cacheRecords.add(createCacheRecord("uid-3", "utid", "guest-oid-3", "guest-tenant", ENVIRONMENT, "MSSTS", "carol@fabrikam.com"));
+        cacheRecords.add(createCacheRecord("uid-4", "utid", "uid-4", "utid", ENVIRONMENT, "AAD", "dave@contoso.com"));
+
+        return cacheRecords;
+    }
+}
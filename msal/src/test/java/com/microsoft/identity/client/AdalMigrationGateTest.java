@@ -0,0 +1,117 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import com.microsoft.identity.common.internal.migration.TokenMigrationCallback;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(RobolectricTestRunner.class)
+public class AdalMigrationGateTest {
+
+    @Test
+    public void testGateIsSharedPerClientIdAndRedirectUri() {
+        final String clientId = UUID.randomUUID().toString();
+
+        final AdalMigrationGate gate = AdalMigrationGate.get(clientId, "msauth://redirect");
+
+        Assert.assertSame(gate, AdalMigrationGate.get(clientId, "msauth://redirect"));
+        Assert.assertNotSame(gate, AdalMigrationGate.get(clientId, "msauth://other"));
+        Assert.assertNotSame(gate, AdalMigrationGate.get(UUID.randomUUID().toString(), "msauth://redirect"));
+    }
+
+    @Test
+    public void testMigrationIsStartedOnce() {
+        final AdalMigrationGate gate = AdalMigrationGate.get(UUID.randomUUID().toString(), "msauth://redirect");
+
+        Assert.assertTrue(gate.tryStart());
+        Assert.assertFalse(gate.tryStart());
+        Assert.assertFalse(gate.isComplete());
+    }
+
+    @Test
+    public void testCallbacksWaitForCompletion() throws InterruptedException {
+        final AdalMigrationGate gate = AdalMigrationGate.get(UUID.randomUUID().toString(), "msauth://redirect");
+        final AtomicInteger invocations = new AtomicInteger();
+        final TokenMigrationCallback callback = new TokenMigrationCallback() {
+            @Override
+            public void onMigrationFinished(final int numberOfAccountsMigrated) {
+                invocations.incrementAndGet();
+            }
+        };
+
+        gate.tryStart();
+        gate.runOnCompletion(callback);
+        gate.runOnCompletion(callback);
+
+        Assert.assertEquals(0, invocations.get());
+        Assert.assertFalse(gate.await(0, TimeUnit.MILLISECONDS));
+
+        gate.complete();
+
+        Assert.assertEquals(2, invocations.get());
+        Assert.assertTrue(gate.await(0, TimeUnit.MILLISECONDS));
+
+        // Completed: invoked inline, and completing again resumes nothing twice
+        gate.runOnCompletion(callback);
+        gate.complete();
+
+        Assert.assertEquals(3, invocations.get());
+    }
+
+    @Test
+    public void testStatisticsTrackBatchProgress() {
+        final AdalMigrationGate gate = AdalMigrationGate.get(UUID.randomUUID().toString(), "msauth://redirect");
+
+        gate.tryStart();
+        gate.onEntriesListed(120, true);
+        gate.onBatchMigrated(AdalTokenMigration.BATCH_SIZE, 2);
+        gate.onBatchMigrated(AdalTokenMigration.BATCH_SIZE, 1);
+
+        AdalMigrationStatistics statistics = gate.getStatistics();
+
+        Assert.assertFalse(statistics.isComplete());
+        Assert.assertTrue(statistics.isResumed());
+        Assert.assertEquals(120, statistics.getTotalEntryCount());
+        Assert.assertEquals(2 * AdalTokenMigration.BATCH_SIZE, statistics.getMigratedEntryCount());
+        Assert.assertEquals(2, statistics.getMigratedBatchCount());
+        Assert.assertEquals(3, statistics.getMigratedAccountCount());
+
+        gate.onBatchMigrated(20, 0);
+        gate.complete();
+
+        statistics = gate.getStatistics();
+
+        Assert.assertTrue(statistics.isComplete());
+        Assert.assertEquals(120, statistics.getMigratedEntryCount());
+        Assert.assertEquals(3, statistics.getMigratedBatchCount());
+        Assert.assertTrue(statistics.getDurationMillis() >= 0);
+    }
+}
@@ -0,0 +1,100 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.common.java.cache.CacheRecord;
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+import com.microsoft.identity.common.java.dto.AccountRecord;
+import com.microsoft.identity.common.java.dto.IdTokenRecord;
+import com.microsoft.identity.internal.testutils.mocks.MockTokenCreator;
+
+import java.nio.charset.Charset;
+
+/**
+ * Creates the cache records {@link AccountAdapter} builds accounts from.
+ */
+final class CacheRecordTestHelper {
+
+    static final String ENVIRONMENT = "login.microsoftonline.com";
+
+    private static final String ID_TOKEN = MockTokenCreator.createMockIdToken();
+
+    private CacheRecordTestHelper() {
+    }
+
+    /**
+     * Creates the record of an account in the supplied tenant; it is the home account record if the
+     * local account id is the uid of the home account id.
+     */
+    @NonNull
+    static ICacheRecord createCacheRecord(@NonNull final String uid,
+                                          @NonNull final String utid,
+                                          @NonNull final String localAccountId,
+                                          @NonNull final String realm) {
+        return createCacheRecord(uid, utid, localAccountId, realm, ENVIRONMENT, null, null);
+    }
+
+    @NonNull
+    static ICacheRecord createCacheRecord(@NonNull final String uid,
+                                          @NonNull final String utid,
+                                          @NonNull final String localAccountId,
+                                          @NonNull final String realm,
+                                          @NonNull final String environment,
+                                          @Nullable final String authorityType,
+                                          @Nullable final String username) {
+        final AccountRecord accountRecord = new AccountRecord();
+        accountRecord.setHomeAccountId(uid + "." + utid);
+        accountRecord.setLocalAccountId(localAccountId);
+        accountRecord.setEnvironment(environment);
+        accountRecord.setRealm(realm);
+        accountRecord.setAuthorityType(authorityType);
+        accountRecord.setUsername(username);
+
+        if (localAccountId.equals(uid)) {
+            accountRecord.setClientInfo(createRawClientInfo(uid, utid));
+        }
+
+        final IdTokenRecord idTokenRecord = new IdTokenRecord();
+        idTokenRecord.setSecret(ID_TOKEN);
+
+        return CacheRecord.builder()
+                .account(accountRecord)
+                .idToken(idTokenRecord)
+                .build();
+    }
+
+    @NonNull
+    static String createRawClientInfo(@NonNull final String uid, @NonNull final String utid) {
+        final String clientInfo = "{\"uid\":\"" + uid + "\",\"utid\":\"" + utid + "\"}";
+
+        return Base64.encodeToString(
+                clientInfo.getBytes(Charset.forName("UTF-8")),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING
+        );
+    }
+}
@@ -0,0 +1,180 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.microsoft.identity.client.internal.CommandParametersAdapter;
+import com.microsoft.identity.client.internal.CommandParametersTemplate;
+import com.microsoft.identity.common.AndroidPlatformComponents;
+import com.microsoft.identity.common.java.cache.MsalOAuth2TokenCache;
+import com.microsoft.identity.common.java.exception.ClientException;
+import com.microsoft.identity.common.java.providers.oauth2.OAuth2TokenCache;
+
+import org.junit.Before;
+import org.junit.Ignore;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+
+/**
+ * Microbenchmark of {@link CommandParametersAdapter#createSilentTokenCommandParameters}, comparing
+ * parameters built from the configuration on every call against parameters derived from a
+ * precomputed {@link CommandParametersTemplate}.
+ * <p>
+ * Latency and allocation figures are printed rather than asserted, since they depend on the
+ * machine running the benchmark. It is kept out of the unit-test run; remove the {@link Ignore}
+ * to run it. The lookups and equivalence it relies on are asserted by
+ * {@link CommandParametersTemplateTest}.
+ */
+@Ignore("Benchmark, run manually")
+@RunWith(RobolectricTestRunner.class)
+public class CommandParametersBenchmark {
+
+    private static final String AAD_NONE_CONFIG_FILE = "src/test/res/raw/aad_capabilities_none.json";
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 2000;
+
+    private Context mContext;
+    private PublicClientApplicationConfiguration mConfiguration;
+    private OAuth2TokenCache mTokenCache;
+    private AcquireTokenSilentParameters mSilentParameters;
+
+    @Before
+    public void setup() {
+        mContext = Mockito.spy((Context) ApplicationProvider.getApplicationContext());
+        Mockito.doReturn(mContext).when(mContext).getApplicationContext();
+        mConfiguration = PublicClientApplicationConfigurationFactory.initializeConfiguration(
+                mContext,
+                new File(AAD_NONE_CONFIG_FILE)
+        );
+        mTokenCache = new MsalOAuth2TokenCache(
+                AndroidPlatformComponents.createFromContext(mContext),
+                null,
+                null
+        );
+        mSilentParameters = new AcquireTokenSilentParameters.Builder()
+                .withScopes(Arrays.asList("User.Read"))
+                .fromAuthority("https://login.microsoftonline.com/common")
+                .build();
+    }
+
+    @Test
+    public void benchmarkCreateSilentTokenCommandParameters() throws ClientException {
+        final CommandParametersTemplate template = new CommandParametersTemplate(mConfiguration);
+
+        final Measurement fromConfiguration = measure(new ThrowingRunnable() {
+            @Override
+            public void run() throws ClientException {
+                CommandParametersAdapter.createSilentTokenCommandParameters(
+                        mConfiguration,
+                        mTokenCache,
+                        mSilentParameters
+                );
+            }
+        });
+
+        final Measurement fromTemplate = measure(new ThrowingRunnable() {
+            @Override
+            public void run() throws ClientException {
+                CommandParametersAdapter.createSilentTokenCommandParameters(
+                        template,
+                        mConfiguration,
+                        mTokenCache,
+                        mSilentParameters
+                );
+            }
+        });
+
+        System.out.println("createSilentTokenCommandParameters from configuration: " + fromConfiguration);
+        System.out.println("createSilentTokenCommandParameters from template:      " + fromTemplate);
+    }
+
+    private static Measurement measure(final ThrowingRunnable runnable) throws ClientException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            runnable.run();
+        }
+
+        final long allocatedBefore = getAllocatedBytes();
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            runnable.run();
+        }
+
+        final long elapsed = System.nanoTime() - start;
+        final long allocated = getAllocatedBytes() - allocatedBefore;
+
+        return new Measurement(
+                elapsed / MEASURED_ITERATIONS,
+                allocatedBefore < 0 ? -1 : allocated / MEASURED_ITERATIONS
+        );
+    }
+
+    /**
+     * @return The bytes allocated so far by the current thread, or -1 if the JVM does not track it.
+     */
+    private static long getAllocatedBytes() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean hotSpotThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+
+            if (hotSpotThreadMXBean.isThreadAllocatedMemorySupported()
+                    && hotSpotThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+                return hotSpotThreadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+
+        return -1;
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws ClientException;
+    }
+
+    private static final class Measurement {
+
+        private final long mNanosPerOperation;
+        private final long mBytesPerOperation;
+
+        Measurement(final long nanosPerOperation, final long bytesPerOperation) {
+            mNanosPerOperation = nanosPerOperation;
+            mBytesPerOperation = bytesPerOperation;
+        }
+
+        @Override
+        public String toString() {
+            return mNanosPerOperation + " ns/op, "
+                    + (mBytesPerOperation < 0 ? "n/a" : mBytesPerOperation) + " bytes/op";
+        }
+    }
+}
@@ -0,0 +1,132 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.microsoft.identity.client.internal.CommandParametersAdapter;
+import com.microsoft.identity.client.internal.CommandParametersTemplate;
+import com.microsoft.identity.common.AndroidPlatformComponents;
+import com.microsoft.identity.common.java.cache.MsalOAuth2TokenCache;
+import com.microsoft.identity.common.java.commands.parameters.SilentTokenCommandParameters;
+import com.microsoft.identity.common.java.exception.ClientException;
+import com.microsoft.identity.common.java.providers.oauth2.OAuth2TokenCache;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.util.Arrays;
+
+/**
+ * Compares the parameters built by {@link CommandParametersAdapter#createSilentTokenCommandParameters}
+ * from the configuration on every call against those derived from a precomputed
+ * {@link CommandParametersTemplate}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CommandParametersTemplateTest {
+
+    private static final String AAD_NONE_CONFIG_FILE = "src/test/res/raw/aad_capabilities_none.json";
+    private static final int REQUEST_COUNT = 10;
+
+    private Context mContext;
+    private PublicClientApplicationConfiguration mConfiguration;
+    private OAuth2TokenCache mTokenCache;
+    private AcquireTokenSilentParameters mSilentParameters;
+
+    @Before
+    public void setup() {
+        mContext = Mockito.spy((Context) ApplicationProvider.getApplicationContext());
+        Mockito.doReturn(mContext).when(mContext).getApplicationContext();
+        mConfiguration = PublicClientApplicationConfigurationFactory.initializeConfiguration(
+                mContext,
+                new File(AAD_NONE_CONFIG_FILE)
+        );
+        mTokenCache = new MsalOAuth2TokenCache(
+                AndroidPlatformComponents.createFromContext(mContext),
+                null,
+                null
+        );
+        mSilentParameters = new AcquireTokenSilentParameters.Builder()
+                .withScopes(Arrays.asList("User.Read"))
+                .fromAuthority("https://login.microsoftonline.com/common")
+                .build();
+    }
+
+    @Test
+    public void testTemplateRemovesPerRequestPackageManagerLookups() throws ClientException {
+        final CommandParametersTemplate template = new CommandParametersTemplate(mConfiguration);
+        Mockito.clearInvocations(mContext);
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            CommandParametersAdapter.createSilentTokenCommandParameters(
+                    template,
+                    mConfiguration,
+                    mTokenCache,
+                    mSilentParameters
+            );
+        }
+
+        Mockito.verify(mContext, Mockito.never()).getPackageManager();
+
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            CommandParametersAdapter.createSilentTokenCommandParameters(
+                    mConfiguration,
+                    mTokenCache,
+                    mSilentParameters
+            );
+        }
+
+        Mockito.verify(mContext, Mockito.atLeast(REQUEST_COUNT)).getPackageManager();
+    }
+
+    @Test
+    public void testTemplateProducesEquivalentParameters() throws ClientException {
+        final SilentTokenCommandParameters fromConfiguration = CommandParametersAdapter.createSilentTokenCommandParameters(
+                mConfiguration,
+                mTokenCache,
+                mSilentParameters
+        );
+        final SilentTokenCommandParameters fromTemplate = CommandParametersAdapter.createSilentTokenCommandParameters(
+                new CommandParametersTemplate(mConfiguration),
+                mConfiguration,
+                mTokenCache,
+                mSilentParameters
+        );
+
+        Assert.assertEquals(fromConfiguration.getApplicationName(), fromTemplate.getApplicationName());
+        Assert.assertEquals(fromConfiguration.getApplicationVersion(), fromTemplate.getApplicationVersion());
+        Assert.assertEquals(fromConfiguration.getClientId(), fromTemplate.getClientId());
+        Assert.assertEquals(fromConfiguration.getRedirectUri(), fromTemplate.getRedirectUri());
+        Assert.assertEquals(fromConfiguration.getRequiredBrokerProtocolVersion(), fromTemplate.getRequiredBrokerProtocolVersion());
+        Assert.assertEquals(fromConfiguration.getSdkVersion(), fromTemplate.getSdkVersion());
+        Assert.assertEquals(fromConfiguration.getScopes(), fromTemplate.getScopes());
+        Assert.assertEquals(fromConfiguration.getAuthority(), fromTemplate.getAuthority());
+    }
+}
@@ -0,0 +1,244 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.accounts.Account;
+import android.accounts.AccountManager;
+import android.content.Context;
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.microsoft.identity.common.adal.internal.util.JsonExtensions;
+import com.microsoft.identity.common.java.cache.CacheRecord;
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+import com.microsoft.identity.common.java.cache.IMultiTypeNameValueStorage;
+import com.microsoft.identity.common.java.dto.AccountRecord;
+import com.microsoft.identity.common.java.dto.IdTokenRecord;
+import com.microsoft.identity.internal.testutils.mocks.MockTokenCreator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.Shadows;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static com.microsoft.identity.client.SingleAccountPublicClientApplication.CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY;
+
+@RunWith(RobolectricTestRunner.class)
+public class CurrentAccountCacheTest {
+
+    private static final String ID_TOKEN = MockTokenCreator.createMockIdToken();
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    };
+
+    private static final CurrentAccountCache.Refresher NO_OP_REFRESHER = new CurrentAccountCache.Refresher() {
+        @Override
+        public void refresh(@NonNull final Runnable onRefreshed) {
+            onRefreshed.run();
+        }
+    };
+
+    private IMultiTypeNameValueStorage mStorage;
+    private CurrentAccountCache mCache;
+
+    @Before
+    public void setup() {
+        mStorage = Mockito.mock(IMultiTypeNameValueStorage.class);
+        mCache = new CurrentAccountCache(mStorage, ApplicationProvider.getApplicationContext());
+    }
+
+    @Test
+    public void testPersistedAccountIsLoadedOnce() {
+        final List<ICacheRecord> cacheRecords = createCacheRecords("uid-1");
+        Mockito.when(mStorage.getString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY))
+                .thenReturn(JsonExtensions.getJsonStringFromICacheRecordList(cacheRecords));
+
+        final MultiTenantAccount account = mCache.get();
+
+        Assert.assertNotNull(account);
+        Assert.assertEquals("uid-1", account.getId());
+        Assert.assertSame(account, mCache.get());
+        Mockito.verify(mStorage, Mockito.times(1)).getString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY);
+    }
+
+    @Test
+    public void testNoPersistedAccount() {
+        Assert.assertNull(mCache.get());
+        Assert.assertNull(mCache.get());
+        Mockito.verify(mStorage, Mockito.times(1)).getString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY);
+    }
+
+    @Test
+    public void testUnchangedAccountIsNotWritten() {
+        mCache.put(createCacheRecords("uid-1"));
+        mCache.put(createCacheRecords("uid-1"));
+
+        Mockito.verify(mStorage, Mockito.times(1))
+                .putString(Mockito.eq(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY), Mockito.anyString());
+        Assert.assertEquals("uid-1", mCache.get().getId());
+
+        // Served from memory, without reading the storage
+        Mockito.verify(mStorage, Mockito.never()).getString(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY);
+    }
+
+    @Test
+    public void testChangedAccountIsWritten() {
+        mCache.put(createCacheRecords("uid-1"));
+        mCache.put(createCacheRecords("uid-2"));
+
+        Mockito.verify(mStorage, Mockito.times(2))
+                .putString(Mockito.eq(CURRENT_ACCOUNT_SHARED_PREFERENCE_KEY), Mockito.anyString());
+        Assert.assertEquals("uid-2", mCache.get().getId());
+    }
+
+    @Test
+    public void testRemovedAccountIsClearedOnce() {
+        mCache.put(createCacheRecords("uid-1"));
+        mCache.put(null);
+        mCache.put(Collections.<ICacheRecord>emptyList());
+
+        Mockito.verify(mStorage, Mockito.times(1)).clear();
+        Assert.assertNull(mCache.get());
+    }
+
+    @Test
+    public void testListenersAreNotifiedOfAccountChanges() {
+        final List<String> changes = new ArrayList<>();
+        final ISingleAccountPublicClientApplication.CurrentAccountChangeListener listener =
+                new ISingleAccountPublicClientApplication.CurrentAccountChangeListener() {
+                    @Override
+                    public void onAccountChanged(final IAccount priorAccount, final IAccount currentAccount) {
+                        changes.add(getId(priorAccount) + "->" + getId(currentAccount));
+                    }
+                };
+
+        mCache.addListener(listener, DIRECT_EXECUTOR, NO_OP_REFRESHER);
+
+        mCache.put(createCacheRecords("uid-1"));
+        mCache.put(createCacheRecords("uid-1"));
+        mCache.put(createCacheRecords("uid-2"));
+        mCache.put(null);
+
+        Assert.assertEquals(3, changes.size());
+        Assert.assertEquals("null->uid-1", changes.get(0));
+        Assert.assertEquals("uid-1->uid-2", changes.get(1));
+        Assert.assertEquals("uid-2->null", changes.get(2));
+
+        Assert.assertTrue(mCache.removeListener(listener));
+        Assert.assertFalse(mCache.removeListener(listener));
+
+        mCache.put(createCacheRecords("uid-3"));
+
+        Assert.assertEquals(3, changes.size());
+    }
+
+    @Test
+    public void testAccountManagerChangesRefreshTheCurrentAccountOnce() {
+        final List<Runnable> refreshes = new ArrayList<>();
+        final CurrentAccountCache.Refresher refresher = new CurrentAccountCache.Refresher() {
+            @Override
+            public void refresh(@NonNull final Runnable onRefreshed) {
+                refreshes.add(onRefreshed);
+            }
+        };
+        final ISingleAccountPublicClientApplication.CurrentAccountChangeListener firstListener =
+                Mockito.mock(ISingleAccountPublicClientApplication.CurrentAccountChangeListener.class);
+        final ISingleAccountPublicClientApplication.CurrentAccountChangeListener secondListener =
+                Mockito.mock(ISingleAccountPublicClientApplication.CurrentAccountChangeListener.class);
+
+        mCache.addListener(firstListener, DIRECT_EXECUTOR, refresher);
+        mCache.addListener(secondListener, DIRECT_EXECUTOR, refresher);
+
+        addDeviceAccount("account-1");
+        Assert.assertEquals(1, refreshes.size());
+
+        // Still in flight
+        addDeviceAccount("account-2");
+        Assert.assertEquals(1, refreshes.size());
+
+        refreshes.get(0).run();
+        addDeviceAccount("account-3");
+        Assert.assertEquals(2, refreshes.size());
+        refreshes.get(1).run();
+
+        // Still registered for the second listener
+        Assert.assertTrue(mCache.removeListener(firstListener));
+        addDeviceAccount("account-4");
+        Assert.assertEquals(3, refreshes.size());
+        refreshes.get(2).run();
+
+        Assert.assertTrue(mCache.removeListener(secondListener));
+        addDeviceAccount("account-5");
+        Assert.assertEquals(3, refreshes.size());
+    }
+
+    private static void addDeviceAccount(@NonNull final String name) {
+        final Context context = ApplicationProvider.getApplicationContext();
+        Shadows.shadowOf(AccountManager.get(context)).addAccount(new Account(name, "com.example.account"));
+        ShadowLooper.idleMainLooper();
+    }
+
+    private static String getId(final IAccount account) {
+        return null == account ? "null" : account.getId();
+    }
+
+    @NonNull
+    private static List<ICacheRecord> createCacheRecords(@NonNull final String uid) {
+        final String utid = "utid";
+        final AccountRecord accountRecord = new AccountRecord();
+        accountRecord.setHomeAccountId(uid + "." + utid);
+        accountRecord.setLocalAccountId(uid);
+        accountRecord.setEnvironment("login.microsoftonline.com");
+        accountRecord.setRealm(utid);
+        accountRecord.setClientInfo(Base64.encodeToString(
+                ("{\"uid\":\"" + uid + "\",\"utid\":\"" + utid + "\"}").getBytes(Charset.forName("UTF-8")),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING
+        ));
+
+        final IdTokenRecord idTokenRecord = new IdTokenRecord();
+        idTokenRecord.setSecret(ID_TOKEN);
+
+        return Collections.<ICacheRecord>singletonList(
+                CacheRecord.builder()
+                        .account(accountRecord)
+                        .idToken(idTokenRecord)
+                        .build()
+        );
+    }
+}
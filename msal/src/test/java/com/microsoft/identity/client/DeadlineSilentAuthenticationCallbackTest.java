@@ -0,0 +1,142 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import com.microsoft.identity.client.exception.MsalDeadlineExceededException;
+import com.microsoft.identity.client.exception.MsalException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(RobolectricTestRunner.class)
+public class DeadlineSilentAuthenticationCallbackTest {
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            command.run();
+        }
+    };
+
+    @Test
+    public void testExpiredRequestFailsWithDeadlineExceededAndDropsLateResult() throws InterruptedException {
+        final RecordingCallback delegate = new RecordingCallback();
+        final DeadlineSilentAuthenticationCallback callback =
+                new DeadlineSilentAuthenticationCallback(delegate, DIRECT_EXECUTOR, 50);
+
+        callback.start();
+
+        Assert.assertTrue(delegate.mDone.await(5, TimeUnit.SECONDS));
+        Assert.assertTrue(delegate.mError.get() instanceof MsalDeadlineExceededException);
+        Assert.assertEquals(MsalDeadlineExceededException.DEADLINE_EXCEEDED, delegate.mError.get().getErrorCode());
+        Assert.assertTrue(callback.isCancelled());
+
+        callback.onSuccess(null);
+        Assert.assertEquals(1, delegate.mInvocations.get());
+    }
+
+    @Test
+    public void testNonPositiveTimeoutFailsStraightAway() {
+        final RecordingCallback delegate = new RecordingCallback();
+        final DeadlineSilentAuthenticationCallback callback =
+                new DeadlineSilentAuthenticationCallback(delegate, DIRECT_EXECUTOR, 0);
+
+        callback.start();
+
+        Assert.assertTrue(delegate.mError.get() instanceof MsalDeadlineExceededException);
+        Assert.assertTrue(callback.isCancelled());
+    }
+
+    @Test
+    public void testCompletionBeforeDeadlineIsDeliveredOnce() throws InterruptedException {
+        final RecordingCallback delegate = new RecordingCallback();
+        final DeadlineSilentAuthenticationCallback callback =
+                new DeadlineSilentAuthenticationCallback(delegate, DIRECT_EXECUTOR, 100);
+
+        callback.start();
+        callback.onError(new MsalDeadlineExceededException("first"));
+        Thread.sleep(300);
+
+        Assert.assertEquals(1, delegate.mInvocations.get());
+        Assert.assertEquals("first", delegate.mError.get().getMessage());
+    }
+
+    @Test
+    public void testCancelledDelegateCancelsRequest() {
+        final MsalFuture<IAuthenticationResult> future = new MsalFuture<>();
+        final DeadlineSilentAuthenticationCallback callback = new DeadlineSilentAuthenticationCallback(
+                new CancellableSilentAuthenticationCallback() {
+                    @Override
+                    public boolean isCancelled() {
+                        return future.isCancelled();
+                    }
+
+                    @Override
+                    public void onSuccess(final IAuthenticationResult authenticationResult) {
+                        future.setResult(authenticationResult);
+                    }
+
+                    @Override
+                    public void onError(final MsalException exception) {
+                        future.setException(exception);
+                    }
+                },
+                DIRECT_EXECUTOR,
+                TimeUnit.MINUTES.toMillis(1)
+        );
+
+        callback.start();
+        Assert.assertFalse(callback.isCancelled());
+
+        future.cancel(false);
+        Assert.assertTrue(callback.isCancelled());
+    }
+
+    private static final class RecordingCallback implements SilentAuthenticationCallback {
+
+        private final CountDownLatch mDone = new CountDownLatch(1);
+        private final AtomicInteger mInvocations = new AtomicInteger();
+        private final AtomicReference<MsalException> mError = new AtomicReference<>();
+
+        @Override
+        public void onSuccess(final IAuthenticationResult authenticationResult) {
+            mInvocations.incrementAndGet();
+            mDone.countDown();
+        }
+
+        @Override
+        public void onError(final MsalException exception) {
+            mInvocations.incrementAndGet();
+            mError.set(exception);
+            mDone.countDown();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.util.Base64;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.common.java.cache.CacheRecord;
+import com.microsoft.identity.common.java.cache.ICacheRecord;
+import com.microsoft.identity.common.java.dto.AccountRecord;
+import com.microsoft.identity.common.java.dto.IdTokenRecord;
+import com.microsoft.identity.internal.testutils.mocks.MockTokenCreator;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.Map;
+
+@RunWith(RobolectricTestRunner.class)
+public class IdTokenClaimsCacheTest {
+
+    @Before
+    public void setup() {
+        IdTokenClaimsCache.clear();
+    }
+
+    @Test
+    public void testClaimsOfIdenticalTokensAreParsedOnce() {
+        final String rawIdToken = MockTokenCreator.createMockIdToken();
+
+        final Map<String, ?> claims = IdTokenClaimsCache.getClaims(rawIdToken);
+
+        Assert.assertNotNull(claims);
+        Assert.assertSame(claims, IdTokenClaimsCache.getClaims(new String(rawIdToken)));
+        Assert.assertEquals(1, IdTokenClaimsCache.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testClaimsAreImmutable() {
+        final Map<String, ?> claims = IdTokenClaimsCache.getClaims(MockTokenCreator.createMockIdToken());
+        Assert.assertNotNull(claims);
+        claims.clear();
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        for (int i = 0; i < IdTokenClaimsCache.MAX_ENTRIES * 2; i++) {
+            Assert.assertEquals("subject-" + i, IdTokenClaimsCache.getClaims(createIdToken("subject-" + i)).get("sub"));
+        }
+
+        Assert.assertEquals(IdTokenClaimsCache.MAX_ENTRIES, IdTokenClaimsCache.size());
+    }
+
+    @Test
+    public void testInvalidTokenHasNoClaims() {
+        Assert.assertNull(IdTokenClaimsCache.getClaims("not-a-jwt"));
+        Assert.assertEquals(0, IdTokenClaimsCache.size());
+    }
+
+    @Test
+    public void testAdaptedAccountsParseIdTokenOnFirstAccess() {
+        final String rawIdToken = MockTokenCreator.createMockIdToken();
+
+        final AccountRecord accountRecord = new AccountRecord();
+        accountRecord.setHomeAccountId("uid.utid");
+        accountRecord.setLocalAccountId("uid");
+        accountRecord.setEnvironment("login.microsoftonline.com");
+        accountRecord.setRealm("utid");
+
+        final IdTokenRecord idTokenRecord = new IdTokenRecord();
+        idTokenRecord.setSecret(rawIdToken);
+
+        final CacheRecord.CacheRecordBuilder cacheRecord = CacheRecord.builder();
+        cacheRecord.account(accountRecord);
+        cacheRecord.idToken(idTokenRecord);
+
+        final IAccount account = AccountAdapter.adapt(
+                Collections.<ICacheRecord>singletonList(cacheRecord.build())
+        ).get(0);
+
+        Assert.assertEquals(0, IdTokenClaimsCache.size());
+        Assert.assertEquals(rawIdToken, account.getIdToken());
+        Assert.assertNotNull(account.getClaims());
+        Assert.assertEquals(1, IdTokenClaimsCache.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testAccountClaimsAreCopiedForEachCaller() {
+        final String rawIdToken = MockTokenCreator.createMockIdToken();
+        final Account account = new Account(null, null);
+        account.setRawIdToken(rawIdToken);
+        final Account otherAccount = new Account(null, null);
+        otherAccount.setRawIdToken(rawIdToken);
+
+        final Map<String, Object> claims = (Map<String, Object>) account.getClaims();
+        Assert.assertNotNull(claims);
+        claims.clear();
+        claims.put("sub", "modified");
+
+        Assert.assertNotEquals(claims, account.getClaims());
+        Assert.assertEquals(account.getClaims(), otherAccount.getClaims());
+        Assert.assertSame(account.getSharedClaims(), otherAccount.getSharedClaims());
+    }
+
+    /**
+     * @return An unsecured JWT carrying the supplied subject.
+     */
+    private static String createIdToken(@NonNull final String subject) {
+        return encode("{\"alg\":\"none\"}")
+                + "."
+                + encode("{\"sub\":\"" + subject + "\"}")
+                + ".";
+    }
+
+    private static String encode(@NonNull final String json) {
+        return Base64.encodeToString(
+                json.getBytes(Charset.forName("UTF-8")),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING
+        );
+    }
+}
@@ -0,0 +1,269 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+
+import com.microsoft.identity.client.exception.MsalClientException;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.client.exception.MsalUserCancelException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class MsalFutureTest {
+
+    @Test
+    public void testListenerRegisteredBeforeCompletionIsNotified() {
+        final MsalFuture<String> future = new MsalFuture<>();
+        final AtomicReference<String> result = new AtomicReference<>();
+
+        future.whenComplete(recordingCallback(result, null), null);
+        Assert.assertNull(result.get());
+
+        Assert.assertTrue(future.setResult("token"));
+        Assert.assertEquals("token", result.get());
+    }
+
+    @Test
+    public void testListenerRegisteredAfterCompletionIsNotifiedOnExecutor() {
+        final MsalFuture<String> future = new MsalFuture<>();
+        final AtomicReference<String> result = new AtomicReference<>();
+        final AtomicInteger executions = new AtomicInteger();
+
+        future.setResult("token");
+        future.whenComplete(recordingCallback(result, null), new Executor() {
+            @Override
+            public void execute(@NonNull final Runnable command) {
+                executions.incrementAndGet();
+                command.run();
+            }
+        });
+
+        Assert.assertEquals("token", result.get());
+        Assert.assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testOnlyFirstCompletionCounts() throws Exception {
+        final MsalFuture<String> future = new MsalFuture<>();
+
+        Assert.assertTrue(future.setResult("first"));
+        Assert.assertFalse(future.setException(new MsalClientException("error")));
+        Assert.assertFalse(future.setResult("second"));
+
+        Assert.assertEquals("first", future.get());
+    }
+
+    @Test
+    public void testGetWrapsException() throws InterruptedException {
+        final MsalException exception = new MsalClientException("error");
+        final MsalFuture<String> future = MsalFuture.failed(exception);
+
+        try {
+            future.get();
+            Assert.fail("Expected ExecutionException");
+        } catch (final ExecutionException e) {
+            Assert.assertSame(exception, e.getCause());
+        }
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testGetTimesOut() throws Exception {
+        new MsalFuture<String>().get(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testThenApplyDerivesValue() throws Exception {
+        final MsalFuture<String> future = new MsalFuture<>();
+        final MsalFuture<Integer> derived = future.thenApply(new MsalFuture.Continuation<String, Integer>() {
+            @Override
+            public Integer apply(final String result) {
+                return result.length();
+            }
+        });
+
+        future.setResult("token");
+
+        Assert.assertEquals(Integer.valueOf(5), derived.get());
+    }
+
+    @Test
+    public void testThenApplyPropagatesException() {
+        final MsalException exception = new MsalClientException("error");
+        final AtomicReference<MsalException> error = new AtomicReference<>();
+
+        MsalFuture.<String>failed(exception)
+                .thenApply(new MsalFuture.Continuation<String, Integer>() {
+                    @Override
+                    public Integer apply(final String result) {
+                        Assert.fail("Continuation must not run");
+                        return null;
+                    }
+                })
+                .whenComplete(recordingCallback(new AtomicReference<Integer>(), error), null);
+
+        Assert.assertSame(exception, error.get());
+    }
+
+    @Test
+    public void testThenComposeChainsFutures() throws Exception {
+        final MsalFuture<String> first = new MsalFuture<>();
+        final MsalFuture<String> second = new MsalFuture<>();
+
+        final MsalFuture<String> composed = first.thenCompose(new MsalFuture.Continuation<String, MsalFuture<String>>() {
+            @Override
+            public MsalFuture<String> apply(final String result) {
+                return second;
+            }
+        });
+
+        first.setResult("token");
+        Assert.assertFalse(composed.isDone());
+
+        second.setResult("shr");
+        Assert.assertEquals("shr", composed.get());
+    }
+
+    @Test
+    public void testThenApplyWrapsRuntimeException() {
+        final IllegalStateException failure = new IllegalStateException("boom");
+        final AtomicReference<MsalException> error = new AtomicReference<>();
+
+        final MsalFuture<String> future = new MsalFuture<>();
+        future
+                .thenApply(new MsalFuture.Continuation<String, Integer>() {
+                    @Override
+                    public Integer apply(final String result) {
+                        throw failure;
+                    }
+                })
+                .whenComplete(recordingCallback(new AtomicReference<Integer>(), error), null);
+
+        future.setResult("token");
+
+        Assert.assertTrue(error.get() instanceof MsalClientException);
+        Assert.assertSame(failure, error.get().getCause());
+    }
+
+    @Test
+    public void testThenComposeWrapsRuntimeException() {
+        final IllegalStateException failure = new IllegalStateException("boom");
+        final AtomicReference<MsalException> error = new AtomicReference<>();
+
+        final MsalFuture<String> future = new MsalFuture<>();
+        future
+                .thenCompose(new MsalFuture.Continuation<String, MsalFuture<String>>() {
+                    @Override
+                    public MsalFuture<String> apply(final String result) {
+                        throw failure;
+                    }
+                })
+                .whenComplete(recordingCallback(new AtomicReference<String>(), error), null);
+
+        future.setResult("token");
+
+        Assert.assertTrue(error.get() instanceof MsalClientException);
+        Assert.assertSame(failure, error.get().getCause());
+    }
+
+    @Test
+    public void testThenComposeFailsOnNullFuture() {
+        final AtomicReference<MsalException> error = new AtomicReference<>();
+
+        final MsalFuture<String> future = new MsalFuture<>();
+        future
+                .thenCompose(new MsalFuture.Continuation<String, MsalFuture<String>>() {
+                    @Override
+                    public MsalFuture<String> apply(final String result) {
+                        return null;
+                    }
+                })
+                .whenComplete(recordingCallback(new AtomicReference<String>(), error), null);
+
+        future.setResult("token");
+
+        Assert.assertTrue(error.get() instanceof MsalClientException);
+    }
+
+    @Test
+    public void testCancelNotifiesListenersAndDiscardsLateResult() throws Exception {
+        final MsalFuture<String> future = new MsalFuture<>();
+        final AtomicReference<String> result = new AtomicReference<>();
+        final AtomicReference<MsalException> error = new AtomicReference<>();
+
+        future.whenComplete(recordingCallback(result, error), null);
+
+        Assert.assertTrue(future.cancel(false));
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertTrue(future.isDone());
+        Assert.assertTrue(error.get() instanceof MsalUserCancelException);
+
+        Assert.assertFalse(future.setResult("token"));
+        Assert.assertNull(result.get());
+
+        try {
+            future.get();
+            Assert.fail("Expected CancellationException");
+        } catch (final CancellationException e) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testCompletedFutureCannotBeCancelled() throws Exception {
+        final MsalFuture<String> future = new MsalFuture<>();
+        future.setResult("token");
+
+        Assert.assertFalse(future.cancel(true));
+        Assert.assertFalse(future.isCancelled());
+        Assert.assertEquals("token", future.get());
+    }
+
+    private static <T> MsalFuture.Callback<T> recordingCallback(final AtomicReference<T> result,
+                                                                final AtomicReference<MsalException> error) {
+        return new MsalFuture.Callback<T>() {
+            @Override
+            public void onSuccess(final T value) {
+                result.set(value);
+            }
+
+            @Override
+            public void onError(@NonNull final MsalException exception) {
+                if (null == error) {
+                    Assert.fail(exception.getMessage());
+                }
+
+                error.set(exception);
+            }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import com.google.gson.Gson;
+import com.microsoft.identity.client.configuration.BackgroundExecutorConfiguration;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.microsoft.identity.client.PrioritizedBackgroundExecutor.Priority.INTERACTIVE;
+import static com.microsoft.identity.client.PrioritizedBackgroundExecutor.Priority.PREFETCH;
+import static com.microsoft.identity.client.PrioritizedBackgroundExecutor.Priority.SILENT;
+
+@RunWith(RobolectricTestRunner.class)
+public class PrioritizedBackgroundExecutorTest {
+
+    @Test
+    public void testQueuedTasksRunInPriorityOrder() throws InterruptedException {
+        final PrioritizedBackgroundExecutor executor = new PrioritizedBackgroundExecutor(1, 1);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+        executor.execute(SILENT, new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    blocker.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                done.countDown();
+            }
+        });
+
+        executor.execute(PREFETCH, record("prefetch", order, done));
+        executor.execute(SILENT, record("silent", order, done));
+        executor.execute(INTERACTIVE, record("interactive", order, done));
+
+        Assert.assertEquals(3, executor.getStatistics().getQueueDepth());
+
+        blocker.countDown();
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList("interactive", "silent", "prefetch"), order);
+        Assert.assertEquals(4, executor.getStatistics().getExecutedTaskCount());
+    }
+
+    @Test
+    public void testTasksOfSamePriorityRunInSubmissionOrder() throws InterruptedException {
+        final PrioritizedBackgroundExecutor executor = new PrioritizedBackgroundExecutor(1, 1);
+        final CountDownLatch done = new CountDownLatch(3);
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+        executor.execute(SILENT, record("first", order, done));
+        executor.execute(SILENT, record("second", order, done));
+        executor.execute(SILENT, record("third", order, done));
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(Arrays.asList("first", "second", "third"), order);
+    }
+
+    @Test
+    public void testPoolGrowsUpToMaximumWhileTasksAreQueued() throws InterruptedException {
+        final PrioritizedBackgroundExecutor executor = new PrioritizedBackgroundExecutor(1, 3);
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(3);
+
+        for (int i = 0; i < 5; i++) {
+            executor.execute(SILENT, new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                    try {
+                        blocker.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS));
+        Assert.assertEquals(3, executor.getStatistics().getPoolSize());
+        Assert.assertEquals(2, executor.getStatistics().getQueueDepth());
+
+        blocker.countDown();
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopLaterTasks() throws InterruptedException {
+        final PrioritizedBackgroundExecutor executor = new PrioritizedBackgroundExecutor(1, 1);
+        final CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(SILENT, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("Expected failure");
+            }
+        });
+        executor.execute(SILENT, record("after", new ArrayList<String>(), done));
+
+        Assert.assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testConfigurationDefaults() {
+        final BackgroundExecutorConfiguration configuration = new Gson().fromJson(
+                "{}",
+                BackgroundExecutorConfiguration.class
+        );
+
+        Assert.assertEquals(BackgroundExecutorConfiguration.DEFAULT_CORE_POOL_SIZE, configuration.getCorePoolSize());
+        Assert.assertEquals(BackgroundExecutorConfiguration.DEFAULT_MAX_POOL_SIZE, configuration.getMaxPoolSize());
+    }
+
+    private static Runnable record(final String name,
+                                   final List<String> order,
+                                   final CountDownLatch done) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                order.add(name);
+                done.countDown();
+            }
+        };
+    }
+}
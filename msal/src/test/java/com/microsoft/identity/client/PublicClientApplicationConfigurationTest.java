@@ -22,11 +22,15 @@
 //  THE SOFTWARE.
 package com.microsoft.identity.client;
 
+import com.google.gson.Gson;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
 import static com.microsoft.identity.client.PublicClientApplicationConfiguration.isBrokerRedirectUri;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class PublicClientApplicationConfigurationTest {
@@ -75,4 +79,19 @@ public class PublicClientApplicationConfigurationTest {
         config.setRedirectUri("null");
         config.validateConfiguration();
     }
+
+    @Test
+    public void testSilentRequestHedgeDelayIsReadAndMerged() {
+        final PublicClientApplicationConfiguration config = new PublicClientApplicationConfiguration();
+        assertNull(config.getSilentRequestHedgeDelayMillis());
+
+        config.mergeConfiguration(new Gson().fromJson(
+                "{\"silent_request_hedge_delay_millis\": 750}",
+                PublicClientApplicationConfiguration.class
+        ));
+        assertEquals(Long.valueOf(750), config.getSilentRequestHedgeDelayMillis());
+
+        config.mergeConfiguration(new Gson().fromJson("{}", PublicClientApplicationConfiguration.class));
+        assertEquals(Long.valueOf(750), config.getSilentRequestHedgeDelayMillis());
+    }
 }
@@ -58,4 +58,11 @@ public class RoboTestCacheHelper {
         Mockito.when(mockAuthRequest.getClientId()).thenReturn(clientId);
         return tokenCache.save(strategy, mockAuthRequest, tokenResponse);
     }
+
+    // The in-memory account state is shared by the applications in this process, and is not aware
+    // of tests clearing the token cache directly; drop it before each test.
+    public static void invalidateInMemoryAccountState() {
+        AccountIndex.invalidateAll();
+        CurrentAccountCache.reset();
+    }
 }
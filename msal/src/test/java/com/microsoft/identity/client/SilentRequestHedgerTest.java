@@ -0,0 +1,199 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.microsoft.identity.client.internal.CommandParametersAdapter;
+import com.microsoft.identity.common.java.commands.CommandCallback;
+import com.microsoft.identity.common.java.commands.SilentTokenCommand;
+import com.microsoft.identity.common.java.commands.parameters.SilentTokenCommandParameters;
+import com.microsoft.identity.common.java.controllers.BaseController;
+import com.microsoft.identity.common.java.exception.BaseException;
+import com.microsoft.identity.common.java.exception.ClientException;
+import com.microsoft.identity.common.java.exception.ErrorStrings;
+import com.microsoft.identity.common.java.providers.oauth2.OAuth2TokenCache;
+import com.microsoft.identity.common.java.result.ILocalAuthenticationResult;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class SilentRequestHedgerTest {
+
+    private static final String AAD_NONE_CONFIG_FILE = "src/test/res/raw/aad_capabilities_none.json";
+    private static final long LONG_HEDGE_DELAY_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final List<SilentTokenCommand> mSubmittedCommands = Collections.synchronizedList(new ArrayList<SilentTokenCommand>());
+    private final RecordingCallback mCallback = new RecordingCallback();
+
+    private SilentRequestHedger mHedger;
+    private SilentTokenCommandParameters mParameters;
+    private BaseController mPrimaryController;
+    private BaseController mSecondaryController;
+
+    @Before
+    public void setup() throws ClientException {
+        final Context context = ApplicationProvider.getApplicationContext();
+
+        mHedger = new SilentRequestHedger(new SilentRequestHedger.CommandSubmitter() {
+            @Override
+            public void submit(@NonNull final SilentTokenCommand command) {
+                mSubmittedCommands.add(command);
+            }
+        });
+        mParameters = CommandParametersAdapter.createSilentTokenCommandParameters(
+                PublicClientApplicationConfigurationFactory.initializeConfiguration(context, new File(AAD_NONE_CONFIG_FILE)),
+                Mockito.mock(OAuth2TokenCache.class),
+                new AcquireTokenSilentParameters.Builder()
+                        .withScopes(Arrays.asList("User.Read"))
+                        .fromAuthority("https://login.microsoftonline.com/common")
+                        .build()
+        );
+        mPrimaryController = Mockito.mock(BaseController.class);
+        mSecondaryController = Mockito.mock(BaseController.class);
+    }
+
+    @Test
+    public void testPrimaryControllerWins() {
+        submit(LONG_HEDGE_DELAY_MILLIS);
+
+        Assert.assertEquals(1, mSubmittedCommands.size());
+        Assert.assertEquals(Collections.singletonList(mPrimaryController), mSubmittedCommands.get(0).getControllers());
+
+        final ILocalAuthenticationResult result = Mockito.mock(ILocalAuthenticationResult.class);
+        mSubmittedCommands.get(0).getCallback().onTaskCompleted(result);
+
+        Assert.assertSame(result, mCallback.mResult);
+        Assert.assertEquals(1, mSubmittedCommands.size());
+        Assert.assertEquals(1, mHedger.getStatistics().getFirstControllerWinCount());
+        Assert.assertEquals(0, mHedger.getStatistics().getHedgedRequestCount());
+    }
+
+    @Test
+    public void testHedgeWins() throws InterruptedException {
+        submit(0L);
+        awaitSubmittedCommands(2);
+
+        final SilentTokenCommand hedge = mSubmittedCommands.get(1);
+        Assert.assertEquals(Collections.singletonList(mSecondaryController), hedge.getControllers());
+        Assert.assertNotSame(mParameters, hedge.getParameters());
+        Assert.assertNotEquals(mParameters.getCorrelationId(), hedge.getParameters().getCorrelationId());
+
+        final ILocalAuthenticationResult result = Mockito.mock(ILocalAuthenticationResult.class);
+        hedge.getCallback().onTaskCompleted(result);
+
+        // The late answer of the first controller is discarded
+        mSubmittedCommands.get(0).getCallback().onTaskCompleted(Mockito.mock(ILocalAuthenticationResult.class));
+
+        Assert.assertSame(result, mCallback.mResult);
+        Assert.assertEquals(1, mCallback.mCompletionCount);
+        Assert.assertEquals(1, mHedger.getStatistics().getHedgeWinCount());
+    }
+
+    @Test
+    public void testFallbackBeforeHedgeDelay() {
+        submit(LONG_HEDGE_DELAY_MILLIS);
+
+        mSubmittedCommands.get(0).getCallback().onError(new ClientException(ErrorStrings.NO_TOKENS_FOUND));
+
+        // Started right away, as SilentTokenCommand would, without failing the request
+        Assert.assertEquals(2, mSubmittedCommands.size());
+        Assert.assertEquals(0, mCallback.mCompletionCount);
+
+        final ILocalAuthenticationResult result = Mockito.mock(ILocalAuthenticationResult.class);
+        mSubmittedCommands.get(1).getCallback().onTaskCompleted(result);
+
+        Assert.assertSame(result, mCallback.mResult);
+    }
+
+    @Test
+    public void testNoFallbackOnOtherErrors() {
+        submit(LONG_HEDGE_DELAY_MILLIS);
+
+        final ClientException error = new ClientException(ClientException.IO_ERROR);
+        mSubmittedCommands.get(0).getCallback().onError(error);
+
+        Assert.assertEquals(1, mSubmittedCommands.size());
+        Assert.assertSame(error, mCallback.mError);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void submit(final long hedgeDelayMillis) {
+        mHedger.submit(
+                mParameters,
+                Arrays.asList(mPrimaryController, mSecondaryController),
+                mCallback,
+                "test",
+                hedgeDelayMillis
+        );
+    }
+
+    private void awaitSubmittedCommands(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+
+        while (mSubmittedCommands.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        Assert.assertEquals(count, mSubmittedCommands.size());
+    }
+
+    private static final class RecordingCallback implements CommandCallback<ILocalAuthenticationResult, BaseException> {
+
+        private volatile ILocalAuthenticationResult mResult;
+        private volatile BaseException mError;
+        private volatile int mCompletionCount;
+
+        @Override
+        public void onTaskCompleted(final ILocalAuthenticationResult result) {
+            mResult = result;
+            mCompletionCount++;
+        }
+
+        @Override
+        public void onError(final BaseException error) {
+            mError = error;
+            mCompletionCount++;
+        }
+
+        @Override
+        public void onCancel() {
+            mCompletionCount++;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.client.exception.MsalServiceException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(RobolectricTestRunner.class)
+public class SilentRequestThrottleTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
+
+    private static final SilentAuthenticationCallback NO_OP_CALLBACK = new SilentAuthenticationCallback() {
+        @Override
+        public void onSuccess(final IAuthenticationResult authenticationResult) {
+        }
+
+        @Override
+        public void onError(final MsalException exception) {
+        }
+    };
+
+    @Test
+    public void testParsesRetryAfterSeconds() {
+        Assert.assertEquals(TimeUnit.SECONDS.toMillis(120), SilentRequestThrottle.parseRetryAfter(" 120 ", 0));
+    }
+
+    @Test
+    public void testParsesRetryAfterHttpDate() {
+        Assert.assertEquals(
+                TimeUnit.SECONDS.toMillis(50),
+                SilentRequestThrottle.parseRetryAfter("Thu, 01 Jan 1970 00:01:00 GMT", TimeUnit.SECONDS.toMillis(10))
+        );
+    }
+
+    @Test
+    public void testPastRetryAfterHttpDateMeansNoWait() {
+        Assert.assertEquals(
+                0,
+                SilentRequestThrottle.parseRetryAfter("Thu, 01 Jan 1970 00:01:00 GMT", TimeUnit.MINUTES.toMillis(5))
+        );
+    }
+
+    @Test
+    public void testRejectsInvalidRetryAfter() {
+        Assert.assertEquals(-1, SilentRequestThrottle.parseRetryAfter(null, 0));
+        Assert.assertEquals(-1, SilentRequestThrottle.parseRetryAfter("", 0));
+        Assert.assertEquals(-1, SilentRequestThrottle.parseRetryAfter("-5", 0));
+        Assert.assertEquals(-1, SilentRequestThrottle.parseRetryAfter("soon", 0));
+    }
+
+    @Test
+    public void testThrottledForcedRefreshDoesNotThrottleOtherRequests() {
+        final SilentRequestThrottle throttle = new SilentRequestThrottle("client-id");
+        final MultiTenantAccount account = new MultiTenantAccount(null, null);
+        account.setId(UUID.randomUUID().toString());
+        account.setTenantId(UUID.randomUUID().toString());
+
+        final AcquireTokenSilentParameters forcedRefresh = createParameters(account, true);
+
+        throttle.recording(NO_OP_CALLBACK, forcedRefresh, AUTHORITY).onError(
+                new MsalServiceException("throttled", "Too many requests", 429, null)
+        );
+
+        Assert.assertNotNull(throttle.check(forcedRefresh, AUTHORITY));
+        Assert.assertNull(throttle.check(createParameters(account, false), AUTHORITY));
+    }
+
+    private static AcquireTokenSilentParameters createParameters(final IAccount account,
+                                                                 final boolean forceRefresh) {
+        return new AcquireTokenSilentParameters.Builder()
+                .forAccount(account)
+                .fromAuthority(AUTHORITY)
+                .withScopes(Arrays.asList("User.Read"))
+                .forceRefresh(forceRefresh)
+                .build();
+    }
+}
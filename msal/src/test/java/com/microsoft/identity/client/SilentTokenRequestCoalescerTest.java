@@ -0,0 +1,140 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.exception.MsalException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+public class SilentTokenRequestCoalescerTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
+
+    private SilentTokenRequestCoalescer mCoalescer;
+    private MultiTenantAccount mAccount;
+
+    @Before
+    public void setup() {
+        mCoalescer = new SilentTokenRequestCoalescer();
+        mAccount = new MultiTenantAccount(null, null);
+        mAccount.setId(UUID.randomUUID().toString());
+        mAccount.setTenantId(UUID.randomUUID().toString());
+    }
+
+    @Test
+    public void testConcurrentBearerRequestsShareResult() {
+        final List<IAuthenticationResult> firstResults = new ArrayList<>();
+        final List<IAuthenticationResult> secondResults = new ArrayList<>();
+
+        final SilentAuthenticationCallback dispatched =
+                join(createParameters(null, firstResults));
+
+        Assert.assertNotNull(dispatched);
+        Assert.assertNull(join(createParameters(null, secondResults)));
+
+        final IAuthenticationResult result = Mockito.mock(IAuthenticationResult.class);
+        dispatched.onSuccess(result);
+
+        Assert.assertEquals(Arrays.asList(result), firstResults);
+        Assert.assertEquals(Arrays.asList(result), secondResults);
+        Assert.assertEquals(0, mCoalescer.getInFlightRequestCount());
+    }
+
+    @Test
+    public void testConcurrentPopRequestsForDifferentUrlsGetTheirOwnResult() throws MalformedURLException {
+        final List<IAuthenticationResult> firstResults = new ArrayList<>();
+        final List<IAuthenticationResult> secondResults = new ArrayList<>();
+
+        final SilentAuthenticationCallback first =
+                join(createParameters(createPopScheme("https://contoso.com/first"), firstResults));
+        final SilentAuthenticationCallback second =
+                join(createParameters(createPopScheme("https://contoso.com/second"), secondResults));
+
+        Assert.assertNotNull(first);
+        Assert.assertNotNull(second);
+        Assert.assertEquals(0, mCoalescer.getInFlightRequestCount());
+
+        final IAuthenticationResult firstResult = Mockito.mock(IAuthenticationResult.class);
+        final IAuthenticationResult secondResult = Mockito.mock(IAuthenticationResult.class);
+        second.onSuccess(secondResult);
+        first.onSuccess(firstResult);
+
+        Assert.assertEquals(Arrays.asList(firstResult), firstResults);
+        Assert.assertEquals(Arrays.asList(secondResult), secondResults);
+    }
+
+    @Nullable
+    private SilentAuthenticationCallback join(@NonNull final AcquireTokenSilentParameters parameters) {
+        return mCoalescer.join(parameters, parameters.getCallback(), AUTHORITY, null);
+    }
+
+    @NonNull
+    private static PoPAuthenticationScheme createPopScheme(@NonNull final String url) throws MalformedURLException {
+        return PoPAuthenticationScheme.builder()
+                .withHttpMethod(HttpMethod.GET)
+                .withUrl(new URL(url))
+                .build();
+    }
+
+    @NonNull
+    private AcquireTokenSilentParameters createParameters(@Nullable final AuthenticationScheme scheme,
+                                                          @NonNull final List<IAuthenticationResult> results) {
+        final AcquireTokenSilentParameters.Builder builder = new AcquireTokenSilentParameters.Builder()
+                .forAccount(mAccount)
+                .fromAuthority(AUTHORITY)
+                .withScopes(Arrays.asList("User.Read"))
+                .withCallback(new SilentAuthenticationCallback() {
+                    @Override
+                    public void onSuccess(final IAuthenticationResult authenticationResult) {
+                        results.add(authenticationResult);
+                    }
+
+                    @Override
+                    public void onError(final MsalException exception) {
+                        Assert.fail(exception.getMessage());
+                    }
+                });
+
+        if (null != scheme) {
+            builder.withAuthenticationScheme(scheme);
+        }
+
+        return builder.build();
+    }
+}
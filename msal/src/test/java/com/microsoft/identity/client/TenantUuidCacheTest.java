@@ -0,0 +1,104 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+public class TenantUuidCacheTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/contoso.onmicrosoft.com";
+
+    private Context mContext;
+
+    @Before
+    public void setup() {
+        mContext = ApplicationProvider.getApplicationContext();
+        mContext.getSharedPreferences(TenantUuidCache.TENANT_UUID_SHARED_PREFERENCES, Context.MODE_PRIVATE)
+                .edit()
+                .clear()
+                .commit();
+    }
+
+    @Test
+    public void testReturnsStoredTenantUuid() {
+        final TenantUuidCache cache = new TenantUuidCache(mContext);
+        final String tenantUuid = UUID.randomUUID().toString();
+
+        cache.put(AUTHORITY, tenantUuid);
+
+        Assert.assertEquals(tenantUuid, cache.get(AUTHORITY));
+        Assert.assertEquals(tenantUuid, cache.get(AUTHORITY.toUpperCase() + "/"));
+    }
+
+    @Test
+    public void testTenantUuidSurvivesNewInstance() {
+        final String tenantUuid = UUID.randomUUID().toString();
+
+        new TenantUuidCache(mContext).put(AUTHORITY, tenantUuid);
+
+        Assert.assertEquals(tenantUuid, new TenantUuidCache(mContext).get(AUTHORITY));
+    }
+
+    @Test
+    public void testDoesNotStoreNonUuidValue() {
+        final TenantUuidCache cache = new TenantUuidCache(mContext);
+
+        cache.put(AUTHORITY, "contoso.onmicrosoft.com");
+
+        Assert.assertNull(cache.get(AUTHORITY));
+    }
+
+    @Test
+    public void testExpiredTenantUuidIsNotReturned() {
+        mContext.getSharedPreferences(TenantUuidCache.TENANT_UUID_SHARED_PREFERENCES, Context.MODE_PRIVATE)
+                .edit()
+                .putString(
+                        TokenRequestKey.normalizeAuthority(AUTHORITY),
+                        UUID.randomUUID().toString() + "|" + (System.currentTimeMillis() - TenantUuidCache.TTL_MILLIS - 1)
+                )
+                .commit();
+
+        Assert.assertNull(new TenantUuidCache(mContext).get(AUTHORITY));
+    }
+
+    @Test
+    public void testMalformedValueIsIgnored() {
+        mContext.getSharedPreferences(TenantUuidCache.TENANT_UUID_SHARED_PREFERENCES, Context.MODE_PRIVATE)
+                .edit()
+                .putString(TokenRequestKey.normalizeAuthority(AUTHORITY), "not-a-timestamped-value")
+                .commit();
+
+        Assert.assertNull(new TenantUuidCache(mContext).get(AUTHORITY));
+    }
+}
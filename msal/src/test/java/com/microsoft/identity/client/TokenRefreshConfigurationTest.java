@@ -0,0 +1,64 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import com.google.gson.Gson;
+import com.microsoft.identity.client.configuration.TokenRefreshConfiguration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TokenRefreshConfigurationTest {
+
+    @Test
+    public void testDefaultsAppliedWhenOnlyEnabledIsConfigured() {
+        final TokenRefreshConfiguration config = new Gson().fromJson(
+                "{\"refresh_ahead_enabled\": true}",
+                TokenRefreshConfiguration.class
+        );
+
+        assertTrue(config.isRefreshAheadEnabled());
+        assertEquals(TokenRefreshConfiguration.DEFAULT_REFRESH_AHEAD_LIFETIME_FRACTION, config.getRefreshAheadLifetimeFraction(), 0);
+        assertEquals(TokenRefreshConfiguration.DEFAULT_REFRESH_AHEAD_MAX_JITTER_MILLIS, config.getRefreshAheadMaxJitterMillis());
+        assertEquals(TokenRefreshConfiguration.DEFAULT_REFRESH_AHEAD_MAX_CONCURRENT_REFRESHES, config.getRefreshAheadMaxConcurrentRefreshes());
+    }
+
+    @Test
+    public void testConfiguredValuesAreRead() {
+        final TokenRefreshConfiguration config = new Gson().fromJson(
+                "{\"refresh_ahead_enabled\": false, "
+                        + "\"refresh_ahead_lifetime_fraction\": 0.5, "
+                        + "\"refresh_ahead_max_jitter_millis\": 1000, "
+                        + "\"refresh_ahead_max_concurrent_refreshes\": 4}",
+                TokenRefreshConfiguration.class
+        );
+
+        assertFalse(config.isRefreshAheadEnabled());
+        assertEquals(0.5, config.getRefreshAheadLifetimeFraction(), 0);
+        assertEquals(1000, config.getRefreshAheadMaxJitterMillis());
+        assertEquals(4, config.getRefreshAheadMaxConcurrentRefreshes());
+    }
+}
@@ -0,0 +1,89 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Locale;
+
+@RunWith(RobolectricTestRunner.class)
+public class TokenRequestKeyTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
+
+    @Test
+    public void testEquivalentRequestsShareKey() {
+        final IAccount account = createAccount("uid", "utid");
+
+        Assert.assertEquals(
+                TokenRequestKey.get(account, AUTHORITY, Arrays.asList("User.Read", "Mail.Read"), null),
+                TokenRequestKey.get(account, " " + AUTHORITY.toUpperCase(Locale.ROOT) + "/", Arrays.asList("mail.read", "user.read", "User.Read"), null)
+        );
+    }
+
+    @Test
+    public void testKeyStartsWithAccountPrefix() {
+        final IAccount account = createAccount("uid", "utid");
+        final String key = TokenRequestKey.get(account, AUTHORITY, Arrays.asList("User.Read"), null);
+
+        Assert.assertNotNull(key);
+        Assert.assertTrue(key.startsWith(TokenRequestKey.getAccountPrefix(account)));
+        Assert.assertFalse(key.startsWith(TokenRequestKey.getAccountPrefix(createAccount("uid", "other-utid"))));
+    }
+
+    @Test
+    public void testFallsBackToDefaultAuthority() {
+        final IAccount account = createAccount("uid", "utid");
+        final AcquireTokenSilentParameters parameters = new AcquireTokenSilentParameters.Builder()
+                .forAccount(account)
+                .withScopes(Arrays.asList("User.Read"))
+                .build();
+
+        Assert.assertEquals(
+                TokenRequestKey.get(account, AUTHORITY, Arrays.asList("User.Read"), null),
+                TokenRequestKey.get(parameters, AUTHORITY)
+        );
+    }
+
+    @Test
+    public void testIncompleteRequestsHaveNoKey() {
+        final IAccount account = createAccount("uid", "utid");
+
+        Assert.assertNull(TokenRequestKey.get(null, AUTHORITY, Arrays.asList("User.Read"), null));
+        Assert.assertNull(TokenRequestKey.get(account, null, Arrays.asList("User.Read"), null));
+        Assert.assertNull(TokenRequestKey.get(account, AUTHORITY, Collections.<String>emptyList(), null));
+        Assert.assertNull(TokenRequestKey.getAccountPrefix(null));
+    }
+
+    private static IAccount createAccount(final String uid, final String utid) {
+        final MultiTenantAccount account = new MultiTenantAccount(null, null);
+        account.setId(uid);
+        account.setTenantId(utid);
+        return account;
+    }
+}
@@ -0,0 +1,210 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.claims.ClaimsRequest;
+import com.microsoft.identity.client.exception.MsalClientException;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.client.exception.MsalUiRequiredException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+public class UiRequiredErrorCacheTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
+
+    private static final SilentAuthenticationCallback NO_OP_CALLBACK = new SilentAuthenticationCallback() {
+        @Override
+        public void onSuccess(final IAuthenticationResult authenticationResult) {
+        }
+
+        @Override
+        public void onError(final MsalException exception) {
+        }
+    };
+
+    private UiRequiredErrorCache mCache;
+    private MultiTenantAccount mAccount;
+
+    @Before
+    public void setup() {
+        mCache = new UiRequiredErrorCache();
+        mAccount = createAccount();
+    }
+
+    @Test
+    public void testReturnsRecordedErrorForEquivalentRequest() {
+        final MsalUiRequiredException error = new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT);
+        record(createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read", "Mail.Read")), error);
+
+        Assert.assertSame(
+                error,
+                mCache.get(createParameters(mAccount, null, Arrays.asList("mail.read", "user.read")), AUTHORITY)
+        );
+        Assert.assertNull(mCache.get(createParameters(mAccount, AUTHORITY, Arrays.asList("Files.Read")), AUTHORITY));
+    }
+
+    @Test
+    public void testForceRefreshBypassesCache() {
+        record(
+                createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read")),
+                new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT)
+        );
+
+        final AcquireTokenSilentParameters parameters = createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read"));
+        parameters.setForceRefresh(true);
+
+        Assert.assertNull(mCache.get(parameters, AUTHORITY));
+    }
+
+    @Test
+    public void testDoesNotRecordErrorsOfForcedRefreshes() {
+        final AcquireTokenSilentParameters forcedRefresh = createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read"));
+        forcedRefresh.setForceRefresh(true);
+        record(forcedRefresh, new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT));
+
+        Assert.assertEquals(0, mCache.size());
+        Assert.assertNull(mCache.get(createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read")), AUTHORITY));
+    }
+
+    @Test
+    public void testDoesNotRecordOtherErrors() {
+        record(
+                createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read")),
+                new MsalClientException(MsalClientException.UNKNOWN_ERROR)
+        );
+
+        Assert.assertEquals(0, mCache.size());
+    }
+
+    @Test
+    public void testDoesNotRecordRequestsWithClaims() {
+        final AcquireTokenSilentParameters parameters = new AcquireTokenSilentParameters.Builder()
+                .forAccount(mAccount)
+                .fromAuthority(AUTHORITY)
+                .withScopes(Arrays.asList("User.Read"))
+                .withClaims(new ClaimsRequest())
+                .build();
+
+        record(parameters, new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT));
+
+        Assert.assertEquals(0, mCache.size());
+    }
+
+    @Test
+    public void testRemoveDropsOnlyEntriesOfAccount() {
+        final MultiTenantAccount otherAccount = createAccount();
+        record(
+                createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read")),
+                new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT)
+        );
+        record(
+                createParameters(otherAccount, AUTHORITY, Arrays.asList("User.Read")),
+                new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT)
+        );
+
+        mCache.remove(mAccount);
+
+        Assert.assertNull(mCache.get(createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read")), AUTHORITY));
+        Assert.assertNotNull(mCache.get(createParameters(otherAccount, AUTHORITY, Arrays.asList("User.Read")), AUTHORITY));
+    }
+
+    @Test
+    public void testErrorOfRequestDispatchedBeforeInvalidationIsNotRecorded() {
+        final SilentAuthenticationCallback callback = mCache.recording(
+                NO_OP_CALLBACK,
+                createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read")),
+                AUTHORITY
+        );
+
+        mCache.clear();
+        callback.onError(new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT));
+
+        Assert.assertEquals(0, mCache.size());
+    }
+
+    @Test
+    public void testSuccessForgetsRecordedError() {
+        final AcquireTokenSilentParameters parameters = createParameters(mAccount, AUTHORITY, Arrays.asList("User.Read"));
+        record(parameters, new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT));
+
+        mCache.recording(NO_OP_CALLBACK, parameters, AUTHORITY).onSuccess(null);
+
+        Assert.assertNull(mCache.get(parameters, AUTHORITY));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedError() {
+        final AcquireTokenSilentParameters first = createParameters(mAccount, AUTHORITY, Arrays.asList("scope-0"));
+        final AcquireTokenSilentParameters second = createParameters(mAccount, AUTHORITY, Arrays.asList("scope-1"));
+        record(first, new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT));
+        record(second, new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT));
+
+        Assert.assertNotNull(mCache.get(first, AUTHORITY));
+
+        for (int i = 2; i <= UiRequiredErrorCache.MAX_ENTRIES; i++) {
+            record(
+                    createParameters(mAccount, AUTHORITY, Arrays.asList("scope-" + i)),
+                    new MsalUiRequiredException(MsalUiRequiredException.INVALID_GRANT)
+            );
+        }
+
+        Assert.assertEquals(UiRequiredErrorCache.MAX_ENTRIES, mCache.size());
+        Assert.assertNotNull(mCache.get(first, AUTHORITY));
+        Assert.assertNull(mCache.get(second, AUTHORITY));
+    }
+
+    private void record(@NonNull final AcquireTokenSilentParameters parameters,
+                        @NonNull final MsalException error) {
+        mCache.recording(NO_OP_CALLBACK, parameters, AUTHORITY).onError(error);
+    }
+
+    private static MultiTenantAccount createAccount() {
+        final MultiTenantAccount account = new MultiTenantAccount(null, null);
+        account.setId(UUID.randomUUID().toString());
+        account.setTenantId(UUID.randomUUID().toString());
+        return account;
+    }
+
+    private static AcquireTokenSilentParameters createParameters(@NonNull final IAccount account,
+                                                                 @Nullable final String authority,
+                                                                 @NonNull final List<String> scopes) {
+        return new AcquireTokenSilentParameters.Builder()
+                .forAccount(account)
+                .fromAuthority(authority)
+                .withScopes(scopes)
+                .build();
+    }
+}
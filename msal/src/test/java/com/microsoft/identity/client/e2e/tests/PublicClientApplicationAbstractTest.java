@@ -34,6 +34,7 @@ import androidx.test.core.app.ApplicationProvider;
 import com.microsoft.identity.client.IPublicClientApplication;
 import com.microsoft.identity.client.Logger;
 import com.microsoft.identity.client.PublicClientApplication;
+import com.microsoft.identity.client.RoboTestCacheHelper;
 import com.microsoft.identity.client.exception.MsalException;
 import com.microsoft.identity.common.AndroidPlatformComponents;
 import com.microsoft.identity.common.internal.controllers.CommandDispatcherHelper;
@@ -62,6 +63,7 @@ public abstract class PublicClientApplicationAbstractTest implements IPublicClie
         mComponents = AndroidPlatformComponents.createFromContext(mContext);
         mActivity = Mockito.mock(Activity.class);
         Mockito.when(mActivity.getApplicationContext()).thenReturn(mContext);
+        RoboTestCacheHelper.invalidateInMemoryAccountState();
         setupPCA();
         Logger.getInstance().setEnableLogcatLog(true);
         Logger.getInstance().setEnablePII(true);
@@ -0,0 +1,214 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.e2e.tests.mocked;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.AcquireTokenSilentParameters;
+import com.microsoft.identity.client.IAccount;
+import com.microsoft.identity.client.IAuthenticationResult;
+import com.microsoft.identity.client.SilentAuthenticationCallback;
+import com.microsoft.identity.client.e2e.shadows.ShadowAndroidSdkStorageEncryptionManager;
+import com.microsoft.identity.client.e2e.shadows.ShadowMockAuthority;
+import com.microsoft.identity.client.e2e.shadows.ShadowOpenIdProviderConfigurationClient;
+import com.microsoft.identity.client.e2e.shadows.ShadowPublicClientApplicationConfiguration;
+import com.microsoft.identity.client.e2e.tests.AcquireTokenAbstractTest;
+import com.microsoft.identity.client.e2e.utils.AcquireTokenTestHelper;
+import com.microsoft.identity.client.exception.MsalArgumentException;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.common.internal.controllers.CommandDispatcherHelper;
+import com.microsoft.identity.common.java.net.HttpClient;
+import com.microsoft.identity.common.java.net.HttpResponse;
+import com.microsoft.identity.internal.testutils.HttpRequestInterceptor;
+import com.microsoft.identity.internal.testutils.HttpRequestMatcher;
+import com.microsoft.identity.internal.testutils.TestConstants;
+import com.microsoft.identity.internal.testutils.mocks.MockServerResponse;
+import com.microsoft.identity.internal.testutils.shadows.ShadowHttpClient;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.microsoft.identity.client.e2e.utils.RoboTestUtils.flushScheduler;
+import static com.microsoft.identity.internal.testutils.TestConstants.Authorities.AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+import static com.microsoft.identity.internal.testutils.TestConstants.Configurations.MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = {
+        ShadowAndroidSdkStorageEncryptionManager.class,
+        ShadowMockAuthority.class,
+        ShadowPublicClientApplicationConfiguration.class,
+        ShadowHttpClient.class,
+        ShadowOpenIdProviderConfigurationClient.class
+})
+public class AcquireTokenCallbackExecutorTest extends AcquireTokenAbstractTest {
+
+    private final CountingExecutor mExecutor = new CountingExecutor();
+
+    @Override
+    public String[] getScopes() {
+        return TestConstants.Scopes.USER_READ_SCOPE;
+    }
+
+    @Override
+    public String getAuthority() {
+        return AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+    }
+
+    @Override
+    public String getConfigFilePath() {
+        return MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+    }
+
+    @Before
+    public void setup() {
+        super.setup();
+        mockHttpClient.intercept(
+                HttpRequestMatcher.builder().isPOST().build(),
+                new HttpRequestInterceptor() {
+                    @Override
+                    public HttpResponse performIntercept(
+                            @NonNull HttpClient.HttpMethod httpMethod,
+                            @NonNull URL requestUrl,
+                            @NonNull Map<String, String> requestHeaders,
+                            @Nullable byte[] requestContent) throws IOException {
+                        return MockServerResponse.getMockTokenSuccessResponse();
+                    }
+                });
+    }
+
+    @After
+    public void cleanup() {
+        mApplication.getConfiguration().setCallbackExecutor(null);
+    }
+
+    @Test
+    public void testSilentResultDeliveredOnRequestExecutor() {
+        performInteractiveAcquireTokenCall("fake@test.com", getAuthority());
+        CommandDispatcherHelper.clear();
+
+        final AtomicReference<IAuthenticationResult> result = new AtomicReference<>();
+
+        mApplication.acquireTokenSilentAsync(
+                buildParameters(AcquireTokenTestHelper.getAccount())
+                        .withCallbackExecutor(mExecutor)
+                        .withCallback(new SilentAuthenticationCallback() {
+                            @Override
+                            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                                Assert.assertTrue(mExecutor.isRunning());
+                                result.set(authenticationResult);
+                            }
+
+                            @Override
+                            public void onError(final MsalException exception) {
+                                Assert.fail(exception.getMessage());
+                            }
+                        })
+                        .build()
+        );
+
+        flushScheduler();
+
+        Assert.assertNotNull(result.get());
+        Assert.assertEquals(1, mExecutor.getExecutionCount());
+    }
+
+    @Test
+    public void testSilentErrorDeliveredOnConfiguredExecutor() {
+        mApplication.getConfiguration().setCallbackExecutor(mExecutor);
+
+        final AtomicReference<MsalException> error = new AtomicReference<>();
+
+        mApplication.acquireTokenSilentAsync(
+                buildParameters(null)
+                        .withCallback(new SilentAuthenticationCallback() {
+                            @Override
+                            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                                Assert.fail("Request without an account should fail.");
+                            }
+
+                            @Override
+                            public void onError(final MsalException exception) {
+                                Assert.assertTrue(mExecutor.isRunning());
+                                error.set(exception);
+                            }
+                        })
+                        .build()
+        );
+
+        flushScheduler();
+
+        Assert.assertTrue(error.get() instanceof MsalArgumentException);
+        Assert.assertEquals(1, mExecutor.getExecutionCount());
+    }
+
+    private AcquireTokenSilentParameters.Builder buildParameters(@Nullable final IAccount account) {
+        return new AcquireTokenSilentParameters.Builder()
+                .forAccount(account)
+                .fromAuthority(getAuthority())
+                .withScopes(Arrays.asList(mScopes))
+                .forceRefresh(true);
+    }
+
+    /**
+     * Runs each command on the calling thread, recording that it did so.
+     */
+    private static final class CountingExecutor implements Executor {
+
+        private final AtomicInteger mExecutionCount = new AtomicInteger();
+        private final ThreadLocal<Boolean> mRunning = new ThreadLocal<>();
+
+        @Override
+        public void execute(@NonNull final Runnable command) {
+            mExecutionCount.incrementAndGet();
+            mRunning.set(true);
+
+            try {
+                command.run();
+            } finally {
+                mRunning.remove();
+            }
+        }
+
+        int getExecutionCount() {
+            return mExecutionCount.get();
+        }
+
+        boolean isRunning() {
+            return Boolean.TRUE.equals(mRunning.get());
+        }
+    }
+}
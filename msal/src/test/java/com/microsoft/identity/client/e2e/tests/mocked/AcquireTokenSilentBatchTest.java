@@ -0,0 +1,279 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.e2e.tests.mocked;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.AcquireTokenSilentBatchResult;
+import com.microsoft.identity.client.AcquireTokenSilentParameters;
+import com.microsoft.identity.client.IAccount;
+import com.microsoft.identity.client.IAuthenticationResult;
+import com.microsoft.identity.client.SilentAuthenticationCallback;
+import com.microsoft.identity.client.SilentBatchAuthenticationCallback;
+import com.microsoft.identity.client.e2e.shadows.ShadowAndroidSdkStorageEncryptionManager;
+import com.microsoft.identity.client.e2e.shadows.ShadowMockAuthority;
+import com.microsoft.identity.client.e2e.shadows.ShadowOpenIdProviderConfigurationClient;
+import com.microsoft.identity.client.e2e.shadows.ShadowPublicClientApplicationConfiguration;
+import com.microsoft.identity.client.e2e.tests.AcquireTokenAbstractTest;
+import com.microsoft.identity.client.e2e.utils.AcquireTokenTestHelper;
+import com.microsoft.identity.client.exception.MsalArgumentException;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.common.internal.controllers.CommandDispatcherHelper;
+import com.microsoft.identity.common.java.net.HttpClient;
+import com.microsoft.identity.common.java.net.HttpResponse;
+import com.microsoft.identity.internal.testutils.HttpRequestInterceptor;
+import com.microsoft.identity.internal.testutils.HttpRequestMatcher;
+import com.microsoft.identity.internal.testutils.TestConstants;
+import com.microsoft.identity.internal.testutils.mocks.MockServerResponse;
+import com.microsoft.identity.internal.testutils.shadows.ShadowHttpClient;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.microsoft.identity.client.e2e.utils.RoboTestUtils.flushScheduler;
+import static com.microsoft.identity.internal.testutils.TestConstants.Authorities.AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+import static com.microsoft.identity.internal.testutils.TestConstants.Configurations.MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = {
+        ShadowAndroidSdkStorageEncryptionManager.class,
+        ShadowMockAuthority.class,
+        ShadowPublicClientApplicationConfiguration.class,
+        ShadowHttpClient.class,
+        ShadowOpenIdProviderConfigurationClient.class
+})
+public class AcquireTokenSilentBatchTest extends AcquireTokenAbstractTest {
+
+    private final AtomicInteger mTokenRequestCount = new AtomicInteger();
+
+    @Override
+    public String[] getScopes() {
+        return TestConstants.Scopes.USER_READ_SCOPE;
+    }
+
+    @Override
+    public String getAuthority() {
+        return AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+    }
+
+    @Override
+    public String getConfigFilePath() {
+        return MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+    }
+
+    @Before
+    public void setup() {
+        super.setup();
+        mockHttpClient.intercept(
+                HttpRequestMatcher.builder().isPOST().build(),
+                new HttpRequestInterceptor() {
+                    @Override
+                    public HttpResponse performIntercept(
+                            @NonNull HttpClient.HttpMethod httpMethod,
+                            @NonNull URL requestUrl,
+                            @NonNull Map<String, String> requestHeaders,
+                            @Nullable byte[] requestContent) throws IOException {
+                        mTokenRequestCount.incrementAndGet();
+                        return MockServerResponse.getMockTokenSuccessResponse();
+                    }
+                });
+    }
+
+    @Test
+    public void testBatchReturnsResultPerRequestInOrder() {
+        performInteractiveAcquireTokenCall("fake@test.com", getAuthority());
+        CommandDispatcherHelper.clear();
+        mTokenRequestCount.set(0);
+
+        final IAccount account = AcquireTokenTestHelper.getAccount();
+        final List<AcquireTokenSilentParameters> batch = new ArrayList<>();
+        batch.add(buildForceRefreshParameters(account, Arrays.asList(mScopes)));
+        batch.add(buildForceRefreshParameters(account, Collections.singletonList("Calendars.Read")));
+        batch.add(buildForceRefreshParameters(null, Arrays.asList(mScopes)));
+
+        final AtomicReference<AcquireTokenSilentBatchResult> batchResult = new AtomicReference<>();
+
+        mApplication.acquireTokenSilentBatchAsync(batch, new SilentBatchAuthenticationCallback() {
+            @Override
+            public void onCompleted(@NonNull final AcquireTokenSilentBatchResult result) {
+                Assert.assertTrue(batchResult.compareAndSet(null, result));
+            }
+        });
+
+        flushScheduler();
+
+        final AcquireTokenSilentBatchResult result = batchResult.get();
+        Assert.assertNotNull(result);
+        Assert.assertEquals(3, result.size());
+        Assert.assertFalse(result.isAllSuccessful());
+
+        Assert.assertTrue(result.isSuccess(0));
+        Assert.assertNotNull(result.getResult(0));
+        Assert.assertNull(result.getException(0));
+
+        Assert.assertTrue(result.isSuccess(1));
+        Assert.assertNotNull(result.getResult(1));
+
+        Assert.assertFalse(result.isSuccess(2));
+        Assert.assertTrue(result.getException(2) instanceof MsalArgumentException);
+
+        Assert.assertEquals(2, mTokenRequestCount.get());
+    }
+
+    @Test
+    public void testEmptyBatchCompletesImmediately() {
+        final AtomicReference<AcquireTokenSilentBatchResult> batchResult = new AtomicReference<>();
+
+        mApplication.acquireTokenSilentBatchAsync(
+                Collections.<AcquireTokenSilentParameters>emptyList(),
+                new SilentBatchAuthenticationCallback() {
+                    @Override
+                    public void onCompleted(@NonNull final AcquireTokenSilentBatchResult result) {
+                        batchResult.set(result);
+                    }
+                });
+
+        Assert.assertNotNull(batchResult.get());
+        Assert.assertEquals(0, batchResult.get().size());
+        Assert.assertTrue(batchResult.get().isAllSuccessful());
+    }
+
+    @Test
+    public void testBatchWithSameParametersTwiceIsRejected() {
+        final AcquireTokenSilentParameters parameters = buildForceRefreshParameters(null, Arrays.asList(mScopes));
+        final AtomicReference<AcquireTokenSilentBatchResult> batchResult = new AtomicReference<>();
+
+        try {
+            mApplication.acquireTokenSilentBatchAsync(
+                    Arrays.asList(parameters, parameters),
+                    new SilentBatchAuthenticationCallback() {
+                        @Override
+                        public void onCompleted(@NonNull final AcquireTokenSilentBatchResult result) {
+                            batchResult.set(result);
+                        }
+                    });
+            Assert.fail("A batch with the same parameters twice should be rejected");
+        } catch (final IllegalArgumentException e) {
+            // expected
+        }
+
+        flushScheduler();
+
+        Assert.assertNull(batchResult.get());
+        Assert.assertNull(parameters.getCallback());
+    }
+
+    @Test
+    public void testParametersWithTimeoutCanBeReused() {
+        performInteractiveAcquireTokenCall("fake@test.com", getAuthority());
+        CommandDispatcherHelper.clear();
+
+        final AtomicInteger successCount = new AtomicInteger();
+        final SilentAuthenticationCallback callback = new SilentAuthenticationCallback() {
+            @Override
+            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                successCount.incrementAndGet();
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                Assert.fail(exception.getMessage());
+            }
+        };
+        final AcquireTokenSilentParameters parameters = new AcquireTokenSilentParameters.Builder()
+                .forAccount(AcquireTokenTestHelper.getAccount())
+                .fromAuthority(getAuthority())
+                .withScopes(Arrays.asList(mScopes))
+                .forceRefresh(true)
+                .withTimeout(1, TimeUnit.MINUTES)
+                .withCallback(callback)
+                .build();
+
+        mApplication.acquireTokenSilentAsync(parameters);
+        flushScheduler();
+        mApplication.acquireTokenSilentAsync(parameters);
+        flushScheduler();
+
+        Assert.assertEquals(2, successCount.get());
+        Assert.assertSame(callback, parameters.getCallback());
+    }
+
+    @Test
+    public void testBatchWithTimeoutsCanBeRepeated() {
+        performInteractiveAcquireTokenCall("fake@test.com", getAuthority());
+        CommandDispatcherHelper.clear();
+
+        final IAccount account = AcquireTokenTestHelper.getAccount();
+        final List<AcquireTokenSilentParameters> batch = new ArrayList<>();
+        batch.add(new AcquireTokenSilentParameters.Builder()
+                .forAccount(account)
+                .fromAuthority(getAuthority())
+                .withScopes(Arrays.asList(mScopes))
+                .forceRefresh(true)
+                .withTimeout(1, TimeUnit.MINUTES)
+                .build());
+
+        for (int i = 0; i < 2; i++) {
+            final AtomicReference<AcquireTokenSilentBatchResult> batchResult = new AtomicReference<>();
+
+            mApplication.acquireTokenSilentBatchAsync(batch, new SilentBatchAuthenticationCallback() {
+                @Override
+                public void onCompleted(@NonNull final AcquireTokenSilentBatchResult result) {
+                    batchResult.set(result);
+                }
+            });
+
+            flushScheduler();
+
+            Assert.assertNotNull(batchResult.get());
+            Assert.assertTrue(batchResult.get().isAllSuccessful());
+            Assert.assertNull(batch.get(0).getCallback());
+        }
+    }
+
+    private AcquireTokenSilentParameters buildForceRefreshParameters(@Nullable final IAccount account,
+                                                                      @NonNull final List<String> scopes) {
+        return new AcquireTokenSilentParameters.Builder()
+                .forAccount(account)
+                .fromAuthority(getAuthority())
+                .withScopes(scopes)
+                .forceRefresh(true)
+                .build();
+    }
+}
@@ -0,0 +1,215 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.e2e.tests.mocked;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.AcquireTokenSilentParameters;
+import com.microsoft.identity.client.IAuthenticationResult;
+import com.microsoft.identity.client.SilentAuthenticationCallback;
+import com.microsoft.identity.client.e2e.shadows.ShadowAndroidSdkStorageEncryptionManager;
+import com.microsoft.identity.client.e2e.shadows.ShadowMockAuthority;
+import com.microsoft.identity.client.e2e.shadows.ShadowOpenIdProviderConfigurationClient;
+import com.microsoft.identity.client.e2e.shadows.ShadowPublicClientApplicationConfiguration;
+import com.microsoft.identity.client.e2e.tests.AcquireTokenAbstractTest;
+import com.microsoft.identity.client.e2e.utils.AcquireTokenTestHelper;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.client.exception.MsalServiceException;
+import com.microsoft.identity.client.exception.MsalThrottlingException;
+import com.microsoft.identity.common.internal.controllers.CommandDispatcherHelper;
+import com.microsoft.identity.common.java.net.HttpClient;
+import com.microsoft.identity.common.java.net.HttpResponse;
+import com.microsoft.identity.internal.testutils.HttpRequestInterceptor;
+import com.microsoft.identity.internal.testutils.HttpRequestMatcher;
+import com.microsoft.identity.internal.testutils.TestConstants;
+import com.microsoft.identity.internal.testutils.mocks.MockServerResponse;
+import com.microsoft.identity.internal.testutils.shadows.ShadowHttpClient;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.microsoft.identity.client.e2e.utils.RoboTestUtils.flushScheduler;
+import static com.microsoft.identity.internal.testutils.TestConstants.Authorities.AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+import static com.microsoft.identity.internal.testutils.TestConstants.Configurations.MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = {
+        ShadowAndroidSdkStorageEncryptionManager.class,
+        ShadowMockAuthority.class,
+        ShadowPublicClientApplicationConfiguration.class,
+        ShadowHttpClient.class,
+        ShadowOpenIdProviderConfigurationClient.class
+})
+public class SilentRequestThrottlingTest extends AcquireTokenAbstractTest {
+
+    private static final String THROTTLED_RESPONSE_BODY = "{\"error\":\"temporarily_unavailable\","
+            + "\"error_description\":\"The service is temporarily unavailable.\"}";
+
+    private final AtomicInteger mTokenRequestCount = new AtomicInteger();
+    private final AtomicReference<HttpResponse> mTokenResponse = new AtomicReference<>();
+
+    @Override
+    public String[] getScopes() {
+        return TestConstants.Scopes.USER_READ_SCOPE;
+    }
+
+    @Override
+    public String getAuthority() {
+        return AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+    }
+
+    @Override
+    public String getConfigFilePath() {
+        return MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+    }
+
+    @Before
+    public void setup() {
+        super.setup();
+        mockHttpClient.intercept(
+                HttpRequestMatcher.builder().isPOST().build(),
+                new HttpRequestInterceptor() {
+                    @Override
+                    public HttpResponse performIntercept(
+                            @NonNull HttpClient.HttpMethod httpMethod,
+                            @NonNull URL requestUrl,
+                            @NonNull Map<String, String> requestHeaders,
+                            @Nullable byte[] requestContent) throws IOException {
+                        mTokenRequestCount.incrementAndGet();
+                        final HttpResponse response = mTokenResponse.get();
+                        return null == response ? MockServerResponse.getMockTokenSuccessResponse() : response;
+                    }
+                });
+
+        performInteractiveAcquireTokenCall("fake@test.com", getAuthority());
+        CommandDispatcherHelper.clear();
+    }
+
+    @Test
+    public void testTooManyRequestsThrottlesIdenticalSilentRequests() {
+        mTokenResponse.set(createThrottledResponse(429, "120"));
+
+        final MsalException firstError = acquireTokenSilentExpectingError();
+        Assert.assertTrue(firstError instanceof MsalServiceException);
+        Assert.assertFalse(firstError instanceof MsalThrottlingException);
+        Assert.assertEquals(429, ((MsalServiceException) firstError).getHttpStatusCode());
+
+        final int tokenRequestCount = mTokenRequestCount.get();
+        final MsalException secondError = acquireTokenSilentExpectingError();
+
+        Assert.assertTrue(secondError instanceof MsalThrottlingException);
+        Assert.assertEquals(MsalThrottlingException.THROTTLED, secondError.getErrorCode());
+        Assert.assertEquals(429, ((MsalThrottlingException) secondError).getHttpStatusCode());
+        Assert.assertTrue(((MsalThrottlingException) secondError).getRetryAfterMillis() > 0);
+        Assert.assertTrue(((MsalThrottlingException) secondError).getRetryAfterMillis() <= TimeUnit.SECONDS.toMillis(120));
+        Assert.assertEquals(tokenRequestCount, mTokenRequestCount.get());
+    }
+
+    @Test
+    public void testServiceUnavailableThrottlesUntilInteractiveRequestSucceeds() {
+        mTokenResponse.set(createThrottledResponse(503, null));
+
+        Assert.assertFalse(acquireTokenSilentExpectingError() instanceof MsalThrottlingException);
+
+        final int tokenRequestCount = mTokenRequestCount.get();
+        Assert.assertTrue(acquireTokenSilentExpectingError() instanceof MsalThrottlingException);
+        Assert.assertEquals(tokenRequestCount, mTokenRequestCount.get());
+
+        mTokenResponse.set(null);
+        performInteractiveAcquireTokenCall("fake@test.com", getAuthority());
+        CommandDispatcherHelper.clear();
+
+        final AtomicReference<IAuthenticationResult> result = new AtomicReference<>();
+        mApplication.acquireTokenSilentAsync(buildParameters(new SilentAuthenticationCallback() {
+            @Override
+            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                result.set(authenticationResult);
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                Assert.fail(exception.getMessage());
+            }
+        }));
+        flushScheduler();
+
+        Assert.assertNotNull(result.get());
+    }
+
+    private MsalException acquireTokenSilentExpectingError() {
+        final AtomicReference<MsalException> error = new AtomicReference<>();
+
+        mApplication.acquireTokenSilentAsync(buildParameters(new SilentAuthenticationCallback() {
+            @Override
+            public void onSuccess(final IAuthenticationResult authenticationResult) {
+                Assert.fail("Throttled request should fail.");
+            }
+
+            @Override
+            public void onError(final MsalException exception) {
+                error.set(exception);
+            }
+        }));
+        flushScheduler();
+        CommandDispatcherHelper.clear();
+
+        Assert.assertNotNull(error.get());
+        return error.get();
+    }
+
+    private AcquireTokenSilentParameters buildParameters(@NonNull final SilentAuthenticationCallback callback) {
+        return new AcquireTokenSilentParameters.Builder()
+                .forAccount(AcquireTokenTestHelper.getAccount())
+                .fromAuthority(getAuthority())
+                .withScopes(Arrays.asList(mScopes))
+                .forceRefresh(true)
+                .withCallback(callback)
+                .build();
+    }
+
+    private static HttpResponse createThrottledResponse(final int statusCode, @Nullable final String retryAfter) {
+        final Map<String, List<String>> headers = new HashMap<>();
+
+        if (null != retryAfter) {
+            headers.put("Retry-After", Collections.singletonList(retryAfter));
+        }
+
+        return new HttpResponse(statusCode, THROTTLED_RESPONSE_BODY, headers);
+    }
+}
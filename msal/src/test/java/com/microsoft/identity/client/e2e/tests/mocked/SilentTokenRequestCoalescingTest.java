@@ -0,0 +1,173 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.e2e.tests.mocked;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.microsoft.identity.client.AcquireTokenSilentParameters;
+import com.microsoft.identity.client.IAccount;
+import com.microsoft.identity.client.IAuthenticationResult;
+import com.microsoft.identity.client.SilentAuthenticationCallback;
+import com.microsoft.identity.client.e2e.shadows.ShadowAndroidSdkStorageEncryptionManager;
+import com.microsoft.identity.client.e2e.shadows.ShadowMockAuthority;
+import com.microsoft.identity.client.e2e.shadows.ShadowOpenIdProviderConfigurationClient;
+import com.microsoft.identity.client.e2e.shadows.ShadowPublicClientApplicationConfiguration;
+import com.microsoft.identity.client.e2e.tests.AcquireTokenAbstractTest;
+import com.microsoft.identity.client.e2e.utils.AcquireTokenTestHelper;
+import com.microsoft.identity.client.exception.MsalException;
+import com.microsoft.identity.common.internal.controllers.CommandDispatcherHelper;
+import com.microsoft.identity.common.java.net.HttpClient;
+import com.microsoft.identity.common.java.net.HttpResponse;
+import com.microsoft.identity.internal.testutils.HttpRequestInterceptor;
+import com.microsoft.identity.internal.testutils.HttpRequestMatcher;
+import com.microsoft.identity.internal.testutils.TestConstants;
+import com.microsoft.identity.internal.testutils.mocks.MockServerResponse;
+import com.microsoft.identity.internal.testutils.shadows.ShadowHttpClient;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.microsoft.identity.client.e2e.utils.RoboTestUtils.flushScheduler;
+import static com.microsoft.identity.internal.testutils.TestConstants.Authorities.AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+import static com.microsoft.identity.internal.testutils.TestConstants.Configurations.MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(shadows = {
+        ShadowAndroidSdkStorageEncryptionManager.class,
+        ShadowMockAuthority.class,
+        ShadowPublicClientApplicationConfiguration.class,
+        ShadowHttpClient.class,
+        ShadowOpenIdProviderConfigurationClient.class
+})
+public class SilentTokenRequestCoalescingTest extends AcquireTokenAbstractTest {
+
+    private static final int CONCURRENT_REQUEST_COUNT = 100;
+
+    private final AtomicInteger mTokenRequestCount = new AtomicInteger();
+
+    @Override
+    public String[] getScopes() {
+        return TestConstants.Scopes.USER_READ_SCOPE;
+    }
+
+    @Override
+    public String getAuthority() {
+        return AAD_MOCK_AUTHORITY_HTTP_RESPONSE;
+    }
+
+    @Override
+    public String getConfigFilePath() {
+        return MULTIPLE_ACCOUNT_MODE_MOCK_TEST_CONFIG_FILE_PATH;
+    }
+
+    @Before
+    public void setup() {
+        super.setup();
+        mockHttpClient.intercept(
+                HttpRequestMatcher.builder().isPOST().build(),
+                new HttpRequestInterceptor() {
+                    @Override
+                    public HttpResponse performIntercept(
+                            @NonNull HttpClient.HttpMethod httpMethod,
+                            @NonNull URL requestUrl,
+                            @NonNull Map<String, String> requestHeaders,
+                            @Nullable byte[] requestContent) throws IOException {
+                        mTokenRequestCount.incrementAndGet();
+                        return MockServerResponse.getMockTokenSuccessResponse();
+                    }
+                });
+    }
+
+    @Test
+    public void testConcurrentIdenticalSilentRequestsAreCoalesced() throws InterruptedException {
+        performInteractiveAcquireTokenCall("fake@test.com", getAuthority());
+        CommandDispatcherHelper.clear();
+        mTokenRequestCount.set(0);
+
+        final IAccount account = AcquireTokenTestHelper.getAccount();
+        final AtomicInteger successCount = new AtomicInteger();
+        final AtomicInteger errorCount = new AtomicInteger();
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final CountDownLatch submittedLatch = new CountDownLatch(CONCURRENT_REQUEST_COUNT);
+        final ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUEST_COUNT);
+
+        for (int i = 0; i < CONCURRENT_REQUEST_COUNT; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    final AcquireTokenSilentParameters silentParameters = new AcquireTokenSilentParameters.Builder()
+                            .forAccount(account)
+                            .fromAuthority(getAuthority())
+                            .withScopes(Arrays.asList(mScopes))
+                            .forceRefresh(true)
+                            .withCallback(new SilentAuthenticationCallback() {
+                                @Override
+                                public void onSuccess(IAuthenticationResult authenticationResult) {
+                                    successCount.incrementAndGet();
+                                }
+
+                                @Override
+                                public void onError(MsalException exception) {
+                                    errorCount.incrementAndGet();
+                                }
+                            })
+                            .build();
+
+                    try {
+                        startLatch.await();
+                        mApplication.acquireTokenSilentAsync(silentParameters);
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        submittedLatch.countDown();
+                    }
+                }
+            });
+        }
+
+        startLatch.countDown();
+        Assert.assertTrue(submittedLatch.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        flushScheduler();
+
+        Assert.assertEquals(1, mTokenRequestCount.get());
+        Assert.assertEquals(CONCURRENT_REQUEST_COUNT, successCount.get());
+        Assert.assertEquals(0, errorCount.get());
+    }
+}
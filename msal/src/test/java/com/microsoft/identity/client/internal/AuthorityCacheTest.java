@@ -0,0 +1,96 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.internal;
+
+import com.microsoft.identity.common.java.authorities.Authority;
+import com.microsoft.identity.common.java.authorities.AzureActiveDirectoryAuthority;
+import com.microsoft.identity.common.java.authorities.AzureActiveDirectoryB2CAuthority;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.UUID;
+
+@RunWith(RobolectricTestRunner.class)
+public class AuthorityCacheTest {
+
+    private static final String AAD_AUTHORITY = "https://login.microsoftonline.com/common";
+    private static final String B2C_AUTHORITY = "https://fabrikamb2c.b2clogin.com/tfp/fabrikamb2c.onmicrosoft.com/b2c_1_susi/";
+
+    private AuthorityCache mCache;
+
+    @Before
+    public void setup() {
+        mCache = new AuthorityCache();
+    }
+
+    @Test
+    public void testReturnsEquivalentCopies() {
+        final Authority first = mCache.getAuthority(AAD_AUTHORITY);
+        final Authority second = mCache.getAuthority(AAD_AUTHORITY);
+
+        Assert.assertTrue(first instanceof AzureActiveDirectoryAuthority);
+        Assert.assertNotSame(first, second);
+        Assert.assertNotSame(
+                ((AzureActiveDirectoryAuthority) first).getAudience(),
+                ((AzureActiveDirectoryAuthority) second).getAudience()
+        );
+        Assert.assertEquals(
+                Authority.getAuthorityFromAuthorityUrl(AAD_AUTHORITY).getAuthorityURL(),
+                second.getAuthorityURL()
+        );
+        Assert.assertEquals(1, mCache.size());
+    }
+
+    @Test
+    public void testMutationDoesNotLeakIntoLaterLookups() {
+        final AzureActiveDirectoryAuthority first = (AzureActiveDirectoryAuthority) mCache.getAuthority(AAD_AUTHORITY);
+        first.setMultipleCloudsSupported(true);
+        first.setDefault(true);
+
+        final AzureActiveDirectoryAuthority second = (AzureActiveDirectoryAuthority) mCache.getAuthority(AAD_AUTHORITY);
+
+        Assert.assertFalse(second.getMultipleCloudsSupported());
+        Assert.assertFalse(second.getDefault());
+    }
+
+    @Test
+    public void testB2CAuthorityIsNotCached() {
+        final Authority authority = mCache.getAuthority(B2C_AUTHORITY);
+
+        Assert.assertTrue(authority instanceof AzureActiveDirectoryB2CAuthority);
+        Assert.assertEquals(0, mCache.size());
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        for (int i = 0; i < AuthorityCache.MAX_ENTRIES * 2; i++) {
+            mCache.getAuthority("https://login.microsoftonline.com/" + UUID.randomUUID().toString());
+        }
+
+        Assert.assertEquals(AuthorityCache.MAX_ENTRIES, mCache.size());
+    }
+}
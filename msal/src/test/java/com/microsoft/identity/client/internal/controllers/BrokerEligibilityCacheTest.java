@@ -0,0 +1,106 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.internal.controllers;
+
+import android.content.Intent;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Collections;
+
+@RunWith(RobolectricTestRunner.class)
+public class BrokerEligibilityCacheTest {
+
+    private static final String KEY = "key";
+    private static final String BROKER_PACKAGE = "com.azure.authenticator";
+
+    private BrokerEligibilityCache mCache;
+
+    @Before
+    public void setup() {
+        mCache = new BrokerEligibilityCache();
+    }
+
+    @Test
+    public void testReturnsCachedDecisionAndCountsAvoidedIpcs() {
+        Assert.assertNull(mCache.get(KEY));
+
+        mCache.put(KEY, true, 3, mCache.getGeneration());
+
+        Assert.assertEquals(Boolean.TRUE, mCache.get(KEY));
+        Assert.assertEquals(Boolean.TRUE, mCache.get(KEY));
+        Assert.assertEquals(6, mCache.getAvoidedIpcCount());
+    }
+
+    @Test
+    public void testDiscardsDecisionComputedBeforeInvalidation() {
+        final long generation = mCache.getGeneration();
+        mCache.invalidate();
+
+        mCache.put(KEY, true, 3, generation);
+
+        Assert.assertNull(mCache.get(KEY));
+    }
+
+    @Test
+    public void testAuthenticatorPackageRemovalInvalidates() {
+        mCache.onBrokerScanned(true, Collections.singletonList(BROKER_PACKAGE));
+        mCache.put(KEY, true, 3, mCache.getGeneration());
+
+        mCache.onPackageChanged(Intent.ACTION_PACKAGE_REMOVED, "com.example.other", false);
+        Assert.assertEquals(Boolean.TRUE, mCache.get(KEY));
+
+        mCache.onPackageChanged(Intent.ACTION_PACKAGE_REMOVED, BROKER_PACKAGE, false);
+        Assert.assertNull(mCache.get(KEY));
+    }
+
+    @Test
+    public void testAuthenticatorPackageReplacementInvalidates() {
+        mCache.onBrokerScanned(true, Collections.singletonList(BROKER_PACKAGE));
+        mCache.put(KEY, true, 3, mCache.getGeneration());
+
+        mCache.onPackageChanged(Intent.ACTION_PACKAGE_REPLACED, BROKER_PACKAGE, false);
+
+        Assert.assertNull(mCache.get(KEY));
+    }
+
+    @Test
+    public void testPackageAddedInvalidatesOnlyWhenNoBrokerInstalled() {
+        mCache.onBrokerScanned(true, Collections.singletonList(BROKER_PACKAGE));
+        mCache.put(KEY, true, 3, mCache.getGeneration());
+
+        mCache.onPackageChanged(Intent.ACTION_PACKAGE_ADDED, "com.example.other", false);
+        Assert.assertEquals(Boolean.TRUE, mCache.get(KEY));
+
+        mCache.invalidate();
+        mCache.onBrokerScanned(false, Collections.<String>emptyList());
+        mCache.put(KEY, false, 1, mCache.getGeneration());
+
+        mCache.onPackageChanged(Intent.ACTION_PACKAGE_ADDED, BROKER_PACKAGE, false);
+        Assert.assertNull(mCache.get(KEY));
+    }
+}
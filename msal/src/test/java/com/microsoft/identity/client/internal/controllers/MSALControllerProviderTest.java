@@ -0,0 +1,80 @@
+//  Copyright (c) Microsoft Corporation.
+//  All rights reserved.
+//
+//  This code is licensed under the MIT License.
+//
+//  Permission is hereby granted, free of charge, to any person obtaining a copy
+//  of this software and associated documentation files(the "Software"), to deal
+//  in the Software without restriction, including without limitation the rights
+//  to use, copy, modify, merge, publish, distribute, sublicense, and / or sell
+//  copies of the Software, and to permit persons to whom the Software is
+//  furnished to do so, subject to the following conditions :
+//
+//  The above copyright notice and this permission notice shall be included in
+//  all copies or substantial portions of the Software.
+//
+//  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+//  IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+//  FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+//  AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+//  LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+//  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+//  THE SOFTWARE.
+package com.microsoft.identity.client.internal.controllers;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.microsoft.identity.client.PublicClientApplicationConfiguration;
+import com.microsoft.identity.client.exception.MsalClientException;
+import com.microsoft.identity.common.java.authorities.Authority;
+import com.microsoft.identity.common.java.controllers.BaseController;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.List;
+
+@RunWith(RobolectricTestRunner.class)
+public class MSALControllerProviderTest {
+
+    private static final String AUTHORITY = "https://login.microsoftonline.com/common";
+
+    private MSALControllerProvider mControllerProvider;
+
+    @Before
+    public void setup() {
+        final PublicClientApplicationConfiguration configuration = Mockito.mock(PublicClientApplicationConfiguration.class);
+        Mockito.when(configuration.getUseBroker()).thenReturn(false);
+
+        mControllerProvider = new MSALControllerProvider(
+                ApplicationProvider.getApplicationContext(),
+                configuration
+        );
+    }
+
+    @Test
+    public void testReusesControllersAcrossRequests() throws MsalClientException {
+        final Authority authority = Authority.getAuthorityFromAuthorityUrl(AUTHORITY);
+
+        final List<BaseController> controllers = mControllerProvider.getAllControllers(authority);
+
+        Assert.assertEquals(1, controllers.size());
+        Assert.assertSame(mControllerProvider.getLocalController(), controllers.get(0));
+        Assert.assertSame(controllers, mControllerProvider.getAllControllers(authority));
+        Assert.assertSame(
+                mControllerProvider.getLocalController(),
+                mControllerProvider.getDefaultController(authority)
+        );
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testControllerListIsImmutable() throws MsalClientException {
+        mControllerProvider
+                .getAllControllers(Authority.getAuthorityFromAuthorityUrl(AUTHORITY))
+                .clear();
+    }
+}